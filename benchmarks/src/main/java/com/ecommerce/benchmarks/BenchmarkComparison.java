@@ -0,0 +1,108 @@
+package com.ecommerce.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * 🔍 BENCHMARK COMPARISON - Diff two JMH JSON result files
+ *
+ * Matches benchmarks by name, mode and parameters and compares the primary
+ * score and, when both runs have it, the allocation per operation
+ * (gc.alloc.rate.norm). A change is flagged when it exceeds the threshold
+ * (default 10%) in the bad direction: lower throughput, or higher time or
+ * allocation. Exits with 1 if anything regressed, so CI can gate on it.
+ *
+ * Usage:
+ *   java -cp benchmarks/target/benchmarks.jar com.ecommerce.benchmarks.BenchmarkComparison \
+ *       baseline.json target/jmh-result.json [--threshold=10]
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private record Score(double value, String unit, boolean higherIsBetter) {
+    }
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: <baseline.json> <current.json> [--threshold=10]");
+            System.exit(2);
+        }
+        double threshold = 10;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--threshold=")) {
+                threshold = Double.parseDouble(args[i].substring("--threshold=".length()));
+            }
+        }
+
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  new%n", entry.getKey(), "-", after.value(), "");
+                continue;
+            }
+            double change = before.value() == 0 ? 0 : (after.value() - before.value()) / before.value() * 100;
+            double worse = after.higherIsBetter() ? -change : change;
+            String flag = worse > threshold ? "  REGRESSION" : worse < -threshold ? "  improved" : "";
+            if (worse > threshold) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s  %s%n",
+                    entry.getKey(), before.value(), after.value(), change, flag, after.unit());
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("%-90s %14.3f %14s %9s  removed%n", key, baseline.get(key).value(), "-", ""));
+
+        System.out.printf("%n%d regression(s) beyond %.0f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            String mode = run.path("mode").asText();
+            String key = run.path("benchmark").asText() + " [" + mode + "]" + params(run.path("params"));
+
+            JsonNode primary = run.path("primaryMetric");
+            // Throughput: higher is better; average / sample / single-shot time: lower is better
+            scores.put(key, new Score(primary.path("score").asDouble(), primary.path("scoreUnit").asText(),
+                    mode.equals("thrpt")));
+
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION);
+            if (!allocation.isMissingNode()) {
+                scores.put(key + " alloc", new Score(allocation.path("score").asDouble(),
+                        allocation.path("scoreUnit").asText(), false));
+            }
+        }
+        return scores;
+    }
+
+    private static String params(JsonNode params) {
+        if (params.isMissingNode() || params.isEmpty()) {
+            return "";
+        }
+        StringJoiner text = new StringJoiner(", ", " {", "}");
+        for (Map.Entry<String, JsonNode> field : params.properties()) {
+            text.add(field.getKey() + "=" + field.getValue().asText());
+        }
+        return text.toString();
+    }
+}
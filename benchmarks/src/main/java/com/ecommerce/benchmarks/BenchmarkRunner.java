@@ -0,0 +1,53 @@
+package com.ecommerce.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 🏁 BENCHMARK RUNNER - JMH's command line with the project's defaults
+ *
+ * Accepts every JMH option (-f, -wi, -i, -prof, benchmark regex, ...) and adds:
+ * - JSON results in target/jmh-result.json, unless -rf / -rff are given
+ * - the GC profiler (allocation per operation), unless -prof is given
+ * - -Dmongo.uri passed on to the forked benchmark JVMs
+ *
+ * Usage:
+ *   java [-Dmongo.uri=mongodb://localhost:27017] -jar benchmarks/target/benchmarks.jar [JMH options] [regex]
+ *   java -cp benchmarks/target/benchmarks.jar com.ecommerce.benchmarks.BenchmarkComparison base.json new.json
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue() && !commandLine.getResult().hasValue()) {
+            Files.createDirectories(Path.of("target"));
+            options.resultFormat(ResultFormatType.JSON).result("target/jmh-result.json");
+        }
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        String mongoUri = System.getProperty("mongo.uri");
+        if (mongoUri != null && !mongoUri.isBlank()) {
+            options.jvmArgsAppend("-Dmongo.uri=" + mongoUri);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
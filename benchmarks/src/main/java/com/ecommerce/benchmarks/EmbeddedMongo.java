@@ -0,0 +1,52 @@
+package com.ecommerce.benchmarks;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+
+/**
+ * 🍃 EMBEDDED MONGO - One MongoDB per benchmark JVM
+ *
+ * Starts a real mongod with flapdoodle on first use and stops it when the JVM
+ * exits. With -Dmongo.uri=mongodb://host:port the benchmarks use that server
+ * instead (e.g. a replica set, to measure the transactional write paths).
+ *
+ * Every benchmark gets its own database, dropped before use.
+ */
+public final class EmbeddedMongo {
+
+    private static MongoClient client;
+
+    private EmbeddedMongo() {
+    }
+
+    public static synchronized MongoClient client() {
+        if (client == null) {
+            client = MongoClients.create(uri());
+        }
+        return client;
+    }
+
+    /**
+     * A fresh, empty database
+     */
+    public static SimpleMongoClientDatabaseFactory freshDatabase(String name) {
+        client().getDatabase(name).drop();
+        return new SimpleMongoClientDatabaseFactory(client(), name);
+    }
+
+    private static String uri() {
+        String configured = System.getProperty("mongo.uri");
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0);
+        Runtime.getRuntime().addShutdownHook(new Thread(mongod::close, "embedded-mongo-shutdown"));
+        var address = mongod.current().getServerAddress();
+        return "mongodb://" + address.getHost() + ":" + address.getPort();
+    }
+}
@@ -0,0 +1,189 @@
+package com.ecommerce.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.ecommerce.logging.DroppingAsyncAppender;
+import com.ecommerce.logging.LoggingPipelineStats;
+import com.ecommerce.logging.RateLimitingTurboFilter;
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.ProductService;
+import com.ecommerce.product.service.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📝 LOGGING BENCHMARK - Throughput of a logging hot path per logging pipeline
+ *
+ * Pipelines (the "logging" parameter):
+ * - off:                       logging disabled, the upper bound
+ * - sync-text:                 the previous setup, a pattern layout written on the calling thread
+ * - async-json:                ECS JSON behind the DroppingAsyncAppender, as the services run now
+ * - async-json-rate-limited:   the same plus the services' 50 events/s/logger limit
+ *
+ * Events go to target/logging-benchmark-<pipeline>.log with a flush per event
+ * like the console appender, so no benchmark output is flooded. Two paths:
+ * - getById: ProductServiceImpl.getProductById over MongoDB ("Fetching product with ID" per call)
+ * - logOnly: the same log statement alone, which isolates the pipeline's cost
+ *
+ * Run with several threads (the default 4) to see contention on the appender.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final Logger SERVICE_LOG = LoggerFactory.getLogger(ProductServiceImpl.class);
+
+    @State(Scope.Benchmark)
+    public static class Pipeline {
+
+        @Param({"off", "sync-text", "async-json", "async-json-rate-limited"})
+        public String logging;
+
+        @Param({"10000"})
+        public int catalogSize;
+
+        ProductService productService;
+        private LoggerContext context;
+        private long droppedBefore;
+        private long rateLimitedBefore;
+
+        @Setup
+        public void setUp() {
+            context = (LoggerContext) LoggerFactory.getILoggerFactory();
+            context.reset();
+            context.putObject(Environment.class.getName(), new StandardEnvironment());  // for StructuredLogEncoder
+
+            ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+            ch.qos.logback.classic.Logger product = context.getLogger("com.ecommerce.product");
+            root.setLevel(Level.INFO);
+            product.setLevel(Level.DEBUG);  // as in application.properties
+            switch (logging) {
+                case "off" -> {
+                    root.setLevel(Level.OFF);
+                    product.setLevel(Level.OFF);
+                }
+                case "sync-text" -> root.addAppender(file(patternEncoder()));
+                case "async-json" -> root.addAppender(async(file(jsonEncoder())));
+                case "async-json-rate-limited" -> {
+                    RateLimitingTurboFilter rateLimit = new RateLimitingTurboFilter();
+                    rateLimit.setContext(context);
+                    rateLimit.setLimits("com.ecommerce.product.service=50");
+                    rateLimit.start();
+                    context.addTurboFilter(rateLimit);
+                    root.addAppender(async(file(jsonEncoder())));
+                }
+                default -> throw new IllegalArgumentException("Unknown logging pipeline " + logging);
+            }
+
+            MongoTemplate template = new MongoTemplate(EmbeddedMongo.freshDatabase("bench_logging"));
+            template.insertAll(SampleData.products(catalogSize));
+            ProductRepository repository = new MongoRepositoryFactory(template).getRepository(ProductRepository.class);
+            productService = new ProductServiceImpl(repository);
+
+            droppedBefore = LoggingPipelineStats.queueFullDrops();
+            rateLimitedBefore = LoggingPipelineStats.rateLimited();
+        }
+
+        @TearDown
+        public void tearDown() {
+            System.out.printf("%n[%s] dropped (queue full): %,d, rate limited: %,d%n", logging,
+                    LoggingPipelineStats.queueFullDrops() - droppedBefore,
+                    LoggingPipelineStats.rateLimited() - rateLimitedBefore);
+            context.stop();  // drains the async queue
+        }
+
+        private Appender<ILoggingEvent> file(Encoder<ILoggingEvent> encoder) {
+            FileAppender<ILoggingEvent> file = new FileAppender<>();
+            file.setContext(context);
+            file.setName("FILE");
+            file.setFile("target/logging-benchmark-" + logging + ".log");
+            file.setAppend(false);
+            file.setImmediateFlush(true);
+            file.setEncoder(encoder);
+            file.start();
+            return file;
+        }
+
+        private Appender<ILoggingEvent> async(Appender<ILoggingEvent> delegate) {
+            DroppingAsyncAppender async = new DroppingAsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(1638);
+            async.setIncludeCallerData(false);
+            async.addAppender(delegate);
+            async.start();
+            return async;
+        }
+
+        private Encoder<ILoggingEvent> patternEncoder() {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg%n");
+            encoder.setCharset(StandardCharsets.UTF_8);
+            encoder.start();
+            return encoder;
+        }
+
+        private Encoder<ILoggingEvent> jsonEncoder() {
+            StructuredLogEncoder encoder = new StructuredLogEncoder();
+            encoder.setContext(context);
+            encoder.setFormat("ecs");
+            encoder.setCharset(StandardCharsets.UTF_8);
+            encoder.start();
+            return encoder;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next(int bound) {
+            next = (next + 7919) % bound;  // prime stride: visits every product
+            return next;
+        }
+    }
+
+    @Benchmark
+    public ProductResponse getById(Pipeline pipeline, Cursor cursor) {
+        return pipeline.productService.getProductById(SampleData.id(cursor.next(pipeline.catalogSize)));
+    }
+
+    @Benchmark
+    public void logOnly(Pipeline pipeline, Cursor cursor) {
+        SERVICE_LOG.info("Fetching product with ID: {}", SampleData.id(cursor.next(pipeline.catalogSize)));
+    }
+}
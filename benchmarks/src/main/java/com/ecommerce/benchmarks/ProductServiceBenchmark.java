@@ -0,0 +1,102 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.ProductService;
+import com.ecommerce.product.service.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🛍️ PRODUCT SERVICE BENCHMARK - ProductServiceImpl read paths against MongoDB
+ *
+ * The service runs on a real Spring Data repository (no application context)
+ * over a seeded catalog. Only the indexes production creates exist, so the
+ * numbers include whatever collection scans production does too.
+ * Each thread walks the catalog deterministically instead of hitting one hot document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+
+        @Param({"10000"})
+        public int catalogSize;
+
+        ProductService productService;
+
+        @Setup
+        public void setUp() {
+            MongoTemplate template = new MongoTemplate(EmbeddedMongo.freshDatabase("bench_products"));
+            template.insertAll(SampleData.products(catalogSize));
+            ProductRepository repository = new MongoRepositoryFactory(template).getRepository(ProductRepository.class);
+            productService = new ProductServiceImpl(repository);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next(int bound) {
+            next = (next + 7919) % bound;  // prime stride: visits every product
+            return next;
+        }
+    }
+
+    @Benchmark
+    public ProductResponse getById(Catalog catalog, Cursor cursor) {
+        return catalog.productService.getProductById(SampleData.id(cursor.next(catalog.catalogSize)));
+    }
+
+    @Benchmark
+    public ProductResponse getBySku(Catalog catalog, Cursor cursor) {
+        return catalog.productService.getProductBySku("SKU-" + cursor.next(catalog.catalogSize));
+    }
+
+    @Benchmark
+    public List<ProductResponse> getByIds(Catalog catalog, Cursor cursor) {
+        List<String> ids = new ArrayList<>(20);
+        for (int i = 0; i < 20; i++) {
+            ids.add(SampleData.id(cursor.next(catalog.catalogSize)));
+        }
+        return catalog.productService.getProductsByIds(ids);
+    }
+
+    @Benchmark
+    public List<ProductResponse> getByCategory(Catalog catalog, Cursor cursor) {
+        return catalog.productService.getProductsByCategory("category-" + cursor.next(SampleData.CATEGORIES));
+    }
+
+    @Benchmark
+    public List<ProductResponse> searchByName(Catalog catalog, Cursor cursor) {
+        return catalog.productService.searchProductsByName("product " + cursor.next(catalog.catalogSize) + " ");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<ProductResponse> getAll(Catalog catalog) {
+        return catalog.productService.getAllProducts();
+    }
+}
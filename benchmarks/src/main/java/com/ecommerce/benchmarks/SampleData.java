@@ -0,0 +1,134 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.model.Product;
+import com.ecommerce.user.dto.UserResponse;
+import com.ecommerce.user.model.User;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🎲 SAMPLE DATA - Deterministic entities for the benchmarks
+ *
+ * Same input on every run, so results stay comparable across commits.
+ */
+public final class SampleData {
+
+    public static final int CATEGORIES = 20;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789);
+
+    private SampleData() {
+    }
+
+    /**
+     * Stable 24-hex-digit ID, valid as an ObjectId
+     */
+    public static String id(int i) {
+        return String.format("%024x", i + 1);
+    }
+
+    public static Product product(int i) {
+        return Product.builder()
+                .id(id(i))
+                .sku("SKU-" + i)
+                .name("Product " + i + " wireless laptop stand")
+                .description("A sturdy, adjustable stand for product line " + (i % 97))
+                .price(new BigDecimal("19.99").add(BigDecimal.valueOf(i % 500, 2)))
+                .stock(i % 7 == 0 ? 0 : i % 250)
+                .category("category-" + (i % CATEGORIES))
+                .imageUrl("https://cdn.example.com/products/" + i + ".jpg")
+                .createdAt(BASE_TIME.plusMinutes(i))
+                .updatedAt(BASE_TIME.plusMinutes(i).plusSeconds(17))
+                .build();
+    }
+
+    public static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    /**
+     * What product-service returns for the first count products
+     */
+    public static List<ProductResponse> productResponses(int count) {
+        return products(count).stream()
+                .map(p -> ProductResponse.builder()
+                        .id(p.getId()).sku(p.getSku()).name(p.getName()).description(p.getDescription())
+                        .price(p.getPrice()).stock(p.getStock()).inStock(p.isInStock()).category(p.getCategory())
+                        .imageUrl(p.getImageUrl()).createdAt(p.getCreatedAt()).updatedAt(p.getUpdatedAt())
+                        .build())
+                .toList();
+    }
+
+    public static User user(int i) {
+        return User.builder()
+                .id(id(i))
+                .firstName("First" + i)
+                .lastName("Last" + i)
+                .email("user" + i + "@example.com")
+                .phone("+1-555-" + String.format("%07d", i))
+                .address(i + " Main Street, Springfield")
+                .createdAt(BASE_TIME.plusMinutes(i))
+                .updatedAt(BASE_TIME.plusMinutes(i).plusSeconds(17))
+                .build();
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    /**
+     * What user-service returns for the first count users
+     */
+    public static List<UserResponse> userResponses(int count) {
+        return users(count).stream()
+                .map(u -> UserResponse.builder()
+                        .id(u.getId()).firstName(u.getFirstName()).lastName(u.getLastName()).fullName(u.getFullName())
+                        .email(u.getEmail()).phone(u.getPhone()).address(u.getAddress())
+                        .createdAt(u.getCreatedAt()).updatedAt(u.getUpdatedAt())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * A new order (fresh ID) with the given number of lines
+     */
+    public static Order order(int lines) {
+        List<OrderItem> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(OrderItem.builder()
+                    .productId(product(i).getId())
+                    .sku("SKU-" + i)
+                    .productName("Product " + i)
+                    .quantity(1 + i % 3)
+                    .price(new BigDecimal("19.99"))
+                    .build());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return Order.builder()
+                .id(new ObjectId().toHexString())
+                .userId(user(0).getId())
+                .orderItems(items)
+                .itemCount(items.size())
+                .totalAmount(items.stream().map(OrderItem::getSubtotal).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .status(OrderStatus.PENDING)
+                .shippingAddress("1 Main Street, Springfield")
+                .orderDate(now)
+                .lastModified(now)
+                .build();
+    }
+}
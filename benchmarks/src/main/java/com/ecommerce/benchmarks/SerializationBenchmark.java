@@ -0,0 +1,71 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.user.dto.UserResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🧾 SERIALIZATION BENCHMARK - Jackson writing ProductResponse / UserResponse lists
+ *
+ * The ObjectMapper is configured like the services' (Spring's builder defaults,
+ * ISO date strings, UTC), so LocalDateTime and BigDecimal formatting cost is included.
+ * Lists are serialized to byte[], as the HTTP message converter does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int size;
+
+    private ObjectWriter productsWriter;
+    private ObjectWriter usersWriter;
+    private List<ProductResponse> products;
+    private List<UserResponse> users;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .timeZone(TimeZone.getTimeZone("UTC"))
+                .build();
+        productsWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, ProductResponse.class));
+        usersWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, UserResponse.class));
+
+        products = SampleData.productResponses(size);
+        users = SampleData.userResponses(size);
+    }
+
+    @Benchmark
+    public byte[] products() throws JsonProcessingException {
+        return productsWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return usersWriter.writeValueAsBytes(users);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.user.dto.UserResponse;
+import com.ecommerce.user.repository.UserRepository;
+import com.ecommerce.user.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 👤 USER SERVICE BENCHMARK - UserService read paths against MongoDB
+ *
+ * Same setup as ProductServiceBenchmark: a real repository over seeded users,
+ * production indexes only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Users {
+
+        @Param({"10000"})
+        public int userCount;
+
+        UserService userService;
+
+        @Setup
+        public void setUp() {
+            MongoTemplate template = new MongoTemplate(EmbeddedMongo.freshDatabase("bench_users"));
+            template.insertAll(SampleData.users(userCount));
+            UserRepository repository = new MongoRepositoryFactory(template).getRepository(UserRepository.class);
+            userService = new UserService(repository);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next(int bound) {
+            next = (next + 7919) % bound;  // prime stride: visits every user
+            return next;
+        }
+    }
+
+    @Benchmark
+    public UserResponse getById(Users users, Cursor cursor) {
+        return users.userService.getUserById(SampleData.id(cursor.next(users.userCount)));
+    }
+
+    @Benchmark
+    public UserResponse getByEmail(Users users, Cursor cursor) {
+        return users.userService.getUserByEmail("user" + cursor.next(users.userCount) + "@example.com");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<UserResponse> getAll(Users users) {
+        return users.userService.getAllUsers();
+    }
+}
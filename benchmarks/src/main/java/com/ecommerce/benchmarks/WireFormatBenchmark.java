@@ -0,0 +1,122 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.order.client.dto.ProductDto;
+import com.ecommerce.order.client.dto.UserDto;
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.user.dto.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🗜️ WIRE FORMAT BENCHMARK - JSON vs Smile for order-service's calls
+ *
+ * Both sides of each call as they run in production:
+ * - write: product-service / user-service serializing their responses
+ * - read:  order-service deserializing them into ProductDto / UserDto
+ * Mappers are configured like the services' (Spring Boot's builder, ISO dates,
+ * UTC) and Smile uses Jackson's default SmileFactory, as SmileConfig does.
+ *
+ * Payloads: a /api/products/batch response of "size" products and one user.
+ * Setup prints their size in bytes, plain and gzip-compressed (servers
+ * compress from 2KB), so bytes and CPU per request can be read side by side.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"1", "20", "100"})
+    public int size;
+
+    private ObjectWriter productsWriter;
+    private ObjectWriter userWriter;
+    private ObjectReader productsReader;
+    private ObjectReader userReader;
+    private List<ProductResponse> products;
+    private UserResponse user;
+    private byte[] productsBytes;
+    private byte[] userBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .timeZone(TimeZone.getTimeZone("UTC"));
+        ObjectMapper mapper = switch (format) {
+            case "json" -> builder.build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        productsWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, ProductResponse.class));
+        userWriter = mapper.writerFor(UserResponse.class);
+        productsReader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, ProductDto.class));
+        userReader = mapper.readerFor(UserDto.class);
+
+        products = SampleData.productResponses(size);
+        user = SampleData.userResponses(1).get(0);
+        productsBytes = productsWriter.writeValueAsBytes(products);
+        userBytes = userWriter.writeValueAsBytes(user);
+
+        System.out.printf("%n[%s] %d products: %,d bytes (gzip %,d); user: %,d bytes (gzip %,d)%n", format, size,
+                productsBytes.length, gzip(productsBytes), userBytes.length, gzip(userBytes));
+    }
+
+    private static int gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public byte[] writeProducts() throws IOException {
+        return productsWriter.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public List<ProductDto> readProducts() throws IOException {
+        return productsReader.readValue(productsBytes);
+    }
+
+    @Benchmark
+    public byte[] writeUser() throws IOException {
+        return userWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public UserDto readUser() throws IOException {
+        return userReader.readValue(userBytes);
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.benchmarks.EmbeddedMongo;
+import com.ecommerce.benchmarks.SampleData;
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.repository.DirectOrderWriter;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.repository.OrderRepositoryImpl;
+import com.ecommerce.order.repository.OrderWriter;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📤 OUTBOX CHECKOUT BENCHMARK - Checkout latency with and without the outbox
+ *
+ * synchronous: the order is inserted, then stock, analytics and email are
+ * notified one after the other over HTTP before checkout returns.
+ * outbox: the order and its ORDER_PLACED event are inserted together
+ * (OrderServiceImpl.createOrder); OutboxRelay notifies the consumers later.
+ *
+ * The consumers are a local HTTP stub answering after consumerLatencyMs, so the
+ * difference is the notification round trips taken off the checkout path.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutboxCheckoutBenchmark {
+
+    private static final List<String> CONSUMERS = List.of("/stock", "/analytics", "/email");
+
+    @Param({"synchronous", "outbox"})
+    public String checkout;
+
+    @Param({"0", "5"})
+    public long consumerLatencyMs;
+
+    private OrderWriter orderWriter;
+    private WebClient consumers;
+    private ExecutorService handlers;
+    private HttpServer stub;
+
+    @Setup
+    public void setUp() throws IOException {
+        SimpleMongoClientDatabaseFactory databaseFactory = EmbeddedMongo.freshDatabase("bench_outbox");
+        MongoTemplate template = new MongoTemplate(databaseFactory);
+        orderWriter = new DirectOrderWriter(
+                new MongoRepositoryFactory(template).getRepository(OrderRepository.class,
+                        RepositoryFragments.just(new OrderRepositoryImpl(template))),
+                template, new MongoTransactions(template, databaseFactory));
+
+        handlers = Executors.newCachedThreadPool();
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.setExecutor(handlers);
+        stub.createContext("/", exchange -> {
+            try {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(consumerLatencyMs);
+                exchange.sendResponseHeaders(204, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        stub.start();
+        consumers = WebClient.create("http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @TearDown
+    public void tearDown() {
+        stub.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Benchmark
+    public Order placeOrder() {
+        Order order = SampleData.order(3);
+        OutboxEvent placed = OrderEvents.orderPlaced(order);
+        if ("outbox".equals(checkout)) {
+            return orderWriter.insert(order, List.of(placed));
+        }
+        Order saved = orderWriter.insert(order, List.of());
+        for (String consumer : CONSUMERS) {
+            consumers.post().uri(consumer).bodyValue(placed.getPayload())
+                    .retrieve().toBodilessEntity().block(Duration.ofSeconds(5));
+        }
+        return saved;
+    }
+}
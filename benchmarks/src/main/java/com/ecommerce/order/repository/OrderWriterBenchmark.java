@@ -0,0 +1,85 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.benchmarks.EmbeddedMongo;
+import com.ecommerce.benchmarks.SampleData;
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.outbox.OrderEvents;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✍️ ORDER WRITER BENCHMARK - DirectOrderWriter vs GroupCommitOrderWriter under 64 concurrent checkouts
+ *
+ * Each call inserts one 3-line order plus its ORDER_PLACED outbox event, the
+ * write of OrderServiceImpl.createOrder. Reports throughput and the latency
+ * distribution a caller sees (sample mode). Group commit trades up to max-wait
+ * of latency for fewer round trips; the gap grows with the server's write
+ * latency, so run it against a replica set (-Dmongo.uri) for realistic numbers.
+ *
+ * Lives in the writers' package to shut the group-commit flusher down.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class OrderWriterBenchmark {
+
+    @Param({"direct", "group-commit"})
+    public String writer;
+
+    private OrderWriter orderWriter;
+
+    @Setup
+    public void setUp() {
+        SimpleMongoClientDatabaseFactory databaseFactory = EmbeddedMongo.freshDatabase("bench_orders");
+        MongoTemplate template = new MongoTemplate(databaseFactory);
+        MongoTransactions transactions = new MongoTransactions(template, databaseFactory);
+
+        orderWriter = switch (writer) {
+            case "direct" -> new DirectOrderWriter(
+                    new MongoRepositoryFactory(template).getRepository(OrderRepository.class,
+                            RepositoryFragments.just(new OrderRepositoryImpl(template))),
+                    template, transactions);
+            case "group-commit" -> new GroupCommitOrderWriter(template, transactions, new SimpleMeterRegistry(),
+                    64, Duration.ofMillis(2), 10_000, Duration.ofSeconds(10));
+            default -> throw new IllegalArgumentException("Unknown writer " + writer);
+        };
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (orderWriter instanceof GroupCommitOrderWriter groupCommit) {
+            groupCommit.shutdown();
+        }
+    }
+
+    @Benchmark
+    public Order insert() {
+        Order order = SampleData.order(3);
+        return orderWriter.insert(order, List.of(OrderEvents.orderPlaced(order)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.product.service.impl;
+
+import com.ecommerce.benchmarks.SampleData;
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🗺️ PRODUCT MAPPING BENCHMARK - ProductServiceImpl.mapToResponse (entity → DTO)
+ *
+ * Lives in the service's package to call the package-private mapper directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProductMappingBenchmark {
+
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        product = SampleData.product(42);
+    }
+
+    @Benchmark
+    public ProductResponse mapToResponse() {
+        return ProductServiceImpl.mapToResponse(product);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.benchmarks.SampleData;
+import com.ecommerce.user.dto.UserResponse;
+import com.ecommerce.user.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🗺️ USER MAPPING BENCHMARK - UserService.mapToResponse (entity → DTO, incl. fullName)
+ *
+ * Lives in the service's package to call the package-private mapper directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UserMappingBenchmark {
+
+    private UserService userService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        userService = new UserService(null);  // the mapper never touches the repository
+        user = SampleData.user(42);
+    }
+
+    @Benchmark
+    public UserResponse mapToResponse() {
+        return userService.mapToResponse(user);
+    }
+}
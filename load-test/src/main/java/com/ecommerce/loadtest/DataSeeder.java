@@ -0,0 +1,171 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+
+/**
+ * 🌱 DATA SEEDER - Fills the services with users, products and orders through their REST APIs
+ *
+ * Going through the APIs (not straight into MongoDB) keeps every derived
+ * structure consistent: rollups, outbox, related products. Names are prefixed
+ * with a per-run tag so repeated runs against the same database do not collide
+ * on unique e-mails or SKUs.
+ */
+final class DataSeeder {
+
+    static final int CATEGORIES = 20;
+    private static final int MAX_ATTEMPTS = 5;
+    static final String[] WORDS = {
+            "laptop", "stand", "keyboard", "monitor", "cable", "lamp", "chair", "desk", "headset", "mouse"
+    };
+
+    /**
+     * What the traffic mix picks its IDs from
+     */
+    record SeedData(String runTag, List<String> userIds, List<String> emails, List<String> productIds,
+                    List<String> skus, List<String> orderIds) {
+    }
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String userServiceUrl;
+    private final String productServiceUrl;
+    private final String orderServiceUrl;
+    private final Semaphore concurrency;
+
+    DataSeeder(HttpClient client, ObjectMapper objectMapper, String userServiceUrl, String productServiceUrl,
+               String orderServiceUrl, int concurrency) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.userServiceUrl = userServiceUrl;
+        this.productServiceUrl = productServiceUrl;
+        this.orderServiceUrl = orderServiceUrl;
+        this.concurrency = new Semaphore(concurrency);
+    }
+
+    SeedData seed(int users, int products, int orders) throws InterruptedException {
+        String runTag = Long.toString(System.currentTimeMillis(), 36);
+        long start = System.nanoTime();
+
+        List<JsonNode> createdUsers = createAll("users", users, i -> post(userServiceUrl + "/api/users", Map.of(
+                "firstName", "Load",
+                "lastName", "Tester" + i,
+                "email", "load-" + runTag + "-" + i + "@example.com",
+                "phone", String.format("%010d", i),
+                "address", i + " Benchmark Road, Springfield")));
+        List<JsonNode> createdProducts = createAll("products", products, i -> post(productServiceUrl + "/api/products", Map.of(
+                "sku", "LT-" + runTag + "-" + i,
+                "name", "Product " + i + " " + WORDS[i % WORDS.length],
+                "description", "Load test product " + i,
+                "price", 5 + (i % 200) + 0.99,
+                "stock", 1_000_000,
+                "category", "category-" + (i % CATEGORIES))));
+
+        List<String> userIds = createdUsers.stream().map(user -> user.path("id").asText()).toList();
+        List<String> productIds = createdProducts.stream().map(product -> product.path("id").asText()).toList();
+        List<JsonNode> createdOrders = createAll("orders", orders, i -> post(orderServiceUrl + "/api/orders",
+                orderBody(userIds.get(i % userIds.size()), productIds, i)));
+
+        System.out.printf("Seeded %,d users, %,d products, %,d orders in %.1fs%n", createdUsers.size(),
+                createdProducts.size(), createdOrders.size(), (System.nanoTime() - start) / 1e9);
+        return new SeedData(runTag,
+                userIds,
+                createdUsers.stream().map(user -> user.path("email").asText()).toList(),
+                productIds,
+                createdProducts.stream().map(product -> product.path("sku").asText()).toList(),
+                createdOrders.stream().map(order -> order.path("id").asText()).toList());
+    }
+
+    static Map<String, Object> orderBody(String userId, List<String> productIds, int seed) {
+        int lines = 1 + seed % 3;
+        List<Map<String, Object>> items = new ArrayList<>(lines);
+        for (int line = 0; line < lines; line++) {
+            // Spread lines over the catalog, distinct within one order
+            items.add(Map.of("productId", productIds.get((seed * 31 + line * 7919) % productIds.size()),
+                    "quantity", 1 + line));
+        }
+        return Map.of("userId", userId, "items", items);
+    }
+
+    private List<JsonNode> createAll(String what, int count, IntFunction<HttpRequest> request)
+            throws InterruptedException {
+        List<JsonNode> created = Collections.synchronizedList(new ArrayList<>(count));
+        List<Future<?>> pending = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                concurrency.acquire();
+                pending.add(executor.submit(() -> {
+                    try {
+                        created.add(send(request.apply(index)));
+                    } finally {
+                        concurrency.release();
+                    }
+                    return null;
+                }));
+            }
+        }
+        long failed = pending.stream().filter(future -> future.state() == Future.State.FAILED).count();
+        if (failed > 0) {
+            throw new IllegalStateException("Failed to seed " + failed + " of " + count + " " + what + ": "
+                    + pending.stream().filter(future -> future.state() == Future.State.FAILED)
+                    .findFirst().map(Future::exceptionNow).map(Throwable::getMessage).orElse(""));
+        }
+        return created;
+    }
+
+    private HttpRequest post(String url, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Retries 5xx and I/O errors with backoff: freshly started services time out
+     * and open circuit breakers until they are warm
+     */
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<byte[]> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                Thread.sleep(1000L << (attempt - 1));
+                continue;
+            }
+            if (response.statusCode() < 300) {
+                return objectMapper.readTree(response.body());
+            }
+            if (response.statusCode() < 500 || attempt == MAX_ATTEMPTS) {
+                throw new IOException(request.method() + " " + request.uri() + " returned "
+                        + response.statusCode() + ": " + new String(response.body()));
+            }
+            Thread.sleep(1000L << (attempt - 1));
+        }
+    }
+}
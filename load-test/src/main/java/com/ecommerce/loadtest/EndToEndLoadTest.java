@@ -0,0 +1,199 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.loadtest.DataSeeder.SeedData;
+import com.ecommerce.loadtest.LoadReport.Summary;
+import com.ecommerce.loadtest.OpenLoadGenerator.OperationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * 🏋️ END-TO-END LOAD TEST - All three services, open-model traffic, latency per endpoint
+ *
+ * 1. Starts MongoDB: an embedded mongod (flapdoodle), or the server given
+ *    with --mongo-uri (host and port only, each service picks its database).
+ * 2. Starts user-, product- and order-service from their packaged jars, wired
+ *    to each other as in production.
+ * 3. Seeds users, products and orders through the REST APIs.
+ * 4. Drives the traffic mix at a constant arrival rate (see OpenLoadGenerator):
+ *    a warm-up that is not recorded, then the measured period.
+ * 5. Writes to --out:
+ *    - histograms.hlog: HDR interval histograms, tagged per operation
+ *      (readable with HdrHistogram's HistogramLogProcessor)
+ *    - summary.json: per-endpoint throughput, errors and percentiles
+ *    and compares summary.json with --baseline if given (exit code 1 on regression).
+ *
+ * Usage (from the repository root, after mvn package):
+ *   java -Dloader.main=com.ecommerce.loadtest.EndToEndLoadTest -jar load-test/target/load-test-1.0.0.jar \
+ *       [--rate=200] [--warmup=30s] [--duration=2m] [--mix=product.get:50,order.create:10,...]
+ *       [--users=1000] [--products=5000] [--orders=2000] [--seed=42] [--seed-concurrency=16] [--max-in-flight=5000]
+ *       [--mongo-uri=mongodb://localhost:27017] [--mongo-version=7.0]
+ *       [--jvm-args=-Xmx512m] [--order-args=--orders.group-commit.enabled=true] [--user-args=...] [--product-args=...]
+ *       [--base-port=18080] [--out=target/load-test] [--baseline=baseline/summary.json] [--threshold=20]
+ *
+ * Client and services share the machine: compare runs on the same hardware with
+ * the same settings, not with production numbers.
+ */
+public class EndToEndLoadTest {
+
+    private final Map<String, String> options;
+    private final Path out;
+
+    EndToEndLoadTest(Map<String, String> options) {
+        this.options = options;
+        this.out = Path.of(options.getOrDefault("out", "target/load-test"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestOptions.parse(args);
+        System.exit(new EndToEndLoadTest(options).run());
+    }
+
+    int run() throws Exception {
+        Files.createDirectories(out);
+        int basePort = Integer.parseInt(options.getOrDefault("base-port", "18080"));
+        List<AutoCloseable> started = new ArrayList<>();
+        try {
+            String mongoUri = startMongo(started);
+            List<String> jvmArgs = split(options.getOrDefault("jvm-args", ""));
+
+            ServiceProcess userService = ServiceProcess.start("user-service",
+                    options.getOrDefault("user-jar", "user-service/target/user-service-1.0.0.jar"), basePort, jvmArgs,
+                    serviceArgs("user-args", "--spring.data.mongodb.uri=" + mongoUri + "/ecommerce"),
+                    out.resolve("user-service.log"));
+            started.add(userService);
+            ServiceProcess productService = ServiceProcess.start("product-service",
+                    options.getOrDefault("product-jar", "product-service/target/product-service-1.0.0.jar"), basePort + 1,
+                    jvmArgs, serviceArgs("product-args", "--spring.data.mongodb.uri=" + mongoUri + "/ecommerce"),
+                    out.resolve("product-service.log"));
+            started.add(productService);
+            ServiceProcess orderService = ServiceProcess.start("order-service",
+                    options.getOrDefault("order-jar", "order-service/target/order-service-1.0.0.jar"), basePort + 2,
+                    jvmArgs, serviceArgs("order-args",
+                            "--spring.data.mongodb.uri=" + mongoUri + "/order_db",
+                            "--services.user-service.url=" + userService.baseUrl(),
+                            "--services.product-service.url=" + productService.baseUrl(),
+                            "--orders.outbox.file.path=" + out.resolve("order-events.jsonl").toAbsolutePath(),
+                            "--related-products.snapshot-path=" + out.resolve("related-products.bin.gz").toAbsolutePath()),
+                    out.resolve("order-service.log"));
+            started.add(orderService);
+
+            return drive(userService.baseUrl(), productService.baseUrl(), orderService.baseUrl());
+        } finally {
+            // Services first, MongoDB last
+            for (int i = started.size() - 1; i >= 0; i--) {
+                started.get(i).close();
+            }
+        }
+    }
+
+    private int drive(String userServiceUrl, String productServiceUrl, String orderServiceUrl) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        int products = Integer.parseInt(options.getOrDefault("products", "5000"));
+        int orders = Integer.parseInt(options.getOrDefault("orders", "2000"));
+        SeedData data = new DataSeeder(client, objectMapper, userServiceUrl, productServiceUrl, orderServiceUrl,
+                Integer.parseInt(options.getOrDefault("seed-concurrency", "16")))
+                .seed(users, products, orders);
+
+        String mixSpec = options.getOrDefault("mix", TrafficMix.DEFAULT_MIX);
+        TrafficMix mix = TrafficMix.parse(mixSpec, data, userServiceUrl, productServiceUrl, orderServiceUrl, objectMapper);
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration warmup = LoadTestOptions.duration(options.getOrDefault("warmup", "30s"));
+        Duration duration = LoadTestOptions.duration(options.getOrDefault("duration", "2m"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        Map<String, OperationResult> results;
+        OpenLoadGenerator generator;
+        try (PrintStream histogramLog = new PrintStream(Files.newOutputStream(out.resolve("histograms.hlog")))) {
+            generator = new OpenLoadGenerator(client, mix, rate, warmup, duration,
+                    Integer.parseInt(options.getOrDefault("max-in-flight", "5000")), seed,
+                    new HistogramLogWriter(histogramLog), Duration.ofSeconds(5));
+            results = generator.run();
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("startedAt", Instant.now().minus(warmup).minus(duration).toString());
+        settings.put("rate", rate);
+        settings.put("warmup", warmup.toString());
+        settings.put("duration", duration.toString());
+        settings.put("mix", mixSpec);
+        settings.put("users", users);
+        settings.put("products", products);
+        settings.put("orders", orders);
+        settings.put("seed", seed);
+        settings.put("jvmArgs", options.getOrDefault("jvm-args", ""));
+        settings.put("userArgs", options.getOrDefault("user-args", ""));
+        settings.put("productArgs", options.getOrDefault("product-args", ""));
+        settings.put("orderArgs", options.getOrDefault("order-args", ""));
+        Summary summary = LoadReport.summarize(settings, results, duration);
+
+        LoadReport.print(summary);
+        if (generator.rejected() > 0) {
+            System.out.printf("%,d requests were not sent: more than max-in-flight were outstanding%n", generator.rejected());
+        }
+        if (generator.maxDispatchLagMicros() > 10_000) {
+            System.out.printf("The client fell up to %.1f ms behind schedule; latencies include that delay%n",
+                    generator.maxDispatchLagMicros() / 1000.0);
+        }
+        Path summaryFile = out.resolve("summary.json");
+        LoadReport.write(summary, summaryFile);
+        System.out.println("Results written to " + summaryFile + " and " + out.resolve("histograms.hlog"));
+
+        if (options.containsKey("baseline")) {
+            Summary baseline = LoadReport.read(Path.of(options.get("baseline")));
+            double threshold = Double.parseDouble(options.getOrDefault("threshold", "20"));
+            return LoadReport.compare(baseline, summary, threshold) > 0 ? 1 : 0;
+        }
+        return 0;
+    }
+
+    private String startMongo(List<AutoCloseable> started) {
+        String configured = options.get("mongo-uri");
+        if (configured != null) {
+            return configured.endsWith("/") ? configured.substring(0, configured.length() - 1) : configured;
+        }
+        Version.Main version = Arrays.stream(Version.Main.values())
+                .filter(candidate -> candidate.asInDownloadPath().equals(options.getOrDefault("mongo-version", "7.0")))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported --mongo-version " + options.get("mongo-version")));
+        System.out.println("Starting embedded MongoDB " + version.asInDownloadPath());
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(version);
+        started.add(mongod::close);
+        var address = mongod.current().getServerAddress();
+        return "mongodb://" + address.getHost() + ":" + address.getPort();
+    }
+
+    private List<String> serviceArgs(String option, String... wiring) {
+        List<String> args = new ArrayList<>(List.of(wiring));
+        args.add("--logging.level.com.ecommerce=WARN");
+        args.addAll(split(options.getOrDefault(option, "")));  // last wins: may override the wiring
+        return args;
+    }
+
+    private static List<String> split(String args) {
+        return args.isBlank() ? List.of() : Arrays.asList(args.trim().split("\\s+"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.loadtest.OpenLoadGenerator.OperationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 📋 LOAD REPORT - Per-endpoint summary of a run, and its comparison with a baseline
+ *
+ * summary.json holds the run settings and, per operation, throughput, error
+ * rate and p50 / p90 / p99 / p99.9 / max latency in milliseconds. A summary
+ * from an earlier run (e.g. the previous release) serves as the baseline:
+ * a percentile more than threshold percent slower, or an error rate more than
+ * one percentage point higher, is a regression. Differences under 1 ms are
+ * ignored as noise.
+ */
+final class LoadReport {
+
+    private static final double NOISE_FLOOR_MILLIS = 1.0;
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record Summary(Map<String, Object> settings, List<EndpointSummary> endpoints) {
+    }
+
+    record EndpointSummary(String operation, String endpoint, long requests, long errors, double errorRate,
+                           double throughput, double p50Millis, double p90Millis, double p99Millis,
+                           double p999Millis, double maxMillis) {
+    }
+
+    private LoadReport() {
+    }
+
+    static Summary summarize(Map<String, Object> settings, Map<String, OperationResult> results, Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        List<EndpointSummary> endpoints = results.values().stream()
+                .map(result -> {
+                    Histogram histogram = result.histogram();
+                    long requests = histogram.getTotalCount() + result.errors();
+                    return new EndpointSummary(result.operation().name(), result.operation().endpoint(),
+                            requests, result.errors(),
+                            requests == 0 ? 0 : (double) result.errors() / requests,
+                            histogram.getTotalCount() / seconds,
+                            millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                            millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+                })
+                .toList();
+        return new Summary(settings, endpoints);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    static void write(Summary summary, Path file) throws IOException {
+        JSON.writeValue(file.toFile(), summary);
+    }
+
+    static Summary read(Path file) throws IOException {
+        return JSON.readValue(file.toFile(), Summary.class);
+    }
+
+    static void print(Summary summary) {
+        System.out.println();
+        System.out.println("| operation            | endpoint                                                |   req/s | errors |  p50 ms |  p90 ms |  p99 ms | p99.9 ms |  max ms |");
+        System.out.println("|----------------------|---------------------------------------------------------|---------|--------|---------|---------|---------|----------|---------|");
+        for (EndpointSummary e : summary.endpoints()) {
+            System.out.printf("| %-20s | %-55s | %7.1f | %5.2f%% | %7.1f | %7.1f | %7.1f | %8.1f | %7.1f |%n",
+                    e.operation(), e.endpoint(), e.throughput(), e.errorRate() * 100, e.p50Millis(), e.p90Millis(),
+                    e.p99Millis(), e.p999Millis(), e.maxMillis());
+        }
+    }
+
+    /**
+     * Prints the comparison; returns the number of regressions
+     */
+    static int compare(Summary baseline, Summary current, double thresholdPercent) {
+        Map<String, EndpointSummary> before = baseline.endpoints().stream()
+                .collect(Collectors.toMap(EndpointSummary::operation, Function.identity()));
+        int regressions = 0;
+
+        System.out.println();
+        System.out.printf("Compared with baseline (threshold %.0f%%):%n", thresholdPercent);
+        for (EndpointSummary after : current.endpoints()) {
+            EndpointSummary previous = before.get(after.operation());
+            if (previous == null) {
+                System.out.printf("  %-20s new, no baseline%n", after.operation());
+                continue;
+            }
+            regressions += compare(after.operation(), "p50", previous, after, EndpointSummary::p50Millis, thresholdPercent);
+            regressions += compare(after.operation(), "p99", previous, after, EndpointSummary::p99Millis, thresholdPercent);
+            regressions += compare(after.operation(), "p99.9", previous, after, EndpointSummary::p999Millis, thresholdPercent);
+            if (after.errorRate() - previous.errorRate() > 0.01) {
+                System.out.printf("  %-20s errors %5.2f%% -> %5.2f%%  REGRESSION%n", after.operation(),
+                        previous.errorRate() * 100, after.errorRate() * 100);
+                regressions++;
+            }
+        }
+        System.out.printf("%d regression(s)%n", regressions);
+        return regressions;
+    }
+
+    private static int compare(String operation, String metric, EndpointSummary previous, EndpointSummary current,
+                               ToDoubleFunction<EndpointSummary> value, double thresholdPercent) {
+        double before = value.applyAsDouble(previous);
+        double after = value.applyAsDouble(current);
+        double change = before == 0 ? 0 : (after - before) / before * 100;
+        boolean significant = Math.abs(after - before) >= NOISE_FLOOR_MILLIS && Math.abs(change) > thresholdPercent;
+        String verdict = !significant ? "" : change > 0 ? "  REGRESSION" : "  improved";
+        System.out.printf("  %-20s %-5s %9.1f ms -> %9.1f ms  %+7.1f%%%s%n", operation, metric, before, after, change, verdict);
+        return significant && change > 0 ? 1 : 0;
+    }
+}
@@ -0,0 +1,187 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.loadtest.TrafficMix.Operation;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 📈 OPEN LOAD GENERATOR - Constant arrival rate, latency per endpoint
+ *
+ * Requests are started on a fixed schedule (one every 1/rate seconds) whether
+ * or not earlier ones have finished, like independent users arriving. Each
+ * request runs on its own virtual thread. Latency is measured from the time
+ * the request was scheduled to start, not from when it was sent, so a stalled
+ * service or a lagging client shows up as latency instead of silently lowering
+ * the request rate (no coordinated omission).
+ *
+ * A response with status 400 or above, a timeout or an I/O error counts as an
+ * error and is not recorded in the histogram. Requests beyond max-in-flight
+ * are not sent and count as errors too: the service is not keeping up.
+ *
+ * Latencies are recorded in microseconds into one HDR histogram per operation.
+ * Every log-interval each histogram's interval is written, tagged with the
+ * operation name, to the histogram log.
+ */
+final class OpenLoadGenerator {
+
+    /**
+     * Totals of one operation over the measured period
+     */
+    record OperationResult(Operation operation, Histogram histogram, long errors) {
+    }
+
+    private static final class OperationStats {
+
+        final Recorder recorder = new Recorder(3);
+        final Histogram total = new Histogram(3);
+        final AtomicLong errors = new AtomicLong();
+        Histogram interval;
+    }
+
+    private final HttpClient client;
+    private final TrafficMix mix;
+    private final double requestsPerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final long seed;
+    private final HistogramLogWriter logWriter;
+    private final Duration logInterval;
+
+    private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile long maxDispatchLagNanos;
+
+    OpenLoadGenerator(HttpClient client, TrafficMix mix, double requestsPerSecond, Duration warmup,
+                      Duration duration, int maxInFlight, long seed, HistogramLogWriter logWriter,
+                      Duration logInterval) {
+        this.client = client;
+        this.mix = mix;
+        this.requestsPerSecond = requestsPerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.seed = seed;
+        this.logWriter = logWriter;
+        this.logInterval = logInterval;
+        mix.operations().forEach(operation -> stats.put(operation.name(), new OperationStats()));
+    }
+
+    Map<String, OperationResult> run() throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        ScheduledExecutorService intervalLogger = Executors.newSingleThreadScheduledExecutor();
+        long untilMeasuring = TimeUnit.NANOSECONDS.toMillis(measureFrom - System.nanoTime());
+        // Nothing is recorded during warm-up: reset so the first interval starts with the measured period
+        intervalLogger.schedule(() -> stats.values().forEach(operationStats -> operationStats.recorder.reset()),
+                untilMeasuring, TimeUnit.MILLISECONDS);
+        intervalLogger.scheduleAtFixedRate(this::logIntervals, untilMeasuring + logInterval.toMillis(),
+                logInterval.toMillis(), TimeUnit.MILLISECONDS);
+        long measuringStartMillis = System.currentTimeMillis() + untilMeasuring;
+        logWriter.outputStartTime(measuringStartMillis);
+        logWriter.setBaseTime(measuringStartMillis);
+        logWriter.outputLegend();
+
+        System.out.printf("Driving %.0f req/s: %s warm-up, then %s measured%n", requestsPerSecond, warmup, duration);
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * intervalNanos;
+                if (scheduled >= end) {
+                    break;
+                }
+                long now;
+                while ((now = System.nanoTime()) < scheduled) {
+                    LockSupport.parkNanos(scheduled - now);
+                }
+                if (scheduled >= measureFrom) {
+                    maxDispatchLagNanos = Math.max(maxDispatchLagNanos, now - scheduled);
+                }
+
+                Operation operation = mix.pick(random);
+                boolean measured = scheduled >= measureFrom;
+                if (inFlight.get() >= maxInFlight) {
+                    if (measured) {
+                        stats.get(operation.name()).errors.incrementAndGet();
+                        rejected.incrementAndGet();
+                    }
+                    continue;
+                }
+                inFlight.incrementAndGet();
+                SplittableRandom requestRandom = random.split();
+                requests.submit(() -> execute(operation, requestRandom, scheduled, measured));
+            }
+        } finally {
+            intervalLogger.shutdown();
+            intervalLogger.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        logIntervals();
+
+        Map<String, OperationResult> results = new LinkedHashMap<>();
+        for (Operation operation : mix.operations()) {
+            OperationStats operationStats = stats.get(operation.name());
+            results.put(operation.name(), new OperationResult(operation, operationStats.total, operationStats.errors.get()));
+        }
+        return results;
+    }
+
+    long rejected() {
+        return rejected.get();
+    }
+
+    long maxDispatchLagMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxDispatchLagNanos);
+    }
+
+    private void execute(Operation operation, SplittableRandom random, long scheduled, boolean measured) {
+        OperationStats operationStats = stats.get(operation.name());
+        try {
+            int status = client.send(operation.request().apply(random), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (measured) {
+                if (status < 400) {
+                    operationStats.recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+                } else {
+                    operationStats.errors.incrementAndGet();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (measured) {
+                operationStats.errors.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private synchronized void logIntervals() {
+        for (Map.Entry<String, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            operationStats.interval = operationStats.recorder.getIntervalHistogram(operationStats.interval);
+            operationStats.interval.setTag(entry.getKey());
+            operationStats.total.add(operationStats.interval);
+            logWriter.outputIntervalHistogram(operationStats.interval);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.ecommerce.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ⏱️ STARTUP BENCHMARK - Time to first successful request per service and startup mode
+ *
+ * Modes (build the services with mvn -Pfast-startup package first):
+ * - jvm:    java -jar target/<service>.jar
+ * - aot:    the same jar with -Dspring.aot.enabled=true (Spring AOT-processed bean definitions)
+ * - cds:    AOT plus the class-data-sharing archive of the training run (target/cds)
+ * - native: the GraalVM native executable (mvn -Pnative native:compile), if built
+ *
+ * Each run starts the service from scratch and sends one request every 10ms
+ * until the first answer below 500 arrives: by then the request went through
+ * Tomcat, the controller, the service, MongoDB and Jackson. That time, from
+ * process start, is reported along with Spring Boot's own "Started in" time,
+ * which excludes JVM startup and the first request.
+ *
+ * Usage:
+ *   java -Dloader.main=com.ecommerce.loadtest.StartupBenchmark -jar load-test/target/load-test-1.0.0.jar \
+ *       [--services=user,product,order] [--modes=jvm,aot,cds,native] [--runs=5]
+ *       [--mongo-uri=mongodb://localhost:27017] [--root=.] [--port=18095]
+ *       [--jvm-args=-Xmx512m] [--out=target/startup-benchmark.csv]
+ */
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+
+    /**
+     * A data endpoint per service that needs no seeded data
+     */
+    private static final Map<String, String> PROBE_PATHS = Map.of(
+            "user", "/api/users/email/startup-probe@example.com",
+            "product", "/api/products/category/startup-probe",
+            "order", "/api/orders/user/startup-probe");
+    private static final Map<String, String> DATABASES = Map.of(
+            "user", "ecommerce",
+            "product", "ecommerce",
+            "order", "order_db");
+
+    record Result(String service, String mode, int runs, double medianMillis, double minMillis, double maxMillis,
+                  double medianStartedSeconds) {
+    }
+
+    private final Map<String, String> options;
+    private final Path root;
+    private final int port;
+
+    StartupBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.root = Path.of(options.getOrDefault("root", ".")).toAbsolutePath().normalize();
+        this.port = Integer.parseInt(options.getOrDefault("port", "18095"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark(LoadTestOptions.parse(args)).run();
+    }
+
+    void run() throws Exception {
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<Result> results = new ArrayList<>();
+
+        for (String service : options.getOrDefault("services", "user,product,order").split(",")) {
+            for (String mode : options.getOrDefault("modes", "jvm,aot,cds,native").split(",")) {
+                List<String> command = command(service.trim(), mode.trim());
+                if (command == null) {
+                    continue;
+                }
+                double[] millis = new double[runs];
+                double[] started = new double[runs];
+                for (int run = 0; run < runs; run++) {
+                    Path log = Path.of("target", "startup-" + service.trim() + "-" + mode.trim() + "-" + run + ".log");
+                    millis[run] = timeToFirstRequest(service.trim(), command, workingDirectory(service.trim(), mode.trim()), log);
+                    started[run] = startedSeconds(log);
+                    System.out.printf("[%s/%s] run %d: first request after %,.0f ms (Spring Boot: started in %.2f s)%n",
+                            service.trim(), mode.trim(), run + 1, millis[run], started[run]);
+                }
+                Arrays.sort(millis);
+                Arrays.sort(started);
+                results.add(new Result(service.trim(), mode.trim(), runs, millis[runs / 2], millis[0], millis[runs - 1],
+                        started[runs / 2]));
+            }
+        }
+
+        printTable(results);
+        writeCsv(results, Path.of(options.getOrDefault("out", "target/startup-benchmark.csv")));
+    }
+
+    /**
+     * The command for one mode, or null (with a note) if that mode was not built
+     */
+    private List<String> command(String service, String mode) {
+        Path target = root.resolve(service + "-service").resolve("target");
+        String jarName = service + "-service-1.0.0.jar";
+        List<String> command = new ArrayList<>();
+        Path required;
+        if (mode.equals("native")) {
+            required = target.resolve(service + "-service");
+            command.add(required.toString());
+        } else {
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            String jvmArgs = options.getOrDefault("jvm-args", "");
+            if (!jvmArgs.isBlank()) {
+                command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+            }
+            switch (mode) {
+                case "jvm" -> required = target.resolve(jarName);
+                case "aot" -> {
+                    required = target.resolve(jarName);
+                    command.add("-Dspring.aot.enabled=true");
+                }
+                case "cds" -> {
+                    // Same relative classpath as the training run, or the JVM rejects the archive
+                    required = target.resolve("cds").resolve("application.jsa");
+                    command.addAll(List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true"));
+                }
+                default -> throw new IllegalArgumentException("Unknown mode " + mode + " (expected jvm, aot, cds or native)");
+            }
+            command.addAll(List.of("-jar", jarName));
+        }
+        if (!Files.exists(required)) {
+            System.out.printf("[%s/%s] skipped: %s not found%n", service, mode, required);
+            return null;
+        }
+        command.addAll(List.of("--server.port=" + port,
+                "--spring.data.mongodb.uri=" + options.getOrDefault("mongo-uri", "mongodb://localhost:27017")
+                        + "/" + DATABASES.get(service)));
+        return command;
+    }
+
+    private Path workingDirectory(String service, String mode) {
+        Path target = root.resolve(service + "-service").resolve("target");
+        return mode.equals("cds") ? target.resolve("cds") : target;
+    }
+
+    private double timeToFirstRequest(String service, List<String> command, Path directory, Path log)
+            throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PROBE_PATHS.get(service)))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        Files.createDirectories(log.toAbsolutePath().getParent());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toAbsolutePath().toFile())
+                .start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(service + " exited with code " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() < 500) {
+                        return (System.nanoTime() - start) / 1e6;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(service + " did not answer within " + STARTUP_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static double startedSeconds(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+    }
+
+    private static void printTable(List<Result> results) {
+        System.out.println();
+        System.out.println("| service | mode   | runs | first request ms (median) |    min |    max | Spring Boot started in s |");
+        System.out.println("|---------|--------|------|---------------------------|--------|--------|--------------------------|");
+        for (Result r : results) {
+            System.out.printf("| %-7s | %-6s | %4d | %,25.0f | %,6.0f | %,6.0f | %24.2f |%n",
+                    r.service(), r.mode(), r.runs(), r.medianMillis(), r.minMillis(), r.maxMillis(),
+                    r.medianStartedSeconds());
+        }
+    }
+
+    private static void writeCsv(List<Result> results, Path out) throws IOException {
+        if (out.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(out.toAbsolutePath().getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out))) {
+            writer.println("service,mode,runs,first_request_median_ms,first_request_min_ms,first_request_max_ms,started_median_s");
+            for (Result r : results) {
+                writer.printf("%s,%s,%d,%.1f,%.1f,%.1f,%.3f%n", r.service(), r.mode(), r.runs(), r.medianMillis(),
+                        r.minMillis(), r.maxMillis(), r.medianStartedSeconds());
+            }
+        }
+        System.out.println("Results written to " + out);
+    }
+}
@@ -0,0 +1,270 @@
+package com.ecommerce.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 🧵 THREAD MODE BENCHMARK - Platform vs virtual threads at 1k-10k concurrent connections
+ *
+ * Starts one service jar twice against the same MongoDB, once per mode:
+ * - platform: Tomcat's default pool of 200 platform threads
+ * - virtual:  --spring.profiles.active=virtual-threads
+ * Both runs get the same Tomcat connection limits, so only the thread model differs.
+ *
+ * At each concurrency level, that many clients (one virtual thread and one
+ * keep-alive connection each) send GET requests back to back for the warm-up,
+ * then for the measured duration. Reported per level: throughput, p50/p99/p99.9
+ * and errors; per mode: pinned-thread events the service logged
+ * (-Djdk.tracePinnedThreads=short).
+ *
+ * The client needs ulimit -n above the highest level. Run it on a separate
+ * multi-core host from the service, against a MongoDB with realistic latency:
+ * with client, service and MongoDB sharing one core both modes are CPU-bound
+ * long before the thread pool matters, and the results say nothing about the
+ * thread model.
+ *
+ * Usage:
+ *   java -jar load-test/target/load-test-1.0.0.jar \
+ *       --jar=product-service/target/product-service-1.0.0.jar \
+ *       --path=/api/products/category/Electronics \
+ *       [--mongo-uri=mongodb://localhost:27017/ecommerce] [--levels=1000,2500,5000,10000]
+ *       [--warmup=10s] [--duration=30s] [--modes=platform,virtual] [--port=18090]
+ *       [--jvm-args=-Xmx1g] [--out=target/thread-mode-benchmark.csv]
+ */
+public class ThreadModeBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    record Result(String mode, int connections, double throughput, double p50Millis, double p99Millis,
+                  double p999Millis, long errors, long pinnedEvents) {
+    }
+
+    private final Map<String, String> options;
+    private final int port;
+    private final Duration warmup;
+    private final Duration duration;
+
+    ThreadModeBenchmark(Map<String, String> options) {
+        this.options = options;
+        this.port = Integer.parseInt(options.getOrDefault("port", "18090"));
+        this.warmup = LoadTestOptions.duration(options.getOrDefault("warmup", "10s"));
+        this.duration = LoadTestOptions.duration(options.getOrDefault("duration", "30s"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTestOptions.parse(args);
+        if (!options.containsKey("jar") || !options.containsKey("path")) {
+            System.err.println("Usage: --jar=<service jar> --path=<GET path> [--mongo-uri=...] [--levels=1000,2500,5000,10000]"
+                    + " [--warmup=10s] [--duration=30s] [--modes=platform,virtual] [--port=18090] [--jvm-args=...] [--out=...]");
+            System.exit(2);
+        }
+        new ThreadModeBenchmark(options).run();
+    }
+
+    void run() throws Exception {
+        int[] levels = Arrays.stream(options.getOrDefault("levels", "1000,2500,5000,10000").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        List<Result> results = new ArrayList<>();
+
+        for (String mode : options.getOrDefault("modes", "platform,virtual").split(",")) {
+            Path log = Path.of("target", "thread-mode-" + mode + ".log");
+            Process service = startService(mode.trim(), log);
+            List<Result> modeResults = new ArrayList<>();
+            try {
+                for (int connections : levels) {
+                    modeResults.add(runLevel(mode.trim(), connections));
+                }
+            } finally {
+                stop(service);
+            }
+            long pinned = countPinnedEvents(log);
+            modeResults.forEach(result -> results.add(new Result(result.mode(), result.connections(),
+                    result.throughput(), result.p50Millis(), result.p99Millis(), result.p999Millis(),
+                    result.errors(), pinned)));
+        }
+
+        printTable(results);
+        writeCsv(results, Path.of(options.getOrDefault("out", "target/thread-mode-benchmark.csv")));
+    }
+
+    private Process startService(String mode, Path log) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String jvmArgs = options.getOrDefault("jvm-args", "");
+        if (!jvmArgs.isBlank()) {
+            command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        }
+        if (mode.equals("virtual")) {
+            command.add("-Djdk.tracePinnedThreads=short");
+        }
+        command.addAll(List.of("-jar", options.get("jar"),
+                "--server.port=" + port,
+                "--spring.data.mongodb.uri=" + options.getOrDefault("mongo-uri", "mongodb://localhost:27017/ecommerce"),
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=1000",
+                "--logging.level.com.ecommerce=WARN"));
+        if (mode.equals("virtual")) {
+            command.add("--spring.profiles.active=virtual-threads");
+        } else if (!mode.equals("platform")) {
+            throw new IllegalArgumentException("Unknown mode " + mode + " (expected platform or virtual)");
+        }
+
+        Files.createDirectories(log.toAbsolutePath().getParent());
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        System.out.printf("[%s] started %s, log %s%n", mode, options.get("jar"), log);
+
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with code " + process.exitValue() + ", see " + log);
+            }
+            try {
+                HttpResponse<Void> response = client.send(request(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() < 500) {
+                    return process;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        stop(process);
+        throw new IllegalStateException("Service did not answer " + options.get("path") + " within " + STARTUP_TIMEOUT);
+    }
+
+    private Result runLevel(String mode, int connections) throws InterruptedException {
+        Recorder recorder = new Recorder(3);
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = request();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                clients.submit(() -> {
+                    while (true) {
+                        long sent = System.nanoTime();
+                        if (sent >= end) {
+                            return;
+                        }
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+                        } catch (IOException e) {
+                            ok = false;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        if (sent >= measureFrom) {
+                            if (ok) {
+                                recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent));
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+                // Ramp up over ~1s per 10k clients instead of one connect storm
+                if (i % 100 == 99) {
+                    Thread.sleep(10);
+                }
+            }
+        }
+
+        Histogram histogram = recorder.getIntervalHistogram();
+        double seconds = duration.toNanos() / 1e9;
+        Result result = new Result(mode, connections, histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                errors.get(), 0);
+        System.out.printf("[%s] %,6d connections: %,10.0f req/s  p50 %8.1f ms  p99 %8.1f ms  p99.9 %8.1f ms  errors %,d%n",
+                mode, connections, result.throughput(), result.p50Millis(), result.p99Millis(), result.p999Millis(),
+                result.errors());
+        return result;
+    }
+
+    private HttpRequest request() {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + options.get("path")))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    /**
+     * jdk.tracePinnedThreads prints one "<== monitors" line per pinned park
+     */
+    private static long countPinnedEvents(Path log) throws IOException {
+        if (!Files.exists(log)) {
+            return 0;
+        }
+        try (Stream<String> lines = Files.lines(log)) {
+            return lines.filter(line -> line.contains("<== monitors")).count();
+        }
+    }
+
+    private static void printTable(List<Result> results) {
+        System.out.println();
+        System.out.println("| mode     | connections |      req/s |  p50 ms |  p99 ms | p99.9 ms | errors | pinned |");
+        System.out.println("|----------|-------------|------------|---------|---------|----------|--------|--------|");
+        for (Result r : results) {
+            System.out.printf("| %-8s | %,11d | %,10.0f | %7.1f | %7.1f | %8.1f | %,6d | %,6d |%n",
+                    r.mode(), r.connections(), r.throughput(), r.p50Millis(), r.p99Millis(), r.p999Millis(),
+                    r.errors(), r.pinnedEvents());
+        }
+    }
+
+    private static void writeCsv(List<Result> results, Path out) throws IOException {
+        if (out.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(out.toAbsolutePath().getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out))) {
+            writer.println("mode,connections,throughput,p50_ms,p99_ms,p999_ms,errors,pinned_events");
+            for (Result r : results) {
+                writer.printf("%s,%d,%.1f,%.3f,%.3f,%.3f,%d,%d%n", r.mode(), r.connections(), r.throughput(),
+                        r.p50Millis(), r.p99Millis(), r.p999Millis(), r.errors(), r.pinnedEvents());
+            }
+        }
+        System.out.println("Results written to " + out);
+    }
+}
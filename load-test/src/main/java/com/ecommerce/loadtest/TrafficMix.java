@@ -0,0 +1,165 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.loadtest.DataSeeder.SeedData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * 🎛️ TRAFFIC MIX - Weighted operations the load generator picks from
+ *
+ * Every operation is one REST call with IDs drawn from the seeded data.
+ * A mix is written as name:weight pairs, e.g.
+ *   product.get:50,cart.add:30,order.create:20
+ * Weights are relative; picks are random but reproducible for a given seed.
+ */
+final class TrafficMix {
+
+    static final String DEFAULT_MIX = "product.get:25,product.batch:5,product.category:8,product.search:4,"
+            + "user.get:8,cart.get:10,cart.add:12,cart.clear:1,order.history:10,order.get:5,order.create:8,"
+            + "analytics.related:4";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * One kind of request; endpoint is the path template it is reported under
+     */
+    record Operation(String name, String endpoint, int weight, Function<SplittableRandom, HttpRequest> request) {
+    }
+
+    private final List<Operation> operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private TrafficMix(List<Operation> operations) {
+        this.operations = operations;
+        this.cumulativeWeights = new int[operations.size()];
+        int total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            total += operations.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    Operation pick(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    static TrafficMix parse(String mix, SeedData data, String userServiceUrl, String productServiceUrl,
+                            String orderServiceUrl, ObjectMapper objectMapper) {
+        Map<String, Operation> catalog = catalog(data, userServiceUrl, productServiceUrl, orderServiceUrl, objectMapper);
+        List<Operation> operations = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = catalog.get(parts[0]);
+            if (operation == null || parts.length != 2) {
+                throw new IllegalArgumentException("Unknown mix entry " + entry + ", operations: " + catalog.keySet());
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                operation.request().apply(new SplittableRandom(0));  // fail now if the seeded data cannot serve it
+                operations.add(new Operation(operation.name(), operation.endpoint(), weight, operation.request()));
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix has no operation with a positive weight");
+        }
+        return new TrafficMix(operations);
+    }
+
+    private static Map<String, Operation> catalog(SeedData data, String users, String products, String orders,
+                                                  ObjectMapper objectMapper) {
+        Map<String, Operation> catalog = new LinkedHashMap<>();
+        add(catalog, "product.get", "GET /api/products/{id}",
+                random -> get(products + "/api/products/" + any(data.productIds(), random)));
+        add(catalog, "product.sku", "GET /api/products/sku/{sku}",
+                random -> get(products + "/api/products/sku/" + any(data.skus(), random)));
+        add(catalog, "product.batch", "GET /api/products/batch",
+                random -> {
+                    StringBuilder ids = new StringBuilder();
+                    for (int i = 0; i < 10; i++) {
+                        ids.append(i == 0 ? "" : ",").append(any(data.productIds(), random));
+                    }
+                    return get(products + "/api/products/batch?ids=" + ids);
+                });
+        add(catalog, "product.category", "GET /api/products/category/{category}",
+                random -> get(products + "/api/products/category/category-" + random.nextInt(DataSeeder.CATEGORIES)));
+        add(catalog, "product.search", "GET /api/products/search",
+                random -> get(products + "/api/products/search?query="
+                        + DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)]));
+        add(catalog, "user.get", "GET /api/users/{id}",
+                random -> get(users + "/api/users/" + any(data.userIds(), random)));
+        add(catalog, "user.email", "GET /api/users/email/{email}",
+                random -> get(users + "/api/users/email/" + any(data.emails(), random)));
+        add(catalog, "cart.get", "GET /api/carts/{userId}",
+                random -> get(orders + "/api/carts/" + any(data.userIds(), random)));
+        add(catalog, "cart.add", "POST /api/carts/{userId}/items",
+                random -> post(orders + "/api/carts/" + any(data.userIds(), random) + "/items",
+                        Map.of("productId", any(data.productIds(), random), "quantity", 1), objectMapper));
+        add(catalog, "cart.clear", "DELETE /api/carts/{userId}",
+                random -> HttpRequest.newBuilder(URI.create(orders + "/api/carts/" + any(data.userIds(), random)))
+                        .timeout(REQUEST_TIMEOUT)
+                        .DELETE()
+                        .build());
+        add(catalog, "order.create", "POST /api/orders",
+                random -> post(orders + "/api/orders", DataSeeder.orderBody(any(data.userIds(), random),
+                        data.productIds(), random.nextInt(1 << 20)), objectMapper));
+        add(catalog, "order.get", "GET /api/orders/{id}",
+                random -> get(orders + "/api/orders/" + any(data.orderIds(), random)));
+        add(catalog, "order.history", "GET /api/orders/user/{userId}",
+                random -> get(orders + "/api/orders/user/" + any(data.userIds(), random) + "?limit=20"));
+        add(catalog, "analytics.top-customers", "GET /api/orders/analytics/top-customers",
+                random -> get(orders + "/api/orders/analytics/top-customers?limit=10"));
+        add(catalog, "analytics.related", "GET /api/orders/analytics/products/{productId}/related",
+                random -> get(orders + "/api/orders/analytics/products/" + any(data.productIds(), random) + "/related"));
+        return catalog;
+    }
+
+    private static void add(Map<String, Operation> catalog, String name, String endpoint,
+                            Function<SplittableRandom, HttpRequest> request) {
+        catalog.put(name, new Operation(name, endpoint, 0, request));
+    }
+
+    private static String any(List<String> values, SplittableRandom random) {
+        if (values.isEmpty()) {
+            throw new IllegalStateException("The traffic mix needs seeded data it does not have; seed more");
+        }
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private static HttpRequest post(String url, Object body, ObjectMapper objectMapper) {
+        try {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.diagnostics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ CONNECTION CHECKOUT TIMER - How long requests wait for a pooled MongoDB connection
+ *
+ * Records mongodb.driver.pool.checkout, tagged with the server and the outcome
+ * (success, or the failure reason such as TIMEOUT). A rising checkout time
+ * with a full pool means maxPoolSize, not MongoDB, is the bottleneck.
+ */
+public class ConnectionCheckoutTimer implements ConnectionPoolListener {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ServerAddress, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public ConnectionCheckoutTimer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        successTimers.computeIfAbsent(event.getConnectionId().getServerId().getAddress(), address -> timer(address, "success"))
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        timer(event.getServerId().getAddress(), event.getReason().name())
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(ServerAddress address, String outcome) {
+        return Timer.builder("mongodb.driver.pool.checkout")
+                .description("Time to check a connection out of the MongoDB connection pool")
+                .tag("server.address", address.toString())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.diagnostics;
+
+import com.mongodb.client.MongoClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 📏 MONGO POOL METRICS AUTO-CONFIGURATION - Connection checkout time on top of Spring Boot's MongoDB metrics
+ *
+ * Spring Boot (actuator) already records, per MongoClient:
+ * - mongodb.driver.commands: one timer per command and collection (CommandListener)
+ * - mongodb.driver.pool.size / .checkedout / .waitqueuesize: pool gauges
+ * and spring.data.repository.invocations times every repository method.
+ *
+ * Missing is how long a request waits for a pooled connection: this adds the
+ * ConnectionCheckoutTimer to every MongoClient the service builds.
+ */
+@AutoConfiguration(before = MongoAutoConfiguration.class, after = {MetricsAutoConfiguration.class,
+        CompositeMeterRegistryAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class})
+@ConditionalOnClass({MongoClient.class, MeterRegistry.class})
+@ConditionalOnBean(MeterRegistry.class)
+public class MongoPoolMetricsAutoConfiguration {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionCheckoutTimer(MeterRegistry meterRegistry) {
+        ConnectionCheckoutTimer timer = new ConnectionCheckoutTimer(meterRegistry);
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(timer));
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * 🧭 REPOSITORY METHOD TRACKER - Which repository method is running on this thread
+ *
+ * Adds an interceptor to every Spring Data repository proxy that remembers the
+ * outermost repository method (e.g. "ProductRepository.findByCategory") while
+ * it runs, so a command the driver reports on the same thread can be traced to
+ * it. Reactive repositories run their commands on other threads and are not
+ * tracked.
+ */
+public class RepositoryMethodTracker implements BeanPostProcessor {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The repository method running on this thread, or null
+     */
+    static String current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            new Tracker(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private record Tracker(String repository) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (CURRENT.get() != null) {
+                return invocation.proceed();  // nested call: the outer method is the one to report
+            }
+            CURRENT.set(repository + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.diagnostics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 🐢 SLOW QUERY - One MongoDB command that exceeded the threshold
+ *
+ * shape is the command with every value replaced by "?", so entries of the
+ * same query group together and no customer data is kept. The plan fields
+ * are only set if the command was sampled and explained (explained = true).
+ *
+ * @param source         repository method (ProductRepository.findByCategory) or calling class and method
+ * @param planStages     stages of the winning plan, e.g. [FETCH, IXSCAN sku_1] or [COLLSCAN]
+ * @param examinedPerReturned documents examined per document returned (1 is ideal)
+ */
+public record SlowQuery(
+        Instant timestamp,
+        String database,
+        String collection,
+        String command,
+        long durationMillis,
+        String source,
+        String shape,
+        boolean explained,
+        List<String> planStages,
+        boolean collectionScan,
+        long docsExamined,
+        long keysExamined,
+        long docsReturned,
+        double examinedPerReturned) {
+
+    static SlowQuery unexplained(Instant timestamp, String database, String collection, String command,
+                                 long durationMillis, String source, String shape) {
+        return new SlowQuery(timestamp, database, collection, command, durationMillis, source, shape,
+                false, List.of(), false, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.diagnostics;
+
+import com.mongodb.client.MongoClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 🐢 SLOW QUERY AUTO-CONFIGURATION - Active in every service that has this module
+ *
+ * Registers the SlowQueryDetector on every MongoClient the service builds
+ * (blocking and reactive), tracks repository methods for attribution, and
+ * exposes the recorded queries on /actuator/slowqueries.
+ *
+ * Turned off with diagnostics.slow-queries.enabled=false.
+ */
+@AutoConfiguration
+@ConditionalOnClass(MongoClient.class)
+@ConditionalOnProperty(prefix = "diagnostics.slow-queries", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class SlowQueryAutoConfiguration {
+
+    @Bean
+    public SlowQueryLog slowQueryLog(SlowQueryProperties properties) {
+        return new SlowQueryLog(properties.getCapacity());
+    }
+
+    /**
+     * The client is looked up lazily: it is built with this detector as a listener
+     */
+    @Bean
+    public SlowQueryDetector slowQueryDetector(SlowQueryProperties properties, SlowQueryLog slowQueryLog,
+                                               ObjectProvider<MongoClient> mongoClient) {
+        return new SlowQueryDetector(properties, slowQueryLog, mongoClient);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryListenerCustomizer(SlowQueryDetector slowQueryDetector) {
+        return settings -> settings.addCommandListener(slowQueryDetector);
+    }
+
+    @Bean
+    public static RepositoryMethodTracker repositoryMethodTracker() {
+        return new RepositoryMethodTracker();
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog, SlowQueryProperties properties) {
+        return new SlowQueryEndpoint(slowQueryLog, properties);
+    }
+}
@@ -0,0 +1,299 @@
+package com.ecommerce.diagnostics;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔬 SLOW QUERY DETECTOR - Flags slow MongoDB commands and explains a sample of them
+ *
+ * Registered as a driver CommandListener on every MongoClient of the service:
+ * 1. On start, a sample-rate fraction of query commands (find, aggregate,
+ *    count, distinct, update, delete, findAndModify) keep a copy of their text.
+ *    Copying every command would cost more than the detector is worth.
+ * 2. On success, a command slower than threshold is attributed to the
+ *    repository method running on the thread (or the nearest application
+ *    class) and recorded in the SlowQueryLog.
+ * 3. A slow command with a kept copy is explained ("executionStats") on a
+ *    single background thread, never on the request thread, and at most once
+ *    per query shape per explain-interval. The plan's stages, COLLSCAN and
+ *    docs examined per doc returned are recorded with it.
+ *
+ * Explaining with executionStats runs the query again (writes are not
+ * applied), which is why it is sampled and rate-limited per shape.
+ */
+@Slf4j
+public class SlowQueryDetector implements CommandListener, AutoCloseable {
+
+    private static final Set<String> EXPLAINABLE = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+    private static final Set<String> IGNORED = Set.of(
+            "explain", "hello", "isMaster", "ismaster", "ping", "buildInfo", "endSessions", "saslStart",
+            "saslContinue", "killCursors", "abortTransaction", "commitTransaction");
+    // Session, transaction and routing fields the explain command rejects
+    private static final Set<String> SESSION_FIELDS = Set.of(
+            "$db", "lsid", "$clusterTime", "txnNumber", "autocommit", "startTransaction", "$readPreference",
+            "readConcern", "writeConcern", "apiVersion", "apiStrict", "apiDeprecationErrors");
+    private static final int MAX_TRACKED_SHAPES = 10_000;
+
+    private record Started(String collection, BsonDocument command) {
+    }
+
+    private final SlowQueryLog slowQueryLog;
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final long explainIntervalNanos;
+    private final Map<Integer, Started> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainer;
+
+    public SlowQueryDetector(SlowQueryProperties properties, SlowQueryLog slowQueryLog,
+                             ObjectProvider<MongoClient> mongoClient) {
+        this.slowQueryLog = slowQueryLog;
+        this.mongoClient = mongoClient;
+        this.thresholdNanos = properties.getThreshold().toNanos();
+        this.sampleRate = properties.getSampleRate();
+        this.explainIntervalNanos = properties.getExplainInterval().toNanos();
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getExplainQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String name = event.getCommandName();
+        if (IGNORED.contains(name)) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        boolean keep = EXPLAINABLE.contains(name) && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        // The event's document is only valid during this callback: copy what is kept
+        inFlight.put(event.getRequestId(), new Started(collectionOf(name, command), keep ? command.clone() : null));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlight.remove(event.getRequestId());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        if (started == null) {
+            return;
+        }
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (nanos < thresholdNanos) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        String source = source();
+        if (started.command() == null) {
+            slowQueryLog.add(SlowQuery.unexplained(now, event.getDatabaseName(), started.collection(),
+                    event.getCommandName(), millis, source, null));
+            return;
+        }
+
+        String shape = shape(started.command());
+        SlowQuery unexplained = SlowQuery.unexplained(now, event.getDatabaseName(), started.collection(),
+                event.getCommandName(), millis, source, shape);
+        if (!claimExplain(started.collection() + " " + shape)) {
+            slowQueryLog.add(unexplained);
+            return;
+        }
+        try {
+            explainer.execute(() -> explain(unexplained, started.command()));
+        } catch (RejectedExecutionException e) {
+            slowQueryLog.add(unexplained);  // explainer busy: keep the entry without a plan
+        }
+    }
+
+    private boolean claimExplain(String shapeKey) {
+        if (lastExplained.size() > MAX_TRACKED_SHAPES) {
+            lastExplained.clear();
+        }
+        long now = System.nanoTime();
+        Long previous = lastExplained.get(shapeKey);
+        if (previous != null && now - previous < explainIntervalNanos) {
+            return false;
+        }
+        return previous == null
+                ? lastExplained.putIfAbsent(shapeKey, now) == null
+                : lastExplained.replace(shapeKey, previous, now);
+    }
+
+    private void explain(SlowQuery query, BsonDocument command) {
+        MongoClient client = mongoClient.getIfAvailable();
+        if (client == null) {
+            slowQueryLog.add(query);
+            return;
+        }
+        try {
+            BsonDocument explain = new BsonDocument("explain", withoutSessionFields(command))
+                    .append("verbosity", new BsonString("executionStats"));
+            BsonDocument result = client.getDatabase(query.database()).runCommand(explain, BsonDocument.class);
+
+            List<String> stages = new ArrayList<>();
+            collectWinningPlanStages(result, false, stages);
+            BsonDocument stats = find(result, "executionStats");
+            long docsExamined = stats != null ? number(stats, "totalDocsExamined") : 0;
+            long keysExamined = stats != null ? number(stats, "totalKeysExamined") : 0;
+            long docsReturned = stats != null ? number(stats, "nReturned") : 0;
+            boolean collectionScan = stages.contains("COLLSCAN");
+
+            SlowQuery explained = new SlowQuery(query.timestamp(), query.database(), query.collection(),
+                    query.command(), query.durationMillis(), query.source(), query.shape(), true, stages,
+                    collectionScan, docsExamined, keysExamined, docsReturned,
+                    (double) docsExamined / Math.max(docsReturned, 1));
+            slowQueryLog.add(explained);
+            if (collectionScan) {
+                log.warn("Slow query on {}.{} from {} scans the collection: {} documents examined for {} returned ({} ms): {}",
+                        query.collection(), query.command(), query.source(), docsExamined, docsReturned,
+                        query.durationMillis(), query.shape());
+            }
+        } catch (RuntimeException e) {
+            log.debug("Could not explain slow {} on {}: {}", query.command(), query.collection(), e.getMessage());
+            slowQueryLog.add(query);
+        }
+    }
+
+    /**
+     * Repository method on this thread, else the nearest application frame (e.g. a MongoTemplate caller)
+     */
+    private static String source() {
+        String repositoryMethod = RepositoryMethodTracker.current();
+        if (repositoryMethod != null) {
+            return repositoryMethod;
+        }
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.ecommerce.")
+                        && !frame.getClassName().startsWith("com.ecommerce.diagnostics."))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static String collectionOf(String commandName, BsonDocument command) {
+        if (commandName.equals("getMore")) {
+            BsonValue collection = command.get("collection");
+            return collection != null && collection.isString() ? collection.asString().getValue() : null;
+        }
+        BsonValue collection = command.get(commandName);  // e.g. {find: "products", ...}
+        return collection != null && collection.isString() ? collection.asString().getValue() : null;
+    }
+
+    private static BsonDocument withoutSessionFields(BsonDocument command) {
+        BsonDocument copy = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!SESSION_FIELDS.contains(key)) {
+                copy.append(key, value);
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * The command with every value replaced by "?": groups equal queries, keeps no data
+     */
+    static String shape(BsonDocument command) {
+        return mask(withoutSessionFields(command)).asDocument().toJson();
+    }
+
+    private static BsonValue mask(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument masked = new BsonDocument();
+            value.asDocument().forEach((key, field) -> masked.append(key, mask(field)));
+            return masked;
+        }
+        if (value.isArray() && !value.asArray().isEmpty() && value.asArray().get(0).isDocument()) {
+            BsonArray masked = new BsonArray();
+            value.asArray().forEach(element -> masked.add(mask(element)));  // pipelines, $or / $and
+            return masked;
+        }
+        return new BsonString("?");
+    }
+
+    /**
+     * Stage names (with index name for index scans) of the winning plan, top-down
+     */
+    private static void collectWinningPlanStages(BsonValue value, boolean inWinningPlan, List<String> stages) {
+        if (value.isArray()) {
+            value.asArray().forEach(element -> collectWinningPlanStages(element, inWinningPlan, stages));
+            return;
+        }
+        if (!value.isDocument()) {
+            return;
+        }
+        BsonDocument document = value.asDocument();
+        if (inWinningPlan && document.isString("stage")) {
+            String stage = document.getString("stage").getValue();
+            stages.add(document.isString("indexName") ? stage + " " + document.getString("indexName").getValue() : stage);
+        }
+        document.forEach((key, field) -> {
+            if (!key.equals("rejectedPlans") && !key.equals("executionStats")) {
+                collectWinningPlanStages(field, inWinningPlan || key.equals("winningPlan"), stages);
+            }
+        });
+    }
+
+    private static BsonDocument find(BsonValue value, String key) {
+        if (value.isArray()) {
+            for (BsonValue element : value.asArray()) {
+                BsonDocument found = find(element, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            if (document.isDocument(key)) {
+                return document.getDocument(key);
+            }
+            for (BsonValue field : document.values()) {
+                BsonDocument found = find(field, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static long number(BsonDocument document, String key) {
+        BsonValue value = document.get(key);
+        return value != null && value.isNumber() ? value.asNumber().longValue() : 0;
+    }
+
+    @Override
+    public void close() {
+        explainer.shutdownNow();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 🩺 SLOW QUERY ENDPOINT - /actuator/slowqueries
+ *
+ * GET    /actuator/slowqueries                           most recent slow queries, newest first
+ * GET    /actuator/slowqueries?collectionScansOnly=true  only explained queries whose plan is a COLLSCAN
+ * GET    /actuator/slowqueries?limit=20                  at most 20 entries (default 100)
+ * DELETE /actuator/slowqueries                           empty the buffer, e.g. after adding an index
+ *
+ * "shapes" groups the returned entries by collection, shape and source, slowest
+ * first, which is usually the list of indexes to add.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    public record ShapeSummary(String collection, String command, String shape, String source, int count,
+                               long maxMillis, boolean collectionScan, double examinedPerReturned) {
+    }
+
+    public record SlowQueryReport(long total, long thresholdMillis, List<ShapeSummary> shapes,
+                                  List<SlowQuery> queries) {
+    }
+
+    private final SlowQueryLog slowQueryLog;
+    private final SlowQueryProperties properties;
+
+    public SlowQueryEndpoint(SlowQueryLog slowQueryLog, SlowQueryProperties properties) {
+        this.slowQueryLog = slowQueryLog;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public SlowQueryReport slowQueries(@Nullable Boolean collectionScansOnly, @Nullable Integer limit) {
+        Predicate<SlowQuery> filter = Boolean.TRUE.equals(collectionScansOnly) ? SlowQuery::collectionScan : query -> true;
+        List<SlowQuery> queries = slowQueryLog.recent(filter, limit != null ? limit : DEFAULT_LIMIT);
+        return new SlowQueryReport(slowQueryLog.total(), properties.getThreshold().toMillis(),
+                summarize(queries), queries);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryLog.clear();
+    }
+
+    private static List<ShapeSummary> summarize(List<SlowQuery> queries) {
+        Map<List<String>, ShapeSummary> byShape = new LinkedHashMap<>();
+        for (SlowQuery query : queries) {
+            // Newest first: the first explained entry of a shape carries its current plan
+            byShape.merge(List.of(String.valueOf(query.collection()), query.command(),
+                            String.valueOf(query.shape()), query.source()),
+                    new ShapeSummary(query.collection(), query.command(), query.shape(), query.source(), 1,
+                            query.durationMillis(), query.collectionScan(), query.examinedPerReturned()),
+                    (existing, next) -> new ShapeSummary(existing.collection(), existing.command(),
+                            existing.shape(), existing.source(), existing.count() + 1,
+                            Math.max(existing.maxMillis(), next.maxMillis()),
+                            existing.collectionScan() || next.collectionScan(),
+                            existing.examinedPerReturned() > 0 ? existing.examinedPerReturned() : next.examinedPerReturned()));
+        }
+        return byShape.values().stream()
+                .sorted(Comparator.comparingLong(ShapeSummary::maxMillis).reversed())
+                .toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 🔁 SLOW QUERY LOG - Bounded ring buffer of the most recent slow queries
+ *
+ * Fixed memory: once capacity entries are held, each new one overwrites the oldest.
+ */
+public class SlowQueryLog {
+
+    private final SlowQuery[] entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long written;
+
+    public SlowQueryLog(int capacity) {
+        this.entries = new SlowQuery[capacity];
+    }
+
+    public void add(SlowQuery query) {
+        lock.lock();
+        try {
+            entries[(int) (written % entries.length)] = query;
+            written++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Newest first
+     */
+    public List<SlowQuery> recent(Predicate<SlowQuery> filter, int limit) {
+        lock.lock();
+        try {
+            List<SlowQuery> result = new ArrayList<>(Math.min(limit, entries.length));
+            for (long i = written - 1; i >= 0 && i >= written - entries.length && result.size() < limit; i--) {
+                SlowQuery query = entries[(int) (i % entries.length)];
+                if (filter.test(query)) {
+                    result.add(query);
+                }
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Slow queries recorded since startup, including overwritten ones
+     */
+    public long total() {
+        lock.lock();
+        try {
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(entries, null);
+            written = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
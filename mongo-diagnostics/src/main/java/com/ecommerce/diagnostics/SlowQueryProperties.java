@@ -0,0 +1,44 @@
+package com.ecommerce.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ⚙️ SLOW QUERY PROPERTIES - diagnostics.slow-queries.*
+ */
+@Data
+@ConfigurationProperties(prefix = "diagnostics.slow-queries")
+public class SlowQueryProperties {
+
+    /**
+     * Turns the detector off entirely (no command listener)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Commands taking longer than this, as seen by the driver, are recorded
+     */
+    private Duration threshold = Duration.ofMillis(100);
+
+    /**
+     * Fraction of commands whose text is kept so they can be explained if slow
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * A query shape is explained at most once per interval
+     */
+    private Duration explainInterval = Duration.ofMinutes(5);
+
+    /**
+     * Slow queries kept in memory; the oldest are overwritten
+     */
+    private int capacity = 500;
+
+    /**
+     * Explains waiting for the background thread; more are skipped
+     */
+    private int explainQueueCapacity = 100;
+}
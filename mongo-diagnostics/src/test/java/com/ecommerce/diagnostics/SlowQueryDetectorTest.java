@@ -0,0 +1,188 @@
+package com.ecommerce.diagnostics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Detector fed with driver command events; explains go to a mocked MongoClient
+ */
+class SlowQueryDetectorTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+    private static final BsonDocument COLLECTION_SCAN = BsonDocument.parse("""
+            {queryPlanner: {winningPlan: {stage: "COLLSCAN"},
+                            rejectedPlans: [{stage: "FETCH", inputStage: {stage: "IXSCAN", indexName: "sku_1"}}]},
+             executionStats: {nReturned: 2, totalDocsExamined: 1000, totalKeysExamined: 0}}""");
+
+    private final AtomicInteger requestIds = new AtomicInteger();
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(10);
+    private final MongoDatabase database = mock(MongoDatabase.class);
+    private SlowQueryDetector detector;
+
+    @AfterEach
+    void closeDetector() {
+        if (detector != null) {
+            detector.close();
+        }
+    }
+
+    @Test
+    void recordsOnlyCommandsSlowerThanTheThreshold() {
+        detector = detector(0.0);
+
+        run("find", "{find: 'products', filter: {sku: 'LAP-001'}}", Duration.ofMillis(20));
+        run("find", "{find: 'products', filter: {sku: 'LAP-002'}}", Duration.ofMillis(250));
+
+        List<SlowQuery> recorded = slowQueryLog.recent(query -> true, 10);
+        assertThat(recorded).hasSize(1);
+        SlowQuery slow = recorded.get(0);
+        assertThat(slow.database()).isEqualTo("shop");
+        assertThat(slow.collection()).isEqualTo("products");
+        assertThat(slow.command()).isEqualTo("find");
+        assertThat(slow.durationMillis()).isEqualTo(250);
+        assertThat(slow.explained()).isFalse();
+        assertThat(slow.shape()).as("not sampled: no copy of the command was kept").isNull();
+    }
+
+    @Test
+    void ignoresFailedAndHousekeepingCommands() {
+        detector = detector(1.0);
+
+        int failed = requestIds.incrementAndGet();
+        detector.commandStarted(started(failed, "find", "{find: 'products'}"));
+        detector.commandFailed(new CommandFailedEvent(null, 1, failed, CONNECTION, "shop", "find",
+                TimeUnit.SECONDS.toNanos(1), new IllegalStateException("boom")));
+        run("hello", "{hello: 1}", Duration.ofSeconds(1));
+
+        assertThat(slowQueryLog.total()).isZero();
+    }
+
+    @Test
+    void explainsASampledSlowQueryWithoutItsSessionFields() {
+        when(database.runCommand(any(BsonDocument.class), eq(BsonDocument.class))).thenReturn(COLLECTION_SCAN);
+        detector = detector(1.0);
+
+        run("find", "{find: 'products', filter: {category: 'Books'}, $db: 'shop', lsid: {id: 1}}", Duration.ofMillis(300));
+
+        SlowQuery explained = awaitExplained();
+        assertThat(explained.planStages()).as("winning plan only").containsExactly("COLLSCAN");
+        assertThat(explained.collectionScan()).isTrue();
+        assertThat(explained.docsExamined()).isEqualTo(1000);
+        assertThat(explained.docsReturned()).isEqualTo(2);
+        assertThat(explained.examinedPerReturned()).isEqualTo(500.0);
+        assertThat(explained.shape()).isEqualTo("{\"find\": \"?\", \"filter\": {\"category\": \"?\"}}");
+
+        ArgumentCaptor<BsonDocument> sent = ArgumentCaptor.forClass(BsonDocument.class);
+        verify(database).runCommand(sent.capture(), eq(BsonDocument.class));
+        BsonDocument explainedCommand = sent.getValue().getDocument("explain");
+        assertThat(explainedCommand.keySet()).containsExactly("find", "filter");
+        assertThat(sent.getValue().getString("verbosity").getValue()).isEqualTo("executionStats");
+    }
+
+    @Test
+    void explainsAQueryShapeAtMostOncePerInterval() {
+        when(database.runCommand(any(BsonDocument.class), eq(BsonDocument.class))).thenReturn(COLLECTION_SCAN);
+        detector = detector(1.0);
+
+        run("find", "{find: 'products', filter: {category: 'Books'}}", Duration.ofMillis(300));
+        awaitExplained();
+        run("find", "{find: 'products', filter: {category: 'Garden'}}", Duration.ofMillis(300));
+
+        List<SlowQuery> recorded = slowQueryLog.recent(query -> true, 10);
+        assertThat(recorded).hasSize(2);
+        assertThat(recorded.get(0).explained()).as("same shape within the interval").isFalse();
+        assertThat(recorded.get(0).shape()).isEqualTo(recorded.get(1).shape());
+        verify(database, times(1)).runCommand(any(BsonDocument.class), eq(BsonDocument.class));
+    }
+
+    @Test
+    void shapeMasksEveryValueButKeepsTheStructure() {
+        BsonDocument command = BsonDocument.parse("""
+                {aggregate: 'orders', pipeline: [{$match: {userId: 'u1', $or: [{status: 'PAID'}, {total: {$gt: 10}}]}},
+                                                 {$limit: 5}],
+                 cursor: {}, lsid: {id: 1}, $db: 'shop'}""");
+
+        assertThat(SlowQueryDetector.shape(command)).isEqualTo("{\"aggregate\": \"?\", \"pipeline\": "
+                + "[{\"$match\": {\"userId\": \"?\", \"$or\": [{\"status\": \"?\"}, {\"total\": {\"$gt\": \"?\"}}]}}, "
+                + "{\"$limit\": \"?\"}], \"cursor\": {}}");
+    }
+
+    @Test
+    void logKeepsTheNewestEntriesAndCountsAll() {
+        SlowQueryLog log = new SlowQueryLog(3);
+        for (int i = 1; i <= 5; i++) {
+            log.add(SlowQuery.unexplained(null, "shop", "products", "find", i, "test", null));
+        }
+
+        assertThat(log.recent(query -> true, 10)).extracting(SlowQuery::durationMillis).containsExactly(5L, 4L, 3L);
+        assertThat(log.recent(query -> query.durationMillis() % 2 == 0, 10))
+                .extracting(SlowQuery::durationMillis).containsExactly(4L);
+        assertThat(log.total()).isEqualTo(5);
+    }
+
+    @SuppressWarnings("unchecked")
+    private SlowQueryDetector detector(double sampleRate) {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setThreshold(Duration.ofMillis(100));
+        properties.setSampleRate(sampleRate);
+        MongoClient client = mock(MongoClient.class);
+        when(client.getDatabase("shop")).thenReturn(database);
+        ObjectProvider<MongoClient> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(client);
+        return new SlowQueryDetector(properties, slowQueryLog, provider);
+    }
+
+    private void run(String name, String command, Duration elapsed) {
+        int requestId = requestIds.incrementAndGet();
+        detector.commandStarted(started(requestId, name, command));
+        detector.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, CONNECTION, "shop", name,
+                new BsonDocument(), elapsed.toNanos()));
+    }
+
+    private static CommandStartedEvent started(int requestId, String name, String command) {
+        return new CommandStartedEvent(null, 1, requestId, CONNECTION, "shop", name, BsonDocument.parse(command));
+    }
+
+    private SlowQuery awaitExplained() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            List<SlowQuery> explained = slowQueryLog.recent(SlowQuery::explained, 1);
+            if (!explained.isEmpty()) {
+                return explained.get(0);
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new AssertionError("no query was explained");
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.mongo;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * 🍃 MONGO SUPPORT AUTO-CONFIGURATION - Active in every service that has this module
+ *
+ * Provides MongoTransactions on top of the service's MongoTemplate.
+ */
+@AutoConfiguration(after = MongoDataAutoConfiguration.class)
+@ConditionalOnClass(MongoTemplate.class)
+public class MongoSupportAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean({MongoTemplate.class, MongoDatabaseFactory.class})
+    public MongoTransactions mongoTransactions(MongoTemplate mongoTemplate, MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactions(mongoTemplate, databaseFactory);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.mongo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 🔒 MONGO TRANSACTIONS - Runs a unit of work in a MongoDB transaction when the server supports it
+ * 
+ * Transactions need a replica set or a sharded cluster. Against a standalone
+ * server (typical local setup) the work runs without a transaction and a
+ * warning is logged once: writes stay ordered but are no longer atomic, so
+ * callers order their writes to stay safe when interrupted halfway.
+ */
+@Slf4j
+public class MongoTransactions {
+    
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Boolean supported;
+    
+    public MongoTransactions(MongoTemplate mongoTemplate, MongoDatabaseFactory databaseFactory) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionTemplate = new TransactionTemplate(new MongoTransactionManager(databaseFactory));
+    }
+    
+    public void run(Runnable work) {
+        if (isSupported()) {
+            transactionTemplate.executeWithoutResult(status -> work.run());
+        } else {
+            work.run();
+        }
+    }
+    
+    public boolean isSupported() {
+        Boolean result = supported;
+        if (result == null) {
+            Document hello = hello();
+            result = hello.containsKey("setName") || "isdbgrid".equals(hello.getString("msg"));
+            if (!result) {
+                log.warn("MongoDB is a standalone server: work that should be atomic runs without a transaction");
+            }
+            supported = result;
+        }
+        return result;
+    }
+    
+    /**
+     * Servers before 4.4.2 only know the legacy name of the command
+     */
+    private Document hello() {
+        try {
+            return mongoTemplate.executeCommand(new Document("hello", 1));
+        } catch (DataAccessException e) {
+            return mongoTemplate.executeCommand(new Document("isMaster", 1));
+        }
+    }
+}
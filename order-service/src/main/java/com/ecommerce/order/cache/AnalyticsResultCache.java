@@ -0,0 +1,127 @@
+package com.ecommerce.order.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 🗄️ ANALYTICS RESULT CACHE - Dashboards poll, MongoDB does not notice
+ *
+ * Results are cached per key (endpoint + parameters):
+ * - younger than ttl: served as is, no database access at all
+ * - older than ttl: the sales watermark is checked; if no rollup changed since
+ *   the result was computed it is kept for another ttl, otherwise recomputed
+ * - concurrent misses on the same key wait for a single computation
+ *
+ * So each key is computed at most once per ttl, whatever the number of
+ * dashboards, and only when new sales have arrived.
+ */
+@Component
+@Slf4j
+public class AnalyticsResultCache {
+    
+    private record Entry(Object value, long watermark, long validatedAt) {
+    }
+    
+    private final SalesWatermark watermark;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+    
+    private final Counter hits;
+    private final Counter collapsed;
+    private final Counter revalidations;
+    private final Counter computations;
+    
+    public AnalyticsResultCache(SalesWatermark watermark,
+                                MeterRegistry meterRegistry,
+                                @Value("${analytics-cache.ttl:5s}") Duration ttl,
+                                @Value("${analytics-cache.max-entries:1000}") int maxEntries) {
+        this.watermark = watermark;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.hits = meterRegistry.counter("analytics.cache.requests", "result", "hit");
+        this.collapsed = meterRegistry.counter("analytics.cache.requests", "result", "collapsed");
+        this.revalidations = meterRegistry.counter("analytics.cache.requests", "result", "revalidated");
+        this.computations = meterRegistry.counter("analytics.cache.requests", "result", "computed");
+        Gauge.builder("analytics.cache.size", entries, Map::size)
+                .description("Cached analytics results")
+                .register(meterRegistry);
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> compute) {
+        Entry cached = entries.get(key);
+        if (cached != null && System.nanoTime() - cached.validatedAt() < ttlNanos) {
+            hits.increment();
+            return (T) cached.value();
+        }
+        
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> inFlight = loading.putIfAbsent(key, mine);
+        if (inFlight != null) {
+            collapsed.increment();
+            return (T) join(inFlight).value();
+        }
+        
+        try {
+            Entry result = load(key, compute);
+            mine.complete(result);
+            return (T) result.value();
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+    
+    private Entry load(String key, Supplier<?> compute) {
+        // Read the watermark before computing: a sale landing mid-computation
+        // leaves the entry one version behind, so the next check recomputes
+        long version = watermark.current();
+        Entry cached = entries.get(key);
+        Entry result;
+        if (cached != null && cached.watermark() == version) {
+            revalidations.increment();
+            result = new Entry(cached.value(), version, System.nanoTime());
+        } else {
+            computations.increment();
+            result = new Entry(compute.get(), version, System.nanoTime());
+        }
+        if (cached == null && entries.size() >= maxEntries) {
+            evictOldest();
+        }
+        entries.put(key, result);
+        return result;
+    }
+    
+    private void evictOldest() {
+        entries.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().validatedAt()))
+                .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+    }
+    
+    private static Entry join(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
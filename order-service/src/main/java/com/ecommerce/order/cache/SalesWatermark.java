@@ -0,0 +1,125 @@
+package com.ecommerce.order.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🚩 SALES WATERMARK - Version number of the sales rollups
+ *
+ * A single counter document, incremented when SalesRollupService has changed
+ * rollups. Shared through MongoDB, so a write on any instance invalidates the
+ * analytics caches of every instance.
+ *
+ * Order updates only mark the rollups as changed; advancePending() increments
+ * the counter once per advance-interval for all of them. Every order doing its
+ * own findAndModify would turn this one document into the hottest write in the
+ * database, and caches only look at it once per check-interval anyway.
+ *
+ * Reads are memoized for check-interval: however many requests ask, the
+ * watermark costs at most one tiny findById per interval.
+ */
+@Component
+@Slf4j
+public class SalesWatermark {
+    
+    private static final String COLLECTION = "analytics_watermark";
+    private static final String ID = "sales";
+    
+    private final MongoTemplate mongoTemplate;
+    private final long checkIntervalNanos;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicBoolean changed = new AtomicBoolean();
+    
+    private volatile long cachedVersion;
+    private volatile long checkedAt;
+    private volatile boolean checked;
+    
+    public SalesWatermark(MongoTemplate mongoTemplate,
+                          @Value("${analytics-cache.watermark-check-interval:1s}") Duration checkInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+    
+    /**
+     * Note that rollups changed; the next advancePending() advances the watermark
+     */
+    public void markChanged() {
+        changed.set(true);
+    }
+    
+    @Scheduled(fixedDelayString = "${analytics-cache.watermark-advance-interval:500ms}")
+    public void advancePending() {
+        if (!changed.getAndSet(false)) {
+            return;
+        }
+        try {
+            advance();
+        } catch (RuntimeException e) {
+            changed.set(true);  // retried on the next run
+            log.warn("Failed to advance sales watermark, retrying: {}", e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    void advanceOnShutdown() {
+        advancePending();
+    }
+    
+    /**
+     * Mark the rollups as changed, right away
+     */
+    public void advance() {
+        Document updated = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(ID)),
+                new Update().inc("version", 1L),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class, COLLECTION);
+        if (updated != null) {
+            remember(((Number) updated.get("version")).longValue());
+        }
+    }
+    
+    /**
+     * Current version, at most check-interval old
+     */
+    public long current() {
+        long now = System.nanoTime();
+        if (checked && now - checkedAt < checkIntervalNanos) {
+            return cachedVersion;
+        }
+        // A lock, not synchronized: a virtual thread blocked on MongoDB inside a monitor pins its carrier
+        refreshLock.lock();
+        try {
+            if (checked && System.nanoTime() - checkedAt < checkIntervalNanos) {
+                return cachedVersion;
+            }
+            Document document = mongoTemplate.findById(ID, Document.class, COLLECTION);
+            remember(document != null ? ((Number) document.get("version")).longValue() : 0L);
+            return cachedVersion;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+    
+    private synchronized void remember(long version) {
+        // Never go backwards: a slower read must not undo a newer advance()
+        if (!checked || version > cachedVersion) {
+            cachedVersion = version;
+        }
+        checkedAt = System.nanoTime();
+        checked = true;
+    }
+}
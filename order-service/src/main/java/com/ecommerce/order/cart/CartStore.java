@@ -0,0 +1,333 @@
+package com.ecommerce.order.cart;
+
+import com.ecommerce.order.client.UserClient;
+import com.ecommerce.order.exception.InvalidOrderException;
+import com.ecommerce.order.model.Cart;
+import com.ecommerce.order.model.CartLine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🛒 CART STORE - Active carts in memory, written to MongoDB in the background
+ *
+ * Adding to a cart changes a CompactCart in memory and marks it dirty; it never
+ * writes to MongoDB. Every flush-interval the dirty carts are written as
+ * unordered bulk upserts (empty carts are deleted), at most flush-batch-size
+ * per round trip. Carts idle for idle-timeout are flushed and dropped from
+ * memory; the next access reads them back from MongoDB (one findById).
+ * A new cart is only created for a user that user-service knows (one lookup
+ * per new cart), so unknown user IDs cannot fill memory.
+ *
+ * Heap budget, with compressed oops: about 200 bytes per cart of up to 4 lines
+ * (cart 40 + line array 48 + map entry and user ID ~110), plus 8 bytes per
+ * further line. One million carts take about 200 MB. If more than
+ * max-in-memory carts are active, the idle timeout is halved until they fit.
+ *
+ * Carts are per instance: requests of one user must be routed to the same
+ * instance (sticky sessions), or another instance may serve a stale copy.
+ */
+@Component
+@Slf4j
+public class CartStore {
+
+    public static final int MAX_QUANTITY = 999;
+
+    /**
+     * A cart line as seen by callers
+     */
+    public record Line(String productId, int quantity) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final UserClient userClient;
+    private final int maxLines;
+    private final int flushBatchSize;
+    private final int idleTimeoutSeconds;
+    private final int maxInMemory;
+
+    private final ProductIdTable productIds = new ProductIdTable();
+    private final Map<String, CompactCart> carts = new ConcurrentHashMap<>();
+    private final Set<String> dirtyCarts = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final long clockStartMillis = System.currentTimeMillis();
+    private final Counter flushedCarts;
+
+    public CartStore(MongoTemplate mongoTemplate,
+                     UserClient userClient,
+                     MeterRegistry meterRegistry,
+                     @Value("${carts.max-lines:100}") int maxLines,
+                     @Value("${carts.flush-batch-size:1000}") int flushBatchSize,
+                     @Value("${carts.idle-timeout:30m}") Duration idleTimeout,
+                     @Value("${carts.max-in-memory:1000000}") int maxInMemory) {
+        this.mongoTemplate = mongoTemplate;
+        this.userClient = userClient;
+        this.maxLines = maxLines;
+        this.flushBatchSize = flushBatchSize;
+        this.idleTimeoutSeconds = (int) idleTimeout.toSeconds();
+        this.maxInMemory = maxInMemory;
+
+        this.flushedCarts = meterRegistry.counter("carts.flushed");
+        Gauge.builder("carts.in-memory", carts, Map::size)
+                .description("Carts currently held in memory")
+                .register(meterRegistry);
+        Gauge.builder("carts.dirty", dirtyCarts, Set::size)
+                .description("Carts changed since they were last written to MongoDB")
+                .register(meterRegistry);
+    }
+
+    public List<Line> lines(String userId) {
+        CompactCart cart = carts.get(userId);
+        if (cart == null) {
+            Cart stored = mongoTemplate.findById(userId, Cart.class);
+            if (stored == null) {
+                return List.of();  // not kept: reading must not fill memory with empty carts
+            }
+            cart = cache(userId, toCompact(stored));
+        }
+        synchronized (cart) {
+            cart.lastAccess = now();
+            List<Line> lines = new ArrayList<>(cart.size());
+            for (int i = 0; i < cart.size(); i++) {
+                lines.add(new Line(productIds.productId(cart.productAt(i)), cart.quantityAt(i)));
+            }
+            return lines;
+        }
+    }
+
+    public void add(String userId, String productId, int quantity) {
+        int id = productIds.idOf(productId);
+        update(userId, true, cart -> setQuantity(cart, id, cart.quantityOf(id) + quantity));
+    }
+
+    public void set(String userId, String productId, int quantity) {
+        int id = productIds.idOf(productId);
+        update(userId, quantity > 0, cart -> setQuantity(cart, id, quantity));
+    }
+
+    public void clear(String userId) {
+        update(userId, false, CompactCart::clear);
+    }
+
+    /**
+     * Take checked-out quantities out of the cart; anything added meanwhile stays
+     */
+    public void remove(String userId, List<Line> lines) {
+        update(userId, false, cart -> {
+            boolean changed = false;
+            for (Line line : lines) {
+                int id = productIds.idOf(line.productId());
+                changed |= cart.set(id, Math.max(0, cart.quantityOf(id) - line.quantity()));
+            }
+            return changed;
+        });
+    }
+
+    private boolean setQuantity(CompactCart cart, int productId, int quantity) {
+        if (quantity > MAX_QUANTITY) {
+            throw new InvalidOrderException("At most " + MAX_QUANTITY + " of a product fit in a cart");
+        }
+        if (quantity > 0 && cart.quantityOf(productId) == 0 && cart.size() >= maxLines) {
+            throw new InvalidOrderException("A cart holds at most " + maxLines + " different products");
+        }
+        return cart.set(productId, quantity);
+    }
+
+    private interface CartChange {
+        boolean apply(CompactCart cart);
+    }
+
+    /**
+     * @param creates whether the change may start a new cart; if not, a missing cart is left alone
+     */
+    private void update(String userId, boolean creates, CartChange change) {
+        while (true) {
+            CompactCart cart = carts.get(userId);
+            if (cart == null) {
+                Cart stored = mongoTemplate.findById(userId, Cart.class);
+                if (stored == null) {
+                    if (!creates) {
+                        return;  // nothing to clear or remove
+                    }
+                    userClient.getUser(userId).block();  // InvalidOrderException for an unknown user
+                }
+                cart = cache(userId, stored != null ? toCompact(stored) : new CompactCart(4));
+            }
+            synchronized (cart) {
+                if (cart.evicted) {
+                    continue;  // lost a race with expiry: use the cart that replaces it
+                }
+                cart.lastAccess = now();
+                if (change.apply(cart)) {
+                    dirtyCarts.add(userId);
+                }
+                return;
+            }
+        }
+    }
+
+    private CompactCart cache(String userId, CompactCart loaded) {
+        loaded.lastAccess = now();
+        CompactCart existing = carts.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private CompactCart toCompact(Cart stored) {
+        List<CartLine> items = stored.getItems() != null ? stored.getItems() : List.of();
+        CompactCart cart = new CompactCart(items.size());
+        for (CartLine item : items) {
+            cart.set(productIds.idOf(item.getProductId()), item.getQuantity());
+        }
+        cart.flushedVersion = cart.version;  // identical to the stored copy
+        return cart;
+    }
+
+    private int now() {
+        return (int) ((System.currentTimeMillis() - clockStartMillis) / 1000);
+    }
+
+    @Scheduled(fixedDelayString = "${carts.flush-interval:5s}", initialDelayString = "${carts.flush-interval:5s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            BatchWriter writer = new BatchWriter();
+            Iterator<String> dirty = dirtyCarts.iterator();
+            while (dirty.hasNext()) {
+                String userId = dirty.next();
+                dirty.remove();  // a change from now on marks it dirty again
+                CompactCart cart = carts.get(userId);
+                if (cart != null) {
+                    writer.add(userId, cart);
+                }
+            }
+            writer.execute();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Collects cart snapshots and writes them flush-batch-size at a time
+     */
+    private final class BatchWriter {
+
+        private record Snapshot(String userId, CompactCart cart, int version, List<CartLine> items) {
+        }
+
+        private final List<Snapshot> batch = new ArrayList<>(flushBatchSize);
+
+        void add(String userId, CompactCart cart) {
+            synchronized (cart) {
+                if (!cart.isDirty()) {
+                    return;
+                }
+                List<CartLine> items = new ArrayList<>(cart.size());
+                for (int i = 0; i < cart.size(); i++) {
+                    items.add(new CartLine(productIds.productId(cart.productAt(i)), cart.quantityAt(i)));
+                }
+                batch.add(new Snapshot(userId, cart, cart.version, items));
+            }
+            if (batch.size() >= flushBatchSize) {
+                execute();
+            }
+        }
+
+        void execute() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Instant now = Instant.now();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Cart.class);
+            for (Snapshot snapshot : batch) {
+                Query byUser = Query.query(Criteria.where("_id").is(snapshot.userId()));
+                if (snapshot.items().isEmpty()) {
+                    bulk.remove(byUser);
+                } else {
+                    bulk.upsert(byUser, new Update().set("items", snapshot.items()).set("updatedAt", now));
+                }
+            }
+            try {
+                bulk.execute();
+                for (Snapshot snapshot : batch) {
+                    synchronized (snapshot.cart()) {
+                        snapshot.cart().flushedVersion = snapshot.version();
+                    }
+                }
+                flushedCarts.increment(batch.size());
+            } catch (DataAccessException e) {
+                // Upserts are idempotent: retry the whole batch on the next flush
+                log.error("Failed to write {} carts, will retry: {}", batch.size(), e.getMessage());
+                batch.forEach(snapshot -> dirtyCarts.add(snapshot.userId()));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Write the dirty carts, then drop idle carts from memory. A cart still dirty
+     * afterwards (its write failed, or it changed meanwhile) stays until a later run.
+     */
+    @Scheduled(fixedDelayString = "${carts.expiry-interval:1m}", initialDelayString = "${carts.expiry-interval:1m}")
+    public void expireIdle() {
+        flush();
+        int timeout = idleTimeoutSeconds;
+        int evicted = evictIdleSince(now() - timeout);
+        while (carts.size() > maxInMemory && timeout > 60) {
+            timeout /= 2;
+            evicted += evictIdleSince(now() - timeout);
+        }
+        if (timeout < idleTimeoutSeconds) {
+            log.warn("More than {} carts in memory: evicted carts idle for {}s", maxInMemory, timeout);
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle carts, {} remain in memory", evicted, carts.size());
+        }
+    }
+
+    private int evictIdleSince(int cutoff) {
+        int evicted = 0;
+        for (Map.Entry<String, CompactCart> entry : carts.entrySet()) {
+            CompactCart cart = entry.getValue();
+            synchronized (cart) {
+                if (cart.lastAccess > cutoff || cart.isDirty()) {
+                    continue;
+                }
+                cart.evicted = true;
+            }
+            carts.remove(entry.getKey(), cart);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+        if (!dirtyCarts.isEmpty()) {
+            log.warn("{} carts could not be written before shutdown", dirtyCarts.size());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.order.cart;
+
+import java.util.Arrays;
+
+/**
+ * 🧮 COMPACT CART - One cart as a single int array
+ * 
+ * Lines are stored as (productId, quantity) pairs in one int[], with product
+ * IDs interned by ProductIdTable. A cart of 4 lines is about 90 bytes.
+ * 
+ * version counts changes; flushedVersion is the version last written to
+ * MongoDB, so the cart is dirty while they differ. Not thread-safe: CartStore
+ * locks the cart around every access.
+ */
+final class CompactCart {
+    
+    private int[] lines;
+    private int size;  // number of lines
+    int lastAccess;    // CartStore clock, in seconds
+    int version;
+    int flushedVersion;
+    boolean evicted;   // removed from CartStore: callers holding it must look again
+    
+    CompactCart(int initialLines) {
+        this.lines = new int[2 * Math.max(1, initialLines)];
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    int productAt(int line) {
+        return lines[2 * line];
+    }
+    
+    int quantityAt(int line) {
+        return lines[2 * line + 1];
+    }
+    
+    int quantityOf(int productId) {
+        int line = indexOf(productId);
+        return line < 0 ? 0 : quantityAt(line);
+    }
+    
+    boolean isDirty() {
+        return version != flushedVersion;
+    }
+    
+    /**
+     * Set the quantity of a product; 0 removes the line. Returns false if nothing changed.
+     */
+    boolean set(int productId, int quantity) {
+        int line = indexOf(productId);
+        if (line >= 0) {
+            if (quantityAt(line) == quantity) {
+                return false;
+            }
+            if (quantity > 0) {
+                lines[2 * line + 1] = quantity;
+            } else {
+                // Shift the later lines down: keeps the order in which items were added
+                System.arraycopy(lines, 2 * line + 2, lines, 2 * line, 2 * (size - line - 1));
+                size--;
+            }
+        } else {
+            if (quantity <= 0) {
+                return false;
+            }
+            if (2 * size == lines.length) {
+                lines = Arrays.copyOf(lines, lines.length * 2);
+            }
+            lines[2 * size] = productId;
+            lines[2 * size + 1] = quantity;
+            size++;
+        }
+        version++;
+        return true;
+    }
+    
+    boolean clear() {
+        if (size == 0) {
+            return false;
+        }
+        size = 0;
+        if (lines.length > 8) {
+            lines = new int[8];
+        }
+        version++;
+        return true;
+    }
+    
+    private int indexOf(int productId) {
+        // Carts are small: a linear scan beats any index
+        for (int i = 0; i < size; i++) {
+            if (lines[2 * i] == productId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.order.cart;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🔢 PRODUCT ID TABLE - Interns product IDs as dense ints
+ * 
+ * A cart line stores an int instead of a reference to its own copy of a
+ * 24-character product ID string: every ID is kept once, however many carts
+ * contain it. IDs are never released, so the table grows with the catalog,
+ * not with the number of carts.
+ */
+class ProductIdTable {
+    
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] productIds = new String[1024];
+    private int size;
+    
+    int idOf(String productId) {
+        Integer id = ids.get(productId);
+        return id != null ? id : register(productId);
+    }
+    
+    String productId(int id) {
+        return productIds[id];
+    }
+    
+    private synchronized int register(String productId) {
+        Integer existing = ids.get(productId);
+        if (existing != null) {
+            return existing;
+        }
+        String[] table = productIds;
+        if (size == table.length) {
+            table = Arrays.copyOf(table, table.length * 2);
+        }
+        table[size] = productId;
+        productIds = table;  // publish the slot before the ID can be handed out
+        ids.put(productId, size);
+        return size++;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.order.client;
+
+import com.ecommerce.order.client.dto.ProductDto;
+import com.ecommerce.order.client.dto.StockEventDto;
+import com.ecommerce.order.config.WebClientConfig;
+import com.ecommerce.order.resilience.DownstreamGuard;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📦 PRODUCT CLIENT - Non-blocking calls to product-service
+ */
+@Component
+public class ProductClient {
+    
+    private final WebClient webClient;
+    private final DownstreamGuard guard;
+    
+    public ProductClient(@Qualifier("productServiceWebClient") WebClient webClient,
+                         @Qualifier("productServiceGuard") DownstreamGuard guard) {
+        this.webClient = webClient;
+        this.guard = guard;
+    }
+    
+    /**
+     * Fetch price and stock for several products in ONE round trip.
+     * Unknown IDs are simply missing from the result.
+     */
+    public Mono<List<ProductDto>> getProductsByIds(Collection<String> ids) {
+        return guard.idempotentCall(() -> webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/products/batch")
+                        .queryParam("ids", String.join(",", ids))
+                        .build())
+                .retrieve()
+                .bodyToFlux(ProductDto.class)
+                .collectList());
+    }
+    
+    /**
+     * Apply stock changes in product-service; completes once they are durably applied.
+     * Not hedged: product-service deduplicates by event ID, but a hedge would only add load.
+     */
+    public Mono<Void> commitStockEvents(List<StockEventDto> events) {
+        return guard.call(() -> webClient.post()
+                .uri("/api/products/stock-events")
+                .contentType(WebClientConfig.SMILE)
+                .bodyValue(Map.of("events", events))
+                .retrieve()
+                .toBodilessEntity()
+                .then());
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecommerce.order.client;
+
+import com.ecommerce.order.client.dto.ProductDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔀 PRODUCT LOOKUP COALESCER - Single-flight and micro-batching in front of ProductClient
+ *
+ * During a flash sale many orders ask for the same product at the same moment.
+ * Instead of one product-service call per order:
+ * 1. Single-flight: a product ID that is already being fetched is not fetched again;
+ *    the new caller waits on the in-flight result (value or error).
+ * 2. Micro-batching: IDs that arrive within batchWindow of each other are sent
+ *    together in one /api/products/batch call, up to maxBatchSize IDs.
+ *
+ * Results are not cached: once a fetch completes, the next caller goes downstream again.
+ *
+ * Metric product.lookup.coalescing.ratio = IDs requested by callers / IDs fetched downstream.
+ */
+@Component
+@Slf4j
+public class ProductLookupCoalescer {
+
+    private final ProductClient productClient;
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+
+    private final Map<String, Sinks.One<Optional<ProductDto>>> inFlight = new ConcurrentHashMap<>();
+    private final Object batchLock = new Object();
+    private List<String> pendingBatch = new ArrayList<>();
+
+    private final Counter requestedIds;
+    private final Counter fetchedIds;
+    private final Counter downstreamCalls;
+
+    public ProductLookupCoalescer(ProductClient productClient,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${product-lookup.batch-window:2ms}") Duration batchWindow,
+                                  @Value("${product-lookup.max-batch-size:100}") int maxBatchSize) {
+        this.productClient = productClient;
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+
+        this.requestedIds = meterRegistry.counter("product.lookup.requested");
+        this.fetchedIds = meterRegistry.counter("product.lookup.fetched");
+        this.downstreamCalls = meterRegistry.counter("product.lookup.downstream.calls");
+        Gauge.builder("product.lookup.coalescing.ratio", this, ProductLookupCoalescer::coalescingRatio)
+                .description("Product IDs requested by callers per product ID fetched from product-service")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Look up several products. Unknown IDs are missing from the returned map.
+     */
+    public Mono<Map<String, ProductDto>> getProductsByIds(Collection<String> ids) {
+        return Mono.defer(() -> {
+            Set<String> distinctIds = new LinkedHashSet<>(ids);
+            requestedIds.increment(distinctIds.size());
+
+            List<Mono<Optional<ProductDto>>> lookups = new ArrayList<>(distinctIds.size());
+            List<String> toFetch = new ArrayList<>();
+            for (String id : distinctIds) {
+                Sinks.One<Optional<ProductDto>> sink = Sinks.one();
+                Sinks.One<Optional<ProductDto>> existing = inFlight.putIfAbsent(id, sink);
+                if (existing == null) {
+                    toFetch.add(id);
+                    lookups.add(sink.asMono());
+                } else {
+                    lookups.add(existing.asMono());
+                }
+            }
+            enqueue(toFetch);
+
+            return Mono.zip(lookups, results -> {
+                Map<String, ProductDto> products = new HashMap<>(results.length * 2);
+                for (Object result : results) {
+                    @SuppressWarnings("unchecked")
+                    Optional<ProductDto> product = (Optional<ProductDto>) result;
+                    product.ifPresent(p -> products.put(p.getId(), p));
+                }
+                return products;
+            });
+        });
+    }
+
+    private void enqueue(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<List<String>> readyBatches = new ArrayList<>();
+        synchronized (batchLock) {
+            boolean startsNewBatch = pendingBatch.isEmpty();
+            pendingBatch.addAll(ids);
+            while (pendingBatch.size() >= maxBatchSize) {
+                readyBatches.add(new ArrayList<>(pendingBatch.subList(0, maxBatchSize)));
+                pendingBatch = new ArrayList<>(pendingBatch.subList(maxBatchSize, pendingBatch.size()));
+            }
+            if (batchWindow.isZero()) {
+                if (!pendingBatch.isEmpty()) {
+                    readyBatches.add(pendingBatch);
+                    pendingBatch = new ArrayList<>();
+                }
+            } else if (startsNewBatch && !pendingBatch.isEmpty()) {
+                Schedulers.parallel().schedule(this::flushPending, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        readyBatches.forEach(this::fetch);
+    }
+
+    private void flushPending() {
+        List<String> batch;
+        synchronized (batchLock) {
+            if (pendingBatch.isEmpty()) {
+                return;
+            }
+            batch = pendingBatch;
+            pendingBatch = new ArrayList<>();
+        }
+        fetch(batch);
+    }
+
+    private void fetch(List<String> batch) {
+        downstreamCalls.increment();
+        fetchedIds.increment(batch.size());
+        log.debug("Fetching batch of {} products", batch.size());
+
+        productClient.getProductsByIds(batch).subscribe(
+                products -> {
+                    Map<String, ProductDto> byId = new HashMap<>(products.size() * 2);
+                    products.forEach(p -> byId.put(p.getId(), p));
+                    // Remove before emitting so later callers trigger a fresh fetch
+                    for (String id : batch) {
+                        inFlight.remove(id).tryEmitValue(Optional.ofNullable(byId.get(id)));
+                    }
+                },
+                error -> {
+                    for (String id : batch) {
+                        inFlight.remove(id).tryEmitError(error);
+                    }
+                });
+    }
+
+    private double coalescingRatio() {
+        double fetched = fetchedIds.count();
+        return fetched == 0 ? 1.0 : requestedIds.count() / fetched;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.order.client;
+
+import com.ecommerce.order.client.dto.UserDto;
+import com.ecommerce.order.exception.InvalidOrderException;
+import com.ecommerce.order.resilience.DownstreamGuard;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * 👤 USER CLIENT - Non-blocking calls to user-service
+ */
+@Component
+public class UserClient {
+    
+    private final WebClient webClient;
+    private final DownstreamGuard guard;
+    
+    public UserClient(@Qualifier("userServiceWebClient") WebClient webClient,
+                      @Qualifier("userServiceGuard") DownstreamGuard guard) {
+        this.webClient = webClient;
+        this.guard = guard;
+    }
+    
+    /**
+     * Look up a user by ID. Emits InvalidOrderException if the user does not exist.
+     */
+    public Mono<UserDto> getUser(String userId) {
+        return guard.idempotentCall(() -> webClient.get()
+                .uri("/api/users/{id}", userId)
+                .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.NOT_FOUND.value(),
+                        response -> Mono.error(new InvalidOrderException("User not found with ID: " + userId)))
+                .bodyToMono(UserDto.class));
+    }
+}
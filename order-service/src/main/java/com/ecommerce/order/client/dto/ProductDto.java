@@ -0,0 +1,30 @@
+package com.ecommerce.order.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 📦 PRODUCT DTO - The subset of product-service's ProductResponse that checkout needs
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDto {
+    private String id;
+    private String sku;
+    private String name;
+    private BigDecimal price;
+    private Integer stock;
+    
+    /**
+     * Check if requested quantity is available
+     */
+    public boolean hasStock(int quantity) {
+        return stock != null && stock >= quantity;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.order.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📦 STOCK EVENT DTO - Stock changes of one order event, as product-service's StockEventRequest
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockEventDto {
+    private String eventId;
+    private String reverses;
+    private List<Delta> items;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Delta {
+        private String sku;
+        private Integer delta;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.order.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 👤 USER DTO - The subset of user-service's UserResponse that checkout needs
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDto {
+    private String id;
+    private String fullName;
+    private String email;
+    private String address;
+}
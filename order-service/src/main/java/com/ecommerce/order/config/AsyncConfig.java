@@ -0,0 +1,42 @@
+package com.ecommerce.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * ⚡ ASYNC CONFIGURATION - Enables @Async for work that must stay off the request path
+ * 
+ * Sales rollup updates run on their own bounded executor, in both thread modes:
+ * a few threads, so they cannot take over the MongoDB connection pool from
+ * requests, and a bounded queue, so a backlog cannot grow without limit in the
+ * heap. When the queue is full the request thread applies its update itself
+ * (caller runs): checkout slows down instead of rollups being dropped.
+ * Queued updates are finished at shutdown, for up to await-termination.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    
+    public static final String SALES_ROLLUP_EXECUTOR = "salesRollupExecutor";
+    
+    @Bean(SALES_ROLLUP_EXECUTOR)
+    ThreadPoolTaskExecutor salesRollupExecutor(
+            @Value("${analytics.rollup-executor.threads:4}") int threads,
+            @Value("${analytics.rollup-executor.queue-capacity:10000}") int queueCapacity,
+            @Value("${analytics.rollup-executor.await-termination:30}") int awaitTerminationSeconds) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("sales-rollup-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        return executor;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.order.config;
+
+import com.ecommerce.order.idempotency.IdempotencyRecord;
+import com.ecommerce.order.model.ArchivedOrderBucket;
+import com.ecommerce.order.model.Cart;
+import com.ecommerce.order.model.MonthlySales;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.ProductDailySales;
+import com.ecommerce.order.model.UserOrderStats;
+import com.ecommerce.order.outbox.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+/**
+ * 🗂️ MONGO INDEX CONFIGURATION - Creates the indexes declared on our documents
+ * 
+ * spring.data.mongodb.auto-index-creation is off, so index annotations are only
+ * declarations. This creates them explicitly once at startup (a no-op when they
+ * already exist). A failure is logged rather than fatal: a missing index makes
+ * queries slower, not wrong.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexConfig {
+    
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            Order.class, ArchivedOrderBucket.class, OutboxEvent.class, IdempotencyRecord.class, Cart.class,
+            ProductDailySales.class, UserOrderStats.class, MonthlySales.class);
+    
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            try {
+                resolver.resolveIndexFor(document).forEach(indexOps::createIndex);
+                log.info("Indexes ensured for {}", document.getSimpleName());
+            } catch (RuntimeException e) {
+                log.warn("Could not create indexes for {}: {}", document.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.order.config;
+
+import com.ecommerce.order.resilience.DownstreamGuard;
+import com.ecommerce.order.resilience.ResilienceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 🛡️ RESILIENCE CONFIGURATION - One guard per downstream service
+ * 
+ * Separate guards keep a slow product-service from using up the
+ * concurrency budget or tripping the breaker for user-service.
+ */
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfig {
+    
+    @Bean
+    DownstreamGuard userServiceGuard(ResilienceProperties properties) {
+        return new DownstreamGuard("user-service", properties.getUserService());
+    }
+    
+    @Bean
+    DownstreamGuard productServiceGuard(ResilienceProperties properties) {
+        return new DownstreamGuard("product-service", properties.getProductService());
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.order.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * ⏰ SCHEDULING CONFIGURATION - Enables @Scheduled background jobs (e.g. OrderArchiver)
+ * 
+ * Uses Spring Boot's auto-configured taskScheduler (spring.task.scheduling.*).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.order.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.client.reactive.ClientHttpConnectorBuilderCustomizer;
+import org.springframework.boot.http.client.reactive.ReactorClientHttpConnectorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 🌐 WEBCLIENT CONFIGURATION - Clients for calling User and Product services
+ * 
+ * WebClient is non-blocking: a single order can have its user check and
+ * product lookup in flight at the same time without tying up a thread per call.
+ * Both clients are built from Spring Boot's shared WebClient.Builder, so they
+ * reuse the same Jackson codecs and Reactor Netty connection pool.
+ *
+ * Both ask for Smile (binary JSON, see SmileConfig in the called services)
+ * and fall back to JSON if a service does not offer it. Responses are
+ * gzip-compressed by the services above their size threshold; the clients
+ * advertise gzip and decompress transparently.
+ */
+@Configuration
+public class WebClientConfig {
+    
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final String SMILE_FIRST = SMILE + ", application/json;q=0.9";
+    
+    @Bean
+    WebClient userServiceWebClient(WebClient.Builder builder,
+                                   Jackson2ObjectMapperBuilder mapperBuilder,
+                                   @Value("${services.user-service.url}") String baseUrl) {
+        return smile(builder.clone(), mapperBuilder).baseUrl(baseUrl).build();
+    }
+    
+    @Bean
+    WebClient productServiceWebClient(WebClient.Builder builder,
+                                      Jackson2ObjectMapperBuilder mapperBuilder,
+                                      @Value("${services.product-service.url}") String baseUrl) {
+        return smile(builder.clone(), mapperBuilder).baseUrl(baseUrl).build();
+    }
+    
+    /**
+     * Accept-Encoding: gzip on every request; compressed responses are inflated by Reactor Netty
+     */
+    @Bean
+    ClientHttpConnectorBuilderCustomizer<ReactorClientHttpConnectorBuilder> compressionConnectorCustomizer() {
+        return builder -> builder.withHttpClientCustomizer(httpClient -> httpClient.compress(true));
+    }
+    
+    private static WebClient.Builder smile(WebClient.Builder builder, Jackson2ObjectMapperBuilder mapperBuilder) {
+        // Same settings as the JSON codecs (Spring Boot's builder), Smile underneath.
+        // The MIME type must be passed: with none, the codecs would support nothing.
+        ObjectMapper smileMapper = mapperBuilder.factory(new SmileFactory()).build();
+        return builder
+                .defaultHeader(HttpHeaders.ACCEPT, SMILE_FIRST)
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE));
+                    codecs.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE));
+                });
+    }
+}
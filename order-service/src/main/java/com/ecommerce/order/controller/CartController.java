@@ -0,0 +1,97 @@
+package com.ecommerce.order.controller;
+
+import com.ecommerce.order.dto.CartCheckoutRequest;
+import com.ecommerce.order.dto.CartItemRequest;
+import com.ecommerce.order.dto.CartQuantityRequest;
+import com.ecommerce.order.dto.CartResponse;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.service.CartService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 🛒 CART CONTROLLER - REST API for Shopping Carts
+ * 
+ * Changing a cart returns 204 without calling another service or writing to
+ * MongoDB; GET prices the cart with current catalog data.
+ */
+@RestController
+@RequestMapping("/api/carts")
+@RequiredArgsConstructor
+@Tag(name = "Carts", description = "APIs for managing shopping carts")
+public class CartController {
+    
+    private final CartService cartService;
+    
+    @GetMapping("/{userId}")
+    @Operation(summary = "Get a user's cart", description = "Lines with current names, prices and availability (empty if the user has no cart)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cart returned"),
+        @ApiResponse(responseCode = "503", description = "Product service unavailable")
+    })
+    public ResponseEntity<CartResponse> getCart(@PathVariable String userId) {
+        return ResponseEntity.ok(cartService.getCart(userId));
+    }
+    
+    @PostMapping("/{userId}/items")
+    @Operation(summary = "Add a product to the cart", description = "Adds the quantity to what is already in the cart. The product is not checked until the cart is shown or checked out")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Added"),
+        @ApiResponse(responseCode = "400", description = "Invalid input, or cart limits exceeded")
+    })
+    public ResponseEntity<Void> addItem(@PathVariable String userId, @Valid @RequestBody CartItemRequest request) {
+        cartService.addItem(userId, request.getProductId(), request.getQuantity());
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PutMapping("/{userId}/items/{productId}")
+    @Operation(summary = "Set the quantity of a product in the cart", description = "Quantity 0 removes the product")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Updated"),
+        @ApiResponse(responseCode = "400", description = "Invalid input, or cart limits exceeded")
+    })
+    public ResponseEntity<Void> setQuantity(@PathVariable String userId, @PathVariable String productId,
+                                            @Valid @RequestBody CartQuantityRequest request) {
+        cartService.setQuantity(userId, productId, request.getQuantity());
+        return ResponseEntity.noContent().build();
+    }
+    
+    @DeleteMapping("/{userId}/items/{productId}")
+    @Operation(summary = "Remove a product from the cart")
+    @ApiResponse(responseCode = "204", description = "Removed (or was not in the cart)")
+    public ResponseEntity<Void> removeItem(@PathVariable String userId, @PathVariable String productId) {
+        cartService.setQuantity(userId, productId, 0);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @DeleteMapping("/{userId}")
+    @Operation(summary = "Empty the cart")
+    @ApiResponse(responseCode = "204", description = "Emptied")
+    public ResponseEntity<Void> clear(@PathVariable String userId) {
+        cartService.clear(userId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/{userId}/checkout")
+    @Operation(summary = "Check out the cart", description = "Places an order with the cart's contents and removes them from the cart")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Order created",
+                content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Empty cart, unknown user or unknown product"),
+        @ApiResponse(responseCode = "409", description = "Insufficient stock"),
+        @ApiResponse(responseCode = "503", description = "User or product service unavailable")
+    })
+    public ResponseEntity<OrderResponse> checkout(@PathVariable String userId,
+                                                  @RequestBody(required = false) CartCheckoutRequest request) {
+        return new ResponseEntity<>(cartService.checkout(userId, request), HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.order.controller;
+
+import com.ecommerce.order.dto.CustomerStatsResponse;
+import com.ecommerce.order.dto.MonthlySalesResponse;
+import com.ecommerce.order.dto.ProductRevenueResponse;
+import com.ecommerce.order.dto.RelatedProductResponse;
+import com.ecommerce.order.dto.TopItemResponse;
+import com.ecommerce.order.dto.UserOrderStatsResponse;
+import com.ecommerce.order.realtime.LiveTopService;
+import com.ecommerce.order.realtime.RelatedProductsService;
+import com.ecommerce.order.realtime.SpaceSaving;
+import com.ecommerce.order.realtime.TopWindow;
+import com.ecommerce.order.service.OrderAnalyticsService;
+import com.ecommerce.order.service.SalesRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 📈 ORDER ANALYTICS CONTROLLER - Sales reports
+ * 
+ * Served from rollup collections that are updated as orders come in,
+ * so every endpoint answers in milliseconds regardless of order volume.
+ */
+@RestController
+@RequestMapping("/api/orders/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Order Analytics", description = "Sales reports built from pre-aggregated rollups")
+public class OrderAnalyticsController {
+    
+    private final OrderAnalyticsService analyticsService;
+    private final SalesRollupService salesRollupService;
+    private final LiveTopService liveTopService;
+    private final RelatedProductsService relatedProductsService;
+    
+    @GetMapping("/revenue-by-product")
+    @Operation(summary = "Revenue by product", 
+            description = "Products ranked by revenue between two dates (inclusive). Defaults to the last 30 days")
+    public ResponseEntity<List<ProductRevenueResponse>> getRevenueByProduct(
+            @Parameter(description = "First day, e.g. 2024-01-01") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, e.g. 2024-01-31") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int limit) {
+        LocalDate end = to != null ? to : salesRollupService.today();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(analyticsService.getRevenueByProduct(start, end, limit));
+    }
+    
+    @GetMapping("/top-customers")
+    @Operation(summary = "Top customers", description = "Customers ranked by number of orders")
+    public ResponseEntity<List<CustomerStatsResponse>> getTopCustomers(
+            @RequestParam(defaultValue = "5") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(analyticsService.getTopCustomers(limit));
+    }
+    
+    @GetMapping("/user-stats/{userId}")
+    @Operation(summary = "User order stats", description = "Order count, total spent and average order value of a user")
+    public ResponseEntity<UserOrderStatsResponse> getUserOrderStats(@PathVariable String userId) {
+        return ResponseEntity.ok(analyticsService.getUserOrderStats(userId));
+    }
+    
+    @GetMapping("/monthly-sales")
+    @Operation(summary = "Monthly sales", description = "Sales per month of a year. Defaults to the current year")
+    public ResponseEntity<List<MonthlySalesResponse>> getMonthlySales(
+            @RequestParam(required = false) Integer year) {
+        int targetYear = year != null ? year : salesRollupService.today().getYear();
+        return ResponseEntity.ok(analyticsService.getMonthlySales(targetYear));
+    }
+    
+    @GetMapping("/live/top-customers")
+    @Operation(summary = "Live top customers", 
+            description = "Customers with the most orders in the last hour or day, from an in-memory sketch")
+    public ResponseEntity<List<TopItemResponse>> getLiveTopCustomers(
+            @Parameter(description = "HOUR or DAY") @RequestParam(defaultValue = "HOUR") TopWindow window,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(toResponse(liveTopService.topCustomers(window, limit)));
+    }
+    
+    @GetMapping("/live/top-products")
+    @Operation(summary = "Live top products", 
+            description = "Products with the most units ordered in the last hour or day, from an in-memory sketch")
+    public ResponseEntity<List<TopItemResponse>> getLiveTopProducts(
+            @Parameter(description = "HOUR or DAY") @RequestParam(defaultValue = "HOUR") TopWindow window,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(toResponse(liveTopService.topProducts(window, limit)));
+    }
+    
+    @GetMapping("/products/{productId}/related")
+    @Operation(summary = "Frequently bought together", 
+            description = "Products most often ordered together with this one, from an in-memory co-occurrence index")
+    public ResponseEntity<List<RelatedProductResponse>> getRelatedProducts(
+            @PathVariable String productId,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+        return ResponseEntity.ok(relatedProductsService.related(productId, limit).stream()
+                .map(related -> new RelatedProductResponse(related.productId(), related.count()))
+                .toList());
+    }
+    
+    @PostMapping("/rollups/rebuild")
+    @Operation(summary = "Rebuild rollups", 
+            description = "Recomputes all rollups from the orders collection. Expensive: for backfill and repair only")
+    public ResponseEntity<Void> rebuildRollups() {
+        salesRollupService.rebuildAll();
+        return ResponseEntity.noContent().build();
+    }
+    
+    private static List<TopItemResponse> toResponse(List<SpaceSaving.Counter> counters) {
+        return counters.stream()
+                .map(counter -> new TopItemResponse(counter.key(), counter.count(), counter.error()))
+                .toList();
+    }
+}
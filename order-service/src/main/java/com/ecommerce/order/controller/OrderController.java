@@ -0,0 +1,157 @@
+package com.ecommerce.order.controller;
+
+import com.ecommerce.order.dto.BulkStatusTransitionRequest;
+import com.ecommerce.order.dto.BulkStatusTransitionResponse;
+import com.ecommerce.order.dto.OrderHistoryResponse;
+import com.ecommerce.order.dto.OrderItemResponse;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.dto.OrderStatusRequest;
+import com.ecommerce.order.dto.StatusChangeFeedResponse;
+import com.ecommerce.order.idempotency.IdempotencyService;
+import com.ecommerce.order.service.OrderFulfilmentService;
+import com.ecommerce.order.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 🎮 ORDER CONTROLLER - REST API for Placing and Managing Orders
+ */
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+@Tag(name = "Order Management", description = "APIs for placing and managing orders")
+public class OrderController {
+    
+    private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderFulfilmentService fulfilmentService;
+    
+    @PostMapping
+    @Operation(summary = "Place a new order", 
+            description = "Validates the user and prices/stock of all items with user-service and product-service, then stores the order. "
+                    + "With an Idempotency-Key header, retries of the same request return the first response instead of placing another order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Order created successfully (or replayed: Idempotent-Replayed header)",
+                content = @Content(schema = @Schema(implementation = OrderResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input, unknown user or unknown product"),
+        @ApiResponse(responseCode = "409", description = "Insufficient stock, or the first request with this key is still running"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request"),
+        @ApiResponse(responseCode = "503", description = "User or product service unavailable")
+    })
+    public ResponseEntity<OrderResponse> createOrder(
+            @Parameter(description = "Client-generated unique key, e.g. a UUID, reused on every retry")
+            @RequestHeader(value = "Idempotency-Key", required = false) @Size(min = 1, max = 255) String idempotencyKey,
+            @Valid @RequestBody OrderRequest request) {
+        if (idempotencyKey == null) {
+            OrderResponse response = orderService.createOrder(request);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        }
+        
+        IdempotencyService.Outcome<OrderResponse> outcome = idempotencyService.execute(
+                idempotencyKey, request, OrderResponse.class,
+                () -> orderService.createOrder(request, IdempotencyService.resourceId(idempotencyKey)));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(outcome.replayed()))
+                .body(outcome.response());
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get order by ID", description = "Retrieves an order by its unique ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Order found"),
+        @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable String id) {
+        OrderResponse response = orderService.getOrderById(id);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping
+    @Operation(summary = "Get all orders", description = "Retrieves all orders")
+    public ResponseEntity<List<OrderResponse>> getAllOrders() {
+        List<OrderResponse> responses = orderService.getAllOrders();
+        return ResponseEntity.ok(responses);
+    }
+    
+    @GetMapping("/{id}/items")
+    @Operation(summary = "Get order items", description = "Retrieves only the line items of an order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Items found"),
+        @ApiResponse(responseCode = "404", description = "Order not found")
+    })
+    public ResponseEntity<List<OrderItemResponse>> getOrderItems(@PathVariable String id) {
+        List<OrderItemResponse> responses = orderService.getOrderItems(id);
+        return ResponseEntity.ok(responses);
+    }
+    
+    @GetMapping("/user/{userId}")
+    @Operation(summary = "Get a user's order history", 
+            description = "Order headers newest first, one page at a time. Follow nextCursor for the next page; "
+                    + "load items per order with /api/orders/{id}/items")
+    public ResponseEntity<OrderHistoryResponse> getOrderHistory(
+            @PathVariable String userId,
+            @Parameter(description = "nextCursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        OrderHistoryResponse response = orderService.getOrderHistory(userId, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PatchMapping("/{id}/status")
+    @Operation(summary = "Update order status", 
+            description = "Moves an order to a new status: PENDING → CONFIRMED → SHIPPED → DELIVERED, "
+                    + "PENDING / CONFIRMED → CANCELLED")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status changed"),
+        @ApiResponse(responseCode = "400", description = "Transition not allowed, or order archived"),
+        @ApiResponse(responseCode = "404", description = "Order not found"),
+        @ApiResponse(responseCode = "409", description = "Order changed concurrently")
+    })
+    public ResponseEntity<OrderResponse> updateOrderStatus(
+            @PathVariable String id,
+            @Valid @RequestBody OrderStatusRequest request) {
+        OrderResponse response = orderService.updateOrderStatus(id, request.getStatus());
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/status-transitions")
+    @Operation(summary = "Bulk status transition", 
+            description = "Moves every listed order whose status is 'from' to 'to' with conditional bulk updates, "
+                    + "and reports the outcome for each order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Per-order outcomes"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or transition not allowed")
+    })
+    public ResponseEntity<BulkStatusTransitionResponse> transitionStatuses(
+            @Valid @RequestBody BulkStatusTransitionRequest request) {
+        return ResponseEntity.ok(fulfilmentService.transition(request));
+    }
+    
+    @GetMapping("/status-changes")
+    @Operation(summary = "Status change feed", 
+            description = "Order status changes (placing an order counts as a change into PENDING) in order. "
+                    + "Resume with nextCursor; when nothing is new the call waits up to waitSeconds (long polling)")
+    public ResponseEntity<StatusChangeFeedResponse> getStatusChanges(
+            @Parameter(description = "nextCursor from the previous call; omit to start at the oldest retained change")
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit,
+            @RequestParam(defaultValue = "20") @Min(0) @Max(60) int waitSeconds) {
+        return ResponseEntity.ok(fulfilmentService.getStatusChanges(after, limit, Duration.ofSeconds(waitSeconds)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.order.dto;
+
+import com.ecommerce.order.model.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📝 BULK STATUS TRANSITION REQUEST DTO - Move many orders from one status to the next
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Moves every listed order that is currently in 'from' to 'to'")
+public class BulkStatusTransitionRequest {
+    
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 10000, message = "At most 10000 orders per request")
+    private List<@NotBlank String> orderIds;
+    
+    @NotNull(message = "Expected current status is required")
+    @Schema(description = "Status the orders must currently have", example = "CONFIRMED")
+    private OrderStatus from;
+    
+    @NotNull(message = "New status is required")
+    @Schema(description = "New status", example = "SHIPPED")
+    private OrderStatus to;
+}
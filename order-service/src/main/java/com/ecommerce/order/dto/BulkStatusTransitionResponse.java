@@ -0,0 +1,28 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📤 BULK STATUS TRANSITION RESPONSE DTO - Per-order outcomes of a bulk transition
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk status transition")
+public class BulkStatusTransitionResponse {
+    
+    @Schema(description = "Distinct orders in the request", example = "1000")
+    private int requested;
+    
+    @Schema(description = "Orders moved to the new status", example = "998")
+    private int updated;
+    
+    private List<StatusTransitionResult> results;
+}
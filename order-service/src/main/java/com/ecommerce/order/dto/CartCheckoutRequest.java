@@ -0,0 +1,21 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📝 CART CHECKOUT REQUEST DTO - Turns the cart into an order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for checking out a cart")
+public class CartCheckoutRequest {
+    
+    @Schema(description = "Shipping address. Defaults to the user's address", example = "123 Main St, City, State")
+    private String shippingAddress;
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.order.dto;
+
+import com.ecommerce.order.cart.CartStore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📝 CART ITEM REQUEST DTO - A product to add to a cart
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A product and quantity to add to the cart")
+public class CartItemRequest {
+    
+    @NotBlank(message = "Product ID is required")
+    @Schema(description = "Product unique identifier", example = "507f1f77bcf86cd799439011")
+    private String productId;
+    
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = CartStore.MAX_QUANTITY, message = "Quantity must be at most " + CartStore.MAX_QUANTITY)
+    @Schema(description = "Quantity to add to what is already in the cart", example = "2")
+    private Integer quantity;
+}
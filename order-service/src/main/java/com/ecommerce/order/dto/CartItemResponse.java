@@ -0,0 +1,38 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 📤 CART ITEM RESPONSE DTO - A cart line with its current price
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A line of a cart, priced with the current catalog price")
+public class CartItemResponse {
+    
+    @Schema(description = "Product unique identifier", example = "507f1f77bcf86cd799439011")
+    private String productId;
+    
+    @Schema(description = "Current product name (null if the product no longer exists)", example = "Laptop")
+    private String productName;
+    
+    @Schema(description = "Quantity in the cart", example = "2")
+    private Integer quantity;
+    
+    @Schema(description = "Current unit price (null if the product no longer exists)", example = "999.99")
+    private BigDecimal price;
+    
+    @Schema(description = "Line total at the current price", example = "1999.98")
+    private BigDecimal subtotal;
+    
+    @Schema(description = "Whether the product exists and has enough stock for this quantity", example = "true")
+    private boolean available;
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.order.dto;
+
+import com.ecommerce.order.cart.CartStore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📝 CART QUANTITY REQUEST DTO - New quantity of a cart line
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "New quantity of a product in the cart")
+public class CartQuantityRequest {
+    
+    @NotNull(message = "Quantity is required")
+    @Min(value = 0, message = "Quantity must not be negative")
+    @Max(value = CartStore.MAX_QUANTITY, message = "Quantity must be at most " + CartStore.MAX_QUANTITY)
+    @Schema(description = "Quantity; 0 removes the product from the cart", example = "3")
+    private Integer quantity;
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 📤 CART RESPONSE DTO - A user's cart, priced when it is read
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A user's cart with current prices")
+public class CartResponse {
+    
+    @Schema(description = "ID of the cart's owner", example = "507f1f77bcf86cd799439011")
+    private String userId;
+    
+    @Schema(description = "Lines in the order they were added")
+    private List<CartItemResponse> items;
+    
+    @Schema(description = "Number of lines", example = "3")
+    private Integer itemCount;
+    
+    @Schema(description = "Sum of the line totals of available products", example = "2149.97")
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 📤 CUSTOMER STATS RESPONSE DTO - A customer ranked by number of orders
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A customer ranked by number of orders")
+public class CustomerStatsResponse {
+    
+    @Schema(description = "User unique identifier", example = "507f1f77bcf86cd799439011")
+    private String userId;
+    
+    @Schema(description = "Number of orders", example = "42")
+    private Long orderCount;
+    
+    @Schema(description = "Total amount spent", example = "8400.50")
+    private BigDecimal totalSpent;
+}
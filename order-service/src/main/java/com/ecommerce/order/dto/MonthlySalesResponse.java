@@ -0,0 +1,32 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 📤 MONTHLY SALES RESPONSE DTO - Sales of one calendar month
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Sales of one calendar month")
+public class MonthlySalesResponse {
+    
+    @Schema(description = "Year", example = "2024")
+    private Integer year;
+    
+    @Schema(description = "Month (1-12)", example = "1")
+    private Integer month;
+    
+    @Schema(description = "Sales in the month", example = "125000.00")
+    private BigDecimal totalSales;
+    
+    @Schema(description = "Orders in the month", example = "830")
+    private Long orderCount;
+}
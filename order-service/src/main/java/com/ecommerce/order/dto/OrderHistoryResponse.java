@@ -0,0 +1,26 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📤 ORDER HISTORY RESPONSE DTO - One page of a user's orders, newest first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A page of a user's order history")
+public class OrderHistoryResponse {
+    
+    @Schema(description = "Orders on this page")
+    private List<OrderSummaryResponse> orders;
+    
+    @Schema(description = "Pass as 'cursor' to get the next page. Null on the last page")
+    private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📝 ORDER ITEM REQUEST DTO - One line of an order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A product and quantity to order")
+public class OrderItemRequest {
+    
+    @NotBlank(message = "Product ID is required")
+    @Schema(description = "Product unique identifier", example = "507f1f77bcf86cd799439011")
+    private String productId;
+    
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Schema(description = "Quantity to order", example = "2")
+    private Integer quantity;
+}
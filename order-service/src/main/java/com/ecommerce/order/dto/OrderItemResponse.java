@@ -0,0 +1,38 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 📤 ORDER ITEM RESPONSE DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A line item of an order")
+public class OrderItemResponse {
+    
+    @Schema(description = "Product unique identifier", example = "507f1f77bcf86cd799439011")
+    private String productId;
+    
+    @Schema(description = "Stock Keeping Unit", example = "LAP-001")
+    private String sku;
+    
+    @Schema(description = "Product name at time of order", example = "Laptop")
+    private String productName;
+    
+    @Schema(description = "Ordered quantity", example = "2")
+    private Integer quantity;
+    
+    @Schema(description = "Unit price at time of order", example = "999.99")
+    private BigDecimal price;
+    
+    @Schema(description = "Line total", example = "1999.98")
+    private BigDecimal subtotal;
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📝 ORDER REQUEST DTO - For Placing Orders
+ * 
+ * Only product IDs and quantities are accepted from the client;
+ * names and prices are always taken from product-service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for placing an order")
+public class OrderRequest {
+    
+    @NotBlank(message = "User ID is required")
+    @Schema(description = "ID of the user placing the order", example = "507f1f77bcf86cd799439011")
+    private String userId;
+    
+    @Valid
+    @NotEmpty(message = "Order must contain at least one item")
+    @Schema(description = "Line items of the order")
+    private List<OrderItemRequest> items;
+    
+    @Schema(description = "Shipping address. Defaults to the user's address", example = "123 Main St, City, State")
+    private String shippingAddress;
+}
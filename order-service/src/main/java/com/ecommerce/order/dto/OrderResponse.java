@@ -0,0 +1,47 @@
+package com.ecommerce.order.dto;
+
+import com.ecommerce.order.model.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 📤 ORDER RESPONSE DTO - What We Send Back
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response object containing order details")
+public class OrderResponse {
+    
+    @Schema(description = "Order unique identifier", example = "65a1f77bcf86cd7994390abc")
+    private String id;
+    
+    @Schema(description = "ID of the user who placed the order", example = "507f1f77bcf86cd799439011")
+    private String userId;
+    
+    @Schema(description = "Line items of the order")
+    private List<OrderItemResponse> orderItems;
+    
+    @Schema(description = "Order total", example = "1999.98")
+    private BigDecimal totalAmount;
+    
+    @Schema(description = "Order status", example = "PENDING")
+    private OrderStatus status;
+    
+    @Schema(description = "Shipping address", example = "123 Main St, City, State")
+    private String shippingAddress;
+    
+    @Schema(description = "Order placement timestamp")
+    private LocalDateTime orderDate;
+    
+    @Schema(description = "Last update timestamp")
+    private LocalDateTime lastModified;
+}
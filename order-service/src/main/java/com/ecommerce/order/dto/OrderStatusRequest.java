@@ -0,0 +1,24 @@
+package com.ecommerce.order.dto;
+
+import com.ecommerce.order.model.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📝 ORDER STATUS REQUEST DTO - For moving an order through its lifecycle
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for changing an order's status")
+public class OrderStatusRequest {
+    
+    @NotNull(message = "Status is required")
+    @Schema(description = "New order status", example = "SHIPPED")
+    private OrderStatus status;
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.order.dto;
+
+import com.ecommerce.order.model.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 📤 ORDER SUMMARY RESPONSE DTO - One row of "My Orders" (no line items)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Order header shown in a user's order history")
+public class OrderSummaryResponse {
+    
+    @Schema(description = "Order unique identifier", example = "65a1f77bcf86cd7994390abc")
+    private String id;
+    
+    @Schema(description = "Order placement timestamp")
+    private LocalDateTime orderDate;
+    
+    @Schema(description = "Order status", example = "SHIPPED")
+    private OrderStatus status;
+    
+    @Schema(description = "Order total", example = "1999.98")
+    private BigDecimal totalAmount;
+    
+    @Schema(description = "Number of line items", example = "3")
+    private Integer itemCount;
+}
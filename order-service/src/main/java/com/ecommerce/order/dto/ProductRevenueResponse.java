@@ -0,0 +1,32 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 📤 PRODUCT REVENUE RESPONSE DTO - Revenue generated by one product
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Revenue generated by one product")
+public class ProductRevenueResponse {
+    
+    @Schema(description = "Product unique identifier", example = "507f1f77bcf86cd799439011")
+    private String productId;
+    
+    @Schema(description = "Product name", example = "Laptop")
+    private String productName;
+    
+    @Schema(description = "Revenue in the period", example = "19999.80")
+    private BigDecimal totalRevenue;
+    
+    @Schema(description = "Units sold in the period", example = "20")
+    private Long totalQuantitySold;
+}
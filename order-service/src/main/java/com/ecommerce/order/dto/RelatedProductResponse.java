@@ -0,0 +1,24 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📤 RELATED PRODUCT RESPONSE DTO - A product frequently bought together with another
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A product frequently bought together with the requested one")
+public class RelatedProductResponse {
+    
+    @Schema(description = "Product ID", example = "507f1f77bcf86cd799439011")
+    private String productId;
+    
+    @Schema(description = "Number of orders containing both products", example = "17")
+    private int ordersTogether;
+}
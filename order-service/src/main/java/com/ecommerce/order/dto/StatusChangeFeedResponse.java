@@ -0,0 +1,25 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📤 STATUS CHANGE FEED RESPONSE DTO - A page of the status change feed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Status changes in order. Pass nextCursor as 'after' to continue")
+public class StatusChangeFeedResponse {
+    
+    private List<StatusChangeResponse> changes;
+    
+    @Schema(description = "Cursor to resume from; unchanged when there was nothing new")
+    private String nextCursor;
+}
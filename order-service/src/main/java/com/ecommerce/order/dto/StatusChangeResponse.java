@@ -0,0 +1,35 @@
+package com.ecommerce.order.dto;
+
+import com.ecommerce.order.model.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 📤 STATUS CHANGE RESPONSE DTO - One entry of the status change feed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "An order entering a status. Placing an order is a change into PENDING")
+public class StatusChangeResponse {
+    
+    @Schema(description = "Event ID, unique and increasing")
+    private String eventId;
+    
+    private String orderId;
+    private String userId;
+    
+    @Schema(description = "Previous status (null for a newly placed order)", example = "CONFIRMED")
+    private OrderStatus oldStatus;
+    
+    @Schema(description = "New status", example = "SHIPPED")
+    private OrderStatus newStatus;
+    
+    private Instant changedAt;
+}
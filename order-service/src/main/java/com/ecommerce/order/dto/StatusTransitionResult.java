@@ -0,0 +1,28 @@
+package com.ecommerce.order.dto;
+
+import com.ecommerce.order.model.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📤 STATUS TRANSITION RESULT DTO - What happened to one order of a bulk transition
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome for one order")
+public class StatusTransitionResult {
+    
+    public enum Outcome { UPDATED, NOT_FOUND, STATUS_MISMATCH }
+    
+    private String orderId;
+    
+    private Outcome outcome;
+    
+    @Schema(description = "Status after the request (null if not found)", example = "SHIPPED")
+    private OrderStatus currentStatus;
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📤 TOP ITEM RESPONSE DTO - An approximate heavy hitter
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A customer or product with its approximate count. The true count lies in [count - maxError, count]")
+public class TopItemResponse {
+    
+    @Schema(description = "User ID or product ID", example = "507f1f77bcf86cd799439011")
+    private String id;
+    
+    @Schema(description = "Estimated count (orders for customers, units for products)", example = "42")
+    private long count;
+    
+    @Schema(description = "Maximum overestimate of count", example = "0")
+    private long maxError;
+}
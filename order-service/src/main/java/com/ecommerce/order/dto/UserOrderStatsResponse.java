@@ -0,0 +1,36 @@
+package com.ecommerce.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 📤 USER ORDER STATS RESPONSE DTO - Order statistics of one user
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Order statistics of one user")
+public class UserOrderStatsResponse {
+    
+    @Schema(description = "User unique identifier", example = "507f1f77bcf86cd799439011")
+    private String userId;
+    
+    @Schema(description = "Number of orders", example = "42")
+    private Long totalOrders;
+    
+    @Schema(description = "Total amount spent", example = "8400.50")
+    private BigDecimal totalSpent;
+    
+    @Schema(description = "Average order value", example = "200.01")
+    private BigDecimal avgOrderValue;
+    
+    @Schema(description = "Most recent order")
+    private LocalDateTime lastOrderDate;
+}
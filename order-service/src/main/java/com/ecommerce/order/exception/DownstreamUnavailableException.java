@@ -0,0 +1,15 @@
+package com.ecommerce.order.exception;
+
+/**
+ * 🚫 Custom Exception for a downstream service that timed out, is overloaded,
+ * or whose circuit breaker is open
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+    public DownstreamUnavailableException(String message) {
+        super(message);
+    }
+    
+    public DownstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.order.exception;
+
+/**
+ * ⏳ Custom Exception for a retry whose first attempt is still being processed
+ */
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.order.exception;
+
+/**
+ * 🔑 Custom Exception for an Idempotency-Key sent again with a different request body
+ */
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.order.exception;
+
+/**
+ * 🚫 Custom Exception for ordering more than is in stock
+ */
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
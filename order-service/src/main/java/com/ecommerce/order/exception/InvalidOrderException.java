@@ -0,0 +1,10 @@
+package com.ecommerce.order.exception;
+
+/**
+ * 🚫 Custom Exception for orders referencing unknown users or products
+ */
+public class InvalidOrderException extends RuntimeException {
+    public InvalidOrderException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.order.exception;
+
+/**
+ * 🚫 Custom Exception for "Order Not Found" scenarios
+ */
+public class OrderNotFoundException extends RuntimeException {
+    public OrderNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.order.exception;
+
+/**
+ * 🔀 Custom Exception for a status change that lost a race with another change
+ */
+public class OrderStatusConflictException extends RuntimeException {
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
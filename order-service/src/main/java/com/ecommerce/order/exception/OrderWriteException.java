@@ -0,0 +1,10 @@
+package com.ecommerce.order.exception;
+
+/**
+ * 🚫 Custom Exception for an order document that MongoDB rejected
+ */
+public class OrderWriteException extends RuntimeException {
+    public OrderWriteException(String message) {
+        super(message);
+    }
+}
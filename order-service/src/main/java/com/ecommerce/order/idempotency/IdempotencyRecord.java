@@ -0,0 +1,41 @@
+package com.ecommerce.order.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * 🔑 IDEMPOTENCY RECORD - What happened to one Idempotency-Key
+ * 
+ * Inserted IN_PROGRESS by the request that claims the key (the unique _id is
+ * the lock), then COMPLETED with the serialized response. The owner renews
+ * lockedUntil while it works; once it lapses another instance may take over
+ * the key (the owner crashed). Records expire 24h after creation.
+ */
+@Document(collection = "idempotency_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    
+    public enum Status { IN_PROGRESS, COMPLETED }
+    
+    @Id
+    private String key;
+    
+    private String fingerprint;  // SHA-256 of the request body: a key must not be reused for another request
+    private Status status;
+    private String response;     // JSON, once COMPLETED
+    private String owner;        // the execution holding the key, while IN_PROGRESS
+    private Instant lockedUntil;
+    
+    @Indexed(name = "idempotency_ttl", expireAfter = "24h")
+    private Instant createdAt;
+}
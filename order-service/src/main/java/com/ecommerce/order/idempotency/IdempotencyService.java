@@ -0,0 +1,326 @@
+package com.ecommerce.order.idempotency;
+
+import com.ecommerce.order.exception.IdempotencyConflictException;
+import com.ecommerce.order.exception.IdempotencyKeyReuseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 🔑 IDEMPOTENCY SERVICE - Runs a request at most once per Idempotency-Key
+ * 
+ * - completed key: the stored response is replayed, nothing is executed
+ * - key in progress on this instance: the duplicate waits for the first execution
+ *   and gets its response
+ * - key in progress on another instance: the duplicate polls the record until
+ *   it completes (or gives up with 409 after wait-timeout)
+ * - key reused with a different body: 422
+ * 
+ * Completed responses live in MongoDB (idempotency_keys, TTL 24h) and, for
+ * local-cache.ttl, in memory so that retry storms are answered without I/O.
+ * If the first execution fails the key is released, so a retry runs again.
+ * 
+ * The owner renews its lease every lease/3 while the action runs, so only a
+ * crashed owner's key is taken over. The action may still have done its work
+ * before the crash: it should create its resource under resourceId(key), so the
+ * execution that takes over finds it instead of creating a second one.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+    
+    /**
+     * The response, and whether it was replayed rather than produced by this call
+     */
+    public record Outcome<T>(T response, boolean replayed) {
+    }
+    
+    private record Completed(String fingerprint, Object response, long expiresAt) {
+    }
+    
+    private record InFlight(String fingerprint, CompletableFuture<Object> result) {
+    }
+    
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final long localTtlNanos;
+    private final int localMaxEntries;
+    
+    private final Map<String, Completed> completed = new ConcurrentHashMap<>();
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public IdempotencyService(MongoTemplate mongoTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.lease:30s}") Duration lease,
+                              @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout,
+                              @Value("${idempotency.poll-interval:50ms}") Duration pollInterval,
+                              @Value("${idempotency.local-cache.ttl:10m}") Duration localTtl,
+                              @Value("${idempotency.local-cache.max-entries:10000}") int localMaxEntries) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+        this.localTtlNanos = localTtl.toNanos();
+        this.localMaxEntries = localMaxEntries;
+    }
+    
+    /**
+     * An ObjectId-shaped ID derived from the key: what a request creates under it
+     * gets the same ID on every execution
+     */
+    public static String resourceId(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot derive resource ID", e);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T> Outcome<T> execute(String key, Object request, Class<T> responseType, Supplier<T> action) {
+        String fingerprint = fingerprint(request);
+        
+        Completed cached = completed.get(key);
+        if (cached != null && System.nanoTime() < cached.expiresAt()) {
+            checkFingerprint(key, cached.fingerprint(), fingerprint);
+            return new Outcome<>((T) cached.response(), true);
+        }
+        
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight first = inFlight.putIfAbsent(key, mine);
+        if (first != null) {
+            checkFingerprint(key, first.fingerprint(), fingerprint);
+            return new Outcome<>((T) join(first.result()), true);
+        }
+        
+        try {
+            Outcome<T> outcome = claimAndExecute(key, fingerprint, responseType, action);
+            remember(key, fingerprint, outcome.response());
+            mine.result().complete(outcome.response());
+            return outcome;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+    
+    private <T> Outcome<T> claimAndExecute(String key, String fingerprint, Class<T> responseType, Supplier<T> action) {
+        String owner = UUID.randomUUID().toString();
+        T replay = claim(key, fingerprint, owner, responseType);
+        if (replay != null) {
+            return new Outcome<>(replay, true);
+        }
+        
+        long renewEvery = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> renewal = renewals.scheduleAtFixedRate(
+                () -> renew(key, owner), renewEvery, renewEvery, TimeUnit.MILLISECONDS);
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            renewal.cancel(false);
+            release(key, owner);
+            throw e;
+        }
+        renewal.cancel(false);
+        
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(key)),
+                    new Update()
+                            .set("status", IdempotencyRecord.Status.COMPLETED)
+                            .set("response", objectMapper.writeValueAsString(response))
+                            .unset("owner")
+                            .unset("lockedUntil"),
+                    IdempotencyRecord.class);
+        } catch (JsonProcessingException | DataAccessException e) {
+            // The work is done; only replays from other instances are lost
+            log.error("Could not store response for idempotency key {}", key, e);
+        }
+        return new Outcome<>(response, false);
+    }
+    
+    /**
+     * Claim the key. Returns null when claimed (the caller executes), or the
+     * stored response once another execution has completed.
+     */
+    private <T> T claim(String key, String fingerprint, String owner, Class<T> responseType) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Instant now = Instant.now();
+            try {
+                mongoTemplate.insert(IdempotencyRecord.builder()
+                        .key(key)
+                        .fingerprint(fingerprint)
+                        .status(IdempotencyRecord.Status.IN_PROGRESS)
+                        .owner(owner)
+                        .lockedUntil(now.plus(lease))
+                        .createdAt(now)
+                        .build());
+                return null;
+            } catch (DuplicateKeyException e) {
+                // Someone else has it: look at what they did
+            }
+            
+            IdempotencyRecord existing = mongoTemplate.findById(key, IdempotencyRecord.class);
+            if (existing != null) {
+                checkFingerprint(key, existing.getFingerprint(), fingerprint);
+                if (existing.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                    if (existing.getResponse() == null) {
+                        throw new IdempotencyConflictException(
+                                "Request with Idempotency-Key " + key + " completed but its response was not stored");
+                    }
+                    return deserialize(existing.getResponse(), responseType);
+                }
+                if (existing.getLockedUntil() != null && existing.getLockedUntil().isBefore(now) && takeOver(key, owner, now)) {
+                    log.warn("Took over idempotency key {} from an execution that did not finish", key);
+                    return null;
+                }
+            }
+            
+            if (System.nanoTime() > deadline) {
+                throw new IdempotencyConflictException(
+                        "A request with Idempotency-Key " + key + " is still being processed");
+            }
+            sleep();
+        }
+    }
+    
+    private boolean takeOver(String key, String owner, Instant now) {
+        IdempotencyRecord taken = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(key)
+                        .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)
+                        .and("lockedUntil").lt(now)),
+                new Update().set("owner", owner).set("lockedUntil", now.plus(lease)),
+                FindAndModifyOptions.options().returnNew(true),
+                IdempotencyRecord.class);
+        return taken != null;
+    }
+    
+    private void renew(String key, String owner) {
+        try {
+            long renewed = mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(key)
+                            .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)
+                            .and("owner").is(owner)),
+                    new Update().set("lockedUntil", Instant.now().plus(lease)),
+                    IdempotencyRecord.class).getMatchedCount();
+            if (renewed == 0) {
+                log.warn("Idempotency key {} was taken over while its request was still running", key);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not renew idempotency key {}", key, e);
+        }
+    }
+    
+    private void release(String key, String owner) {
+        try {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(key)
+                    .and("status").is(IdempotencyRecord.Status.IN_PROGRESS)
+                    .and("owner").is(owner)), IdempotencyRecord.class);
+        } catch (DataAccessException e) {
+            log.warn("Could not release idempotency key {}; it frees itself after {}", key, lease, e);
+        }
+    }
+    
+    private void remember(String key, String fingerprint, Object response) {
+        if (completed.size() >= localMaxEntries) {
+            long now = System.nanoTime();
+            completed.values().removeIf(entry -> now >= entry.expiresAt());
+            if (completed.size() >= localMaxEntries) {
+                completed.entrySet().stream()
+                        .min(Comparator.comparingLong(e -> e.getValue().expiresAt()))
+                        .ifPresent(oldest -> completed.remove(oldest.getKey(), oldest.getValue()));
+            }
+        }
+        completed.put(key, new Completed(fingerprint, response, System.nanoTime() + localTtlNanos));
+    }
+    
+    private static void checkFingerprint(String key, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyReuseException(
+                    "Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+    
+    private String fingerprint(Object request) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(hash);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+    
+    private <T> T deserialize(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json.getBytes(StandardCharsets.UTF_8), type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+    
+    private void sleep() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for the first request");
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        renewals.shutdownNow();
+    }
+    
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
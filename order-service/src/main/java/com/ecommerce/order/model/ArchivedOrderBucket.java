@@ -0,0 +1,45 @@
+package com.ecommerce.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * 🧊 ARCHIVED ORDER BUCKET - Cold storage: all archived orders of one user in one month
+ * 
+ * _id is "userId|yyyy-MM|seq" (month of the order date). Orders are embedded whole,
+ * so an archived order reads back exactly as it was. orderIds mirrors the
+ * embedded IDs for the by-ID lookup index.
+ * 
+ * A bucket holds at most orders.archive.max-bucket-size of orders (sizeBytes,
+ * their BSON size); further orders of the month go to overflow buckets with the
+ * next seq, so a busy account never runs into the 16MB document limit.
+ */
+@Document(collection = "orders_archive")
+@CompoundIndex(name = "user_month", def = "{'userId': 1, 'month': -1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrderBucket {
+    
+    @Id
+    private String id;
+    
+    private String userId;
+    private String month;
+    private int seq;
+    private long sizeBytes;
+    
+    @Indexed
+    private List<String> orderIds;
+    
+    private List<Order> orders;
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 🛒 CART DOCUMENT - The persisted copy of a user's cart
+ * 
+ * Carts live in memory (see CartStore); this copy is written in the background
+ * and read back when a cart is needed again after being evicted. Only product
+ * IDs and quantities are stored: prices are looked up when the cart is shown.
+ * Carts untouched for 30 days expire.
+ */
+@Document(collection = "carts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Cart {
+    
+    @Id
+    private String userId;
+    
+    private List<CartLine> items;
+    
+    @Indexed(name = "cart_ttl", expireAfter = "30d")
+    private Instant updatedAt;
+}
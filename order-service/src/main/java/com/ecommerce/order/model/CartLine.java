@@ -0,0 +1,19 @@
+package com.ecommerce.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 🛒 CART LINE - Embedded line of a {@link Cart}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartLine {
+    
+    private String productId;
+    private int quantity;
+}
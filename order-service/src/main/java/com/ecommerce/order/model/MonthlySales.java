@@ -0,0 +1,32 @@
+package com.ecommerce.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+
+/**
+ * 📊 MONTHLY SALES - Rollup: one document per calendar month, _id is "yyyy-MM"
+ */
+@Document(collection = "sales_by_month")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySales {
+    
+    @Id
+    private String id;
+    
+    @Indexed
+    private Integer year;
+    
+    private Integer month;
+    private BigDecimal totalSales;
+    private Long orderCount;
+}
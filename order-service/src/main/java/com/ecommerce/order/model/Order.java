@@ -0,0 +1,60 @@
+package com.ecommerce.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🧾 ORDER ENTITY - The Database Model
+ *
+ * An order placed by a user. Line items are embedded, so an order is
+ * read and written as a single document.
+ *
+ * Product name and price are copied into each item at checkout time:
+ * later catalog changes must not rewrite order history.
+ *
+ * The user_order_history index serves "My Orders": it sorts a user's orders
+ * newest first and also carries every field of a list row (see OrderSummary),
+ * so a history page is answered from the index alone. The archive_candidates
+ * index lets OrderArchiver find completed orders without a collection scan.
+ * Indexes are created at startup by MongoIndexConfig.
+ */
+@Document(collection = "orders")
+@CompoundIndexes({
+        @CompoundIndex(name = Order.USER_HISTORY_INDEX,
+                def = "{'userId': 1, 'orderDate': -1, '_id': -1, 'status': 1, 'totalAmount': 1, 'itemCount': 1}"),
+        @CompoundIndex(name = "archive_candidates", def = "{'status': 1, 'lastModified': 1}")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Order {
+
+    public static final String USER_HISTORY_INDEX = "user_order_history";
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private List<OrderItem> orderItems;
+    private Integer itemCount;  // orderItems.size(), kept so list pages never read the items
+    private BigDecimal totalAmount;
+    private OrderStatus status;
+    private String shippingAddress;
+
+    private LocalDateTime orderDate;
+    private LocalDateTime lastModified;
+    
+    private String statusChangeId;  // bulk transition that last changed the status (see OrderFulfilmentService)
+}
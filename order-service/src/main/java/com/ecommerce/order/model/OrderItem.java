@@ -0,0 +1,33 @@
+package com.ecommerce.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * 📦 ORDER ITEM - Embedded line item of an {@link Order}
+ *
+ * price is the unit price at the moment the order was placed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItem {
+
+    private String productId;
+    private String sku;
+    private String productName;
+    private Integer quantity;
+    private BigDecimal price;
+
+    /**
+     * Line total (unit price x quantity)
+     */
+    public BigDecimal getSubtotal() {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+}
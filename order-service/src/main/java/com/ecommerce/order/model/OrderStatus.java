@@ -0,0 +1,31 @@
+package com.ecommerce.order.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 🚦 ORDER STATUS - Lifecycle of an order
+ * 
+ * PENDING → CONFIRMED → SHIPPED → DELIVERED, and PENDING / CONFIRMED → CANCELLED.
+ * DELIVERED and CANCELLED are final.
+ */
+public enum OrderStatus {
+    PENDING,
+    CONFIRMED,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED;
+    
+    public Set<OrderStatus> nextStatuses() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(CONFIRMED, CANCELLED);
+            case CONFIRMED -> EnumSet.of(SHIPPED, CANCELLED);
+            case SHIPPED -> EnumSet.of(DELIVERED);
+            case DELIVERED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+    
+    public boolean canTransitionTo(OrderStatus next) {
+        return nextStatuses().contains(next);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * 📃 ORDER SUMMARY - One row of a user's order history
+ * 
+ * Read model for the "orders" collection: only fields that are part of the
+ * user_order_history index, so loading it never touches the order documents.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummary {
+    
+    /**
+     * History order: orderDate desc, then id desc (same-length hex IDs compare like ObjectIds)
+     */
+    public static final Comparator<OrderSummary> NEWEST_FIRST = Comparator
+            .comparing(OrderSummary::getOrderDate)
+            .thenComparing(OrderSummary::getId)
+            .reversed();
+    
+    private String id;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private BigDecimal totalAmount;
+    private Integer itemCount;
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+
+/**
+ * 📊 PRODUCT DAILY SALES - Rollup: one document per product per day
+ * 
+ * _id is "productId|yyyy-MM-dd". Kept up to date by SalesRollupService.
+ */
+@Document(collection = "sales_by_product_day")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDailySales {
+    
+    @Id
+    private String id;
+    
+    private String productId;
+    private String productName;
+    
+    @Indexed
+    private String day;  // ISO date, e.g. "2024-01-15"
+    
+    private BigDecimal revenue;
+    private Long quantity;
+    private Long orderCount;
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.order.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 📊 USER ORDER STATS - Rollup: one document per user, _id is the userId
+ */
+@Document(collection = "sales_by_user")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOrderStats {
+    
+    @Id
+    private String userId;
+    
+    @Indexed(direction = IndexDirection.DESCENDING)  // top customers
+    private Long orderCount;
+    
+    private BigDecimal totalSpent;
+    private LocalDateTime lastOrderDate;
+}
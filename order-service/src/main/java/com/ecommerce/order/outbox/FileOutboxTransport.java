@@ -0,0 +1,82 @@
+package com.ecommerce.order.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🚚 FILE TRANSPORT - Appends events as JSON lines to a local file
+ * 
+ * One write and one fsync per batch. A local stand-in for a message broker:
+ * other processes can tail the file. Appends are serialized with a lock rather
+ * than synchronized, so a virtual thread waiting on fsync does not pin its carrier.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.transport", havingValue = "file")
+public class FileOutboxTransport implements OutboxTransport {
+    
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    
+    public FileOutboxTransport(ObjectMapper objectMapper,
+                               @Value("${orders.outbox.file.path:data/order-events.jsonl}") Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+    }
+    
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxEvent event : events) {
+            lines.append(toJson(event)).append('\n');
+        }
+        appendLock.lock();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append events to " + path, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+    
+    private String toJson(OutboxEvent event) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("id", event.getId());
+        message.put("type", event.getType());
+        message.put("aggregateId", event.getAggregateId());
+        message.put("createdAt", event.getCreatedAt().toString());
+        message.put("payload", event.getPayload());
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize event " + event.getId(), e);
+        }
+    }
+}
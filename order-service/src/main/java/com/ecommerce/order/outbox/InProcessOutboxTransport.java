@@ -0,0 +1,27 @@
+package com.ecommerce.order.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 🚚 IN-PROCESS TRANSPORT - Publishes each batch as a Spring application event (default)
+ * 
+ * Listeners receive an OutboxEventBatch via @EventListener on the relay thread;
+ * an exception thrown by a listener fails the batch and the relay retries it.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.transport", havingValue = "in-process", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InProcessOutboxTransport implements OutboxTransport {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        eventPublisher.publishEvent(new OutboxEventBatch(events));
+    }
+}
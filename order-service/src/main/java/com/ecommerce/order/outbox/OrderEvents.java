@@ -0,0 +1,67 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📮 ORDER EVENTS - The events order-service publishes through the outbox
+ * 
+ * - ORDER_PLACED:         orderId, userId, totalAmount, items (productId, sku, quantity, price)
+ * - ORDER_STATUS_CHANGED: orderId, userId, oldStatus, newStatus, items (productId, sku, quantity)
+ */
+public final class OrderEvents {
+    
+    public static final String ORDER_PLACED = "ORDER_PLACED";
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+    
+    private OrderEvents() {
+    }
+    
+    public static OutboxEvent orderPlaced(Order order) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", order.getId());
+        payload.put("userId", order.getUserId());
+        payload.put("totalAmount", order.getTotalAmount().toPlainString());
+        payload.put("items", order.getOrderItems().stream()
+                .map(item -> Map.<String, Object>of(
+                        "productId", item.getProductId(),
+                        "sku", item.getSku(),
+                        "quantity", item.getQuantity(),
+                        "price", item.getPrice().toPlainString()))
+                .toList());
+        return event(ORDER_PLACED, order.getId(), payload);
+    }
+    
+    public static OutboxEvent statusChanged(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", order.getId());
+        payload.put("userId", order.getUserId());
+        payload.put("oldStatus", oldStatus.name());
+        payload.put("newStatus", newStatus.name());
+        List<Map<String, Object>> items = order.getOrderItems().stream()
+                .map(item -> Map.<String, Object>of(
+                        "productId", item.getProductId(),
+                        "sku", item.getSku(),
+                        "quantity", item.getQuantity()))
+                .toList();
+        payload.put("items", items);
+        return event(ORDER_STATUS_CHANGED, order.getId(), payload);
+    }
+    
+    private static OutboxEvent event(String type, String aggregateId, Map<String, Object> payload) {
+        return OutboxEvent.builder()
+                .id(new ObjectId().toHexString())
+                .type(type)
+                .aggregateId(aggregateId)
+                .payload(payload)
+                .status(OutboxEvent.Status.PENDING)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
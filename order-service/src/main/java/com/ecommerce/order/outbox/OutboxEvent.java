@@ -0,0 +1,55 @@
+package com.ecommerce.order.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 📮 OUTBOX EVENT - An event waiting to be published, stored with the order change that caused it
+ * 
+ * Written in the same transaction as the order, so an event exists if and only
+ * if the change was committed. OutboxRelay publishes PENDING events in _id
+ * order (ObjectIds increase with creation time); published events are removed
+ * by the TTL index on publishedAt. Until then they also serve the status change
+ * feed (OrderFulfilmentService), read by type in _id order.
+ */
+@Document(collection = "order_outbox")
+@CompoundIndexes({
+        @CompoundIndex(name = "pending", def = "{'status': 1, '_id': 1}"),
+        @CompoundIndex(name = "backoff", def = "{'status': 1, 'nextAttemptAt': 1}"),
+        @CompoundIndex(name = "feed", def = "{'type': 1, '_id': 1}")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    
+    public enum Status { PENDING, PUBLISHED, FAILED }
+    
+    @Id
+    private String id;  // also the event ID consumers deduplicate on
+    
+    private String type;
+    private String aggregateId;  // order ID: events of one order are published in order
+    private Map<String, Object> payload;
+    
+    private Status status;
+    private int attempts;
+    private Instant nextAttemptAt;
+    private String lastError;
+    
+    private Instant createdAt;
+    
+    @Indexed(name = "published_ttl", expireAfter = "7d")
+    private Instant publishedAt;
+}
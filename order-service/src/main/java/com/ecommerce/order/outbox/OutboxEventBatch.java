@@ -0,0 +1,9 @@
+package com.ecommerce.order.outbox;
+
+import java.util.List;
+
+/**
+ * 📦 A batch of events published by InProcessOutboxTransport, in publication order
+ */
+public record OutboxEventBatch(List<OutboxEvent> events) {
+}
@@ -0,0 +1,170 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.order.repository.MongoLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📤 OUTBOX RELAY - Publishes outbox events in the background, in batches
+ * 
+ * Every poll-interval, reads up to batch-size PENDING events in _id order and
+ * hands them to the OutboxTransport as one batch, then marks them PUBLISHED.
+ * 
+ * Ordering per aggregate (order ID): if a batch fails it is retried per
+ * aggregate; a failing aggregate is backed off exponentially and none of its
+ * later events are published before it. Aggregates still backing off are
+ * left out of the query, so they never fill the batch. After max-attempts an
+ * event is marked FAILED and left for inspection so it stops blocking its aggregate.
+ * 
+ * Only one instance relays at a time (a lease document in MongoDB, renewed
+ * before every batch; a poll stops as soon as renewal fails), which is what
+ * keeps the global order.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+    
+    private final MongoTemplate mongoTemplate;
+    private final OutboxTransport transport;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final MongoLease lease;
+    
+    private final Counter published;
+    private final Counter failed;
+    private final Timer lag;
+    
+    public OutboxRelay(MongoTemplate mongoTemplate,
+                       OutboxTransport transport,
+                       MeterRegistry meterRegistry,
+                       @Value("${orders.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${orders.outbox.relay.max-batches-per-poll:10}") int maxBatchesPerPoll,
+                       @Value("${orders.outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${orders.outbox.relay.initial-backoff:1s}") Duration initialBackoff,
+                       @Value("${orders.outbox.relay.lease:30s}") Duration leaseDuration) {
+        this.mongoTemplate = mongoTemplate;
+        this.transport = transport;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.lease = new MongoLease(mongoTemplate, "order_outbox_lease", "relay", leaseDuration);
+        this.published = meterRegistry.counter("orders.outbox.events", "result", "published");
+        this.failed = meterRegistry.counter("orders.outbox.events", "result", "failed");
+        this.lag = Timer.builder("orders.outbox.lag")
+                .description("Time from event creation to publication")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${orders.outbox.relay.poll-interval:200ms}")
+    public void poll() {
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                if (!lease.acquire()) {
+                    return;  // another instance relays, or took over after our lease expired
+                }
+                if (relayBatch() < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox relay poll failed", e);
+        }
+    }
+    
+    /**
+     * Relays one batch. Returns the number of events read.
+     */
+    private int relayBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = mongoTemplate.find(
+                new Query(Criteria.where("status").is(OutboxEvent.Status.PENDING)
+                        .and("aggregateId").nin(backingOff(now)))
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                        .limit(batchSize),
+                OutboxEvent.class);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        
+        // Group per aggregate, keeping _id order
+        Map<String, List<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            byAggregate.computeIfAbsent(event.getAggregateId(), id -> new ArrayList<>()).add(event);
+        }
+        
+        try {
+            transport.publish(events);
+            markPublished(events);
+        } catch (RuntimeException e) {
+            log.warn("Publishing a batch of {} events failed, retrying per order: {}", events.size(), e.getMessage());
+            for (List<OutboxEvent> aggregateEvents : byAggregate.values()) {
+                try {
+                    transport.publish(aggregateEvents);
+                    markPublished(aggregateEvents);
+                } catch (RuntimeException aggregateFailure) {
+                    markFailedAttempt(aggregateEvents.get(0), aggregateFailure);
+                }
+            }
+        }
+        return events.size();
+    }
+    
+    /**
+     * Aggregates whose first pending event waits out a backoff: none of their events may go yet
+     */
+    private List<String> backingOff(Instant now) {
+        return mongoTemplate.findDistinct(
+                new Query(Criteria.where("status").is(OutboxEvent.Status.PENDING).and("nextAttemptAt").gt(now)),
+                "aggregateId", OutboxEvent.class, String.class);
+    }
+    
+    private void markPublished(List<OutboxEvent> events) {
+        Instant now = Instant.now();
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(events.stream().map(OutboxEvent::getId).toList())),
+                new Update().set("status", OutboxEvent.Status.PUBLISHED).set("publishedAt", now),
+                OutboxEvent.class);
+        published.increment(events.size());
+        events.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), now)));
+    }
+    
+    /**
+     * Back off the first event of the aggregate; later ones wait behind it
+     */
+    private void markFailedAttempt(OutboxEvent event, RuntimeException error) {
+        int attempts = event.getAttempts() + 1;
+        Update update = new Update().set("attempts", attempts).set("lastError", String.valueOf(error.getMessage()));
+        if (attempts >= maxAttempts) {
+            update.set("status", OutboxEvent.Status.FAILED);
+            failed.increment();
+            log.error("Giving up on outbox event {} ({}) for order {} after {} attempts",
+                    event.getId(), event.getType(), event.getAggregateId(), attempts, error);
+        } else {
+            Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 16));
+            update.set("nextAttemptAt", Instant.now().plus(backoff));
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(event.getId())), update, OutboxEvent.class);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.order.outbox;
+
+import java.util.List;
+
+/**
+ * 🚚 OUTBOX TRANSPORT - Where OutboxRelay delivers events
+ * 
+ * Selected with orders.outbox.transport:
+ * - in-process: Spring application events, for listeners inside order-service
+ * - file:       appends JSON lines to a local file, a stand-in for a broker
+ * 
+ * Delivery is at least once: a batch may be delivered again after a failure or
+ * a crash, so consumers deduplicate on the event ID.
+ */
+public interface OutboxTransport {
+    
+    /**
+     * Deliver events in the given order. Throws if any of them could not be delivered.
+     */
+    void publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.order.client.ProductClient;
+import com.ecommerce.order.client.dto.StockEventDto;
+import com.ecommerce.order.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📦 STOCK EVENT FORWARDER - Turns order events into stock changes for product-service
+ * 
+ * - ORDER_PLACED: stock goes down by each item's quantity. product-service
+ *   skips a decrement the stock cannot cover and records what was taken
+ * - ORDER_STATUS_CHANGED into CANCELLED: stock goes back up (CANCELLED is
+ *   final). The event reverses the order's ORDER_PLACED stock event, so
+ *   product-service gives back only what that one actually took
+ * 
+ * A whole outbox batch becomes one call to product-service, which coalesces
+ * the changes per SKU. Stock event IDs are stable across relay retries (the
+ * outbox event ID, one per order for ORDER_PLACED), so retries are
+ * deduplicated there. A failed call fails the outbox batch, which the relay
+ * retries.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.stock-events.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class StockEventForwarder {
+    
+    private final ProductClient productClient;
+    
+    @EventListener
+    public void onOutboxBatch(OutboxEventBatch batch) {
+        List<StockEventDto> stockEvents = new ArrayList<>();
+        for (OutboxEvent event : batch.events()) {
+            int sign = stockSign(event);
+            if (sign != 0) {
+                stockEvents.add(toStockEvent(event, sign));
+            }
+        }
+        if (!stockEvents.isEmpty()) {
+            productClient.commitStockEvents(stockEvents).block();
+            log.debug("Forwarded {} stock events to product-service", stockEvents.size());
+        }
+    }
+    
+    /**
+     * -1: items leave stock, +1: items return to stock, 0: no stock change
+     */
+    private static int stockSign(OutboxEvent event) {
+        return switch (event.getType()) {
+            case OrderEvents.ORDER_PLACED -> -1;
+            case OrderEvents.ORDER_STATUS_CHANGED ->
+                    OrderStatus.CANCELLED.name().equals(event.getPayload().get("newStatus")) ? 1 : 0;
+            default -> 0;
+        };
+    }
+    
+    /**
+     * ID of the stock event taking an order's items out of stock: the same for every ORDER_PLACED of the order
+     */
+    static String placedStockEventId(String orderId) {
+        return "order-placed:" + orderId;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static StockEventDto toStockEvent(OutboxEvent event, int sign) {
+        List<Map<String, Object>> items = (List<Map<String, Object>>) event.getPayload().get("items");
+        String placedId = placedStockEventId(event.getAggregateId());
+        return StockEventDto.builder()
+                .eventId(sign < 0 ? placedId : event.getId())
+                .reverses(sign < 0 ? null : placedId)
+                .items(items.stream()
+                        .map(item -> new StockEventDto.Delta(
+                                (String) item.get("sku"),
+                                sign * ((Number) item.get("quantity")).intValue()))
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package com.ecommerce.order.realtime;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 🛒 CO-OCCURRENCE INDEX - "Bought together" counts, updated one basket at a time
+ * 
+ * Product IDs are mapped to dense ints. Each product has a sparse row
+ * (IntIntCounterMap) counting how often every other product was in the same
+ * order. Memory is bounded:
+ * - at most maxProducts products (later ones are not tracked)
+ * - a row that grows past 2 x neighbors entries is pruned to its top neighbors
+ * 
+ * Reads are served from a per-row top list cached until the row changes, so a
+ * lookup is a hash probe plus an array copy. Rows are locked individually:
+ * readers of one product never wait for writers of another.
+ */
+public class CoOccurrenceIndex {
+    
+    private static final int SNAPSHOT_VERSION = 1;
+    
+    /**
+     * A related product with the number of orders it shared with the queried one
+     */
+    public record Related(String productId, int count) {
+    }
+    
+    private final int maxProducts;
+    private final int neighbors;
+    private final int maxBasketSize;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> productIds;
+    private final AtomicReferenceArray<Row> rows;
+    
+    private static final class Row {
+        final IntIntCounterMap counts;
+        int[][] top;  // cached result of counts.top(), null when stale
+        
+        Row(int expectedSize) {
+            this.counts = new IntIntCounterMap(expectedSize);
+        }
+    }
+    
+    public CoOccurrenceIndex(int maxProducts, int neighbors, int maxBasketSize) {
+        this.maxProducts = maxProducts;
+        this.neighbors = neighbors;
+        this.maxBasketSize = maxBasketSize;
+        this.productIds = new AtomicReferenceArray<>(maxProducts);
+        this.rows = new AtomicReferenceArray<>(maxProducts);
+    }
+    
+    /**
+     * Count every pair of distinct products in one order
+     */
+    public void addBasket(List<String> basket) {
+        int[] members = basket.stream()
+                .distinct()
+                .limit(maxBasketSize)
+                .mapToInt(this::idOf)
+                .filter(id -> id >= 0)
+                .toArray();
+        for (int a : members) {
+            for (int b : members) {
+                if (a != b) {
+                    increment(a, b, 1);
+                }
+            }
+        }
+    }
+    
+    public List<Related> related(String productId, int limit) {
+        Integer id = ids.get(productId);
+        Row row = id == null ? null : rows.get(id);
+        if (row == null) {
+            return List.of();
+        }
+        int[][] top;
+        synchronized (row) {
+            if (row.top == null) {
+                row.top = row.counts.top(neighbors);
+            }
+            top = row.top;
+        }
+        int length = Math.min(limit, top[0].length);
+        List<Related> result = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            result.add(new Related(productIds.get(top[0][i]), top[1][i]));
+        }
+        return result;
+    }
+    
+    public int productCount() {
+        return ids.size();
+    }
+    
+    private void increment(int a, int b, int count) {
+        Row row = rows.get(a);
+        if (row == null) {
+            rows.compareAndSet(a, null, new Row(neighbors));
+            row = rows.get(a);
+        }
+        synchronized (row) {
+            row.counts.add(b, count);
+            if (row.counts.size() > 2 * neighbors) {
+                row.counts.retainTop(neighbors);
+            }
+            row.top = null;
+        }
+    }
+    
+    /**
+     * Dense int for a product, or -1 once maxProducts products are tracked
+     */
+    private int idOf(String productId) {
+        Integer id = ids.get(productId);
+        if (id != null) {
+            return id;
+        }
+        synchronized (ids) {
+            id = ids.get(productId);
+            if (id == null) {
+                if (ids.size() >= maxProducts) {
+                    return -1;
+                }
+                id = ids.size();
+                productIds.set(id, productId);
+                ids.put(productId, id);
+            }
+            return id;
+        }
+    }
+    
+    /**
+     * Write all products and rows. Each row is copied under its own lock,
+     * so writers are never blocked for more than one row.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        int products = ids.size();
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(products);
+        for (int id = 0; id < products; id++) {
+            out.writeUTF(productIds.get(id));
+        }
+        for (int id = 0; id < products; id++) {
+            Row row = rows.get(id);
+            if (row == null) {
+                out.writeInt(0);
+                continue;
+            }
+            int[][] entries;
+            synchronized (row) {
+                entries = row.counts.top(Integer.MAX_VALUE);
+            }
+            // Skip neighbors registered after the product list above was written
+            int written = 0;
+            for (int i = 0; i < entries[0].length; i++) {
+                if (entries[0][i] < products) {
+                    written++;
+                }
+            }
+            out.writeInt(written);
+            for (int i = 0; i < entries[0].length; i++) {
+                if (entries[0][i] < products) {
+                    out.writeInt(entries[0][i]);
+                    out.writeInt(entries[1][i]);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Load a snapshot into this (empty) index
+     */
+    public void readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        int products = in.readInt();
+        int[] idMap = new int[products];  // snapshot id -> id in this index
+        for (int i = 0; i < products; i++) {
+            idMap[i] = idOf(in.readUTF());
+        }
+        for (int i = 0; i < products; i++) {
+            int entries = in.readInt();
+            for (int e = 0; e < entries; e++) {
+                int neighbor = in.readInt();
+                int count = in.readInt();
+                if (idMap[i] >= 0 && idMap[neighbor] >= 0) {
+                    increment(idMap[i], idMap[neighbor], count);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.order.realtime;
+
+import java.util.Arrays;
+
+/**
+ * 🔢 INT-INT COUNTER MAP - Sparse map of non-negative int keys to int counts
+ * 
+ * Open addressing with linear probing over two primitive arrays: no boxing and
+ * no entry objects, about 8 bytes per slot. Not thread-safe.
+ */
+public class IntIntCounterMap {
+    
+    private static final int EMPTY = -1;
+    
+    private int[] keys;
+    private int[] counts;
+    private int size;
+    
+    public IntIntCounterMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new int[capacity];
+        this.counts = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+    
+    public void add(int key, int delta) {
+        int slot = slotOf(key, keys);
+        if (keys[slot] == key) {
+            counts[slot] += delta;
+            return;
+        }
+        keys[slot] = key;
+        counts[slot] = delta;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+    
+    public int get(int key) {
+        int slot = slotOf(key, keys);
+        return keys[slot] == key ? counts[slot] : 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * The n keys with the highest counts, highest first: result[0] = keys, result[1] = counts
+     */
+    public int[][] top(int n) {
+        long[] entries = sortedEntries();
+        int length = Math.min(n, entries.length);
+        int[][] result = new int[2][length];
+        for (int i = 0; i < length; i++) {
+            result[0][i] = (int) entries[i];
+            result[1][i] = (int) (entries[i] >>> 32);
+        }
+        return result;
+    }
+    
+    /**
+     * Drop everything but the n highest counts
+     */
+    public void retainTop(int n) {
+        if (size <= n) {
+            return;
+        }
+        long[] entries = sortedEntries();
+        int[] newKeys = new int[keys.length];
+        int[] newCounts = new int[keys.length];
+        Arrays.fill(newKeys, EMPTY);
+        for (int i = 0; i < n; i++) {
+            int key = (int) entries[i];
+            int slot = slotOf(key, newKeys);
+            newKeys[slot] = key;
+            newCounts[slot] = (int) (entries[i] >>> 32);
+        }
+        keys = newKeys;
+        counts = newCounts;
+        size = n;
+    }
+    
+    /**
+     * Entries packed as (count << 32 | key), sorted by count descending (counts are positive)
+     */
+    private long[] sortedEntries() {
+        long[] entries = new long[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                entries[n++] = ((long) counts[i] << 32) | keys[i];
+            }
+        }
+        Arrays.sort(entries);
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            long swap = entries[i];
+            entries[i] = entries[j];
+            entries[j] = swap;
+        }
+        return entries;
+    }
+    
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[capacity];
+        counts = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i], keys);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+    
+    private static int slotOf(int key, int[] table) {
+        int mask = table.length - 1;
+        int slot = (key * 0x9E3779B9) >>> 7 & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.order.realtime;
+
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔥 LIVE TOP SERVICE - Top customers and products of the last hour / day
+ * 
+ * Fed in memory by every placed order; never queries MongoDB.
+ * - customers are ranked by number of orders placed
+ * - products are ranked by units ordered
+ * 
+ * Memory per tracker is buckets x capacity-per-bucket counters, set by configuration.
+ * Counts are per instance and restart from zero when the service restarts.
+ */
+@Service
+public class LiveTopService {
+    
+    private final Map<TopWindow, SlidingWindowTopK> customers = new EnumMap<>(TopWindow.class);
+    private final Map<TopWindow, SlidingWindowTopK> products = new EnumMap<>(TopWindow.class);
+    
+    public LiveTopService(@Value("${live-top.capacity-per-bucket:500}") int capacityPerBucket,
+                          @Value("${live-top.hour-buckets:60}") int hourBuckets,
+                          @Value("${live-top.day-buckets:24}") int dayBuckets) {
+        for (TopWindow window : TopWindow.values()) {
+            int buckets = window == TopWindow.HOUR ? hourBuckets : dayBuckets;
+            customers.put(window, new SlidingWindowTopK(window.getLength(), buckets, capacityPerBucket));
+            products.put(window, new SlidingWindowTopK(window.getLength(), buckets, capacityPerBucket));
+        }
+    }
+    
+    public void recordOrder(Order order) {
+        long now = System.currentTimeMillis();
+        for (TopWindow window : TopWindow.values()) {
+            customers.get(window).add(order.getUserId(), 1, now);
+            SlidingWindowTopK productTracker = products.get(window);
+            for (OrderItem item : order.getOrderItems()) {
+                productTracker.add(item.getProductId(), item.getQuantity(), now);
+            }
+        }
+    }
+    
+    public List<SpaceSaving.Counter> topCustomers(TopWindow window, int limit) {
+        return customers.get(window).top(limit, System.currentTimeMillis());
+    }
+    
+    public List<SpaceSaving.Counter> topProducts(TopWindow window, int limit) {
+        return products.get(window).top(limit, System.currentTimeMillis());
+    }
+}
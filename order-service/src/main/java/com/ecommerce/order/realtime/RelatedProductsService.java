@@ -0,0 +1,101 @@
+package com.ecommerce.order.realtime;
+
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🛒 RELATED PRODUCTS SERVICE - "Customers also bought", fed by every placed order
+ * 
+ * Keeps a CoOccurrenceIndex in memory, so a lookup never touches MongoDB.
+ * The index is snapshotted to disk every snapshot-interval (only if it changed)
+ * and on shutdown, and reloaded at startup. Counts are per instance.
+ */
+@Service
+@Slf4j
+public class RelatedProductsService {
+    
+    private final CoOccurrenceIndex index;
+    private final Path snapshotPath;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    
+    public RelatedProductsService(@Value("${related-products.max-products:100000}") int maxProducts,
+                                  @Value("${related-products.neighbors:50}") int neighbors,
+                                  @Value("${related-products.max-basket-size:50}") int maxBasketSize,
+                                  @Value("${related-products.snapshot-path:data/related-products.bin.gz}") Path snapshotPath) {
+        this.index = new CoOccurrenceIndex(maxProducts, neighbors, maxBasketSize);
+        this.snapshotPath = snapshotPath;
+    }
+    
+    public void recordOrder(Order order) {
+        if (order.getOrderItems().size() < 2) {
+            return;
+        }
+        index.addBasket(order.getOrderItems().stream().map(OrderItem::getProductId).toList());
+        dirty.set(true);
+    }
+    
+    public List<CoOccurrenceIndex.Related> related(String productId, int limit) {
+        return index.related(productId, limit);
+    }
+    
+    @PostConstruct
+    void loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(snapshotPath))))) {
+            index.readFrom(in);
+            log.info("Loaded related-products snapshot: {} products", index.productCount());
+        } catch (IOException e) {
+            log.warn("Could not load related-products snapshot {}, starting empty: {}", snapshotPath, e.getMessage());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${related-products.snapshot-interval:5m}",
+            initialDelayString = "${related-products.snapshot-interval:5m}")
+    public void snapshot() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            Path directory = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "related-products", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                index.writeTo(out);
+            }
+            // Readers of the snapshot only ever see a complete file
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote related-products snapshot: {} products", index.productCount());
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("Could not write related-products snapshot {}", snapshotPath, e);
+        }
+    }
+    
+    @PreDestroy
+    void snapshotOnShutdown() {
+        snapshot();
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.order.realtime;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🪟 SLIDING WINDOW TOP-K - Heavy hitters over the last N time buckets
+ *
+ * The window (e.g. one hour) is split into buckets (e.g. 60 one-minute buckets),
+ * each with its own SpaceSaving sketch, arranged as a ring. A bucket is cleared
+ * when time wraps around to it, so old data falls out of the window one bucket
+ * at a time. Memory is buckets x capacity counters, whatever the order volume.
+ *
+ * Queries merge the buckets: a key missing from a bucket is charged that bucket's
+ * untracked upper bound, so merged counts stay upper bounds with a known error.
+ */
+public class SlidingWindowTopK {
+
+    private final long bucketMillis;
+    private final SpaceSaving[] buckets;
+    private final long[] bucketIds;
+
+    public SlidingWindowTopK(Duration window, int bucketCount, int capacityPerBucket) {
+        this.bucketMillis = Math.max(1, window.toMillis() / bucketCount);
+        this.buckets = new SpaceSaving[bucketCount];
+        this.bucketIds = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new SpaceSaving(capacityPerBucket);
+            bucketIds[i] = -1;
+        }
+    }
+
+    public synchronized void add(String key, long weight, long nowMillis) {
+        long bucketId = nowMillis / bucketMillis;
+        int slot = (int) (bucketId % buckets.length);
+        if (bucketIds[slot] != bucketId) {
+            buckets[slot].clear();
+            bucketIds[slot] = bucketId;
+        }
+        buckets[slot].add(key, weight);
+    }
+
+    public synchronized List<SpaceSaving.Counter> top(int limit, long nowMillis) {
+        long currentBucket = nowMillis / bucketMillis;
+        long oldestBucket = currentBucket - buckets.length + 1;
+
+        Map<String, long[]> merged = new HashMap<>();
+        long untrackedTotal = 0;
+        for (int slot = 0; slot < buckets.length; slot++) {
+            if (bucketIds[slot] < oldestBucket || bucketIds[slot] > currentBucket) {
+                continue;
+            }
+            SpaceSaving bucket = buckets[slot];
+            long untracked = bucket.untrackedUpperBound();
+            untrackedTotal += untracked;
+            for (SpaceSaving.Counter counter : bucket.counters()) {
+                // [0] count delta, [1] error delta, relative to "untracked in every bucket"
+                long[] totals = merged.computeIfAbsent(counter.key(), k -> new long[2]);
+                totals[0] += counter.count() - untracked;
+                totals[1] += counter.error() - untracked;
+            }
+        }
+
+        long base = untrackedTotal;
+        return merged.entrySet().stream()
+                .map(e -> new SpaceSaving.Counter(e.getKey(), base + e.getValue()[0], base + e.getValue()[1]))
+                .sorted(Comparator.comparingLong(SpaceSaving.Counter::count).reversed())
+                .limit(limit)
+                .toList();
+    }
+}
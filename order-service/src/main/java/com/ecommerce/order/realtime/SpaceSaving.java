@@ -0,0 +1,129 @@
+package com.ecommerce.order.realtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔝 SPACE-SAVING SKETCH - Approximate heavy hitters in fixed memory
+ *
+ * Tracks at most `capacity` keys. When a new key arrives and the sketch is full,
+ * the key with the smallest count is evicted and the newcomer inherits that count
+ * (recorded as its error). Guarantees, for a stream of total weight N:
+ * - every reported count overestimates the true count by at most its error
+ * - error <= N / capacity, so any key with true count > N / capacity is always tracked
+ *
+ * Counters sit in an array-backed min-heap indexed by key, so an update is
+ * O(log capacity). Not thread-safe: SlidingWindowTopK serializes access.
+ */
+public class SpaceSaving {
+
+    /**
+     * A tracked key: true count lies in [count - error, count]
+     */
+    public record Counter(String key, long count, long error) {
+    }
+
+    private final int capacity;
+    private final String[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<String, Integer> positions;
+    private int size;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.keys = new String[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    public void add(String key, long weight) {
+        Integer position = positions.get(key);
+        if (position != null) {
+            counts[position] += weight;
+            siftDown(position);
+            return;
+        }
+        if (size < capacity) {
+            keys[size] = key;
+            counts[size] = weight;
+            errors[size] = 0;
+            positions.put(key, size);
+            siftUp(size++);
+            return;
+        }
+        // Replace the minimum (heap root)
+        long min = counts[0];
+        positions.remove(keys[0]);
+        keys[0] = key;
+        counts[0] = min + weight;
+        errors[0] = min;
+        positions.put(key, 0);
+        siftDown(0);
+    }
+
+    /**
+     * Count a key that is not tracked may have (0 until the sketch is full)
+     */
+    public long untrackedUpperBound() {
+        return size < capacity ? 0 : counts[0];
+    }
+
+    public List<Counter> counters() {
+        List<Counter> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new Counter(keys[i], counts[i], errors[i]));
+        }
+        return result;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        positions.clear();
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (counts[parent] <= counts[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && counts[left + 1] < counts[left] ? left + 1 : left;
+            if (counts[i] <= counts[smallest]) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String key = keys[a];
+        long count = counts[a];
+        long error = errors[a];
+        keys[a] = keys[b];
+        counts[a] = counts[b];
+        errors[a] = errors[b];
+        keys[b] = key;
+        counts[b] = count;
+        errors[b] = error;
+        positions.put(keys[a], a);
+        positions.put(keys[b], b);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.order.realtime;
+
+import java.time.Duration;
+
+/**
+ * ⏲️ Time windows offered by the live top-K endpoints
+ */
+public enum TopWindow {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+    
+    private final Duration length;
+    
+    TopWindow(Duration length) {
+        this.length = length;
+    }
+    
+    public Duration getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.outbox.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ✍️ DIRECT ORDER WRITER - One insert per order (default)
+ */
+@Component
+@ConditionalOnProperty(name = "orders.group-commit.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DirectOrderWriter implements OrderWriter {
+    
+    private final OrderRepository orderRepository;
+    private final MongoTemplate mongoTemplate;
+    private final MongoTransactions transactions;
+    
+    @Override
+    public Order insert(Order order, List<OutboxEvent> events) {
+        transactions.run(() -> {
+            orderRepository.insert(order);
+            if (!events.isEmpty()) {
+                mongoTemplate.insert(events, OutboxEvent.class);
+            }
+        });
+        return order;
+    }
+}
@@ -0,0 +1,283 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.order.exception.OrderWriteException;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.outbox.OutboxEvent;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 📦 GROUP-COMMIT ORDER WRITER - Many concurrent order inserts, one round trip
+ *
+ * With a majority write concern every insert waits for replication, so one
+ * insert per order caps throughput at (connections / replication latency).
+ * This writer queues incoming orders and a single flusher thread writes them
+ * as one unordered bulk insert when either:
+ * - maxBatchSize orders are waiting, or
+ * - maxWait has passed since the first order of the batch arrived.
+ *
+ * Each caller blocks until its own order is acknowledged and gets back its own
+ * outcome: a failed document (e.g. duplicate key) only fails that caller.
+ * Callers wait at most ackTimeout, both for room in the queue and for the write;
+ * orders still queued at shutdown fail instead of leaving their callers waiting.
+ * 
+ * Outbox events of the whole batch are inserted in the same transaction as the
+ * orders. If that transaction fails, the batch is retried one order per
+ * transaction so that only the offending order fails. Event IDs are assigned
+ * right before the events are written (see OrderFulfilmentServiceImpl's feed).
+ *
+ * Enabled with orders.group-commit.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.group-commit.enabled", havingValue = "true")
+@Slf4j
+public class GroupCommitOrderWriter implements OrderWriter {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoTransactions transactions;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Duration ackTimeout;
+    private final BlockingQueue<PendingInsert> queue;
+    private final DistributionSummary batchSizes;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private record PendingInsert(Order order, List<OutboxEvent> events, CompletableFuture<Order> result) {
+    }
+
+    public GroupCommitOrderWriter(MongoTemplate mongoTemplate,
+                                  MongoTransactions transactions,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${orders.group-commit.max-batch-size:64}") int maxBatchSize,
+                                  @Value("${orders.group-commit.max-wait:2ms}") Duration maxWait,
+                                  @Value("${orders.group-commit.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${orders.group-commit.ack-timeout:10s}") Duration ackTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactions = transactions;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.ackTimeout = ackTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("orders.group-commit.batch.size")
+                .description("Orders written per bulk insert")
+                .register(meterRegistry);
+
+        this.flusher = new Thread(this::runFlusher, "order-group-commit");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public Order insert(Order order, List<OutboxEvent> events) {
+        if (!running) {
+            throw new IllegalStateException("Order writer is shut down");
+        }
+        // Assign the ID up front: bulk inserts do not write generated IDs back to the entity
+        if (order.getId() == null) {
+            order.setId(new ObjectId().toHexString());
+        }
+
+        PendingInsert pending = new PendingInsert(order, events, new CompletableFuture<>());
+        try {
+            // Waits for room when full: natural backpressure
+            if (!queue.offer(pending, ackTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new OrderWriteException("Order writer queue stayed full for " + ackTimeout.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing order", e);
+        }
+        // Shut down while we were queueing: the flusher may already be gone
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Order writer is shut down");
+        }
+
+        try {
+            return pending.result().get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new OrderWriteException("Failed to insert order " + order.getId() + ": " + e.getCause());
+        } catch (TimeoutException e) {
+            throw new OrderWriteException("Order " + order.getId() + " was not acknowledged within "
+                    + ackTimeout.toMillis() + " ms; it may still be written");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for order " + order.getId(), e);
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingInsert> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingInsert first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    // Take whatever is already queued without waiting, then wait out the window
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingInsert next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Group commit flush failed unexpectedly", e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingInsert> batch) {
+        batchSizes.record(batch.size());
+        if (transactions.isSupported()) {
+            flushInTransaction(batch);
+        } else {
+            flushUnordered(batch);
+        }
+    }
+    
+    private void flushInTransaction(List<PendingInsert> batch) {
+        try {
+            transactions.run(() -> insertAll(batch));
+            batch.forEach(pending -> pending.result().complete(pending.order()));
+        } catch (DataAccessException | TransactionException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // Any failed document aborts the whole transaction: isolate it
+            log.warn("Group commit of {} orders failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (PendingInsert pending : batch) {
+                try {
+                    transactions.run(() -> insertAll(List.of(pending)));
+                    pending.result().complete(pending.order());
+                } catch (DataAccessException | TransactionException single) {
+                    pending.result().completeExceptionally(new OrderWriteException(
+                            "Failed to insert order " + pending.order().getId() + ": " + single.getMessage()));
+                }
+            }
+        }
+    }
+    
+    private void insertAll(List<PendingInsert> batch) {
+        mongoTemplate.bulkOps(BulkMode.UNORDERED, Order.class)
+                .insert(batch.stream().map(PendingInsert::order).toList())
+                .execute();
+        insertEvents(batch);
+    }
+    
+    private void insertEvents(List<PendingInsert> batch) {
+        List<OutboxEvent> events = batch.stream().flatMap(pending -> pending.events().stream()).toList();
+        if (!events.isEmpty()) {
+            // The ID is the status feed's position: assign it now, not when the order was queued,
+            // so time spent in the queue cannot put an event behind a feed cursor
+            events.forEach(event -> event.setId(new ObjectId().toHexString()));
+            mongoTemplate.bulkOps(BulkMode.ORDERED, OutboxEvent.class).insert(events).execute();
+        }
+    }
+    
+    /**
+     * Without transactions: orders first, then the events of the orders that were written
+     */
+    private void flushUnordered(List<PendingInsert> batch) {
+        List<Order> orders = batch.stream().map(PendingInsert::order).toList();
+        
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, Order.class)
+                    .insert(orders)
+                    .execute();
+        } catch (BulkOperationException e) {
+            // Unordered: everything except the reported indexes was written
+            Throwable[] failures = new Throwable[batch.size()];
+            for (BulkWriteError error : e.getErrors()) {
+                failures[error.getIndex()] = new OrderWriteException(
+                        "Failed to insert order " + batch.get(error.getIndex()).order().getId()
+                                + ": " + error.getMessage());
+            }
+            List<PendingInsert> written = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                PendingInsert pending = batch.get(i);
+                if (failures[i] != null) {
+                    pending.result().completeExceptionally(failures[i]);
+                } else if (e.getResult() != null && e.getResult().wasAcknowledged()) {
+                    written.add(pending);
+                } else {
+                    pending.result().completeExceptionally(e);
+                }
+            }
+            completeWritten(written);
+            return;
+        } catch (DataAccessException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        }
+        completeWritten(batch);
+    }
+    
+    private void completeWritten(List<PendingInsert> written) {
+        try {
+            insertEvents(written);
+        } catch (DataAccessException e) {
+            // The orders are committed; failing their callers would invite duplicate retries
+            log.error("Orders written but their outbox events were not: {}", 
+                    written.stream().map(pending -> pending.order().getId()).toList(), e);
+        }
+        written.forEach(pending -> pending.result().complete(pending.order()));
+    }
+    
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(ackTimeout.toMillis());
+        // Whatever the flusher did not get to will not be written
+        List<PendingInsert> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(
+                new IllegalStateException("Order writer is shut down")));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.order.repository;
+
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 🔑 MONGO LEASE - Lets one instance at a time run a background job
+ *
+ * The lease is a single document { _id, owner, expiresAt }. An instance takes it
+ * when it is free or expired, and renews it while it holds it. Long jobs must
+ * renew between steps and stop as soon as renewal fails: by then another
+ * instance may have taken over.
+ */
+public class MongoLease {
+
+    private final MongoTemplate mongoTemplate;
+    private final String collection;
+    private final String leaseId;
+    private final Duration duration;
+    private final String instanceId = new ObjectId().toHexString();
+
+    public MongoLease(MongoTemplate mongoTemplate, String collection, String leaseId, Duration duration) {
+        this.mongoTemplate = mongoTemplate;
+        this.collection = collection;
+        this.leaseId = leaseId;
+        this.duration = duration;
+    }
+
+    /**
+     * Take or renew the lease. Fails (duplicate key on the upsert) while another live instance holds it.
+     */
+    public boolean acquire() {
+        Instant now = Instant.now();
+        try {
+            mongoTemplate.upsert(
+                    Query.query(Criteria.where("_id").is(leaseId)
+                            .orOperator(Criteria.where("owner").is(instanceId), Criteria.where("expiresAt").lt(now))),
+                    new Update().set("owner", instanceId).set("expiresAt", now.plus(duration)),
+                    collection);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
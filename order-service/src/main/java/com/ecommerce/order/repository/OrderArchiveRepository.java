@@ -0,0 +1,262 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.order.model.ArchivedOrderBucket;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderSummary;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 🧊 ORDER ARCHIVE REPOSITORY - Cold storage for completed orders
+ * 
+ * Orders are bucketed per user per month (ArchivedOrderBucket), with size-capped
+ * overflow buckets: a user's archived history is a handful of documents instead
+ * of one per order, and the hot "orders" collection and its indexes only hold
+ * live orders.
+ */
+@Repository
+public class OrderArchiveRepository {
+    
+    private static final int DUPLICATE_KEY = 11000;
+    
+    private final MongoTemplate mongoTemplate;
+    private final long maxBucketBytes;
+    
+    public OrderArchiveRepository(MongoTemplate mongoTemplate,
+                                  @Value("${orders.archive.max-bucket-size:4MB}") DataSize maxBucketSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxBucketBytes = maxBucketSize.toBytes();
+    }
+    
+    /**
+     * Add orders to their buckets and return the IDs of those now in the archive.
+     * 
+     * Idempotent: orders already archived are skipped. Only the returned orders
+     * may be deleted from "orders": an upsert that lost a race against another
+     * writer creating the same bucket fails with a duplicate key, and that order
+     * is simply archived again on a later run.
+     */
+    public Set<String> archive(Collection<Order> orders) {
+        List<String> ids = orders.stream().map(Order::getId).toList();
+        Set<String> alreadyArchived = findArchivedIds(ids);
+        Map<String, BucketFill> fills = currentBuckets(orders);
+        
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, ArchivedOrderBucket.class);
+        int writes = 0;
+        for (Order order : orders) {
+            if (alreadyArchived.contains(order.getId())) {
+                continue;
+            }
+            String month = monthOf(order.getOrderDate());
+            long bytes = bsonSize(order);
+            String key = fillKey(order.getUserId(), month);
+            BucketFill fill = fills.computeIfAbsent(key, k -> new BucketFill(0));
+            if (fill.sizeBytes > 0 && fill.sizeBytes + bytes > maxBucketBytes) {
+                fill = new BucketFill(fill.seq + 1);  // full: open an overflow bucket
+                fills.put(key, fill);
+            }
+            fill.sizeBytes += bytes;
+            bulk.upsert(
+                    Query.query(Criteria.where("_id").is(bucketId(order.getUserId(), month, fill.seq))
+                            .and("orderIds").ne(order.getId())),
+                    new Update()
+                            .setOnInsert("userId", order.getUserId())
+                            .setOnInsert("month", month)
+                            .setOnInsert("seq", fill.seq)
+                            .inc("sizeBytes", bytes)
+                            .push("orderIds", order.getId())
+                            .push("orders", order));
+            writes++;
+        }
+        if (writes > 0) {
+            try {
+                bulk.execute();
+            } catch (BulkOperationException e) {
+                // Duplicate keys (order already in the bucket, or the bucket was created
+                // concurrently) are settled by reading back what was archived
+                for (BulkWriteError error : e.getErrors()) {
+                    if (error.getCode() != DUPLICATE_KEY) {
+                        throw e;
+                    }
+                }
+            }
+        }
+        return findArchivedIds(ids);
+    }
+    
+    /**
+     * Of the given order IDs, those present in the archive
+     */
+    public Set<String> findArchivedIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        Query query = new Query(Criteria.where("orderIds").in(ids));
+        query.fields().include("orderIds");
+        Set<String> wanted = new HashSet<>(ids);
+        return mongoTemplate.find(query, ArchivedOrderBucket.class).stream()
+                .flatMap(bucket -> bucket.getOrderIds().stream())
+                .filter(wanted::contains)
+                .collect(Collectors.toSet());
+    }
+    
+    /**
+     * The bucket to fill next (highest seq) per user and month of the given orders
+     */
+    private Map<String, BucketFill> currentBuckets(Collection<Order> orders) {
+        Set<String> users = orders.stream().map(Order::getUserId).collect(Collectors.toSet());
+        Set<String> months = orders.stream().map(order -> monthOf(order.getOrderDate())).collect(Collectors.toSet());
+        Query query = new Query(Criteria.where("userId").in(users).and("month").in(months));
+        query.fields().include("userId", "month", "seq", "sizeBytes");
+        
+        Map<String, BucketFill> fills = new HashMap<>();
+        for (ArchivedOrderBucket bucket : mongoTemplate.find(query, ArchivedOrderBucket.class)) {
+            String key = fillKey(bucket.getUserId(), bucket.getMonth());
+            BucketFill current = fills.get(key);
+            if (current == null || bucket.getSeq() > current.seq) {
+                BucketFill fill = new BucketFill(bucket.getSeq());
+                fill.sizeBytes = bucket.getSizeBytes();
+                fills.put(key, fill);
+            }
+        }
+        return fills;
+    }
+    
+    private static final class BucketFill {
+        
+        private final int seq;
+        private long sizeBytes;
+        
+        BucketFill(int seq) {
+            this.seq = seq;
+        }
+    }
+    
+    private long bsonSize(Order order) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(order, document);
+        return new RawBsonDocument(document, mongoTemplate.getDb().getCodecRegistry().get(Document.class))
+                .getByteBuffer().remaining();
+    }
+    
+    /**
+     * Take orders back out of the archive (used when they changed while being archived)
+     */
+    public void remove(Collection<Order> orders) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, ArchivedOrderBucket.class);
+        for (Order order : orders) {
+            bulk.updateOne(
+                    Query.query(Criteria.where("orderIds").is(order.getId())),
+                    new Update()
+                            .inc("sizeBytes", -bsonSize(order))
+                            .pull("orderIds", order.getId())
+                            .pull("orders", Query.query(Criteria.where("id").is(order.getId()))));
+        }
+        bulk.execute();
+    }
+    
+    public Optional<Order> findOrder(String id) {
+        ArchivedOrderBucket bucket = mongoTemplate.findOne(
+                Query.query(Criteria.where("orderIds").is(id)), ArchivedOrderBucket.class);
+        if (bucket == null) {
+            return Optional.empty();
+        }
+        return bucket.getOrders().stream()
+                .filter(order -> id.equals(order.getId()))
+                .findFirst();
+    }
+    
+    public boolean contains(String id) {
+        return mongoTemplate.exists(Query.query(Criteria.where("orderIds").is(id)), ArchivedOrderBucket.class);
+    }
+    
+    /**
+     * Archived counterpart of OrderRepositoryCustom.findOrderHistory(), same ordering and cursor
+     */
+    public List<OrderSummary> findOrderHistory(String userId, LocalDateTime beforeOrderDate, String beforeId, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (beforeOrderDate != null) {
+            criteria = criteria.and("month").lte(monthOf(beforeOrderDate));
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.DESC, "month"));
+        query.fields().exclude("orders.orderItems");
+        
+        // Every order of a month is newer than every order of the months before it,
+        // so buckets are read newest month first until enough rows are collected,
+        // finishing the month (it may span overflow buckets)
+        List<OrderSummary> rows = new ArrayList<>();
+        try (Stream<ArchivedOrderBucket> buckets = mongoTemplate.stream(query, ArchivedOrderBucket.class)) {
+            Iterator<ArchivedOrderBucket> iterator = buckets.iterator();
+            String lastMonth = null;
+            while (iterator.hasNext()) {
+                ArchivedOrderBucket bucket = iterator.next();
+                if (rows.size() >= limit && !bucket.getMonth().equals(lastMonth)) {
+                    break;
+                }
+                lastMonth = bucket.getMonth();
+                for (Order order : bucket.getOrders()) {
+                    if (isBefore(order, beforeOrderDate, beforeId)) {
+                        rows.add(toSummary(order));
+                    }
+                }
+            }
+        }
+        rows.sort(OrderSummary.NEWEST_FIRST);
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+    
+    private static boolean isBefore(Order order, LocalDateTime beforeOrderDate, String beforeId) {
+        if (beforeOrderDate == null || beforeId == null) {
+            return true;
+        }
+        int byDate = order.getOrderDate().compareTo(beforeOrderDate);
+        return byDate < 0 || (byDate == 0 && order.getId().compareTo(beforeId) < 0);
+    }
+    
+    private static OrderSummary toSummary(Order order) {
+        return OrderSummary.builder()
+                .id(order.getId())
+                .orderDate(order.getOrderDate())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .itemCount(order.getItemCount())
+                .build();
+    }
+    
+    private static String fillKey(String userId, String month) {
+        return userId + "|" + month;
+    }
+    
+    private static String bucketId(String userId, String month, int seq) {
+        return fillKey(userId, month) + "|" + seq;
+    }
+    
+    private static String monthOf(LocalDateTime date) {
+        return String.format("%04d-%02d", date.getYear(), date.getMonthValue());
+    }
+}
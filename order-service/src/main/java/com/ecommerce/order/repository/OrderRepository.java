@@ -0,0 +1,25 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.order.model.Order;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 🗄️ ORDER REPOSITORY - Database Access Layer
+ * 
+ * Custom query methods:
+ * - findItemsById() - Only the line items of one order
+ * - findOrderHistory() - Keyset-paginated order history (OrderRepositoryCustom)
+ */
+@Repository
+public interface OrderRepository extends MongoRepository<Order, String>, OrderRepositoryCustom {
+    
+    /**
+     * Load just the line items of an order (all other fields stay null)
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'orderItems': 1 }")
+    Optional<Order> findItemsById(String id);
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.order.model.OrderSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🗄️ Custom order queries that derived query methods cannot express
+ */
+public interface OrderRepositoryCustom {
+    
+    /**
+     * A page of a user's order history, newest first.
+     * 
+     * Keyset pagination: pass the orderDate and id of the last row of the
+     * previous page (both null for the first page). Unlike skip/offset, every
+     * page costs the same no matter how deep the user scrolls.
+     */
+    List<OrderSummary> findOrderHistory(String userId, LocalDateTime beforeOrderDate, String beforeId, int limit);
+}
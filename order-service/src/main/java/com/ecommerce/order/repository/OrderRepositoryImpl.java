@@ -0,0 +1,43 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderSummary;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 🗄️ Implementation of OrderRepositoryCustom (picked up by Spring Data through the Impl suffix)
+ */
+@RequiredArgsConstructor
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Override
+    public List<OrderSummary> findOrderHistory(String userId, LocalDateTime beforeOrderDate, String beforeId, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (beforeOrderDate != null && beforeId != null) {
+            // Strictly after the cursor in (orderDate desc, _id desc) order
+            criteria = criteria.orOperator(
+                    Criteria.where("orderDate").lt(beforeOrderDate),
+                    Criteria.where("orderDate").is(beforeOrderDate).and("_id").lt(new ObjectId(beforeId)));
+        }
+        
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("_id")))
+                .limit(limit)
+                .withHint(Order.USER_HISTORY_INDEX);
+        
+        // Only indexed fields → covered query, no document fetch
+        query.fields().include("orderDate", "status", "totalAmount", "itemCount");
+        
+        return mongoTemplate.find(query, OrderSummary.class, "orders");
+    }
+}
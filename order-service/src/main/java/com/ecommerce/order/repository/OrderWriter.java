@@ -0,0 +1,22 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.outbox.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * ✍️ ORDER WRITER - How newly placed orders get inserted
+ * 
+ * DirectOrderWriter inserts each order on its own; GroupCommitOrderWriter
+ * batches concurrent inserts. Selected with orders.group-commit.enabled.
+ */
+public interface OrderWriter {
+    
+    /**
+     * Insert a new order together with its outbox events, atomically where
+     * transactions are available (see MongoTransactions), and return the order.
+     * Returns only once the write has been acknowledged.
+     */
+    Order insert(Order order, List<OutboxEvent> events);
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.order.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * 🔌 CIRCUIT BREAKER - Stops calling a downstream that keeps failing
+ * 
+ * CLOSED    → calls flow; outcomes of the last N calls are kept in a ring.
+ *             Opens once the failure rate reaches the threshold.
+ * OPEN      → calls are rejected immediately until openDuration has passed.
+ * HALF_OPEN → exactly one probe call is let through. Success closes the
+ *             breaker, failure opens it again.
+ */
+@Slf4j
+public class CircuitBreaker {
+    
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    private final String name;
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+    
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private boolean probeInFlight;
+    
+    public CircuitBreaker(String name, int slidingWindowSize, int minimumCalls,
+                          int failureRateThreshold, Duration openDuration) {
+        this.name = name;
+        this.outcomes = new boolean[slidingWindowSize];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+    
+    /**
+     * Ask to make a call. Every granted permission must be followed by
+     * onSuccess, onFailure or releasePermission.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openDurationNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+    
+    public synchronized void onSuccess() {
+        if (state == State.OPEN) {
+            return;  // a call that started before the breaker opened
+        }
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+    
+    public synchronized void onFailure() {
+        if (state == State.OPEN) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+            transitionTo(State.OPEN);
+        }
+    }
+    
+    /**
+     * The call was cancelled before it completed; it counts neither way
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+    
+    private void transitionTo(State newState) {
+        log.warn("Circuit breaker for {} changed from {} to {}", name, state, newState);
+        state = newState;
+        probeInFlight = false;
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (newState == State.CLOSED) {
+            next = 0;
+            recorded = 0;
+            failures = 0;
+        }
+    }
+}
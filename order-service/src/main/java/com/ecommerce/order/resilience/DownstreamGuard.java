@@ -0,0 +1,131 @@
+package com.ecommerce.order.resilience;
+
+import com.ecommerce.order.exception.DownstreamUnavailableException;
+import com.ecommerce.order.exception.InvalidOrderException;
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 🛡️ DOWNSTREAM GUARD - Timeout, bulkhead, circuit breaker and hedging for one downstream service
+ * 
+ * Every call to user-service or product-service goes through its guard:
+ * 1. Circuit breaker: rejected immediately while the downstream is known to be failing
+ * 2. Bulkhead: rejected immediately when too many calls are already in flight,
+ *    so a slow downstream cannot soak up every request thread in order-service
+ * 3. Deadline: the call (hedge included) fails after the configured timeout
+ * 4. Hedging (idempotent calls only): if no answer has arrived after the observed
+ *    p95 latency, a second identical request is sent and whichever answers first wins;
+ *    an attempt that fails drops out, the call fails only if both do
+ * 
+ * Rejections and timeouts surface as DownstreamUnavailableException (HTTP 503).
+ * 4xx responses are the caller's problem, not the downstream's, and do not trip the breaker.
+ */
+public class DownstreamGuard {
+    
+    @Getter
+    private final String name;
+    private final ResilienceProperties.Policy policy;
+    @Getter
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final LatencyTracker latencies = new LatencyTracker();
+    
+    public DownstreamGuard(String name, ResilienceProperties.Policy policy) {
+        this.name = name;
+        this.policy = policy;
+        this.circuitBreaker = new CircuitBreaker(name, policy.getSlidingWindowSize(), policy.getMinimumCalls(),
+                policy.getFailureRateThreshold(), policy.getOpenDuration());
+        this.bulkhead = new Semaphore(policy.getMaxConcurrentCalls());
+    }
+    
+    /**
+     * Guard a call that must not be sent twice
+     */
+    public <T> Mono<T> call(Supplier<Mono<T>> request) {
+        return execute(request, false);
+    }
+    
+    /**
+     * Guard a call that is safe to repeat (GET); hedged if enabled
+     */
+    public <T> Mono<T> idempotentCall(Supplier<Mono<T>> request) {
+        return execute(request, policy.isHedgeEnabled());
+    }
+    
+    private <T> Mono<T> execute(Supplier<Mono<T>> request, boolean hedge) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(new DownstreamUnavailableException(name + " circuit breaker is open"));
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.releasePermission();
+                return Mono.error(new DownstreamUnavailableException(name + " is at its concurrency limit"));
+            }
+            
+            long start = System.nanoTime();
+            Mono<T> attempt = hedge ? hedged(request) : Mono.defer(request);
+            
+            return attempt
+                    .timeout(policy.getTimeout())
+                    .onErrorMap(TimeoutException.class, e -> new DownstreamUnavailableException(
+                            name + " did not respond within " + policy.getTimeout().toMillis() + " ms", e))
+                    .doOnSuccess(value -> {
+                        latencies.record(System.nanoTime() - start);
+                        circuitBreaker.onSuccess();
+                    })
+                    .doOnError(e -> {
+                        if (isDownstreamFailure(e)) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+    
+    private <T> Mono<T> hedged(Supplier<Mono<T>> request) {
+        Duration delay = latencies.p95().compareTo(policy.getHedgeMinDelay()) > 0
+                ? latencies.p95() : policy.getHedgeMinDelay();
+        AtomicReference<Throwable> primaryError = new AtomicReference<>();
+        AtomicReference<Throwable> hedgeError = new AtomicReference<>();
+        Sinks.One<Boolean> primaryFailed = Sinks.one();
+        
+        Mono<T> primary = Mono.defer(request).doOnError(e -> {
+            primaryError.set(e);
+            primaryFailed.tryEmitValue(true);
+        });
+        // The hedge only goes out while the first attempt is still running and the bulkhead has room
+        Mono<T> hedge = Mono.delay(delay)
+                .takeUntilOther(primaryFailed.asMono())
+                .flatMap(tick -> bulkhead.tryAcquire()
+                        ? Mono.defer(request).doOnError(hedgeError::set).doFinally(signal -> bulkhead.release())
+                        : Mono.<T>empty());
+        
+        // The first value wins; a failed attempt just drops out of the race, so a fast
+        // error from the hedge cannot beat a slower answer from the first attempt.
+        // Only when both fail does the caller see an error, the first attempt's.
+        return Mono.firstWithValue(primary, hedge)
+                .onErrorResume(NoSuchElementException.class, e -> {
+                    Throwable cause = primaryError.get() != null ? primaryError.get() : hedgeError.get();
+                    return cause != null ? Mono.error(cause) : Mono.empty();
+                });
+    }
+    
+    private static boolean isDownstreamFailure(Throwable e) {
+        if (e instanceof InvalidOrderException) {
+            return false;
+        }
+        return !(e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
+}
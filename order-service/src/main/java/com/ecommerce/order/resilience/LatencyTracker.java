@@ -0,0 +1,43 @@
+package com.ecommerce.order.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * ⏱️ LATENCY TRACKER - Recent call latencies, used to pick the hedge delay
+ * 
+ * Keeps the last few hundred samples in a ring and refreshes the cached p95
+ * every RECOMPUTE_INTERVAL samples, so reading it costs nothing on the call path.
+ */
+public class LatencyTracker {
+    
+    private static final int CAPACITY = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_INTERVAL = 32;
+    
+    private final long[] samples = new long[CAPACITY];
+    private int next;
+    private int size;
+    private long total;
+    private volatile long p95Nanos;
+    
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % CAPACITY;
+        if (size < CAPACITY) {
+            size++;
+        }
+        if (++total % RECOMPUTE_INTERVAL == 0 && size >= MIN_SAMPLES) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            p95Nanos = sorted[(int) Math.ceil(size * 0.95) - 1];
+        }
+    }
+    
+    /**
+     * Observed p95, or zero until enough calls have been seen
+     */
+    public Duration p95() {
+        return Duration.ofNanos(p95Nanos);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.order.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ⚙️ RESILIENCE SETTINGS - One policy per downstream service
+ * 
+ * Bound from resilience.user-service.* and resilience.product-service.*
+ */
+@Data
+@ConfigurationProperties(prefix = "resilience")
+public class ResilienceProperties {
+    
+    private Policy userService = new Policy();
+    private Policy productService = new Policy();
+    
+    @Data
+    public static class Policy {
+        
+        /** Deadline for a single call, including any hedged attempt */
+        private Duration timeout = Duration.ofMillis(800);
+        
+        /** Bulkhead: calls allowed in flight at once. Extra calls fail fast instead of queueing */
+        private int maxConcurrentCalls = 100;
+        
+        /** Circuit breaker: number of most recent calls the failure rate is computed over */
+        private int slidingWindowSize = 20;
+        
+        /** Circuit breaker: calls needed in the window before it may open */
+        private int minimumCalls = 10;
+        
+        /** Circuit breaker: failure percentage at which it opens */
+        private int failureRateThreshold = 50;
+        
+        /** Circuit breaker: how long it stays open before letting one probe call through */
+        private Duration openDuration = Duration.ofSeconds(5);
+        
+        /** Send a second copy of an idempotent GET when the first is slower than the observed p95 */
+        private boolean hedgeEnabled = false;
+        
+        /** Lower bound for the hedge delay, also used until enough latencies have been observed */
+        private Duration hedgeMinDelay = Duration.ofMillis(20);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.dto.CartCheckoutRequest;
+import com.ecommerce.order.dto.CartResponse;
+import com.ecommerce.order.dto.OrderResponse;
+
+/**
+ * 🛒 CART SERVICE INTERFACE
+ * 
+ * Contract for managing a user's cart and turning it into an order.
+ */
+public interface CartService {
+    
+    CartResponse getCart(String userId);
+    
+    void addItem(String userId, String productId, int quantity);
+    
+    void setQuantity(String userId, String productId, int quantity);
+    
+    void clear(String userId);
+    
+    OrderResponse checkout(String userId, CartCheckoutRequest request);
+}
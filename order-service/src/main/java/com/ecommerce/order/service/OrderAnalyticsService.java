@@ -0,0 +1,25 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.dto.CustomerStatsResponse;
+import com.ecommerce.order.dto.MonthlySalesResponse;
+import com.ecommerce.order.dto.ProductRevenueResponse;
+import com.ecommerce.order.dto.UserOrderStatsResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 📋 ORDER ANALYTICS SERVICE INTERFACE
+ * 
+ * Sales analytics, served from pre-aggregated rollups (see SalesRollupService).
+ */
+public interface OrderAnalyticsService {
+    
+    List<ProductRevenueResponse> getRevenueByProduct(LocalDate from, LocalDate to, int limit);
+    
+    List<CustomerStatsResponse> getTopCustomers(int limit);
+    
+    UserOrderStatsResponse getUserOrderStats(String userId);
+    
+    List<MonthlySalesResponse> getMonthlySales(int year);
+}
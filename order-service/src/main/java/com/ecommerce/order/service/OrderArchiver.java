@@ -0,0 +1,154 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.repository.MongoLease;
+import com.ecommerce.order.repository.OrderArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 🧊 ORDER ARCHIVER - Moves completed orders from "orders" to "orders_archive"
+ * 
+ * Delivered and cancelled orders untouched for after-days are moved in batches:
+ * 1. copy the batch into the archive buckets (idempotent)
+ * 2. delete from "orders" the orders read back from the archive, and only
+ *    those still completed and still old
+ * 3. take back out of the archive any order that changed in between
+ * A crash between steps leaves an order in both places, and reads prefer the
+ * hot copy, so nothing is ever lost or shown twice.
+ * 
+ * Only one instance archives at a time (a lease document, renewed between
+ * batches; a run stops when it loses the lease).
+ * 
+ * Throttled: at most max-batches-per-run batches per run, with a pause between
+ * batches so archival never competes with checkout traffic.
+ */
+@Service
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true")
+@Slf4j
+public class OrderArchiver {
+    
+    private static final List<OrderStatus> COMPLETED = List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    
+    private final MongoTemplate mongoTemplate;
+    private final OrderArchiveRepository archiveRepository;
+    private final MongoLease lease;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration batchPause;
+    
+    public OrderArchiver(MongoTemplate mongoTemplate,
+                         OrderArchiveRepository archiveRepository,
+                         @Value("${orders.archive.after-days:90}") int afterDays,
+                         @Value("${orders.archive.batch-size:500}") int batchSize,
+                         @Value("${orders.archive.max-batches-per-run:20}") int maxBatchesPerRun,
+                         @Value("${orders.archive.batch-pause:200ms}") Duration batchPause,
+                         @Value("${orders.archive.lease:2m}") Duration leaseDuration) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveRepository = archiveRepository;
+        this.lease = new MongoLease(mongoTemplate, "order_archive_lease", "archiver", leaseDuration);
+        this.archiveAfter = Duration.ofDays(afterDays);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchPause = batchPause;
+    }
+    
+    @Scheduled(fixedDelayString = "${orders.archive.interval:1h}", initialDelayString = "${orders.archive.initial-delay:5m}")
+    public void archiveCompletedOrders() {
+        try {
+            int archived = runOnce();
+            if (archived > 0) {
+                log.info("Archived {} completed orders", archived);
+            }
+        } catch (RuntimeException e) {
+            log.error("Order archival run failed", e);
+        }
+    }
+    
+    /**
+     * One throttled run. Returns the number of orders moved.
+     */
+    public int runOnce() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (!lease.acquire()) {
+                break;  // another instance is archiving, or took over after our lease expired
+            }
+            int moved = archiveBatch(cutoff);
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+    
+    private int archiveBatch(LocalDateTime cutoff) {
+        Criteria eligible = Criteria.where("status").in(COMPLETED).and("lastModified").lt(cutoff);
+        List<Order> orders = mongoTemplate.find(
+                new Query(eligible).with(Sort.by(Sort.Direction.ASC, "lastModified")).limit(batchSize),
+                Order.class);
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        
+        Set<String> archived = archiveRepository.archive(orders);
+        if (archived.size() < orders.size()) {
+            log.warn("{} orders could not be confirmed in the archive and stay in the hot collection",
+                    orders.size() - archived.size());
+        }
+        if (archived.isEmpty()) {
+            return 0;
+        }
+        
+        List<String> ids = List.copyOf(archived);
+        long deleted = mongoTemplate.remove(
+                new Query(Criteria.where("_id").in(ids)
+                        .and("status").in(COMPLETED)
+                        .and("lastModified").lt(cutoff)),
+                Order.class).getDeletedCount();
+        
+        if (deleted < ids.size()) {
+            // Modified since we read them: they stay hot, the archived copy is stale
+            Query stillHot = new Query(Criteria.where("_id").in(ids));
+            stillHot.fields().include("_id");
+            Set<String> remaining = mongoTemplate.find(stillHot, Order.class)
+                    .stream().map(Order::getId).collect(Collectors.toSet());
+            Map<String, Order> byId = orders.stream().collect(Collectors.toMap(Order::getId, Function.identity()));
+            archiveRepository.remove(remaining.stream().map(byId::get).toList());
+            log.info("{} orders changed during archival and stay in the hot collection", remaining.size());
+        }
+        return (int) deleted;
+    }
+    
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.dto.BulkStatusTransitionRequest;
+import com.ecommerce.order.dto.BulkStatusTransitionResponse;
+import com.ecommerce.order.dto.StatusChangeFeedResponse;
+
+import java.time.Duration;
+
+/**
+ * 📋 ORDER FULFILMENT SERVICE INTERFACE
+ * 
+ * Status changes in bulk, and a feed of status changes for downstream consumers.
+ */
+public interface OrderFulfilmentService {
+    
+    BulkStatusTransitionResponse transition(BulkStatusTransitionRequest request);
+    
+    /**
+     * Status changes after the cursor (from the start of the retained feed if null).
+     * Waits up to maxWait for new changes when there are none yet.
+     */
+    StatusChangeFeedResponse getStatusChanges(String after, int limit, Duration maxWait);
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.dto.OrderHistoryResponse;
+import com.ecommerce.order.dto.OrderItemResponse;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.model.OrderStatus;
+
+import java.util.List;
+
+/**
+ * 📋 ORDER SERVICE INTERFACE
+ * 
+ * Contract for placing and managing orders.
+ */
+public interface OrderService {
+    
+    OrderResponse createOrder(OrderRequest request);
+    
+    /**
+     * Places the order under a caller-chosen ID. If an order with that ID already
+     * exists it is returned as is: a retry whose first attempt stored the order.
+     */
+    OrderResponse createOrder(OrderRequest request, String orderId);
+    
+    OrderResponse getOrderById(String id);
+    
+    List<OrderResponse> getAllOrders();
+    
+    OrderHistoryResponse getOrderHistory(String userId, String cursor, int limit);
+    
+    List<OrderItemResponse> getOrderItems(String id);
+    
+    OrderResponse updateOrderStatus(String id, OrderStatus status);
+}
@@ -0,0 +1,235 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.cache.SalesWatermark;
+import com.ecommerce.order.config.AsyncConfig;
+import com.ecommerce.order.model.MonthlySales;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.model.ProductDailySales;
+import com.ecommerce.order.model.UserOrderStats;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 📊 SALES ROLLUP SERVICE - Keeps the analytics rollup collections up to date
+ *
+ * Analytics never aggregate over the whole "orders" collection. Instead every
+ * order adds its contribution to three small rollup collections with $inc upserts:
+ * - sales_by_product_day: revenue / quantity per product per day
+ * - sales_by_user:        order count / total spent per user
+ * - sales_by_month:       sales / order count per month
+ *
+ * Days and months are those of analytics.time-zone, in both the incremental
+ * updates and rebuildAll(), so a rebuild puts every order in the same buckets.
+ * Cancelled orders do not count as sales: cancelling subtracts the order again.
+ * Updates run asynchronously, off the checkout path, on a bounded executor
+ * (AsyncConfig). rebuildAll() recomputes everything from "orders" and
+ * "orders_archive" with $out, for backfill or repair.
+ * Changes advance the SalesWatermark, which invalidates cached analytics:
+ * updates mark it changed (advanced in batches), a rebuild advances it at once.
+ */
+@Service
+@Slf4j
+public class SalesRollupService {
+
+    private final MongoTemplate mongoTemplate;
+    private final SalesWatermark salesWatermark;
+    private final ZoneId zone;
+
+    public SalesRollupService(MongoTemplate mongoTemplate,
+                              SalesWatermark salesWatermark,
+                              @Value("${analytics.time-zone:UTC}") ZoneId zone) {
+        this.mongoTemplate = mongoTemplate;
+        this.salesWatermark = salesWatermark;
+        this.zone = zone;
+    }
+
+    @Async(AsyncConfig.SALES_ROLLUP_EXECUTOR)
+    public void recordOrderPlaced(Order order) {
+        if (countsAsSale(order.getStatus())) {
+            apply(order, 1);
+        }
+    }
+
+    @Async(AsyncConfig.SALES_ROLLUP_EXECUTOR)
+    public void recordStatusChange(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        boolean before = countsAsSale(oldStatus);
+        boolean after = countsAsSale(newStatus);
+        if (before != after) {
+            apply(order, after ? 1 : -1);
+        }
+    }
+
+    public static boolean countsAsSale(OrderStatus status) {
+        return status != OrderStatus.CANCELLED;
+    }
+
+    /**
+     * Today in the rollups' time zone
+     */
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    private void apply(Order order, int sign) {
+        try {
+            // orderDate is stored as the instant it denotes in the JVM's zone; bucket it in ours
+            LocalDateTime date = order.getOrderDate().atZone(ZoneId.systemDefault())
+                    .withZoneSameInstant(zone).toLocalDateTime();
+            String day = date.toLocalDate().toString();
+
+            BulkOperations productDays = mongoTemplate.bulkOps(BulkMode.UNORDERED, ProductDailySales.class);
+            for (OrderItem item : order.getOrderItems()) {
+                productDays.upsert(
+                        Query.query(Criteria.where("_id").is(item.getProductId() + "|" + day)),
+                        new Update()
+                                .setOnInsert("productId", item.getProductId())
+                                .setOnInsert("day", day)
+                                .set("productName", item.getProductName())
+                                .inc("revenue", decimal(item.getSubtotal(), sign))
+                                .inc("quantity", (long) sign * item.getQuantity())
+                                .inc("orderCount", (long) sign));
+            }
+            productDays.execute();
+
+            Update userUpdate = new Update()
+                    .inc("orderCount", (long) sign)
+                    .inc("totalSpent", decimal(order.getTotalAmount(), sign));
+            if (sign > 0) {
+                userUpdate.max("lastOrderDate", order.getOrderDate());
+            }
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(order.getUserId())), userUpdate, UserOrderStats.class);
+
+            mongoTemplate.upsert(
+                    Query.query(Criteria.where("_id").is(monthId(date.getYear(), date.getMonthValue()))),
+                    new Update()
+                            .setOnInsert("year", date.getYear())
+                            .setOnInsert("month", date.getMonthValue())
+                            .inc("totalSales", decimal(order.getTotalAmount(), sign))
+                            .inc("orderCount", (long) sign),
+                    MonthlySales.class);
+        } catch (RuntimeException e) {
+            // Rollups drift rather than failing the order; rebuildAll() repairs them
+            log.error("Failed to update sales rollups for order {}", order.getId(), e);
+        } finally {
+            salesWatermark.markChanged();
+        }
+    }
+
+    /**
+     * Recompute all rollups from the orders collection
+     *
+     * Each rollup is written with $out: MongoDB builds the result in a temporary
+     * collection and swaps it in, indexes included, so rows nothing maps to any
+     * more (e.g. an order whose date was corrected) disappear. Increments applied
+     * while a rollup is being rebuilt are lost with the old collection; run it
+     * when little is being ordered.
+     */
+    public void rebuildAll() {
+        log.info("Rebuilding sales rollups from orders");
+        Criteria notCancelled = Criteria.where("status").ne(OrderStatus.CANCELLED);
+
+        mongoTemplate.aggregate(Aggregation.newAggregation(
+                withArchivedOrders(),
+                Aggregation.match(notCancelled),
+                Aggregation.unwind("orderItems"),
+                stage("$group", new Document("_id", new Document("productId", "$orderItems.productId")
+                                .append("day", dateString("%Y-%m-%d", "$orderDate")))
+                        .append("productName", new Document("$last", "$orderItems.productName"))
+                        .append("revenue", new Document("$sum", new Document("$multiply", List.of(
+                                new Document("$toDecimal", "$orderItems.price"), "$orderItems.quantity"))))
+                        .append("quantity", new Document("$sum", new Document("$toLong", "$orderItems.quantity")))
+                        .append("orderCount", new Document("$sum", 1L))),
+                stage("$project", new Document("_id", new Document("$concat", List.of("$_id.productId", "|", "$_id.day")))
+                        .append("productId", "$_id.productId")
+                        .append("day", "$_id.day")
+                        .append("productName", 1).append("revenue", 1).append("quantity", 1).append("orderCount", 1)),
+                Aggregation.out("sales_by_product_day")
+        ), "orders", Document.class);
+
+        mongoTemplate.aggregate(Aggregation.newAggregation(
+                withArchivedOrders(),
+                Aggregation.match(notCancelled),
+                stage("$group", new Document("_id", "$userId")
+                        .append("orderCount", new Document("$sum", 1L))
+                        .append("totalSpent", new Document("$sum", new Document("$toDecimal", "$totalAmount")))
+                        .append("lastOrderDate", new Document("$max", "$orderDate"))),
+                Aggregation.out("sales_by_user")
+        ), "orders", Document.class);
+
+        mongoTemplate.aggregate(Aggregation.newAggregation(
+                withArchivedOrders(),
+                Aggregation.match(notCancelled),
+                stage("$group", new Document("_id", dateString("%Y-%m", "$orderDate"))
+                        .append("year", new Document("$first", new Document("$year", dateIn("$orderDate"))))
+                        .append("month", new Document("$first", new Document("$month", dateIn("$orderDate"))))
+                        .append("totalSales", new Document("$sum", new Document("$toDecimal", "$totalAmount")))
+                        .append("orderCount", new Document("$sum", 1L))),
+                Aggregation.out("sales_by_month")
+        ), "orders", Document.class);
+
+        advanceWatermark();
+        log.info("Sales rollups rebuilt");
+    }
+    
+    private void advanceWatermark() {
+        try {
+            salesWatermark.advance();
+        } catch (RuntimeException e) {
+            // Cached analytics stay stale until the next successful advance
+            log.error("Failed to advance sales watermark", e);
+        }
+    }
+
+    /**
+     * Appends the archived orders, unwound from their buckets, to the "orders" input
+     */
+    private static AggregationOperation withArchivedOrders() {
+        return stage("$unionWith", new Document("coll", "orders_archive")
+                .append("pipeline", List.of(
+                        new Document("$unwind", "$orders"),
+                        new Document("$replaceRoot", new Document("newRoot", "$orders")))));
+    }
+    
+    private static String monthId(int year, int month) {
+        return String.format("%04d-%02d", year, month);
+    }
+
+    private static Decimal128 decimal(BigDecimal amount, int sign) {
+        return new Decimal128(sign < 0 ? amount.negate() : amount);
+    }
+
+    private Document dateString(String format, String dateField) {
+        return new Document("$dateToString", dateIn(dateField).append("format", format));
+    }
+
+    /**
+     * Date operator argument in the rollups' time zone (MongoDB defaults to UTC)
+     */
+    private Document dateIn(String dateField) {
+        return new Document("date", dateField).append("timezone", zone.getId());
+    }
+
+    private static AggregationOperation stage(String name, Document body) {
+        return context -> new Document(name, body);
+    }
+}
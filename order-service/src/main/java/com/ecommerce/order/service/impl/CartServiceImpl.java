@@ -0,0 +1,109 @@
+package com.ecommerce.order.service.impl;
+
+import com.ecommerce.order.cart.CartStore;
+import com.ecommerce.order.client.ProductLookupCoalescer;
+import com.ecommerce.order.client.dto.ProductDto;
+import com.ecommerce.order.dto.CartCheckoutRequest;
+import com.ecommerce.order.dto.CartItemResponse;
+import com.ecommerce.order.dto.CartResponse;
+import com.ecommerce.order.dto.OrderItemRequest;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.exception.InvalidOrderException;
+import com.ecommerce.order.service.CartService;
+import com.ecommerce.order.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ⚙️ CART SERVICE IMPLEMENTATION
+ * 
+ * Cart changes only touch CartStore (memory). Prices are resolved lazily:
+ * showing a cart looks up all its products in one batched call, shared with
+ * concurrent lookups by ProductLookupCoalescer. Checkout places a regular
+ * order, which prices and checks stock again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CartServiceImpl implements CartService {
+    
+    private final CartStore cartStore;
+    private final ProductLookupCoalescer productLookup;
+    private final OrderService orderService;
+    
+    @Override
+    public CartResponse getCart(String userId) {
+        List<CartStore.Line> lines = cartStore.lines(userId);
+        Map<String, ProductDto> products = lines.isEmpty() ? Map.of()
+                : productLookup.getProductsByIds(lines.stream().map(CartStore.Line::productId).toList()).block();
+        
+        List<CartItemResponse> items = new ArrayList<>(lines.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartStore.Line line : lines) {
+            ProductDto product = products.get(line.productId());
+            BigDecimal subtotal = product != null && product.getPrice() != null
+                    ? product.getPrice().multiply(BigDecimal.valueOf(line.quantity())) : null;
+            boolean available = product != null && product.hasStock(line.quantity());
+            if (available && subtotal != null) {
+                total = total.add(subtotal);
+            }
+            items.add(CartItemResponse.builder()
+                    .productId(line.productId())
+                    .productName(product != null ? product.getName() : null)
+                    .quantity(line.quantity())
+                    .price(product != null ? product.getPrice() : null)
+                    .subtotal(subtotal)
+                    .available(available)
+                    .build());
+        }
+        
+        return CartResponse.builder()
+                .userId(userId)
+                .items(items)
+                .itemCount(items.size())
+                .totalAmount(total)
+                .build();
+    }
+    
+    @Override
+    public void addItem(String userId, String productId, int quantity) {
+        cartStore.add(userId, productId, quantity);
+    }
+    
+    @Override
+    public void setQuantity(String userId, String productId, int quantity) {
+        cartStore.set(userId, productId, quantity);
+    }
+    
+    @Override
+    public void clear(String userId) {
+        cartStore.clear(userId);
+    }
+    
+    @Override
+    public OrderResponse checkout(String userId, CartCheckoutRequest request) {
+        List<CartStore.Line> lines = cartStore.lines(userId);
+        if (lines.isEmpty()) {
+            throw new InvalidOrderException("Cart of user " + userId + " is empty");
+        }
+        
+        OrderResponse order = orderService.createOrder(OrderRequest.builder()
+                .userId(userId)
+                .items(lines.stream()
+                        .map(line -> new OrderItemRequest(line.productId(), line.quantity()))
+                        .toList())
+                .shippingAddress(request != null ? request.getShippingAddress() : null)
+                .build());
+        
+        cartStore.remove(userId, lines);
+        log.info("Checked out cart of user {} as order {}", userId, order.getId());
+        return order;
+    }
+}
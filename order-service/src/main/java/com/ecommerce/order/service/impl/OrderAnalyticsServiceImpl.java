@@ -0,0 +1,140 @@
+package com.ecommerce.order.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.order.cache.AnalyticsResultCache;
+import com.ecommerce.order.dto.CustomerStatsResponse;
+import com.ecommerce.order.dto.MonthlySalesResponse;
+import com.ecommerce.order.dto.ProductRevenueResponse;
+import com.ecommerce.order.dto.UserOrderStatsResponse;
+import com.ecommerce.order.model.MonthlySales;
+import com.ecommerce.order.model.ProductDailySales;
+import com.ecommerce.order.model.UserOrderStats;
+import com.ecommerce.order.service.OrderAnalyticsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 💼 ORDER ANALYTICS SERVICE IMPLEMENTATION
+ * 
+ * Every query reads a rollup collection whose size depends on products, users
+ * or months, never on the number of orders. Results go through the
+ * AnalyticsResultCache, so polling dashboards share one computation per key.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
+    
+    private final MongoTemplate mongoTemplate;
+    private final AnalyticsResultCache cache;
+    
+    @Override
+    public List<ProductRevenueResponse> getRevenueByProduct(LocalDate from, LocalDate to, int limit) {
+        return cache.get("revenue-by-product|" + from + "|" + to + "|" + limit,
+                () -> computeRevenueByProduct(from, to, limit));
+    }
+    
+    private List<ProductRevenueResponse> computeRevenueByProduct(LocalDate from, LocalDate to, int limit) {
+        log.info("Fetching revenue by product from {} to {}", from, to);
+        
+        Aggregation agg = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("day").gte(from.toString()).lte(to.toString())),
+                Aggregation.group("productId")
+                        .last("productName").as("productName")
+                        .sum("revenue").as("totalRevenue")
+                        .sum("quantity").as("totalQuantitySold"),
+                Aggregation.sort(Sort.Direction.DESC, "totalRevenue"),
+                Aggregation.limit(limit),
+                Aggregation.project("productName", "totalRevenue", "totalQuantitySold")
+                        .and("_id").as("productId")
+        );
+        
+        return mongoTemplate.aggregate(agg, ProductDailySales.class, ProductRevenueResponse.class)
+                .getMappedResults();
+    }
+    
+    @Override
+    public List<CustomerStatsResponse> getTopCustomers(int limit) {
+        return cache.get("top-customers|" + limit, () -> computeTopCustomers(limit));
+    }
+    
+    private List<CustomerStatsResponse> computeTopCustomers(int limit) {
+        log.info("Fetching top {} customers", limit);
+        
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "orderCount"))
+                .limit(limit);
+        
+        return mongoTemplate.find(query, UserOrderStats.class)
+                .stream()
+                .map(stats -> CustomerStatsResponse.builder()
+                        .userId(stats.getUserId())
+                        .orderCount(stats.getOrderCount())
+                        .totalSpent(stats.getTotalSpent())
+                        .build())
+                .toList();
+    }
+    
+    @Override
+    public UserOrderStatsResponse getUserOrderStats(String userId) {
+        return cache.get("user-stats|" + userId, () -> computeUserOrderStats(userId));
+    }
+    
+    private UserOrderStatsResponse computeUserOrderStats(String userId) {
+        log.info("Fetching order stats for user: {}", userId);
+        
+        UserOrderStats stats = mongoTemplate.findById(userId, UserOrderStats.class);
+        if (stats == null || stats.getOrderCount() == null || stats.getOrderCount() == 0) {
+            return UserOrderStatsResponse.builder()
+                    .userId(userId)
+                    .totalOrders(0L)
+                    .totalSpent(BigDecimal.ZERO)
+                    .avgOrderValue(BigDecimal.ZERO)
+                    .lastOrderDate(stats != null ? stats.getLastOrderDate() : null)
+                    .build();
+        }
+        
+        return UserOrderStatsResponse.builder()
+                .userId(userId)
+                .totalOrders(stats.getOrderCount())
+                .totalSpent(stats.getTotalSpent())
+                .avgOrderValue(stats.getTotalSpent()
+                        .divide(BigDecimal.valueOf(stats.getOrderCount()), 2, RoundingMode.HALF_UP))
+                .lastOrderDate(stats.getLastOrderDate())
+                .build();
+    }
+    
+    @Override
+    public List<MonthlySalesResponse> getMonthlySales(int year) {
+        return cache.get("monthly-sales|" + year, () -> computeMonthlySales(year));
+    }
+    
+    private List<MonthlySalesResponse> computeMonthlySales(int year) {
+        log.info("Fetching monthly sales for {}", year);
+        
+        Query query = Query.query(Criteria.where("year").is(year))
+                .with(Sort.by(Sort.Direction.ASC, "month"));
+        
+        return mongoTemplate.find(query, MonthlySales.class)
+                .stream()
+                .map(sales -> MonthlySalesResponse.builder()
+                        .year(sales.getYear())
+                        .month(sales.getMonth())
+                        .totalSales(sales.getTotalSales())
+                        .orderCount(sales.getOrderCount())
+                        .build())
+                .toList();
+    }
+}
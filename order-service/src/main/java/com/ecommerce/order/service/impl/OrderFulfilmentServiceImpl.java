@@ -0,0 +1,207 @@
+package com.ecommerce.order.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.order.dto.BulkStatusTransitionRequest;
+import com.ecommerce.order.dto.BulkStatusTransitionResponse;
+import com.ecommerce.order.dto.StatusChangeFeedResponse;
+import com.ecommerce.order.dto.StatusChangeResponse;
+import com.ecommerce.order.dto.StatusTransitionResult;
+import com.ecommerce.order.exception.InvalidOrderException;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.outbox.OrderEvents;
+import com.ecommerce.order.outbox.OutboxEvent;
+import com.ecommerce.order.service.OrderFulfilmentService;
+import com.ecommerce.order.service.SalesRollupService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 💼 ORDER FULFILMENT SERVICE IMPLEMENTATION
+ * 
+ * Bulk transitions never read-then-save. Per chunk of orders:
+ * 1. one updateMany on {_id in chunk, status: from}, which also stamps the
+ *    orders with this request's statusChangeId
+ * 2. the stamped orders are exactly the ones this request changed: their
+ *    ORDER_STATUS_CHANGED outbox events are inserted in the same transaction
+ * 3. the others are looked up to report NOT_FOUND or STATUS_MISMATCH
+ * A concurrent change to the same order simply makes one side a mismatch.
+ * 
+ * The status change feed reads ORDER_PLACED / ORDER_STATUS_CHANGED events from
+ * the outbox in _id order. Events younger than feed.settle-time are held back:
+ * an event ID is assigned before its transaction commits, so a slow commit
+ * could otherwise appear behind a cursor that has already moved past it.
+ * Every writer assigns the ID right before the write (the group-commit writer
+ * when it flushes, not when the order is queued), so settle-time only has to
+ * cover the write itself; it must stay above MongoDB's write latency.
+ */
+@Service
+@Slf4j
+public class OrderFulfilmentServiceImpl implements OrderFulfilmentService {
+    
+    private static final int CHUNK_SIZE = 1000;
+    private static final List<String> FEED_TYPES = List.of(OrderEvents.ORDER_PLACED, OrderEvents.ORDER_STATUS_CHANGED);
+    
+    private final MongoTemplate mongoTemplate;
+    private final MongoTransactions transactions;
+    private final SalesRollupService salesRollupService;
+    private final Duration settleTime;
+    private final Duration pollInterval;
+    
+    public OrderFulfilmentServiceImpl(MongoTemplate mongoTemplate,
+                                      MongoTransactions transactions,
+                                      SalesRollupService salesRollupService,
+                                      @Value("${orders.status-feed.settle-time:5s}") Duration settleTime,
+                                      @Value("${orders.status-feed.poll-interval:250ms}") Duration pollInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactions = transactions;
+        this.salesRollupService = salesRollupService;
+        this.settleTime = settleTime;
+        this.pollInterval = pollInterval;
+    }
+    
+    @Override
+    public BulkStatusTransitionResponse transition(BulkStatusTransitionRequest request) {
+        OrderStatus from = request.getFrom();
+        OrderStatus to = request.getTo();
+        if (!from.canTransitionTo(to)) {
+            throw new InvalidOrderException("Orders cannot move from " + from + " to " + to
+                    + " (allowed: " + from.nextStatuses() + ")");
+        }
+        
+        List<String> orderIds = new ArrayList<>(new LinkedHashSet<>(request.getOrderIds()));
+        log.info("Moving {} orders from {} to {}", orderIds.size(), from, to);
+        
+        List<StatusTransitionResult> results = new ArrayList<>(orderIds.size());
+        int updated = 0;
+        for (int start = 0; start < orderIds.size(); start += CHUNK_SIZE) {
+            List<String> chunk = orderIds.subList(start, Math.min(start + CHUNK_SIZE, orderIds.size()));
+            updated += transitionChunk(chunk, from, to, results);
+        }
+        
+        return BulkStatusTransitionResponse.builder()
+                .requested(orderIds.size())
+                .updated(updated)
+                .results(results)
+                .build();
+    }
+    
+    private int transitionChunk(List<String> chunk, OrderStatus from, OrderStatus to, List<StatusTransitionResult> results) {
+        String statusChangeId = new ObjectId().toHexString();
+        List<ObjectId> ids = chunk.stream().filter(ObjectId::isValid).map(ObjectId::new).toList();
+        List<Order> changed = new ArrayList<>();
+        
+        transactions.run(() -> {
+            changed.clear();  // the transaction may be retried
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids).and("status").is(from)),
+                    new Update()
+                            .set("status", to)
+                            .set("lastModified", LocalDateTime.now())
+                            .set("statusChangeId", statusChangeId),
+                    Order.class);
+            changed.addAll(mongoTemplate.find(
+                    Query.query(Criteria.where("_id").in(ids).and("statusChangeId").is(statusChangeId)),
+                    Order.class));
+            if (!changed.isEmpty()) {
+                mongoTemplate.insert(changed.stream()
+                        .map(order -> OrderEvents.statusChanged(order, from, to))
+                        .toList(), OutboxEvent.class);
+            }
+        });
+        
+        if (SalesRollupService.countsAsSale(from) != SalesRollupService.countsAsSale(to)) {
+            changed.forEach(order -> salesRollupService.recordStatusChange(order, from, to));
+        }
+        
+        // Everything not changed by us: missing, or in another status
+        Map<String, Order> changedById = changed.stream().collect(Collectors.toMap(Order::getId, Function.identity()));
+        List<ObjectId> others = ids.stream().filter(id -> !changedById.containsKey(id.toHexString())).toList();
+        Query current = Query.query(Criteria.where("_id").in(others));
+        current.fields().include("status");
+        Map<String, OrderStatus> currentStatus = others.isEmpty() ? Map.of() : mongoTemplate.find(current, Order.class)
+                .stream().collect(Collectors.toMap(Order::getId, Order::getStatus));
+        
+        for (String orderId : chunk) {
+            if (changedById.containsKey(orderId)) {
+                results.add(new StatusTransitionResult(orderId, StatusTransitionResult.Outcome.UPDATED, to));
+            } else if (currentStatus.containsKey(orderId)) {
+                results.add(new StatusTransitionResult(orderId, StatusTransitionResult.Outcome.STATUS_MISMATCH,
+                        currentStatus.get(orderId)));
+            } else {
+                results.add(new StatusTransitionResult(orderId, StatusTransitionResult.Outcome.NOT_FOUND, null));
+            }
+        }
+        return changed.size();
+    }
+    
+    @Override
+    public StatusChangeFeedResponse getStatusChanges(String after, int limit, Duration maxWait) {
+        if (after != null && !ObjectId.isValid(after)) {
+            throw new InvalidOrderException("Invalid cursor: " + after);
+        }
+        
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        List<OutboxEvent> events = readFeed(after, limit);
+        while (events.isEmpty() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(Math.min(pollInterval.toMillis(), Math.max(1, (deadline - System.nanoTime()) / 1_000_000)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            events = readFeed(after, limit);
+        }
+        
+        return StatusChangeFeedResponse.builder()
+                .changes(events.stream().map(this::toStatusChange).toList())
+                .nextCursor(events.isEmpty() ? after : events.get(events.size() - 1).getId())
+                .build();
+    }
+    
+    private List<OutboxEvent> readFeed(String after, int limit) {
+        // Only events old enough that nothing with a smaller ID can still commit
+        ObjectId settled = new ObjectId(Date.from(Instant.now().minus(settleTime)));
+        Criteria idRange = Criteria.where("_id").lt(settled);
+        if (after != null) {
+            idRange = idRange.gt(new ObjectId(after));
+        }
+        Query query = new Query(Criteria.where("type").in(FEED_TYPES).andOperator(idRange))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, OutboxEvent.class);
+    }
+    
+    private StatusChangeResponse toStatusChange(OutboxEvent event) {
+        Map<String, Object> payload = event.getPayload();
+        boolean placed = OrderEvents.ORDER_PLACED.equals(event.getType());
+        return StatusChangeResponse.builder()
+                .eventId(event.getId())
+                .orderId(event.getAggregateId())
+                .userId((String) payload.get("userId"))
+                .oldStatus(placed ? null : OrderStatus.valueOf((String) payload.get("oldStatus")))
+                .newStatus(placed ? OrderStatus.PENDING : OrderStatus.valueOf((String) payload.get("newStatus")))
+                .changedAt(event.getCreatedAt())
+                .build();
+    }
+}
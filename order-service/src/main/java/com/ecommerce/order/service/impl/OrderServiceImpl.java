@@ -0,0 +1,331 @@
+package com.ecommerce.order.service.impl;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.order.client.ProductLookupCoalescer;
+import com.ecommerce.order.client.UserClient;
+import com.ecommerce.order.client.dto.ProductDto;
+import com.ecommerce.order.client.dto.UserDto;
+import com.ecommerce.order.dto.OrderHistoryResponse;
+import com.ecommerce.order.dto.OrderItemRequest;
+import com.ecommerce.order.dto.OrderItemResponse;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.dto.OrderSummaryResponse;
+import com.ecommerce.order.exception.InsufficientStockException;
+import com.ecommerce.order.exception.InvalidOrderException;
+import com.ecommerce.order.exception.OrderNotFoundException;
+import com.ecommerce.order.exception.OrderStatusConflictException;
+import com.ecommerce.order.exception.OrderWriteException;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.model.OrderSummary;
+import com.ecommerce.order.outbox.OrderEvents;
+import com.ecommerce.order.realtime.LiveTopService;
+import com.ecommerce.order.realtime.RelatedProductsService;
+import com.ecommerce.order.repository.OrderArchiveRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.repository.OrderWriter;
+import com.ecommerce.order.service.OrderService;
+import com.ecommerce.order.service.SalesRollupService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * 💼 ORDER SERVICE IMPLEMENTATION
+ * 
+ * Placing an order needs the user (from user-service) and the price and stock
+ * of every line item (from product-service). Both lookups are started together
+ * and all products come back from a single batch call, so an order costs about
+ * one downstream round trip no matter how many items it has. Product lookups
+ * are shared with concurrent orders for the same products (ProductLookupCoalescer).
+ * 
+ * The order and its ORDER_PLACED event are written together (transactional
+ * outbox); OutboxRelay publishes the event later, off the checkout path.
+ * 
+ * Reads look in the hot "orders" collection first and fall back to the archive
+ * (see OrderArchiver); history pages merge both.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderServiceImpl implements OrderService {
+    
+    private final OrderRepository orderRepository;
+    private final MongoTemplate mongoTemplate;
+    private final OrderArchiveRepository archiveRepository;
+    private final OrderWriter orderWriter;
+    private final MongoTransactions transactions;
+    private final UserClient userClient;
+    private final ProductLookupCoalescer productLookup;
+    private final SalesRollupService salesRollupService;
+    private final LiveTopService liveTopService;
+    private final RelatedProductsService relatedProductsService;
+    
+    @Override
+    public OrderResponse createOrder(OrderRequest request) {
+        return placeOrder(request, new ObjectId().toHexString());
+    }
+    
+    @Override
+    public OrderResponse createOrder(OrderRequest request, String orderId) {
+        Optional<Order> existing = orderRepository.findById(orderId);
+        if (existing.isPresent()) {
+            log.info("Order {} already placed; returning it", orderId);
+            return mapToResponse(existing.get());
+        }
+        try {
+            return placeOrder(request, orderId);
+        } catch (DataAccessException | OrderWriteException e) {
+            // Lost a race with another attempt under the same ID: its order is the answer
+            return mapToResponse(orderRepository.findById(orderId).orElseThrow(() -> e));
+        }
+    }
+    
+    private OrderResponse placeOrder(OrderRequest request, String orderId) {
+        log.info("Creating order for user: {} with {} items", request.getUserId(), request.getItems().size());
+        
+        // Same product listed twice → one line with the combined quantity
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemRequest item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        
+        // Fan out: zip subscribes to both calls at once and waits for the slower one
+        Tuple2<UserDto, Map<String, ProductDto>> lookups = Mono.zip(
+                userClient.getUser(request.getUserId()),
+                productLookup.getProductsByIds(quantities.keySet()))
+                .block();
+        
+        UserDto user = lookups.getT1();
+        Map<String, ProductDto> products = lookups.getT2();
+        
+        List<OrderItem> orderItems = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> {
+            ProductDto product = products.get(productId);
+            if (product == null) {
+                throw new InvalidOrderException("Product not found with ID: " + productId);
+            }
+            if (!product.hasStock(quantity)) {
+                throw new InsufficientStockException("Insufficient stock for product " + product.getSku()
+                        + ": requested " + quantity + ", available " + product.getStock());
+            }
+            orderItems.add(OrderItem.builder()
+                    .productId(productId)
+                    .sku(product.getSku())
+                    .productName(product.getName())
+                    .quantity(quantity)
+                    .price(product.getPrice())
+                    .build());
+        });
+        
+        BigDecimal totalAmount = orderItems.stream()
+                .map(OrderItem::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        
+        Order order = Order.builder()
+                .id(orderId)  // known up front: the outbox event refers to it
+                .userId(user.getId())
+                .orderItems(orderItems)
+                .itemCount(orderItems.size())
+                .totalAmount(totalAmount)
+                .status(OrderStatus.PENDING)
+                .shippingAddress(request.getShippingAddress() != null 
+                        ? request.getShippingAddress() : user.getAddress())
+                .orderDate(LocalDateTime.now())
+                .lastModified(LocalDateTime.now())
+                .build();
+        
+        Order savedOrder = orderWriter.insert(order, List.of(OrderEvents.orderPlaced(order)));
+        log.info("Order created successfully with ID: {}", savedOrder.getId());
+        
+        salesRollupService.recordOrderPlaced(savedOrder);
+        liveTopService.recordOrder(savedOrder);
+        relatedProductsService.recordOrder(savedOrder);
+        
+        return mapToResponse(savedOrder);
+    }
+    
+    @Override
+    public OrderResponse getOrderById(String id) {
+        log.info("Fetching order with ID: {}", id);
+        
+        Order order = orderRepository.findById(id)
+                .or(() -> archiveRepository.findOrder(id))
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + id));
+        
+        return mapToResponse(order);
+    }
+    
+    @Override
+    public List<OrderResponse> getAllOrders() {
+        log.info("Fetching all orders");
+        
+        return orderRepository.findAll()
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public OrderHistoryResponse getOrderHistory(String userId, String cursor, int limit) {
+        log.info("Fetching order history for user: {} (limit {})", userId, limit);
+        
+        CursorPosition after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        
+        // One extra row tells us whether another page exists
+        LocalDateTime beforeDate = after != null ? after.orderDate() : null;
+        String beforeId = after != null ? after.id() : null;
+        List<OrderSummary> rows = new ArrayList<>(
+                orderRepository.findOrderHistory(userId, beforeDate, beforeId, limit + 1));
+        // Archived orders can be newer than hot ones (archival goes by last change,
+        // not by order date), so merge both sides' next pages and re-sort. An order the
+        // archiver copied but has not deleted yet is on both sides: the hot copy wins, as
+        // in getOrderById and getOrderItems (same sort key, so both copies fall on one page)
+        Set<String> hotIds = rows.stream().map(OrderSummary::getId).collect(Collectors.toSet());
+        archiveRepository.findOrderHistory(userId, beforeDate, beforeId, limit + 1).stream()
+                .filter(row -> !hotIds.contains(row.getId()))
+                .forEach(rows::add);
+        rows.sort(OrderSummary.NEWEST_FIRST);
+        boolean hasMore = rows.size() > limit;
+        List<OrderSummary> page = hasMore ? rows.subList(0, limit) : rows;
+        
+        OrderSummary last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return OrderHistoryResponse.builder()
+                .orders(page.stream()
+                        .map(this::mapToSummaryResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? encodeCursor(last) : null)
+                .build();
+    }
+    
+    @Override
+    public List<OrderItemResponse> getOrderItems(String id) {
+        log.info("Fetching items of order: {}", id);
+        
+        Order order = orderRepository.findItemsById(id)
+                .or(() -> archiveRepository.findOrder(id))
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with ID: " + id));
+        
+        return order.getOrderItems().stream()
+                .map(this::mapToItemResponse)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public OrderResponse updateOrderStatus(String id, OrderStatus status) {
+        log.info("Updating status of order {} to {}", id, status);
+        
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> archiveRepository.contains(id)
+                        ? new InvalidOrderException("Order " + id + " is archived and can no longer be changed")
+                        : new OrderNotFoundException("Order not found with ID: " + id));
+        
+        OrderStatus oldStatus = order.getStatus();
+        if (!oldStatus.canTransitionTo(status)) {
+            throw new InvalidOrderException("Order " + id + " cannot move from " + oldStatus + " to " + status
+                    + " (allowed: " + oldStatus.nextStatuses() + ")");
+        }
+        order.setStatus(status);
+        order.setLastModified(LocalDateTime.now());
+        
+        // Conditional on the status we read: a concurrent change makes this one fail, not overwrite it
+        transactions.run(() -> {
+            long matched = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(id).and("status").is(oldStatus)),
+                    new Update().set("status", status).set("lastModified", order.getLastModified()),
+                    Order.class).getMatchedCount();
+            if (matched == 0) {
+                throw new OrderStatusConflictException("Order " + id + " was changed concurrently; it is no longer "
+                        + oldStatus);
+            }
+            mongoTemplate.insert(OrderEvents.statusChanged(order, oldStatus, status));
+        });
+        salesRollupService.recordStatusChange(order, oldStatus, status);
+        
+        return mapToResponse(order);
+    }
+    
+    private OrderResponse mapToResponse(Order order) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .orderItems(order.getOrderItems().stream()
+                        .map(this::mapToItemResponse)
+                        .collect(Collectors.toList()))
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .shippingAddress(order.getShippingAddress())
+                .orderDate(order.getOrderDate())
+                .lastModified(order.getLastModified())
+                .build();
+    }
+    
+    private OrderSummaryResponse mapToSummaryResponse(OrderSummary summary) {
+        return OrderSummaryResponse.builder()
+                .id(summary.getId())
+                .orderDate(summary.getOrderDate())
+                .status(summary.getStatus())
+                .totalAmount(summary.getTotalAmount())
+                .itemCount(summary.getItemCount())
+                .build();
+    }
+    
+    /**
+     * Cursor = position of the last row returned: "orderDate|id", Base64URL encoded
+     */
+    private static String encodeCursor(OrderSummary last) {
+        String position = last.getOrderDate() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static CursorPosition decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length == 2 && ObjectId.isValid(position[1])) {
+                return new CursorPosition(LocalDateTime.parse(position[0]), position[1]);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // fall through
+        }
+        throw new InvalidOrderException("Invalid cursor: " + cursor);
+    }
+    
+    private record CursorPosition(LocalDateTime orderDate, String id) {
+    }
+    
+    private OrderItemResponse mapToItemResponse(OrderItem item) {
+        return OrderItemResponse.builder()
+                .productId(item.getProductId())
+                .sku(item.getSku())
+                .productName(item.getProductName())
+                .quantity(item.getQuantity())
+                .price(item.getPrice())
+                .subtotal(item.getSubtotal())
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.ecommerce.order.cache;
+
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalyticsResultCacheTest extends EmbeddedMongoTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Test
+    void concurrentMissesWaitForOneComputation() throws Exception {
+        AnalyticsResultCache cache = cache(Duration.ofHours(1));
+        int callers = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get("top", () -> {
+                    computations.incrementAndGet();
+                    await(release);
+                    return "result";
+                })));
+            }
+            // Hold the computation until every other caller has joined it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (requests("collapsed") < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(computations).hasValue(1);
+        assertThat(requests("collapsed")).isEqualTo(callers - 1);
+    }
+
+    @Test
+    void servesAResultYoungerThanTheTtlWithoutAnyCheck() {
+        AnalyticsResultCache cache = cache(Duration.ofHours(1));
+
+        cache.get("top", this::compute);
+        new SalesWatermark(mongoTemplate, Duration.ZERO).advance();
+        Object second = cache.get("top", this::compute);
+
+        assertThat(second).isEqualTo("result-1");
+        assertThat(computations).hasValue(1);
+        assertThat(requests("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void keepsAnExpiredResultWhileTheWatermarkStandsStill() {
+        AnalyticsResultCache cache = cache(Duration.ZERO);
+
+        cache.get("top", this::compute);
+        Object second = cache.get("top", this::compute);
+
+        assertThat(second).isEqualTo("result-1");
+        assertThat(computations).hasValue(1);
+        assertThat(requests("revalidated")).isEqualTo(1);
+    }
+
+    @Test
+    void recomputesAnExpiredResultOnceTheWatermarkMoved() {
+        AnalyticsResultCache cache = cache(Duration.ZERO);
+
+        cache.get("top", this::compute);
+        new SalesWatermark(mongoTemplate, Duration.ZERO).advance();
+        Object second = cache.get("top", this::compute);
+
+        assertThat(second).isEqualTo("result-2");
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void doesNotCacheAFailedComputation() {
+        AnalyticsResultCache cache = cache(Duration.ofHours(1));
+
+        assertThatThrownBy(() -> cache.get("top", () -> {
+            throw new IllegalStateException("aggregation failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.<String>get("top", this::compute)).isEqualTo("result-1");
+    }
+
+    private AnalyticsResultCache cache(Duration ttl) {
+        // A zero check interval reads the watermark document on every check
+        return new AnalyticsResultCache(new SalesWatermark(mongoTemplate, Duration.ZERO), meterRegistry, ttl, 100);
+    }
+
+    private String compute() {
+        return "result-" + computations.incrementAndGet();
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter("analytics.cache.requests", "result", result).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.order.cache;
+
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesWatermarkTest extends EmbeddedMongoTest {
+
+    @Test
+    void changesAreFoldedIntoOneAdvancePerRun() {
+        SalesWatermark watermark = new SalesWatermark(mongoTemplate, Duration.ZERO);
+
+        watermark.markChanged();
+        watermark.markChanged();
+        watermark.markChanged();
+        assertThat(watermark.current()).as("nothing written before the run").isZero();
+
+        watermark.advancePending();
+        assertThat(watermark.current()).isEqualTo(1);
+
+        watermark.advancePending();
+        assertThat(watermark.current()).as("no change since the last run").isEqualTo(1);
+    }
+
+    @Test
+    void anotherInstanceSeesTheAdvance() {
+        SalesWatermark writer = new SalesWatermark(mongoTemplate, Duration.ZERO);
+        SalesWatermark reader = new SalesWatermark(mongoTemplate, Duration.ZERO);
+        long before = reader.current();
+
+        writer.markChanged();
+        writer.advancePending();
+
+        assertThat(reader.current()).isGreaterThan(before);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.order.cart;
+
+import com.ecommerce.order.client.UserClient;
+import com.ecommerce.order.client.dto.UserDto;
+import com.ecommerce.order.exception.InvalidOrderException;
+import com.ecommerce.order.model.Cart;
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CartStoreTest extends EmbeddedMongoTest {
+
+    private final UserClient userClient = mock(UserClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CartStore store;
+
+    @BeforeEach
+    void setUp() {
+        when(userClient.getUser("u1")).thenReturn(Mono.just(UserDto.builder().id("u1").build()));
+        when(userClient.getUser("ghost")).thenReturn(Mono.error(new InvalidOrderException("User not found with ID: ghost")));
+        store = new CartStore(mongoTemplate, userClient, meterRegistry, 100, 1000, Duration.ZERO, 1000);
+    }
+
+    @Test
+    void newCartOnlyForAKnownUser() {
+        store.add("u1", "p1", 2);
+
+        assertThatThrownBy(() -> store.add("ghost", "p1", 1)).isInstanceOf(InvalidOrderException.class);
+        assertThat(store.lines("u1")).containsExactly(new CartStore.Line("p1", 2));
+        assertThat(meterRegistry.get("carts.in-memory").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void clearingAMissingCartNeitherLooksUpTheUserNorCreatesOne() {
+        store.clear("ghost");
+        store.remove("ghost", List.of(new CartStore.Line("p1", 1)));
+
+        verify(userClient, never()).getUser(anyString());
+        assertThat(meterRegistry.get("carts.in-memory").gauge().value()).isZero();
+    }
+
+    @Test
+    void expiryWritesIdleDirtyCartsAndDropsThemInTheSameRun() {
+        store.add("u1", "p1", 2);
+
+        store.expireIdle();
+
+        assertThat(meterRegistry.get("carts.in-memory").gauge().value()).isZero();
+        assertThat(mongoTemplate.findById("u1", Cart.class).getItems()).hasSize(1);
+        assertThat(store.lines("u1")).as("read back from MongoDB").containsExactly(new CartStore.Line("p1", 2));
+    }
+}
@@ -0,0 +1,211 @@
+package com.ecommerce.order.client;
+
+import com.ecommerce.order.client.dto.ProductDto;
+import com.ecommerce.order.resilience.DownstreamGuard;
+import com.ecommerce.order.resilience.ResilienceProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Coalescing behaviour against a stub product-service that records every batch it is asked for
+ */
+class ProductLookupCoalescerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private volatile long delayMillis;
+    private volatile int status = 200;
+    private ExecutorService handlers;
+    private HttpServer server;
+    private ProductClient productClient;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        handlers = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(handlers);
+        server.createContext("/api/products/batch", exchange -> {
+            String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8);
+            List<String> ids = Arrays.asList(query.substring("ids=".length()).split(","));
+            batches.add(ids);
+            try {
+                Thread.sleep(delayMillis);
+                byte[] body = (status == 200 ? products(ids) : "{\"error\":\"boom\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+        policy.setTimeout(TIMEOUT);
+        productClient = new ProductClient(WebClient.create("http://localhost:" + server.getAddress().getPort()),
+                new DownstreamGuard("product-service", policy));
+
+        // Connection pool, codecs and JIT: keep them out of the tests
+        for (int i = 0; i < 5; i++) {
+            productClient.getProductsByIds(List.of("warm-up")).block(TIMEOUT);
+        }
+        batches.clear();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneInFlightLookupPerId() {
+        delayMillis = 300;
+        ProductLookupCoalescer coalescer = coalescer(Duration.ofMillis(2), 100);
+
+        List<Mono<Map<String, ProductDto>>> callers = new ArrayList<>();
+        callers.add(coalescer.getProductsByIds(List.of("p1")).cache());
+        callers.get(0).subscribe();
+        awaitBatches(1);
+        for (int i = 0; i < 4; i++) {
+            callers.add(coalescer.getProductsByIds(List.of("p1", "p2")).cache());
+            callers.get(i + 1).subscribe();
+        }
+
+        assertThat(callers.get(0).block(TIMEOUT)).containsOnlyKeys("p1");
+        for (Mono<Map<String, ProductDto>> caller : callers.subList(1, callers.size())) {
+            assertThat(caller.block(TIMEOUT)).containsOnlyKeys("p1", "p2");
+        }
+        assertThat(batches).as("p1 fetched once, p2 once for the four callers that joined")
+                .containsExactly(List.of("p1"), List.of("p2"));
+    }
+
+    @Test
+    void microBatchesRespectMaxBatchSize() {
+        ProductLookupCoalescer coalescer = coalescer(Duration.ofMillis(50), 3);
+
+        Mono<Map<String, ProductDto>> first = coalescer.getProductsByIds(List.of("p1", "p2")).cache();
+        Mono<Map<String, ProductDto>> second = coalescer.getProductsByIds(List.of("p3", "p4", "p5", "p6", "p7"))
+                .cache();
+        first.subscribe();
+        second.subscribe();
+
+        assertThat(first.block(TIMEOUT)).containsOnlyKeys("p1", "p2");
+        assertThat(second.block(TIMEOUT)).containsOnlyKeys("p3", "p4", "p5", "p6", "p7");
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(3));
+        assertThat(batches.stream().flatMap(List::stream))
+                .as("both callers' IDs share the batches")
+                .containsExactlyInAnyOrder("p1", "p2", "p3", "p4", "p5", "p6", "p7");
+        assertThat(batches).hasSize(3);
+    }
+
+    @Test
+    void unknownIdsAreMissingFromTheResult() {
+        ProductLookupCoalescer coalescer = coalescer(Duration.ofMillis(2), 100);
+
+        assertThat(coalescer.getProductsByIds(List.of("p1", "missing")).block(TIMEOUT)).containsOnlyKeys("p1");
+    }
+
+    @Test
+    void oneErrorReachesEveryWaiter() {
+        delayMillis = 300;
+        status = 500;
+        ProductLookupCoalescer coalescer = coalescer(Duration.ofMillis(2), 100);
+
+        Mono<Map<String, ProductDto>> first = coalescer.getProductsByIds(List.of("p1")).cache();
+        first.subscribe(products -> { }, error -> { });
+        awaitBatches(1);
+        Mono<Map<String, ProductDto>> second = coalescer.getProductsByIds(List.of("p1")).cache();
+        second.subscribe(products -> { }, error -> { });
+
+        assertThatThrownBy(() -> first.block(TIMEOUT))
+                .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        assertThatThrownBy(() -> second.block(TIMEOUT))
+                .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        assertThat(batches).hasSize(1);
+
+        // The failure is not remembered: the next caller goes downstream again
+        status = 200;
+        delayMillis = 0;
+        assertThat(coalescer.getProductsByIds(List.of("p1")).block(TIMEOUT)).containsOnlyKeys("p1");
+        assertThat(batches).hasSize(2);
+    }
+
+    @Test
+    void coalescingRatioGaugeCountsRequestedPerFetchedId() {
+        delayMillis = 300;
+        ProductLookupCoalescer coalescer = coalescer(Duration.ofMillis(2), 100);
+        assertThat(coalescingRatio()).as("nothing fetched yet").isEqualTo(1.0);
+
+        List<Mono<Map<String, ProductDto>>> callers = new ArrayList<>();
+        callers.add(coalescer.getProductsByIds(List.of("p1")).cache());
+        callers.get(0).subscribe();
+        awaitBatches(1);
+        for (int i = 0; i < 3; i++) {
+            callers.add(coalescer.getProductsByIds(List.of("p1")).cache());
+            callers.get(i + 1).subscribe();
+        }
+        callers.forEach(caller -> caller.block(TIMEOUT));
+
+        assertThat(coalescingRatio()).as("4 IDs requested, 1 fetched").isEqualTo(4.0);
+    }
+
+    private ProductLookupCoalescer coalescer(Duration batchWindow, int maxBatchSize) {
+        return new ProductLookupCoalescer(productClient, meterRegistry, batchWindow, maxBatchSize);
+    }
+
+    private double coalescingRatio() {
+        return meterRegistry.get("product.lookup.coalescing.ratio").gauge().value();
+    }
+
+    private void awaitBatches(int count) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (batches.size() < count && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertThat(batches).hasSizeGreaterThanOrEqualTo(count);
+    }
+
+    private static String products(List<String> ids) {
+        return ids.stream()
+                .filter(id -> !id.equals("missing"))
+                .map(id -> String.format("{\"id\":\"%s\",\"sku\":\"SKU-%s\",\"name\":\"Product %s\",\"price\":10.00,\"stock\":5}",
+                        id, id, id))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.order.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncConfigTest {
+
+    @Test
+    void fullRollupQueueRunsTheUpdateOnTheCallerInsteadOfGrowing() throws InterruptedException {
+        ThreadPoolTaskExecutor executor = new AsyncConfig().salesRollupExecutor(1, 1, 1);
+        executor.initialize();
+        CountDownLatch gate = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(gate));  // occupies the only thread
+            executor.execute(() -> await(gate));  // fills the queue
+
+            AtomicReference<Thread> ranOn = new AtomicReference<>();
+            executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+            assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+            assertThat(executor.getThreadPoolExecutor().getQueue()).hasSize(1);
+        } finally {
+            gate.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch gate) {
+        try {
+            gate.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.ecommerce.order.idempotency;
+
+import com.ecommerce.order.exception.IdempotencyKeyReuseException;
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest extends EmbeddedMongoTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger executions = new AtomicInteger();
+    private final List<IdempotencyService> services = new ArrayList<>();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    record Receipt(String id) {
+    }
+
+    @AfterEach
+    void stopServices() {
+        services.forEach(IdempotencyService::shutdown);
+        callers.shutdownNow();
+    }
+
+    @Test
+    void completedKeyIsReplayedWithoutRunningAgain() {
+        IdempotencyService first = service(Duration.ofSeconds(30));
+        IdempotencyService other = service(Duration.ofSeconds(30));
+
+        IdempotencyService.Outcome<Receipt> original = first.execute("k1", Map.of("a", 1), Receipt.class, this::work);
+        IdempotencyService.Outcome<Receipt> local = first.execute("k1", Map.of("a", 1), Receipt.class, this::work);
+        IdempotencyService.Outcome<Receipt> stored = other.execute("k1", Map.of("a", 1), Receipt.class, this::work);
+
+        assertThat(original.replayed()).isFalse();
+        assertThat(local.replayed()).isTrue();
+        assertThat(stored.replayed()).as("replayed from MongoDB by another instance").isTrue();
+        assertThat(stored.response()).isEqualTo(original.response());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        IdempotencyService service = service(Duration.ofSeconds(30));
+        service.execute("k1", Map.of("a", 1), Receipt.class, this::work);
+
+        assertThatThrownBy(() -> service.execute("k1", Map.of("a", 2), Receipt.class, this::work))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+    }
+
+    @Test
+    void failedExecutionReleasesTheKey() {
+        IdempotencyService service = service(Duration.ofSeconds(30));
+
+        assertThatThrownBy(() -> service.execute("k1", Map.of(), Receipt.class, () -> {
+            throw new IllegalStateException("downstream down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(service.execute("k1", Map.of(), Receipt.class, this::work).replayed()).isFalse();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void leaseIsRenewedWhileTheFirstRequestRuns() throws Exception {
+        Duration lease = Duration.ofMillis(300);
+        IdempotencyService first = service(lease);
+        IdempotencyService other = service(lease);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // Runs for several leases: without renewal the other instance would take the key over
+        Future<IdempotencyService.Outcome<Receipt>> slow = callers.submit(() ->
+                first.execute("k1", Map.of(), Receipt.class, () -> {
+                    started.countDown();
+                    sleep(1_200);
+                    return work();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        IdempotencyService.Outcome<Receipt> retry = other.execute("k1", Map.of(), Receipt.class, this::work);
+
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response()).isEqualTo(slow.get(5, TimeUnit.SECONDS).response());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void keyOfACrashedOwnerIsTakenOver() throws Exception {
+        mongoTemplate.insert(IdempotencyRecord.builder()
+                .key("k1")
+                .fingerprint(fingerprintOf(Map.of()))
+                .status(IdempotencyRecord.Status.IN_PROGRESS)
+                .owner("crashed")
+                .lockedUntil(Instant.now().minusSeconds(1))
+                .createdAt(Instant.now().minusSeconds(60))
+                .build());
+
+        IdempotencyService.Outcome<Receipt> outcome = service(Duration.ofSeconds(30))
+                .execute("k1", Map.of(), Receipt.class, this::work);
+
+        assertThat(outcome.replayed()).isFalse();
+        assertThat(mongoTemplate.findById("k1", IdempotencyRecord.class).getStatus())
+                .isEqualTo(IdempotencyRecord.Status.COMPLETED);
+    }
+
+    @Test
+    void resourceIdIsStablePerKeyAndShapedLikeAnObjectId() {
+        assertThat(IdempotencyService.resourceId("k1")).isEqualTo(IdempotencyService.resourceId("k1"))
+                .isNotEqualTo(IdempotencyService.resourceId("k2"))
+                .matches("[0-9a-f]{24}");
+    }
+
+    private IdempotencyService service(Duration lease) {
+        IdempotencyService service = new IdempotencyService(mongoTemplate, objectMapper, lease,
+                Duration.ofSeconds(5), Duration.ofMillis(20), Duration.ofMinutes(10), 100);
+        services.add(service);
+        return service;
+    }
+
+    private Receipt work() {
+        return new Receipt("r" + executions.incrementAndGet());
+    }
+
+    /**
+     * SHA-256 of the JSON body, as the service fingerprints requests
+     */
+    private String fingerprintOf(Object request) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
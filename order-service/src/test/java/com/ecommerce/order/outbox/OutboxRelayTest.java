@@ -0,0 +1,153 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxRelayTest extends EmbeddedMongoTest {
+
+    private final List<List<String>> deliveries = new ArrayList<>();
+    private Set<String> failingAggregates = Set.of();
+    private Consumer<List<OutboxEvent>> onPublish = events -> { };
+
+    /**
+     * Records every delivered batch (event IDs); rejects any batch holding a failing aggregate
+     */
+    private final OutboxTransport transport = events -> {
+        onPublish.accept(events);
+        if (events.stream().anyMatch(event -> failingAggregates.contains(event.getAggregateId()))) {
+            throw new IllegalStateException("consumer down");
+        }
+        deliveries.add(events.stream().map(OutboxEvent::getId).toList());
+    };
+
+    @Test
+    void publishesPendingEventsInOneBatchInIdOrder() {
+        List<String> ids = pending("o1", "o2", "o1");
+
+        relay(10, 1, 10).poll();
+
+        assertThat(deliveries).containsExactly(ids);
+        assertThat(statuses()).containsOnly(OutboxEvent.Status.PUBLISHED);
+    }
+
+    @Test
+    void failingOrderIsBackedOffAndKeepsItsOwnOrder() {
+        failingAggregates = Set.of("bad");
+        List<String> ids = pending("bad", "good", "bad", "good");
+        OutboxRelay relay = relay(10, 1, 10);
+
+        relay.poll();
+
+        // Whole batch failed, retried per order: only the good order went out
+        assertThat(deliveries).containsExactly(List.of(ids.get(1), ids.get(3)));
+        OutboxEvent first = event(ids.get(0));
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getNextAttemptAt()).isAfter(Instant.now());
+        assertThat(event(ids.get(2)).getAttempts()).as("waits behind the first, not tried").isZero();
+
+        failingAggregates = Set.of();
+        relay.poll();
+
+        assertThat(deliveries).as("nothing of 'bad' before its backoff ends").hasSize(1);
+    }
+
+    @Test
+    void backedOffEventsDoNotFillTheBatch() {
+        List<String> blocked = pending("bad", "bad", "bad");
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(blocked.get(0))),
+                new Update().set("attempts", 1).set("nextAttemptAt", Instant.now().plusSeconds(60)),
+                OutboxEvent.class);
+        List<String> ready = pending("good");
+
+        relay(2, 1, 10).poll();
+
+        assertThat(deliveries).containsExactly(ready);
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsSoTheOrderIsUnblocked() {
+        failingAggregates = Set.of("bad");
+        List<String> ids = pending("bad", "bad");
+
+        relay(10, 1, 1).poll();
+
+        assertThat(event(ids.get(0)).getStatus()).isEqualTo(OutboxEvent.Status.FAILED);
+        assertThat(event(ids.get(1)).getStatus()).isEqualTo(OutboxEvent.Status.PENDING);
+    }
+
+    @Test
+    void renewsTheLeaseBeforeEveryBatchAndStopsWhenItIsLost() {
+        List<String> ids = pending("o1", "o2", "o3");
+        // Another instance takes over while the first batch is being published
+        onPublish = events -> mongoTemplate.getCollection("order_outbox_lease").replaceOne(
+                new Document("_id", "relay"),
+                new Document(Map.of("_id", "relay", "owner", "other", "expiresAt", Instant.now().plusSeconds(60))));
+
+        relay(1, 10, 10).poll();
+
+        assertThat(deliveries).containsExactly(List.of(ids.get(0)));
+        assertThat(event(ids.get(1)).getStatus()).isEqualTo(OutboxEvent.Status.PENDING);
+    }
+
+    @Test
+    void secondInstanceDoesNotRelayWhileTheLeaseIsHeld() {
+        OutboxRelay first = relay(10, 1, 10);
+        OutboxRelay second = relay(10, 1, 10);
+        pending("o1");
+        first.poll();
+
+        pending("o2");
+        second.poll();
+
+        assertThat(deliveries).hasSize(1);
+    }
+
+    private OutboxRelay relay(int batchSize, int maxBatchesPerPoll, int maxAttempts) {
+        return new OutboxRelay(mongoTemplate, transport, new SimpleMeterRegistry(), batchSize, maxBatchesPerPoll,
+                maxAttempts, Duration.ofSeconds(30), Duration.ofSeconds(30));
+    }
+
+    /**
+     * One PENDING event per aggregate ID given, in that order; returns their IDs
+     */
+    private List<String> pending(String... aggregateIds) {
+        List<String> ids = new ArrayList<>();
+        for (String aggregateId : aggregateIds) {
+            OutboxEvent event = OutboxEvent.builder()
+                    .id(new ObjectId().toHexString())
+                    .type(OrderEvents.ORDER_PLACED)
+                    .aggregateId(aggregateId)
+                    .payload(Map.of("orderId", aggregateId))
+                    .status(OutboxEvent.Status.PENDING)
+                    .createdAt(Instant.now())
+                    .build();
+            mongoTemplate.insert(event);
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    private OutboxEvent event(String id) {
+        return mongoTemplate.findById(id, OutboxEvent.class);
+    }
+
+    private List<OutboxEvent.Status> statuses() {
+        return mongoTemplate.findAll(OutboxEvent.class).stream().map(OutboxEvent::getStatus).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.order.client.ProductClient;
+import com.ecommerce.order.client.dto.StockEventDto;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockEventForwarderTest {
+
+    private final ProductClient productClient = mock(ProductClient.class);
+    private final StockEventForwarder forwarder = new StockEventForwarder(productClient);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cancellationReversesTheOrdersPlacementInsteadOfAddingStock() {
+        when(productClient.commitStockEvents(anyList())).thenReturn(Mono.empty());
+        Order order = order("o1");
+        OutboxEvent placed = OrderEvents.orderPlaced(order);
+        OutboxEvent confirmed = OrderEvents.statusChanged(order, OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        OutboxEvent cancelled = OrderEvents.statusChanged(order, OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+
+        forwarder.onOutboxBatch(new OutboxEventBatch(List.of(placed, confirmed, cancelled)));
+
+        ArgumentCaptor<List<StockEventDto>> sent = ArgumentCaptor.forClass(List.class);
+        verify(productClient).commitStockEvents(sent.capture());
+        assertThat(sent.getValue()).hasSize(2);
+        StockEventDto take = sent.getValue().get(0);
+        StockEventDto giveBack = sent.getValue().get(1);
+        assertThat(take.getEventId()).isEqualTo("order-placed:o1");
+        assertThat(take.getReverses()).isNull();
+        assertThat(take.getItems()).extracting(StockEventDto.Delta::getDelta).containsExactly(-2);
+        assertThat(giveBack.getEventId()).isEqualTo(cancelled.getId());
+        assertThat(giveBack.getReverses()).isEqualTo(take.getEventId());
+        assertThat(giveBack.getItems()).extracting(StockEventDto.Delta::getDelta).containsExactly(2);
+    }
+
+    private static Order order(String id) {
+        OrderItem item = OrderItem.builder().productId("p1").sku("SKU-p1").productName("Product p1")
+                .quantity(2).price(new BigDecimal("9.99")).build();
+        return Order.builder().id(id).userId("u1").status(OrderStatus.PENDING)
+                .orderItems(List.of(item)).itemCount(1).totalAmount(item.getSubtotal()).build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.ecommerce.order.realtime;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoOccurrenceIndexTest {
+
+    @Test
+    void countsEveryPairOncePerOrder() {
+        CoOccurrenceIndex index = new CoOccurrenceIndex(100, 10, 50);
+
+        index.addBasket(List.of("a", "b", "c"));
+        index.addBasket(List.of("a", "b"));
+        index.addBasket(List.of("b", "a", "b"));  // a product twice in one order counts once
+
+        assertThat(index.related("a", 10)).containsExactly(
+                new CoOccurrenceIndex.Related("b", 3), new CoOccurrenceIndex.Related("c", 1));
+        assertThat(index.related("c", 10)).containsExactlyInAnyOrder(
+                new CoOccurrenceIndex.Related("a", 1), new CoOccurrenceIndex.Related("b", 1));
+        assertThat(index.related("a", 1)).extracting(CoOccurrenceIndex.Related::productId).containsExactly("b");
+        assertThat(index.related("unknown", 10)).isEmpty();
+    }
+
+    @Test
+    void prunesARowToItsTopNeighborsOnceItGrowsPastTwiceTheLimit() {
+        CoOccurrenceIndex index = new CoOccurrenceIndex(100, 2, 50);
+        for (int i = 0; i < 5; i++) {
+            index.addBasket(List.of("a", "b"));
+        }
+        for (int i = 0; i < 4; i++) {
+            index.addBasket(List.of("a", "c"));
+        }
+        index.addBasket(List.of("a", "d"));
+        index.addBasket(List.of("a", "e"));
+        index.addBasket(List.of("a", "f"));  // fifth neighbor: the row is pruned to b and c
+
+        assertThat(index.related("a", 10)).as("reads return at most neighbors entries").containsExactly(
+                new CoOccurrenceIndex.Related("b", 5), new CoOccurrenceIndex.Related("c", 4));
+
+        for (int i = 0; i < 6; i++) {
+            index.addBasket(List.of("a", "d"));
+        }
+        assertThat(index.related("a", 1)).as("d's count before the pruning was dropped")
+                .containsExactly(new CoOccurrenceIndex.Related("d", 6));
+    }
+
+    @Test
+    void stopsTrackingNewProductsAtMaxProducts() {
+        CoOccurrenceIndex index = new CoOccurrenceIndex(2, 10, 50);
+
+        index.addBasket(List.of("a", "b", "c"));
+
+        assertThat(index.productCount()).isEqualTo(2);
+        assertThat(index.related("a", 10)).extracting(CoOccurrenceIndex.Related::productId).containsExactly("b");
+        assertThat(index.related("c", 10)).isEmpty();
+    }
+
+    @Test
+    void onlyTheFirstMaxBasketSizeProductsOfAnOrderAreCounted() {
+        CoOccurrenceIndex index = new CoOccurrenceIndex(100, 10, 2);
+
+        index.addBasket(List.of("a", "b", "c"));
+
+        assertThat(index.related("a", 10)).extracting(CoOccurrenceIndex.Related::productId).containsExactly("b");
+        assertThat(index.related("c", 10)).isEmpty();
+    }
+
+    @Test
+    void snapshotRoundTripRestoresEveryRow() throws IOException {
+        CoOccurrenceIndex original = new CoOccurrenceIndex(100, 10, 50);
+        original.addBasket(List.of("a", "b", "c"));
+        original.addBasket(List.of("a", "b"));
+        original.addBasket(List.of("c", "d"));
+        original.addBasket(List.of("e"));  // tracked, but no row
+
+        CoOccurrenceIndex restored = new CoOccurrenceIndex(100, 10, 50);
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(snapshot(original))));
+
+        assertThat(restored.productCount()).isEqualTo(original.productCount());
+        for (String product : List.of("a", "b", "c", "d", "e")) {
+            assertThat(restored.related(product, 10)).as(product)
+                    .containsExactlyInAnyOrderElementsOf(original.related(product, 10));
+        }
+    }
+
+    @Test
+    void snapshotIntoASmallerIndexDropsProductsThatDoNotFit() throws IOException {
+        CoOccurrenceIndex original = new CoOccurrenceIndex(100, 10, 50);
+        original.addBasket(List.of("a", "b", "c"));
+
+        CoOccurrenceIndex restored = new CoOccurrenceIndex(2, 10, 50);
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(snapshot(original))));
+
+        assertThat(restored.productCount()).isEqualTo(2);
+        assertThat(restored.related("a", 10)).containsExactly(new CoOccurrenceIndex.Related("b", 1));
+    }
+
+    @Test
+    void rejectsASnapshotOfAnotherVersion() {
+        byte[] snapshot = {0, 0, 0, 99, 0, 0, 0, 0};
+
+        assertThatThrownBy(() -> new CoOccurrenceIndex(100, 10, 50)
+                .readFrom(new DataInputStream(new ByteArrayInputStream(snapshot))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("version 99");
+    }
+
+    private static byte[] snapshot(CoOccurrenceIndex index) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            index.writeTo(out);
+        }
+        return bytes.toByteArray();
+    }
+}
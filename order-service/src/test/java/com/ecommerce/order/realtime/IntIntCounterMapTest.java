@@ -0,0 +1,61 @@
+package com.ecommerce.order.realtime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntIntCounterMapTest {
+
+    @Test
+    void keepsEveryCountAcrossResizes() {
+        IntIntCounterMap map = new IntIntCounterMap(4);
+
+        for (int key = 0; key < 1_000; key++) {
+            map.add(key, key % 7 + 1);
+        }
+        for (int key = 0; key < 1_000; key += 2) {
+            map.add(key, 10);
+        }
+
+        assertThat(map.size()).isEqualTo(1_000);
+        for (int key = 0; key < 1_000; key++) {
+            assertThat(map.get(key)).as("count of %d", key).isEqualTo(key % 7 + 1 + (key % 2 == 0 ? 10 : 0));
+        }
+        assertThat(map.get(1_000)).isZero();
+    }
+
+    @Test
+    void topListsTheHighestCountsFirst() {
+        IntIntCounterMap map = new IntIntCounterMap(8);
+        map.add(3, 5);
+        map.add(7, 9);
+        map.add(1, 2);
+        map.add(7, 1);
+
+        int[][] top = map.top(2);
+
+        assertThat(top[0]).containsExactly(7, 3);
+        assertThat(top[1]).containsExactly(10, 5);
+        assertThat(map.top(10)[0]).containsExactly(7, 3, 1);
+    }
+
+    @Test
+    void retainTopDropsTheRestAndKeepsCounting() {
+        IntIntCounterMap map = new IntIntCounterMap(8);
+        for (int key = 0; key < 6; key++) {
+            map.add(key, key + 1);
+        }
+
+        map.retainTop(2);
+
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.top(10)[0]).containsExactly(5, 4);
+        assertThat(map.get(0)).isZero();
+
+        map.add(0, 1);
+        map.add(5, 1);
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.get(5)).isEqualTo(7);
+        assertThat(map.get(0)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecommerce.order.realtime;
+
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sketch top-K against an exact $group count of the same skewed stream
+ */
+class SlidingWindowTopKTest extends EmbeddedMongoTest {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+    private static final int BUCKETS = 6;
+    private static final int CAPACITY = 100;
+    private static final int PRODUCTS = 2_000;
+    private static final int EVENTS = 30_000;
+    private static final int K = 10;
+
+    @Test
+    void topKMatchesExactCountsWithinErrorBound() {
+        SlidingWindowTopK sketch = new SlidingWindowTopK(WINDOW, BUCKETS, CAPACITY);
+        long[] bucketWeights = new long[BUCKETS];
+        long bucketMillis = WINDOW.toMillis() / BUCKETS;
+
+        // Zipf(1.1) over the catalogue: a few best sellers and a long tail
+        double[] cdf = zipfCdf(PRODUCTS, 1.1);
+        Random random = new Random(42);
+        List<Document> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            String productId = "p" + sample(cdf, random);
+            long quantity = 1 + random.nextInt(3);
+            long at = (long) i * WINDOW.toMillis() / EVENTS;
+            sketch.add(productId, quantity, at);
+            bucketWeights[(int) (at / bucketMillis)] += quantity;
+            events.add(new Document("productId", productId).append("quantity", quantity));
+        }
+        mongoTemplate.insert(events, "sales_events");
+        Map<String, Long> exact = exactCounts();
+
+        long now = WINDOW.toMillis() - 1;
+        List<SpaceSaving.Counter> all = sketch.top(Integer.MAX_VALUE, now);
+        long errorBound = Arrays.stream(bucketWeights).map(weight -> weight / CAPACITY).sum();
+
+        for (SpaceSaving.Counter counter : all) {
+            long truth = exact.getOrDefault(counter.key(), 0L);
+            assertThat(truth).as("true count of %s within [count - error, count]", counter.key())
+                    .isBetween(counter.count() - counter.error(), counter.count());
+            assertThat(counter.error()).as("error of %s", counter.key()).isLessThanOrEqualTo(errorBound);
+        }
+        // Anything heavier than the error bound cannot be missed
+        List<String> tracked = all.stream().map(SpaceSaving.Counter::key).toList();
+        exact.forEach((key, count) -> {
+            if (count > errorBound) {
+                assertThat(tracked).as("heavy hitter %s (%d)", key, count).contains(key);
+            }
+        });
+
+        List<String> sketchTop = sketch.top(K, now).stream().map(SpaceSaving.Counter::key).toList();
+        List<String> exactTop = exact.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(K)
+                .map(Map.Entry::getKey)
+                .toList();
+        long hits = sketchTop.stream().filter(exactTop::contains).count();
+        // Products near the K-th place can swap within the error bound, so allow one miss
+        assertThat(hits).as("top-%d recall: sketch %s, exact %s", K, sketchTop, exactTop)
+                .isGreaterThanOrEqualTo(K - 1);
+    }
+
+    @Test
+    void oldBucketsFallOutOfTheWindow() {
+        SlidingWindowTopK sketch = new SlidingWindowTopK(WINDOW, BUCKETS, CAPACITY);
+
+        sketch.add("old", 50, 0);
+        assertThat(sketch.top(K, WINDOW.toMillis() - 1))
+                .extracting(SpaceSaving.Counter::key)
+                .containsExactly("old");
+
+        sketch.add("new", 5, WINDOW.toMillis());
+        assertThat(sketch.top(K, WINDOW.toMillis()))
+                .extracting(SpaceSaving.Counter::key)
+                .containsExactly("new");
+    }
+
+    private Map<String, Long> exactCounts() {
+        return mongoTemplate.aggregate(Aggregation.newAggregation(
+                        Aggregation.group("productId").sum("quantity").as("quantity")),
+                        "sales_events", Document.class)
+                .getMappedResults().stream()
+                .collect(Collectors.toMap(row -> row.getString("_id"), row -> ((Number) row.get("quantity")).longValue()));
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cdf[rank - 1] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, cdf.length - 1);
+    }
+}
@@ -0,0 +1,208 @@
+package com.ecommerce.order.repository;
+
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.order.exception.OrderWriteException;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.outbox.OutboxEvent;
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupCommitOrderWriterTest extends EmbeddedMongoTest {
+
+    private static final Duration LONG_WAIT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch commitStarted = new CountDownLatch(1);
+    private final CountDownLatch commitGate = new CountDownLatch(1);
+    private final List<GroupCommitOrderWriter> writers = new ArrayList<>();
+
+    @AfterEach
+    void stopWriters() throws InterruptedException {
+        commitGate.countDown();
+        for (GroupCommitOrderWriter writer : writers) {
+            writer.shutdown();
+        }
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentInsertsShareOneBulkWrite() throws Exception {
+        GroupCommitOrderWriter writer = writer(standalone(), 8, LONG_WAIT);
+
+        List<Future<Order>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String id = "o" + i;
+            results.add(callers.submit(() -> writer.insert(order(id), List.of(event(id)))));
+        }
+        for (Future<Order> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS).getId()).startsWith("o");
+        }
+
+        DistributionSummary batches = meterRegistry.get("orders.group-commit.batch.size").summary();
+        assertThat(batches.count()).isEqualTo(1);
+        assertThat(batches.max()).isEqualTo(8);
+        assertThat(mongoTemplate.count(new Query(), Order.class)).isEqualTo(8);
+        assertThat(mongoTemplate.count(new Query(), OutboxEvent.class)).isEqualTo(8);
+    }
+
+    @Test
+    void outboxEventsGetTheirIdWhenWrittenNotWhenQueued() throws Exception {
+        GroupCommitOrderWriter writer = writer(standalone(), 1, LONG_WAIT);
+        OutboxEvent queuedLongAgo = event("o1");
+        queuedLongAgo.setId(new ObjectId(Date.from(Instant.now().minusSeconds(60))).toHexString());
+        Instant beforeWrite = Instant.now().minusSeconds(1);
+
+        writer.insert(order("o1"), List.of(queuedLongAgo));
+
+        OutboxEvent stored = mongoTemplate.findAll(OutboxEvent.class).get(0);
+        assertThat(new ObjectId(stored.getId()).getDate().toInstant()).isAfter(beforeWrite);
+    }
+
+    @Test
+    void duplicateOrderFailsOnlyItsCaller() throws Exception {
+        mongoTemplate.insert(order("dup"));
+        GroupCommitOrderWriter writer = writer(standalone(), 2, LONG_WAIT);
+
+        Future<Order> duplicate = callers.submit(() -> writer.insert(order("dup"), List.of(event("dup"))));
+        Future<Order> fresh = callers.submit(() -> writer.insert(order("fresh"), List.of(event("fresh"))));
+
+        assertThat(fresh.get(10, TimeUnit.SECONDS).getId()).isEqualTo("fresh");
+        assertThatThrownBy(() -> duplicate.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(OrderWriteException.class);
+        assertThat(mongoTemplate.findAll(OutboxEvent.class))
+                .extracting(OutboxEvent::getAggregateId)
+                .containsExactly("fresh");
+    }
+
+    @Test
+    void retriesOneOrderPerTransactionWhenBatchCommitFails() throws Exception {
+        MongoTransactions transactions = mock(MongoTransactions.class);
+        when(transactions.isSupported()).thenReturn(true);
+        AtomicBoolean failedOnce = new AtomicBoolean();
+        doAnswer(call -> {
+            if (failedOnce.compareAndSet(false, true)) {
+                throw new TransactionSystemException("Could not commit Mongo transaction");
+            }
+            call.<Runnable>getArgument(0).run();
+            return null;
+        }).when(transactions).run(any());
+        GroupCommitOrderWriter writer = writer(transactions, 2, LONG_WAIT);
+
+        Future<Order> first = callers.submit(() -> writer.insert(order("a"), List.of()));
+        Future<Order> second = callers.submit(() -> writer.insert(order("b"), List.of()));
+
+        assertThat(first.get(10, TimeUnit.SECONDS).getId()).isEqualTo("a");
+        assertThat(second.get(10, TimeUnit.SECONDS).getId()).isEqualTo("b");
+        verify(transactions, times(3)).run(any());
+    }
+
+    @Test
+    void callerStopsWaitingWhenWriteIsNotAcknowledged() {
+        MongoTransactions hung = mock(MongoTransactions.class);
+        when(hung.isSupported()).thenReturn(true);
+        doAnswer(call -> {
+            commitGate.await();
+            return null;
+        }).when(hung).run(any());
+        GroupCommitOrderWriter writer = writer(hung, 1, Duration.ofMillis(300));
+
+        assertThatThrownBy(() -> writer.insert(order("slow"), List.of()))
+                .isInstanceOf(OrderWriteException.class)
+                .hasMessageContaining("not acknowledged within 300 ms");
+    }
+
+    @Test
+    void shutdownWritesOrdersStillQueued() throws Exception {
+        GroupCommitOrderWriter writer = writer(stuck(), 1, LONG_WAIT);
+
+        Future<Order> inFlight = callers.submit(() -> writer.insert(order("in-flight"), List.of()));
+        assertThat(commitStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        Future<Order> queued = callers.submit(() -> writer.insert(order("queued"), List.of()));
+        Thread.sleep(200);  // let it reach the queue behind the stuck flush
+        Future<?> shutdown = callers.submit(() -> {
+            writer.shutdown();
+            return null;
+        });
+        commitGate.countDown();
+
+        shutdown.get(10, TimeUnit.SECONDS);
+        assertThat(inFlight.get(10, TimeUnit.SECONDS).getId()).isEqualTo("in-flight");
+        assertThat(queued.get(10, TimeUnit.SECONDS).getId()).isEqualTo("queued");
+        assertThatThrownBy(() -> writer.insert(order("late"), List.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shut down");
+    }
+
+    private GroupCommitOrderWriter writer(MongoTransactions transactions, int maxBatchSize, Duration ackTimeout) {
+        GroupCommitOrderWriter writer = new GroupCommitOrderWriter(mongoTemplate, transactions, meterRegistry,
+                maxBatchSize, LONG_WAIT, 100, ackTimeout);
+        writers.add(writer);
+        return writer;
+    }
+
+    /**
+     * No replica set: the writer takes its unordered bulk path (mongo-java-server does not answer 'hello')
+     */
+    private static MongoTransactions standalone() {
+        MongoTransactions transactions = mock(MongoTransactions.class);
+        when(transactions.isSupported()).thenReturn(false);
+        return transactions;
+    }
+
+    /**
+     * Transactions whose commits hang until commitGate opens
+     */
+    private MongoTransactions stuck() {
+        MongoTransactions transactions = mock(MongoTransactions.class);
+        when(transactions.isSupported()).thenReturn(true);
+        doAnswer(call -> {
+            commitStarted.countDown();
+            commitGate.await();
+            call.<Runnable>getArgument(0).run();
+            return null;
+        }).when(transactions).run(any());
+        return transactions;
+    }
+
+    private static Order order(String id) {
+        return Order.builder().id(id).userId("u1").status(OrderStatus.PENDING)
+                .totalAmount(BigDecimal.TEN).orderItems(List.of()).itemCount(0).build();
+    }
+
+    private static OutboxEvent event(String orderId) {
+        return OutboxEvent.builder().id("evt-" + orderId).type("OrderCreated").aggregateId(orderId)
+                .status(OutboxEvent.Status.PENDING).build();
+    }
+}
@@ -0,0 +1,197 @@
+package com.ecommerce.order.resilience;
+
+import com.ecommerce.order.exception.DownstreamUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Guard behaviour against a stub downstream that injects latency and errors per request
+ */
+class DownstreamGuardTest {
+
+    private static final Duration SLOW = Duration.ofMillis(1500);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile IntFunction<Reply> replies = n -> new Reply(0, 200, "ok");
+    private ExecutorService handlers;
+    private HttpServer server;
+    private WebClient webClient;
+
+    /**
+     * What the stub answers to its n-th request (0-based, hedges included)
+     */
+    private record Reply(long delayMillis, int status, String body) {
+    }
+
+    @BeforeEach
+    void startStub() throws IOException {
+        handlers = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(handlers);
+        server.createContext("/item", exchange -> {
+            Reply reply = replies.apply(requests.getAndIncrement());
+            try {
+                Thread.sleep(reply.delayMillis());
+                byte[] body = reply.body().getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(reply.status(), body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        webClient = WebClient.create("http://localhost:" + server.getAddress().getPort());
+
+        // Connection pool, codecs and JIT: keep them out of the measured calls
+        for (int i = 0; i < 20; i++) {
+            get().block(Duration.ofSeconds(5));
+        }
+        requests.set(0);
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Test
+    void hedgingKeepsTailLatencyBounded() {
+        // One request in ten stalls; the hedge sent after it is the next request and answers at once
+        replies = n -> n % 10 == 9 ? new Reply(SLOW.toMillis(), 200, "slow") : new Reply(0, 200, "ok");
+
+        DownstreamGuard plain = new DownstreamGuard("plain", policy(false));
+        DownstreamGuard hedged = new DownstreamGuard("hedged", policy(true));
+
+        long plainP99 = p99(plain, 50);
+        long hedgedP99 = p99(hedged, 200);
+
+        assertThat(plainP99).as("p99 without hedging (ms)").isGreaterThanOrEqualTo(SLOW.toMillis());
+        assertThat(hedgedP99).as("p99 with hedging (ms)").isLessThan(500);
+    }
+
+    @Test
+    void fastHedgeErrorDoesNotBeatSlowerAnswer() {
+        replies = n -> n == 0 ? new Reply(300, 200, "primary") : new Reply(0, 500, "boom");
+
+        DownstreamGuard guard = new DownstreamGuard("hedged", policy(true));
+
+        assertThat(guard.idempotentCall(this::get).block(Duration.ofSeconds(5))).isEqualTo("primary");
+        assertThat(requests).as("primary and hedge sent").hasValue(2);
+    }
+
+    @Test
+    void failsWithFirstAttemptErrorWhenBothAttemptsFail() {
+        replies = n -> n == 0 ? new Reply(300, 503, "primary down") : new Reply(0, 500, "hedge down");
+
+        DownstreamGuard guard = new DownstreamGuard("hedged", policy(true));
+
+        assertThatThrownBy(() -> guard.idempotentCall(this::get).block(Duration.ofSeconds(5)))
+                .isInstanceOfSatisfying(WebClientResponseException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(503));
+    }
+
+    @Test
+    void doesNotHedgeAfterFirstAttemptFailed() throws InterruptedException {
+        replies = n -> new Reply(0, 404, "missing");
+
+        DownstreamGuard guard = new DownstreamGuard("hedged", policy(true));
+
+        assertThatThrownBy(() -> guard.idempotentCall(this::get).block(Duration.ofSeconds(5)))
+                .isInstanceOf(WebClientResponseException.NotFound.class);
+        Thread.sleep(200);
+        assertThat(requests).hasValue(1);
+        assertThat(guard.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void deadlineBoundsLatencyAndBreakerOpensOnHungDownstream() {
+        replies = n -> new Reply(5_000, 200, "too late");
+        ResilienceProperties.Policy policy = policy(true);
+        policy.setTimeout(Duration.ofMillis(200));
+
+        DownstreamGuard guard = new DownstreamGuard("hung", policy);
+
+        for (int i = 0; i < policy.getMinimumCalls(); i++) {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> guard.idempotentCall(this::get).block(Duration.ofSeconds(5)))
+                    .isInstanceOf(DownstreamUnavailableException.class)
+                    .hasMessageContaining("did not respond within 200 ms");
+            assertThat(millisSince(start)).isLessThan(1_000);
+        }
+        assertThatThrownBy(() -> guard.idempotentCall(this::get).block(Duration.ofSeconds(5)))
+                .isInstanceOf(DownstreamUnavailableException.class)
+                .hasMessageContaining("circuit breaker is open");
+    }
+
+    @Test
+    void bulkheadRejectsCallsOverTheLimit() {
+        replies = n -> new Reply(2_000, 200, "ok");
+        ResilienceProperties.Policy policy = policy(false);
+        policy.setMaxConcurrentCalls(1);
+
+        DownstreamGuard guard = new DownstreamGuard("narrow", policy);
+
+        Disposable first = guard.call(this::get).subscribe(value -> { }, error -> { });
+        try {
+            assertThatThrownBy(() -> guard.call(this::get).block(Duration.ofSeconds(1)))
+                    .isInstanceOf(DownstreamUnavailableException.class)
+                    .hasMessageContaining("concurrency limit");
+        } finally {
+            first.dispose();
+        }
+    }
+
+    private Mono<String> get() {
+        return webClient.get().uri("/item").retrieve().bodyToMono(String.class);
+    }
+
+    private long p99(DownstreamGuard guard, int calls) {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            long start = System.nanoTime();
+            guard.idempotentCall(this::get).block(Duration.ofSeconds(5));
+            latencies.add(millisSince(start));
+        }
+        Collections.sort(latencies);
+        return latencies.get((int) Math.ceil(calls * 0.99) - 1);
+    }
+
+    private static ResilienceProperties.Policy policy(boolean hedge) {
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+        policy.setTimeout(Duration.ofSeconds(3));
+        policy.setHedgeEnabled(hedge);
+        policy.setHedgeMinDelay(Duration.ofMillis(50));
+        return policy;
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,136 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.model.ArchivedOrderBucket;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.model.OrderSummary;
+import com.ecommerce.order.repository.OrderArchiveRepository;
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderArchiverTest extends EmbeddedMongoTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.now().minusDays(200).withDayOfMonth(1);
+
+    @Test
+    void movesOldCompletedOrdersOnly() {
+        OrderArchiveRepository archive = archive(DataSize.ofMegabytes(4));
+        mongoTemplate.insert(List.of(
+                order("delivered", OrderStatus.DELIVERED, LONG_AGO),
+                order("cancelled", OrderStatus.CANCELLED, LONG_AGO),
+                order("recent", OrderStatus.DELIVERED, LocalDateTime.now()),
+                order("pending", OrderStatus.PENDING, LONG_AGO)), Order.class);
+
+        assertThat(archiver(archive).runOnce()).isEqualTo(2);
+
+        assertThat(hotIds()).containsExactlyInAnyOrder("recent", "pending");
+        assertThat(archive.findOrder("delivered")).get().extracting(Order::getStatus).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(archive.contains("cancelled")).isTrue();
+    }
+
+    @Test
+    void orderArchivedBeforeACrashIsNotArchivedTwice() {
+        OrderArchiveRepository archive = archive(DataSize.ofMegabytes(4));
+        Order order = order("o1", OrderStatus.DELIVERED, LONG_AGO);
+        mongoTemplate.insert(order);
+        archive.archive(List.of(order));  // copied, but the run died before deleting it
+
+        assertThat(archiver(archive).runOnce()).isEqualTo(1);
+
+        assertThat(hotIds()).isEmpty();
+        assertThat(mongoTemplate.findAll(ArchivedOrderBucket.class))
+                .flatExtracting(ArchivedOrderBucket::getOrderIds)
+                .containsExactly("o1");
+    }
+
+    @Test
+    void keepsOrdersTheArchiveDoesNotConfirm() {
+        // Stands in for an upsert that lost a race: the first order never reaches the archive
+        OrderArchiveRepository lossy = new OrderArchiveRepository(mongoTemplate, DataSize.ofMegabytes(4)) {
+            @Override
+            public Set<String> archive(Collection<Order> orders) {
+                return super.archive(orders.stream().skip(1).toList());
+            }
+        };
+        mongoTemplate.insert(List.of(
+                order("lost", OrderStatus.DELIVERED, LONG_AGO),
+                order("kept", OrderStatus.DELIVERED, LONG_AGO.plusHours(1))), Order.class);
+
+        assertThat(archiver(lossy).runOnce()).isEqualTo(1);
+
+        assertThat(hotIds()).containsExactly("lost");
+        assertThat(lossy.contains("lost")).isFalse();
+        assertThat(lossy.contains("kept")).isTrue();
+    }
+
+    @Test
+    void fullBucketsSpillIntoOverflowBuckets() {
+        OrderArchiveRepository archive = archive(DataSize.ofBytes(1_500));
+        for (int i = 0; i < 10; i++) {
+            mongoTemplate.insert(order("o" + i, OrderStatus.DELIVERED, LONG_AGO.plusHours(i)));
+        }
+
+        assertThat(archiver(archive).runOnce()).isEqualTo(10);
+
+        List<ArchivedOrderBucket> buckets = mongoTemplate.findAll(ArchivedOrderBucket.class);
+        assertThat(buckets).hasSizeGreaterThan(1);
+        assertThat(buckets).allSatisfy(bucket -> {
+            assertThat(bucket.getId()).isEqualTo("u1|" + bucket.getMonth() + "|" + bucket.getSeq());
+            assertThat(bucket.getSizeBytes()).isLessThanOrEqualTo(1_500);
+        });
+        assertThat(buckets).flatExtracting(ArchivedOrderBucket::getOrderIds).hasSize(10).doesNotHaveDuplicates();
+
+        List<OrderSummary> firstPage = archive.findOrderHistory("u1", null, null, 4);
+        assertThat(firstPage).extracting(OrderSummary::getId).containsExactly("o9", "o8", "o7", "o6");
+        OrderSummary last = firstPage.get(firstPage.size() - 1);
+        assertThat(archive.findOrderHistory("u1", last.getOrderDate(), last.getId(), 10))
+                .extracting(OrderSummary::getId)
+                .containsExactly("o5", "o4", "o3", "o2", "o1", "o0");
+    }
+
+    @Test
+    void onlyOneInstanceArchivesAtATime() {
+        OrderArchiveRepository archive = archive(DataSize.ofMegabytes(4));
+        OrderArchiver first = archiver(archive);
+        OrderArchiver second = archiver(archive);
+        mongoTemplate.insert(order("o1", OrderStatus.DELIVERED, LONG_AGO));
+        assertThat(first.runOnce()).isEqualTo(1);
+
+        mongoTemplate.insert(order("o2", OrderStatus.DELIVERED, LONG_AGO));
+
+        assertThat(second.runOnce()).as("lease held by the first instance").isZero();
+        assertThat(first.runOnce()).isEqualTo(1);
+    }
+
+    private OrderArchiveRepository archive(DataSize maxBucketSize) {
+        return new OrderArchiveRepository(mongoTemplate, maxBucketSize);
+    }
+
+    private OrderArchiver archiver(OrderArchiveRepository archive) {
+        return new OrderArchiver(mongoTemplate, archive, 90, 500, 20, Duration.ZERO, Duration.ofMinutes(2));
+    }
+
+    private List<String> hotIds() {
+        return mongoTemplate.find(new Query(), Order.class).stream().map(Order::getId).toList();
+    }
+
+    private static Order order(String id, OrderStatus status, LocalDateTime date) {
+        OrderItem item = OrderItem.builder().productId("p1").sku("SKU-p1").productName("Product p1")
+                .quantity(1).price(new BigDecimal("9.99")).build();
+        return Order.builder().id(id).userId("u1").status(status).orderDate(date).lastModified(date)
+                .orderItems(List.of(item)).itemCount(1).totalAmount(item.getSubtotal())
+                .shippingAddress("Main St 1").build();
+    }
+}
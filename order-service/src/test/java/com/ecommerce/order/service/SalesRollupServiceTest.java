@@ -0,0 +1,89 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.cache.SalesWatermark;
+import com.ecommerce.order.model.MonthlySales;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderItem;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.model.ProductDailySales;
+import com.ecommerce.order.model.UserOrderStats;
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesRollupServiceTest extends EmbeddedMongoTest {
+
+    /**
+     * 20:30 UTC on January 31st is already February 1st in Tokyo (UTC+9)
+     */
+    private static final Instant LATE_JANUARY_UTC = Instant.parse("2024-01-31T20:30:00Z");
+
+    @Test
+    void bucketsOrdersByDayAndMonthOfTheConfiguredZone() {
+        SalesRollupService rollups = rollups(ZoneId.of("Asia/Tokyo"));
+
+        rollups.recordOrderPlaced(order("o1", LATE_JANUARY_UTC));
+
+        assertThat(mongoTemplate.findAll(ProductDailySales.class))
+                .extracting(ProductDailySales::getId)
+                .containsExactly("p1|2024-02-01");
+        MonthlySales month = mongoTemplate.findById("2024-02", MonthlySales.class);
+        assertThat(month).isNotNull();
+        assertThat(month.getMonth()).isEqualTo(2);
+        assertThat(month.getOrderCount()).isEqualTo(1);
+        assertThat(month.getTotalSales()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void sameInstantFallsInJanuaryInUtc() {
+        SalesRollupService rollups = rollups(ZoneId.of("UTC"));
+
+        rollups.recordOrderPlaced(order("o1", LATE_JANUARY_UTC));
+
+        assertThat(mongoTemplate.findAll(ProductDailySales.class))
+                .extracting(ProductDailySales::getDay)
+                .containsExactly("2024-01-31");
+        assertThat(mongoTemplate.findById("2024-01", MonthlySales.class)).isNotNull();
+    }
+
+    @Test
+    void cancellingSubtractsTheOrderAgain() {
+        SalesRollupService rollups = rollups(ZoneId.of("UTC"));
+        Order order = order("o1", LATE_JANUARY_UTC);
+        rollups.recordOrderPlaced(order);
+        rollups.recordOrderPlaced(order("o2", LATE_JANUARY_UTC));
+
+        rollups.recordStatusChange(order, OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+        rollups.recordStatusChange(order, OrderStatus.PENDING, OrderStatus.CONFIRMED);  // no sales change
+
+        UserOrderStats user = mongoTemplate.findById("u1", UserOrderStats.class);
+        assertThat(user.getOrderCount()).isEqualTo(1);
+        assertThat(user.getTotalSpent()).isEqualByComparingTo("20.00");
+        ProductDailySales product = mongoTemplate.findById("p1|2024-01-31", ProductDailySales.class);
+        assertThat(product.getQuantity()).isEqualTo(2);
+        assertThat(product.getRevenue()).isEqualByComparingTo("20.00");
+    }
+
+    private SalesRollupService rollups(ZoneId zone) {
+        return new SalesRollupService(mongoTemplate, new SalesWatermark(mongoTemplate, Duration.ofSeconds(1)), zone);
+    }
+
+    /**
+     * An order placed at the given instant, its orderDate in the JVM's zone as OrderServiceImpl sets it
+     */
+    private static Order order(String id, Instant placedAt) {
+        OrderItem item = OrderItem.builder().productId("p1").sku("SKU-p1").productName("Product p1")
+                .quantity(2).price(new BigDecimal("10.00")).build();
+        return Order.builder().id(id).userId("u1").status(OrderStatus.PENDING)
+                .orderDate(LocalDateTime.ofInstant(placedAt, ZoneId.systemDefault()))
+                .orderItems(List.of(item)).itemCount(1).totalAmount(item.getSubtotal()).build();
+    }
+}
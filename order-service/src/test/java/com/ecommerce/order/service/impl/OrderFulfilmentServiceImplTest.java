@@ -0,0 +1,154 @@
+package com.ecommerce.order.service.impl;
+
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.order.dto.BulkStatusTransitionRequest;
+import com.ecommerce.order.dto.BulkStatusTransitionResponse;
+import com.ecommerce.order.dto.StatusChangeFeedResponse;
+import com.ecommerce.order.dto.StatusChangeResponse;
+import com.ecommerce.order.dto.StatusTransitionResult;
+import com.ecommerce.order.exception.InvalidOrderException;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.outbox.OrderEvents;
+import com.ecommerce.order.outbox.OutboxEvent;
+import com.ecommerce.order.service.SalesRollupService;
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OrderFulfilmentServiceImplTest extends EmbeddedMongoTest {
+
+    private static final Duration SETTLE_TIME = Duration.ofSeconds(2);
+
+    private final SalesRollupService salesRollupService = mock(SalesRollupService.class);
+    private OrderFulfilmentServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderFulfilmentServiceImpl(mongoTemplate,
+                new MongoTransactions(mongoTemplate, mongoTemplate.getMongoDatabaseFactory()), salesRollupService,
+                SETTLE_TIME, Duration.ofMillis(50));
+    }
+
+    @Test
+    void movesOnlyOrdersStillInTheExpectedStatusAndReportsEveryOrder() {
+        String confirmed1 = order(OrderStatus.CONFIRMED);
+        String confirmed2 = order(OrderStatus.CONFIRMED);
+        String pending = order(OrderStatus.PENDING);
+        String missing = new ObjectId().toHexString();
+
+        BulkStatusTransitionResponse response = service.transition(BulkStatusTransitionRequest.builder()
+                .orderIds(List.of(confirmed1, pending, confirmed2, missing, confirmed1, "not-an-id"))
+                .from(OrderStatus.CONFIRMED)
+                .to(OrderStatus.SHIPPED)
+                .build());
+
+        assertThat(response.getRequested()).as("duplicate IDs count once").isEqualTo(5);
+        assertThat(response.getUpdated()).isEqualTo(2);
+        assertThat(response.getResults())
+                .extracting(StatusTransitionResult::getOrderId, StatusTransitionResult::getOutcome,
+                        StatusTransitionResult::getCurrentStatus)
+                .containsExactly(
+                        tuple(confirmed1, StatusTransitionResult.Outcome.UPDATED, OrderStatus.SHIPPED),
+                        tuple(pending, StatusTransitionResult.Outcome.STATUS_MISMATCH, OrderStatus.PENDING),
+                        tuple(confirmed2, StatusTransitionResult.Outcome.UPDATED, OrderStatus.SHIPPED),
+                        tuple(missing, StatusTransitionResult.Outcome.NOT_FOUND, null),
+                        tuple("not-an-id", StatusTransitionResult.Outcome.NOT_FOUND, null));
+        assertThat(status(confirmed1)).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(status(pending)).isEqualTo(OrderStatus.PENDING);
+        assertThat(mongoTemplate.findAll(OutboxEvent.class))
+                .extracting(OutboxEvent::getAggregateId)
+                .containsExactlyInAnyOrder(confirmed1, confirmed2);
+        verify(salesRollupService, never()).recordStatusChange(any(), any(), any());  // both count as sales
+    }
+
+    @Test
+    void cancellationsReachTheSalesRollups() {
+        String first = order(OrderStatus.PENDING);
+        String second = order(OrderStatus.PENDING);
+
+        service.transition(BulkStatusTransitionRequest.builder()
+                .orderIds(List.of(first, second)).from(OrderStatus.PENDING).to(OrderStatus.CANCELLED).build());
+
+        verify(salesRollupService, times(2)).recordStatusChange(any(), any(), any());
+    }
+
+    @Test
+    void rejectsTransitionsTheStateMachineDoesNotAllow() {
+        String delivered = order(OrderStatus.DELIVERED);
+
+        assertThatThrownBy(() -> service.transition(BulkStatusTransitionRequest.builder()
+                .orderIds(List.of(delivered)).from(OrderStatus.DELIVERED).to(OrderStatus.PENDING).build()))
+                .isInstanceOf(InvalidOrderException.class);
+        assertThat(status(delivered)).isEqualTo(OrderStatus.DELIVERED);
+    }
+
+    @Test
+    void feedIsResumableAndHoldsBackEventsYoungerThanTheSettleTime() {
+        Order order = Order.builder().id(new ObjectId().toHexString()).userId("u1").orderItems(List.of())
+                .totalAmount(BigDecimal.TEN).build();
+        OutboxEvent placed = event(OrderEvents.orderPlaced(order), Duration.ofSeconds(30));
+        OutboxEvent confirmed = event(OrderEvents.statusChanged(order, OrderStatus.PENDING, OrderStatus.CONFIRMED),
+                Duration.ofSeconds(20));
+        OutboxEvent shipped = event(OrderEvents.statusChanged(order, OrderStatus.CONFIRMED, OrderStatus.SHIPPED),
+                Duration.ZERO);
+
+        StatusChangeFeedResponse first = service.getStatusChanges(null, 1, Duration.ZERO);
+        StatusChangeFeedResponse second = service.getStatusChanges(first.getNextCursor(), 10, Duration.ZERO);
+        StatusChangeFeedResponse idle = service.getStatusChanges(second.getNextCursor(), 10, Duration.ZERO);
+
+        assertThat(first.getChanges()).extracting(StatusChangeResponse::getEventId).containsExactly(placed.getId());
+        assertThat(first.getChanges().get(0).getNewStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(second.getChanges()).extracting(StatusChangeResponse::getEventId)
+                .as("the SHIPPED event is not settled yet")
+                .containsExactly(confirmed.getId());
+        assertThat(idle.getChanges()).isEmpty();
+        assertThat(idle.getNextCursor()).isEqualTo(second.getNextCursor());
+
+        StatusChangeFeedResponse settled = service.getStatusChanges(second.getNextCursor(), 10,
+                SETTLE_TIME.plusSeconds(3));
+        assertThat(settled.getChanges()).extracting(StatusChangeResponse::getEventId).containsExactly(shipped.getId());
+    }
+
+    @Test
+    void rejectsAnInvalidFeedCursor() {
+        assertThatThrownBy(() -> service.getStatusChanges("garbage", 10, Duration.ZERO))
+                .isInstanceOf(InvalidOrderException.class);
+    }
+
+    private String order(OrderStatus status) {
+        Order order = Order.builder().id(new ObjectId().toHexString()).userId("u1").status(status)
+                .orderItems(List.of()).itemCount(0).totalAmount(BigDecimal.TEN)
+                .orderDate(LocalDateTime.now()).lastModified(LocalDateTime.now()).build();
+        return mongoTemplate.insert(order).getId();
+    }
+
+    private OrderStatus status(String orderId) {
+        return mongoTemplate.findById(orderId, Order.class).getStatus();
+    }
+
+    /**
+     * Stores the event with an ID (feed position) from the given time ago
+     */
+    private OutboxEvent event(OutboxEvent event, Duration age) {
+        event.setId(new ObjectId(Date.from(Instant.now().minus(age))).toHexString());
+        return mongoTemplate.insert(event);
+    }
+}
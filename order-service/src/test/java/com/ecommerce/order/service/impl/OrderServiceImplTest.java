@@ -0,0 +1,258 @@
+package com.ecommerce.order.service.impl;
+
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.order.client.ProductLookupCoalescer;
+import com.ecommerce.order.client.UserClient;
+import com.ecommerce.order.client.dto.ProductDto;
+import com.ecommerce.order.client.dto.UserDto;
+import com.ecommerce.order.dto.OrderHistoryResponse;
+import com.ecommerce.order.dto.OrderItemRequest;
+import com.ecommerce.order.dto.OrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.dto.OrderSummaryResponse;
+import com.ecommerce.order.exception.InsufficientStockException;
+import com.ecommerce.order.exception.InvalidOrderException;
+import com.ecommerce.order.model.Order;
+import com.ecommerce.order.model.OrderStatus;
+import com.ecommerce.order.realtime.LiveTopService;
+import com.ecommerce.order.realtime.RelatedProductsService;
+import com.ecommerce.order.repository.OrderArchiveRepository;
+import com.ecommerce.order.repository.OrderRepository;
+import com.ecommerce.order.repository.OrderRepositoryImpl;
+import com.ecommerce.order.repository.OrderWriter;
+import com.ecommerce.order.service.SalesRollupService;
+import com.ecommerce.order.support.EmbeddedMongoTest;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceImplTest extends EmbeddedMongoTest {
+
+    private static final Duration DOWNSTREAM_LATENCY = Duration.ofMillis(100);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final UserClient userClient = mock(UserClient.class);
+    private final ProductLookupCoalescer productLookup = mock(ProductLookupCoalescer.class);
+    private final OrderWriter orderWriter = mock(OrderWriter.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository, mock(MongoTemplate.class),
+                mock(OrderArchiveRepository.class), orderWriter, mock(MongoTransactions.class), userClient,
+                productLookup, mock(SalesRollupService.class), mock(LiveTopService.class),
+                mock(RelatedProductsService.class));
+        when(orderWriter.insert(any(Order.class), anyList())).thenAnswer(call -> call.getArgument(0));
+        when(userClient.getUser("u1")).thenReturn(downstream(UserDto.builder().id("u1").address("Main St 1").build()));
+    }
+
+    @Test
+    void looksUpUserAndProductsInParallel() {
+        products(product("p1", "10.00", 5), product("p2", "2.50", 5));
+
+        OrderResponse response = orderService.createOrder(request(line("p1", 1), line("p2", 2), line("p1", 1)));
+
+        assertThat(maxInFlight).as("user and product lookups in flight at once").hasValue(2);
+        assertThat(response.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(response.getShippingAddress()).isEqualTo("Main St 1");
+        assertThat(response.getOrderItems()).hasSize(2);  // p1 listed twice: one line
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("25.00");
+
+        ArgumentCaptor<Order> written = ArgumentCaptor.forClass(Order.class);
+        verify(orderWriter).insert(written.capture(), anyList());
+        assertThat(written.getValue().getId()).isNotNull();
+        assertThat(written.getValue().getItemCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsUnknownProductWithoutWriting() {
+        products(product("p1", "10.00", 5));
+
+        assertThatThrownBy(() -> orderService.createOrder(request(line("p1", 1), line("missing", 1))))
+                .isInstanceOf(InvalidOrderException.class)
+                .hasMessageContaining("missing");
+        verify(orderWriter, never()).insert(any(), anyList());
+    }
+
+    @Test
+    void rejectsCombinedQuantityAboveStock() {
+        products(product("p1", "10.00", 3));
+
+        assertThatThrownBy(() -> orderService.createOrder(request(line("p1", 2), line("p1", 2))))
+                .isInstanceOf(InsufficientStockException.class);
+        verify(orderWriter, never()).insert(any(), anyList());
+    }
+
+    @Test
+    void placesOrderUnderTheGivenId() {
+        products(product("p1", "10.00", 5));
+
+        OrderResponse response = orderService.createOrder(request(line("p1", 1)), "65a1f0c2e4b0a1b2c3d4e5f6");
+
+        assertThat(response.getId()).isEqualTo("65a1f0c2e4b0a1b2c3d4e5f6");
+    }
+
+    @Test
+    void returnsTheOrderAlreadyPlacedUnderTheGivenId() {
+        Order placed = Order.builder().id("65a1f0c2e4b0a1b2c3d4e5f6").userId("u1").status(OrderStatus.PENDING)
+                .orderItems(List.of()).itemCount(0).totalAmount(BigDecimal.TEN).build();
+        when(orderRepository.findById(placed.getId())).thenReturn(Optional.of(placed));
+
+        OrderResponse response = orderService.createOrder(request(line("p1", 1)), placed.getId());
+
+        assertThat(response.getId()).isEqualTo(placed.getId());
+        verify(orderWriter, never()).insert(any(), anyList());
+        verify(productLookup, never()).getProductsByIds(anyCollection());
+    }
+
+    @Test
+    void historyShowsAnOrderInBothCollectionsOnce() {
+        OrderArchiveRepository archive = new OrderArchiveRepository(mongoTemplate, DataSize.ofMegabytes(4));
+        Order older = storedOrder(LocalDateTime.of(2024, 1, 10, 12, 0));
+        Order newer = storedOrder(LocalDateTime.of(2024, 1, 11, 12, 0));
+        archive.archive(List.of(older));  // copied, but the archiver died before deleting it
+
+        OrderHistoryResponse all = historyService(archive).getOrderHistory("u1", null, 10);
+        OrderHistoryResponse first = historyService(archive).getOrderHistory("u1", null, 1);
+        OrderHistoryResponse second = historyService(archive).getOrderHistory("u1", first.getNextCursor(), 1);
+
+        assertThat(all.getOrders()).extracting(OrderSummaryResponse::getId).containsExactly(newer.getId(), older.getId());
+        assertThat(all.getNextCursor()).isNull();
+        assertThat(first.getOrders()).extracting(OrderSummaryResponse::getId).containsExactly(newer.getId());
+        assertThat(second.getOrders()).extracting(OrderSummaryResponse::getId).containsExactly(older.getId());
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void historyPagesThroughOrdersPlacedAtTheSameInstantById() {
+        OrderArchiveRepository archive = new OrderArchiveRepository(mongoTemplate, DataSize.ofMegabytes(4));
+        LocalDateTime flashSale = LocalDateTime.of(2024, 1, 11, 12, 0);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(0, storedOrder(flashSale).getId());  // same date: newest _id first
+        }
+        expected.add(storedOrder(flashSale.minusDays(1)).getId());
+
+        List<String> seen = new ArrayList<>();
+        List<OrderHistoryResponse> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderHistoryResponse page = historyService(archive).getOrderHistory("u1", cursor, 2);
+            page.getOrders().forEach(order -> seen.add(order.getId()));
+            pages.add(page);
+            cursor = page.getNextCursor();
+        } while (cursor != null && pages.size() < 10);
+
+        assertThat(seen).as("every order once, in (orderDate, _id) descending order").isEqualTo(expected);
+        assertThat(pages).hasSize(3);
+        assertThat(pages.get(2).getOrders()).hasSize(2);
+        assertThat(pages.get(2).getNextCursor()).as("a full last page has no next page").isNull();
+    }
+
+    @Test
+    void historyRejectsAnInvalidOrTamperedCursor() {
+        OrderArchiveRepository archive = new OrderArchiveRepository(mongoTemplate, DataSize.ofMegabytes(4));
+        storedOrder(LocalDateTime.of(2024, 1, 11, 12, 0));
+        OrderServiceImpl service = historyService(archive);
+        String validId = new ObjectId().toHexString();
+
+        List<String> cursors = List.of(
+                "not base64!",
+                cursor("2024-01-11T12:00|" + validId + "|extra"),
+                cursor("2024-01-11T12:00|not-an-object-id"),
+                cursor("yesterday|" + validId),
+                cursor("2024-01-11T12:00"));
+
+        for (String cursor : cursors) {
+            assertThatThrownBy(() -> service.getOrderHistory("u1", cursor, 2))
+                    .as(cursor)
+                    .isInstanceOf(InvalidOrderException.class)
+                    .hasMessageContaining("Invalid cursor");
+        }
+    }
+
+    /**
+     * Order history on the embedded MongoDB: the real keyset queries of both collections
+     */
+    private OrderServiceImpl historyService(OrderArchiveRepository archive) {
+        OrderRepository repository = mock(OrderRepository.class);
+        OrderRepositoryImpl history = new OrderRepositoryImpl(mongoTemplate);
+        when(repository.findOrderHistory(any(), any(), any(), anyInt())).thenAnswer(call ->
+                history.findOrderHistory(call.getArgument(0), call.getArgument(1), call.getArgument(2),
+                        call.getArgument(3)));
+        return new OrderServiceImpl(repository, mongoTemplate, archive, orderWriter, mock(MongoTransactions.class),
+                userClient, productLookup, mock(SalesRollupService.class), mock(LiveTopService.class),
+                mock(RelatedProductsService.class));
+    }
+
+    private Order storedOrder(LocalDateTime orderDate) {
+        Order order = Order.builder().id(new ObjectId().toHexString()).userId("u1").status(OrderStatus.DELIVERED)
+                .orderDate(orderDate).lastModified(orderDate).orderItems(List.of()).itemCount(0)
+                .totalAmount(BigDecimal.TEN).build();
+        return mongoTemplate.insert(order);
+    }
+
+    private static String cursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void products(ProductDto... products) {
+        Map<String, ProductDto> byId = new HashMap<>();
+        for (ProductDto product : products) {
+            byId.put(product.getId(), product);
+        }
+        when(productLookup.getProductsByIds(anyCollection())).thenReturn(downstream(byId));
+    }
+
+    /**
+     * A downstream answer after DOWNSTREAM_LATENCY that tracks how many calls overlap
+     */
+    private <T> Mono<T> downstream(T value) {
+        return Mono.just(value)
+                .delayElement(DOWNSTREAM_LATENCY)
+                .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    private static ProductDto product(String id, String price, int stock) {
+        return ProductDto.builder().id(id).sku("SKU-" + id).name("Product " + id)
+                .price(new BigDecimal(price)).stock(stock).build();
+    }
+
+    private static OrderItemRequest line(String productId, int quantity) {
+        return OrderItemRequest.builder().productId(productId).quantity(quantity).build();
+    }
+
+    private static OrderRequest request(OrderItemRequest... lines) {
+        return OrderRequest.builder().userId("u1").items(List.of(lines)).build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.order.support;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * 🧪 EMBEDDED MONGO TEST - Base class for tests that need a MongoDB
+ *
+ * Runs an in-memory MongoDB wire-protocol server (mongo-java-server) in the test
+ * JVM: nothing to download or install. It is a standalone server, so code paths
+ * that need a replica set (transactions) take their standalone fallback here.
+ * Every test starts with an empty database.
+ */
+public abstract class EmbeddedMongoTest {
+
+    private static MongoServer server;
+    private static MongoClient client;
+
+    protected MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void startMongo() {
+        server = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(server.bindAndGetConnectionString());
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @BeforeEach
+    void emptyDatabase() {
+        mongoTemplate = new MongoTemplate(client, "test");
+        mongoTemplate.getDb().drop();
+    }
+}
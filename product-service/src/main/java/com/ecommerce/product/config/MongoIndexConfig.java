@@ -0,0 +1,57 @@
+package com.ecommerce.product.config;
+
+import com.ecommerce.product.model.ProcessedStockEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🗂️ MONGO INDEX CONFIGURATION - Creates the indexes declared on our documents
+ * 
+ * Automatic index creation is off, so index annotations are only declarations.
+ * This creates them explicitly once at startup (a no-op when they already
+ * exist). A failure is logged rather than fatal.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexConfig {
+    
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(ProcessedStockEvent.class);
+    
+    /**
+     * Indexes no longer declared, dropped where they still exist (processed_ttl expired every marker after 7 days)
+     */
+    private static final Map<Class<?>, List<String>> RETIRED_INDEXES =
+            Map.of(ProcessedStockEvent.class, List.of("processed_ttl"));
+    
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            try {
+                List<String> retired = RETIRED_INDEXES.getOrDefault(document, List.of());
+                indexOps.getIndexInfo().stream()
+                        .filter(index -> retired.contains(index.getName()))
+                        .forEach(index -> indexOps.dropIndex(index.getName()));
+                resolver.resolveIndexFor(document).forEach(indexOps::createIndex);
+                log.info("Indexes ensured for {}", document.getSimpleName());
+            } catch (RuntimeException e) {
+                log.warn("Could not create indexes for {}: {}", document.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
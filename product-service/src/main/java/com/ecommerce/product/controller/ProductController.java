@@ -2,7 +2,10 @@ package com.ecommerce.product.controller;
 
 import com.ecommerce.product.dto.ProductRequest;
 import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.dto.StockEventBatchRequest;
+import com.ecommerce.product.dto.StockEventBatchResponse;
 import com.ecommerce.product.service.ProductService;
+import com.ecommerce.product.service.StockCommitService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -28,6 +31,7 @@ import java.util.List;
 public class ProductController {
     
     private final ProductService productService;
+    private final StockCommitService stockCommitService;
     
     @PostMapping
     @Operation(summary = "Create a new product", description = "Creates a new product in the catalog")
@@ -67,6 +71,15 @@ public class ProductController {
         return ResponseEntity.ok(responses);
     }
     
+    @GetMapping("/batch")
+    @Operation(summary = "Get products by IDs", 
+            description = "Retrieves several products in one call. Unknown IDs are omitted from the result")
+    public ResponseEntity<List<ProductResponse>> getProductsByIds(
+            @Parameter(description = "Comma-separated product IDs") @RequestParam List<String> ids) {
+        List<ProductResponse> responses = productService.getProductsByIds(ids);
+        return ResponseEntity.ok(responses);
+    }
+    
     @GetMapping("/category/{category}")
     @Operation(summary = "Get products by category", description = "Retrieves products filtered by category")
     public ResponseEntity<List<ProductResponse>> getProductsByCategory(@PathVariable String category) {
@@ -110,4 +123,19 @@ public class ProductController {
         productService.updateStock(id, quantity);
         return ResponseEntity.ok().build();
     }
+    
+    @PostMapping("/stock-events")
+    @Operation(summary = "Apply stock events", 
+            description = "Applies a batch of stock changes from order events. Events are coalesced per SKU "
+                    + "with concurrent batches and applied once per event ID; a decrement the stock "
+                    + "cannot cover is skipped (outOfStock); an event reversing an earlier one gives back only "
+                    + "what that event took; responds once they are durably applied")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Events applied or recognised as duplicates"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    public ResponseEntity<StockEventBatchResponse> commitStockEvents(
+            @Valid @RequestBody StockEventBatchRequest request) {
+        return ResponseEntity.ok(stockCommitService.commit(request.getEvents()));
+    }
 }
@@ -0,0 +1,75 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.service.ReactiveProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 🌊 REACTIVE PRODUCT CONTROLLER - Non-blocking variants of the product read endpoints
+ * 
+ * Same reads as ProductController, on the reactive MongoDB driver. The request
+ * thread is released while MongoDB works, so slow queries do not tie up
+ * Tomcat threads. Lists are a Flux:
+ * - Accept: application/x-ndjson (default) streams one product per line as the
+ *   cursor delivers it; the next product is only requested once the previous
+ *   one is written, so a slow client holds back the query instead of filling memory
+ * - Accept: application/json collects them into a regular JSON array
+ * 
+ * Writes stay on ProductController.
+ */
+@RestController
+@RequestMapping("/api/reactive/products")
+@RequiredArgsConstructor
+@Tag(name = "Product Catalog (reactive)", description = "Non-blocking, streaming product reads")
+public class ReactiveProductController {
+    
+    private final ReactiveProductService productService;
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get product by ID", description = "Retrieves a product by its unique ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Product found"),
+        @ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    public Mono<ProductResponse> getProductById(@PathVariable String id) {
+        return productService.getProductById(id);
+    }
+    
+    @GetMapping("/sku/{sku}")
+    @Operation(summary = "Get product by SKU", description = "Retrieves a product by its SKU code")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Product found"),
+        @ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    public Mono<ProductResponse> getProductBySku(@PathVariable String sku) {
+        return productService.getProductBySku(sku);
+    }
+    
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream all products", description = "Streams the whole catalog")
+    public Flux<ProductResponse> getAllProducts() {
+        return productService.getAllProducts();
+    }
+    
+    @GetMapping(value = "/category/{category}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream products by category", description = "Streams the products of a category")
+    public Flux<ProductResponse> getProductsByCategory(@PathVariable String category) {
+        return productService.getProductsByCategory(category);
+    }
+    
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Search products by name", description = "Streams products whose name contains the query (case-insensitive)")
+    public Flux<ProductResponse> searchProducts(
+            @Parameter(description = "Search query") @RequestParam String query) {
+        return productService.searchProductsByName(query);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📝 STOCK DELTA REQUEST DTO - One SKU's stock change within a stock event
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Change of one SKU's stock")
+public class StockDeltaRequest {
+    
+    @NotBlank(message = "SKU is required")
+    @Schema(description = "Stock Keeping Unit", example = "LAP-001")
+    private String sku;
+    
+    @NotNull(message = "Delta is required")
+    @Schema(description = "Stock change: negative when sold, positive when returned", example = "-2")
+    private Integer delta;
+}
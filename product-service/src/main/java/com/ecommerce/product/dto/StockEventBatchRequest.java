@@ -0,0 +1,28 @@
+package com.ecommerce.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📝 STOCK EVENT BATCH REQUEST DTO - A batch of stock events from order-service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch of stock events")
+public class StockEventBatchRequest {
+    
+    @Valid
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = 1000, message = "At most 1000 events per batch")
+    private List<StockEventRequest> events;
+}
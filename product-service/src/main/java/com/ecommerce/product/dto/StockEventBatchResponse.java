@@ -0,0 +1,31 @@
+package com.ecommerce.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📤 STOCK EVENT BATCH RESPONSE DTO - Outcome of a batch of stock events
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a batch of stock events")
+public class StockEventBatchResponse {
+    
+    @Schema(description = "Events applied by this request", example = "12")
+    private int applied;
+    
+    @Schema(description = "Events skipped because they were already applied", example = "0")
+    private int duplicates;
+    
+    @Schema(description = "Stock changes of applied events skipped because the SKU had too little stock", example = "0")
+    private int outOfStock;
+
+    @Schema(description = "Stock changes of reversing events not given back because the reversed event "
+            + "had not taken that stock", example = "0")
+    private int notRestored;
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📝 STOCK EVENT REQUEST DTO - Stock changes caused by one order event
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Stock changes of one event. Applied once per eventId")
+public class StockEventRequest {
+    
+    @NotBlank(message = "Event ID is required")
+    @Schema(description = "Unique event ID, used for deduplication", example = "65a1f0c2e4b0a1b2c3d4e5f6")
+    private String eventId;
+    
+    @Schema(description = "ID of an earlier event this one undoes. Only stock that event actually took "
+            + "is given back, at most the deltas listed here", example = "order-placed:65a1f0c2e4b0a1b2c3d4e5f0")
+    private String reverses;
+
+    @Valid
+    @NotEmpty(message = "At least one stock delta is required")
+    private List<StockDeltaRequest> items;
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.product.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 🧾 PROCESSED STOCK EVENT - Marker of a stock event that has been applied
+ *
+ * _id is the event ID, so applying an event twice is a duplicate key.
+ * The marker also records the stock the event actually took (decrements that
+ * were skipped for lack of stock are not in it), so a later event reversing
+ * it gives back exactly that and nothing more.
+ *
+ * Markers expire at expiresAt: senders retry within minutes, so most are kept
+ * for days; markers that took stock are kept while the order can still be
+ * cancelled (stock-commit.taken-retention).
+ */
+@Document(collection = "processed_stock_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedStockEvent {
+
+    @Id
+    private String eventId;
+
+    private Instant processedAt;
+
+    @Indexed(name = "processed_expiry", expireAfter = "0s")
+    private Instant expiresAt;
+
+    /**
+     * Stock taken by this event, per SKU; empty when it took none
+     */
+    private List<Taken> taken;
+
+    /**
+     * ID of the event that gave the taken stock back, once one has
+     */
+    private String reversedBy;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Taken {
+        private String sku;
+        private int quantity;
+    }
+}
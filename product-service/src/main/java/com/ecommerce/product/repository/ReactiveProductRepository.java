@@ -0,0 +1,24 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.model.Product;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 🌊 REACTIVE PRODUCT REPOSITORY - Non-blocking reads on the reactive MongoDB driver
+ * 
+ * Read-only counterpart of ProductRepository for the reactive endpoints:
+ * results are emitted as documents arrive, without holding a thread while waiting.
+ * All writes stay on ProductRepository.
+ */
+@Repository
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String> {
+    
+    Mono<Product> findBySku(String sku);
+    
+    Flux<Product> findByCategory(String category);
+    
+    Flux<Product> findByNameContainingIgnoreCase(String name);
+}
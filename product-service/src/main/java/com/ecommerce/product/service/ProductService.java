@@ -26,6 +26,8 @@ public interface ProductService {
     
     List<ProductResponse> getAllProducts();
     
+    List<ProductResponse> getProductsByIds(List<String> ids);
+    
     List<ProductResponse> getProductsByCategory(String category);
     
     List<ProductResponse> searchProductsByName(String name);
@@ -0,0 +1,24 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 🌊 REACTIVE PRODUCT SERVICE INTERFACE
+ * 
+ * Non-blocking variants of the read operations of ProductService.
+ * Single products are a Mono (empty → ProductNotFoundException), lists a Flux.
+ */
+public interface ReactiveProductService {
+    
+    Mono<ProductResponse> getProductById(String id);
+    
+    Mono<ProductResponse> getProductBySku(String sku);
+    
+    Flux<ProductResponse> getAllProducts();
+    
+    Flux<ProductResponse> getProductsByCategory(String category);
+    
+    Flux<ProductResponse> searchProductsByName(String name);
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.StockEventBatchResponse;
+import com.ecommerce.product.dto.StockEventRequest;
+
+import java.util.List;
+
+/**
+ * 📋 STOCK COMMIT SERVICE INTERFACE
+ * 
+ * Applies stock changes coming from order events, each event once (exactly once
+ * with a replica set, at least once on a standalone server) and never below zero stock.
+ * An event reversing an earlier one gives back only the stock that event actually took.
+ */
+public interface StockCommitService {
+    
+    /**
+     * Apply the events and return once they are durably applied (or recognised as duplicates)
+     */
+    StockEventBatchResponse commit(List<StockEventRequest> events);
+}
@@ -81,7 +81,18 @@ public class ProductServiceImpl implements ProductService {
         
         return productRepository.findAll()
                 .stream()
-                .map(this::mapToResponse)
+                .map(ProductServiceImpl::mapToResponse)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<ProductResponse> getProductsByIds(List<String> ids) {
+        log.info("Fetching {} products by ID", ids.size());
+        
+        // Single $in query; unknown IDs are simply absent from the result
+        return productRepository.findAllById(ids)
+                .stream()
+                .map(ProductServiceImpl::mapToResponse)
                 .collect(Collectors.toList());
     }
     
@@ -91,7 +102,7 @@ public class ProductServiceImpl implements ProductService {
         
         return productRepository.findByCategory(category)
                 .stream()
-                .map(this::mapToResponse)
+                .map(ProductServiceImpl::mapToResponse)
                 .collect(Collectors.toList());
     }
     
@@ -101,7 +112,7 @@ public class ProductServiceImpl implements ProductService {
         
         return productRepository.findByNameContainingIgnoreCase(name)
                 .stream()
-                .map(this::mapToResponse)
+                .map(ProductServiceImpl::mapToResponse)
                 .collect(Collectors.toList());
     }
     
@@ -159,7 +170,8 @@ public class ProductServiceImpl implements ProductService {
         return true;
     }
     
-    private ProductResponse mapToResponse(Product product) {
+    // Shared with ReactiveProductServiceImpl; package-private so the JMH benchmarks can call it
+    static ProductResponse mapToResponse(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
                 .sku(product.getSku())
@@ -0,0 +1,65 @@
+package com.ecommerce.product.service.impl;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.exception.ProductNotFoundException;
+import com.ecommerce.product.repository.ReactiveProductRepository;
+import com.ecommerce.product.service.ReactiveProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 🌊 REACTIVE PRODUCT SERVICE IMPLEMENTATION
+ * 
+ * Same queries and mapping as ProductServiceImpl, on the reactive driver.
+ * Nothing here blocks: lists are mapped document by document as the cursor
+ * delivers them, at the pace the client reads them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+    
+    private final ReactiveProductRepository productRepository;
+    
+    @Override
+    public Mono<ProductResponse> getProductById(String id) {
+        log.debug("Fetching product with ID: {}", id);
+        
+        return productRepository.findById(id)
+                .map(ProductServiceImpl::mapToResponse)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException("Product not found with ID: " + id)));
+    }
+    
+    @Override
+    public Mono<ProductResponse> getProductBySku(String sku) {
+        log.debug("Fetching product with SKU: {}", sku);
+        
+        return productRepository.findBySku(sku)
+                .map(ProductServiceImpl::mapToResponse)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException("Product not found with SKU: " + sku)));
+    }
+    
+    @Override
+    public Flux<ProductResponse> getAllProducts() {
+        log.debug("Streaming all products");
+        
+        return productRepository.findAll().map(ProductServiceImpl::mapToResponse);
+    }
+    
+    @Override
+    public Flux<ProductResponse> getProductsByCategory(String category) {
+        log.debug("Streaming products in category: {}", category);
+        
+        return productRepository.findByCategory(category).map(ProductServiceImpl::mapToResponse);
+    }
+    
+    @Override
+    public Flux<ProductResponse> searchProductsByName(String name) {
+        log.debug("Streaming products with name containing: {}", name);
+        
+        return productRepository.findByNameContainingIgnoreCase(name).map(ProductServiceImpl::mapToResponse);
+    }
+}
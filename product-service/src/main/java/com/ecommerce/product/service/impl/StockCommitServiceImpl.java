@@ -0,0 +1,436 @@
+package com.ecommerce.product.service.impl;
+
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.product.dto.StockDeltaRequest;
+import com.ecommerce.product.dto.StockEventBatchResponse;
+import com.ecommerce.product.dto.StockEventRequest;
+import com.ecommerce.product.model.ProcessedStockEvent;
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.service.StockCommitService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 💼 STOCK COMMIT SERVICE IMPLEMENTATION - One stock write per SKU per window
+ * 
+ * Incoming events are queued and a single flusher thread applies them in
+ * windows (stock-commit.window, or as soon as max-batch-size events wait):
+ * 1. duplicates are dropped: repeated IDs within the window, and IDs already
+ *    in processed_stock_events
+ * 2. deltas are summed per SKU and applied with one bulk of $inc updates.
+ *    A decrement only applies while the stock covers it: a SKU whose summed
+ *    decrement does not fit is retried event by event, and the changes that
+ *    still do not fit are skipped (outOfStock), so stock never goes negative
+ * 3. events reversing an earlier one (a cancelled order) give back only what
+ *    that event actually took, once
+ * 4. the events are marked processed, each marker recording the stock its
+ *    event took
+ * Steps 2 to 4 share a transaction when MongoDB supports it, so an event is
+ * applied exactly once. On a standalone server the marker is written last: a
+ * crash in between applies the events again when the sender retries (at least
+ * once), but never records an event that was not applied.
+ * A hot SKU ordered 500 times in a window gets one write.
+ * 
+ * Callers block until the window holding their events has been applied, at
+ * most stock-commit.timeout including the wait for room in a full queue;
+ * events still queued at shutdown fail instead of leaving their callers waiting.
+ */
+@Service
+@Slf4j
+public class StockCommitServiceImpl implements StockCommitService {
+    
+    /**
+     * Written with every stock change; tells which SKUs a bulk of conditional $inc updates did not reach
+     */
+    private static final String COMMIT_ID_FIELD = "stockCommitId";
+    
+    private final MongoTemplate mongoTemplate;
+    private final MongoTransactions transactions;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Duration commitTimeout;
+    private final Duration markerRetention;
+    private final Duration takenRetention;
+    private final BlockingQueue<PendingEvent> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+    
+    /**
+     * applied: false for a duplicate; outOfStock: changes of the event skipped for lack of stock;
+     * notRestored: changes of a reversing event not given back because the reversed event had not taken them
+     */
+    private record Outcome(boolean applied, int outOfStock, int notRestored) {
+        
+        static final Outcome DUPLICATE = new Outcome(false, 0, 0);
+    }
+    
+    /**
+     * Per event ID: the stock changes applied (summed per SKU) and the number skipped for lack of stock
+     */
+    private record AppliedDeltas(Map<String, Map<String, Integer>> deltas, Map<String, Integer> outOfStock) {
+    }
+    
+    private record PendingEvent(StockEventRequest event, CompletableFuture<Outcome> result) {
+    }
+    
+    public StockCommitServiceImpl(MongoTemplate mongoTemplate,
+                                  MongoTransactions transactions,
+                                  @Value("${stock-commit.window:50ms}") Duration window,
+                                  @Value("${stock-commit.max-batch-size:1000}") int maxBatchSize,
+                                  @Value("${stock-commit.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${stock-commit.timeout:5s}") Duration commitTimeout,
+                                  @Value("${stock-commit.marker-retention:7d}") Duration markerRetention,
+                                  @Value("${stock-commit.taken-retention:90d}") Duration takenRetention) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactions = transactions;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.commitTimeout = commitTimeout;
+        this.markerRetention = markerRetention;
+        this.takenRetention = takenRetention;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        
+        this.flusher = new Thread(this::runFlusher, "stock-commit");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+    
+    @Override
+    public StockEventBatchResponse commit(List<StockEventRequest> events) {
+        if (!running) {
+            throw new IllegalStateException("Stock commit service is shut down");
+        }
+        List<CompletableFuture<Outcome>> results = new ArrayList<>(events.size());
+        long deadline = System.nanoTime() + commitTimeout.toNanos();
+        try {
+            for (StockEventRequest event : events) {
+                PendingEvent pending = new PendingEvent(event, new CompletableFuture<>());
+                // Blocks while full (backpressure), but never past the commit timeout
+                if (!queue.offer(pending, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    // Events already queued will still be applied; the sender's retry is deduplicated
+                    throw new IllegalStateException("Stock commit queue stayed full for "
+                            + commitTimeout.toMillis() + " ms");
+                }
+                // Shut down while we were queueing: the flusher may already be gone
+                if (!running && queue.remove(pending)) {
+                    throw new IllegalStateException("Stock commit service is shut down");
+                }
+                results.add(pending.result());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing stock events", e);
+        }
+        
+        int applied = 0;
+        int outOfStock = 0;
+        int notRestored = 0;
+        for (CompletableFuture<Outcome> result : results) {
+            Outcome outcome = await(result, deadline);
+            if (outcome.applied()) {
+                applied++;
+            }
+            outOfStock += outcome.outOfStock();
+            notRestored += outcome.notRestored();
+        }
+        return StockEventBatchResponse.builder()
+                .applied(applied)
+                .duplicates(events.size() - applied)
+                .outOfStock(outOfStock)
+                .notRestored(notRestored)
+                .build();
+    }
+    
+    private static Outcome await(CompletableFuture<Outcome> result, long deadlineNanos) {
+        try {
+            return result.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            // Still queued: it will be applied; the sender's retry is deduplicated
+            throw new IllegalStateException("Stock events not applied in time", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for stock commit", e);
+        }
+    }
+    
+    private void runFlusher() {
+        List<PendingEvent> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                
+                // Collect the window: everything arriving within windowNanos of the first event
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Stock commit of {} events failed", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void apply(List<PendingEvent> batch) {
+        // First occurrence of each event ID in the window; later ones are duplicates
+        Map<String, PendingEvent> unique = new LinkedHashMap<>();
+        List<PendingEvent> repeated = new ArrayList<>();
+        for (PendingEvent pending : batch) {
+            if (unique.putIfAbsent(pending.event().getEventId(), pending) != null) {
+                repeated.add(pending);
+            }
+        }
+        
+        Map<String, Outcome> outcomes = new HashMap<>();
+        transactions.run(() -> {
+            outcomes.clear();  // the transaction may be retried
+            // Markers of the window's events (already processed?) and of the events they reverse
+            Set<String> markerIds = new HashSet<>(unique.keySet());
+            unique.values().stream()
+                    .map(pending -> pending.event().getReverses())
+                    .filter(Objects::nonNull)
+                    .forEach(markerIds::add);
+            Map<String, ProcessedStockEvent> stored = new HashMap<>();
+            mongoTemplate.find(new Query(Criteria.where("_id").in(markerIds)), ProcessedStockEvent.class)
+                    .forEach(marker -> stored.put(marker.getEventId(), marker));
+            
+            List<StockEventRequest> fresh = unique.values().stream()
+                    .map(PendingEvent::event)
+                    .filter(event -> !stored.containsKey(event.getEventId()))
+                    .toList();
+            if (fresh.isEmpty()) {
+                return;
+            }
+            
+            Instant now = Instant.now();
+            Map<String, ProcessedStockEvent> written = new LinkedHashMap<>();
+            List<StockEventRequest> changes = fresh.stream().filter(event -> event.getReverses() == null).toList();
+            AppliedDeltas applied = applyDeltas(changes);
+            for (StockEventRequest event : changes) {
+                String eventId = event.getEventId();
+                written.put(eventId, marker(eventId, applied.deltas().getOrDefault(eventId, Map.of()), now));
+                outcomes.put(eventId, new Outcome(true, applied.outOfStock().getOrDefault(eventId, 0), 0));
+            }
+            List<StockEventRequest> reversals = fresh.stream().filter(event -> event.getReverses() != null).toList();
+            List<ProcessedStockEvent> reversed = reverse(reversals, stored, written, outcomes, now);
+            
+            // Markers last: without a transaction, a crash before this line leaves the events
+            // to be applied again on retry rather than recorded but never applied
+            mongoTemplate.bulkOps(BulkMode.ORDERED, ProcessedStockEvent.class)
+                    .insert(new ArrayList<>(written.values()))
+                    .execute();
+            for (ProcessedStockEvent target : reversed) {
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(target.getEventId())),
+                        new Update().set("reversedBy", target.getReversedBy()).set("expiresAt", target.getExpiresAt()),
+                        ProcessedStockEvent.class);
+            }
+            log.debug("Applied {} stock events", fresh.size());
+        });
+        
+        unique.values().forEach(pending -> pending.result()
+                .complete(outcomes.getOrDefault(pending.event().getEventId(), Outcome.DUPLICATE)));
+        repeated.forEach(pending -> pending.result().complete(Outcome.DUPLICATE));
+    }
+    
+    /**
+     * Gives back, per SKU, the smaller of what a reversing event asks for and what the reversed event took.
+     * An event is reversed at most once; one that was never applied (or took nothing) gives nothing back.
+     * The reversed event may be in this window: its marker is then among the ones about to be written.
+     *
+     * @return the stored markers now reversed, to be updated once the new markers are written
+     */
+    private List<ProcessedStockEvent> reverse(List<StockEventRequest> reversals, Map<String, ProcessedStockEvent> stored,
+                         Map<String, ProcessedStockEvent> written, Map<String, Outcome> outcomes, Instant now) {
+        List<StockEventRequest> restocks = new ArrayList<>();
+        List<ProcessedStockEvent> reversedStored = new ArrayList<>();
+        for (StockEventRequest reversal : reversals) {
+            String targetId = reversal.getReverses();
+            ProcessedStockEvent target = written.containsKey(targetId) ? written.get(targetId) : stored.get(targetId);
+            Map<String, Integer> takenBySku = new HashMap<>();
+            if (target != null && target.getReversedBy() == null && target.getTaken() != null) {
+                target.getTaken().forEach(taken -> takenBySku.merge(taken.getSku(), taken.getQuantity(), Integer::sum));
+                target.setReversedBy(reversal.getEventId());
+                target.setExpiresAt(now.plus(markerRetention));
+                if (!written.containsKey(targetId)) {
+                    reversedStored.add(target);
+                }
+            }
+            
+            List<StockDeltaRequest> restore = new ArrayList<>();
+            int notRestored = 0;
+            for (StockDeltaRequest item : reversal.getItems()) {
+                int quantity = Math.min(Math.max(item.getDelta(), 0), takenBySku.getOrDefault(item.getSku(), 0));
+                if (quantity > 0) {
+                    restore.add(new StockDeltaRequest(item.getSku(), quantity));
+                    takenBySku.merge(item.getSku(), -quantity, Integer::sum);
+                }
+                if (quantity == 0 || quantity < item.getDelta()) {
+                    notRestored++;
+                    log.warn("Stock event {} gives back {} of {} but {} took only part of it: skipped",
+                            reversal.getEventId(), item.getDelta(), item.getSku(), targetId);
+                }
+            }
+            if (!restore.isEmpty()) {
+                restocks.add(StockEventRequest.builder().eventId(reversal.getEventId()).items(restore).build());
+            }
+            written.put(reversal.getEventId(), marker(reversal.getEventId(), Map.of(), now));
+            outcomes.put(reversal.getEventId(), new Outcome(true, 0, notRestored));
+        }
+        
+        applyDeltas(restocks);  // increments only: always fit
+        return reversedStored;
+    }
+    
+    /**
+     * Marker of an event that changed stock by the given deltas (per SKU); decrements are recorded as taken
+     */
+    private ProcessedStockEvent marker(String eventId, Map<String, Integer> deltas, Instant now) {
+        List<ProcessedStockEvent.Taken> taken = deltas.entrySet().stream()
+                .filter(delta -> delta.getValue() < 0)
+                .map(delta -> new ProcessedStockEvent.Taken(delta.getKey(), -delta.getValue()))
+                .toList();
+        return ProcessedStockEvent.builder()
+                .eventId(eventId)
+                .processedAt(now)
+                .expiresAt(now.plus(taken.isEmpty() ? markerRetention : takenRetention))
+                .taken(taken)
+                .build();
+    }
+    
+    /**
+     * One conditional $inc per SKU; SKUs the bulk could not change fall back to one update per event
+     */
+    private AppliedDeltas applyDeltas(List<StockEventRequest> events) {
+        Map<String, Map<String, Integer>> appliedByEvent = new HashMap<>();
+        Map<String, Integer> outOfStock = new HashMap<>();
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        for (StockEventRequest event : events) {
+            for (StockDeltaRequest item : event.getItems()) {
+                deltas.merge(item.getSku(), item.getDelta(), Integer::sum);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return new AppliedDeltas(appliedByEvent, outOfStock);
+        }
+        
+        String commitId = new ObjectId().toHexString();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        BulkOperations increments = mongoTemplate.bulkOps(BulkMode.UNORDERED, Product.class);
+        deltas.forEach((sku, delta) -> increments.updateOne(stockQuery(sku, delta), stockUpdate(delta, commitId, updatedAt)));
+        int matched = increments.execute().getMatchedCount();
+        
+        Set<String> reached = new HashSet<>();
+        Set<String> shortSkus = new HashSet<>();
+        if (matched == deltas.size()) {
+            reached.addAll(deltas.keySet());
+            log.debug("Applied {} stock events as {} SKU updates", events.size(), deltas.size());
+        } else {
+            // Existing SKUs the bulk did not reach had too little stock for the summed decrement
+            Query known = new Query(Criteria.where("sku").in(deltas.keySet()));
+            known.fields().include("sku").include(COMMIT_ID_FIELD);
+            for (Document product : mongoTemplate.find(known, Document.class, mongoTemplate.getCollectionName(Product.class))) {
+                (commitId.equals(product.getString(COMMIT_ID_FIELD)) ? reached : shortSkus).add(product.getString("sku"));
+            }
+            if (reached.size() + shortSkus.size() < deltas.size()) {
+                log.warn("Stock events referenced {} unknown SKUs", deltas.size() - reached.size() - shortSkus.size());
+            }
+        }
+        
+        for (StockEventRequest event : events) {
+            for (StockDeltaRequest item : event.getItems()) {
+                String sku = item.getSku();
+                boolean applied = reached.contains(sku)
+                        || shortSkus.contains(sku) && mongoTemplate.updateFirst(stockQuery(sku, item.getDelta()),
+                                stockUpdate(item.getDelta(), commitId, updatedAt), Product.class).getMatchedCount() > 0;
+                if (applied) {
+                    appliedByEvent.computeIfAbsent(event.getEventId(), id -> new HashMap<>())
+                            .merge(sku, item.getDelta(), Integer::sum);
+                } else if (shortSkus.contains(sku)) {
+                    outOfStock.merge(event.getEventId(), 1, Integer::sum);
+                    log.warn("Not enough stock of {} for {} from stock event {}: skipped", sku, item.getDelta(),
+                            event.getEventId());
+                }
+            }
+        }
+        return new AppliedDeltas(appliedByEvent, outOfStock);
+    }
+    
+    private static Query stockQuery(String sku, int delta) {
+        Criteria criteria = Criteria.where("sku").is(sku);
+        if (delta < 0) {
+            criteria = criteria.and("stock").gte(-delta);
+        }
+        return Query.query(criteria);
+    }
+    
+    private static Update stockUpdate(int delta, String commitId, LocalDateTime updatedAt) {
+        return new Update().inc("stock", delta).set("updatedAt", updatedAt).set(COMMIT_ID_FIELD, commitId);
+    }
+    
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(commitTimeout.toMillis());
+        // Whatever the flusher did not get to will not be applied: fail it now rather than at the callers' timeout
+        List<PendingEvent> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(
+                new IllegalStateException("Stock commit service is shut down")));
+    }
+}
@@ -0,0 +1,107 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.exception.GlobalExceptionHandler;
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.repository.ReactiveProductRepository;
+import com.ecommerce.product.service.impl.ReactiveProductServiceImpl;
+import com.ecommerce.product.support.EmbeddedMongoTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reactive read endpoints over the reactive driver, against the embedded MongoDB
+ */
+class ReactiveProductControllerTest extends EmbeddedMongoTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveProductRepository repository = new ReactiveMongoRepositoryFactory(reactiveMongoTemplate)
+                .getRepository(ReactiveProductRepository.class);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ReactiveProductController(new ReactiveProductServiceImpl(repository)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mongoTemplate.insertAll(List.of(
+                product("LAP-001", "Gaming Laptop", "Electronics"),
+                product("PHN-001", "Smartphone", "Electronics"),
+                product("BK-001", "Laptop Stand Handbook", "Books")));
+    }
+
+    @Test
+    void streamsACategoryAsOneJsonDocumentPerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reactive/products/category/Electronics")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = Arrays.stream(body.split("\n")).filter(line -> !line.isBlank()).toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{").contains("\"category\":\"Electronics\""));
+    }
+
+    @Test
+    void collectsAListIntoAJsonArrayWhenAskedForJson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reactive/products/search").param("query", "LAPTOP")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[*].sku").value(containsInAnyOrder("LAP-001", "BK-001")));
+    }
+
+    @Test
+    void findsAProductBySku() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reactive/products/sku/PHN-001"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Smartphone"))
+                .andExpect(jsonPath("$.stock").value(10));
+    }
+
+    @Test
+    void answersNotFoundForAnUnknownProduct() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reactive/products/no-such-id"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotFound());
+    }
+
+    private static Product product(String sku, String name, String category) {
+        return Product.builder().sku(sku).name(name).category(category)
+                .price(new BigDecimal("19.99")).stock(10).build();
+    }
+}
@@ -0,0 +1,232 @@
+package com.ecommerce.product.service.impl;
+
+import com.ecommerce.mongo.MongoTransactions;
+import com.ecommerce.product.dto.StockDeltaRequest;
+import com.ecommerce.product.dto.StockEventBatchResponse;
+import com.ecommerce.product.dto.StockEventRequest;
+import com.ecommerce.product.model.ProcessedStockEvent;
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.support.EmbeddedMongoTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class StockCommitServiceImplTest extends EmbeddedMongoTest {
+
+    private final List<StockCommitServiceImpl> services = new ArrayList<>();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void stopServices() throws InterruptedException {
+        for (StockCommitServiceImpl service : services) {
+            service.shutdown();
+        }
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentEventsForOneSkuAreAllApplied() throws Exception {
+        product("HOT", 100);
+        StockCommitServiceImpl service = service(mongoTemplate, Duration.ofMillis(200));
+
+        List<Future<StockEventBatchResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            StockEventRequest event = event("e" + i, delta("HOT", -3));
+            results.add(callers.submit(() -> service.commit(List.of(event))));
+        }
+        for (Future<StockEventBatchResponse> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS).getApplied()).isEqualTo(1);
+        }
+
+        assertThat(stock("HOT")).isEqualTo(70);
+        assertThat(mongoTemplate.count(new Query(), ProcessedStockEvent.class)).isEqualTo(10);
+    }
+
+    @Test
+    void eventsAreAppliedOncePerEventId() {
+        product("SKU-1", 10);
+        StockCommitServiceImpl service = service(mongoTemplate, Duration.ZERO);
+
+        StockEventBatchResponse first = service.commit(List.of(
+                event("e1", delta("SKU-1", -2)),
+                event("e1", delta("SKU-1", -2))));
+        StockEventBatchResponse resent = service.commit(List.of(event("e1", delta("SKU-1", -2))));
+
+        assertThat(first.getApplied()).isEqualTo(1);
+        assertThat(first.getDuplicates()).isEqualTo(1);
+        assertThat(resent.getDuplicates()).isEqualTo(1);
+        assertThat(stock("SKU-1")).isEqualTo(8);
+    }
+
+    @Test
+    void decrementsNeverTakeStockBelowZero() {
+        product("LOW", 5);
+        product("OTHER", 5);
+        StockCommitServiceImpl service = service(mongoTemplate, Duration.ZERO);
+
+        // Summed, LOW would drop to -3: applied event by event, the last change does not fit
+        StockEventBatchResponse response = service.commit(List.of(
+                event("e1", delta("LOW", -3), delta("OTHER", -1)),
+                event("e2", delta("LOW", -2)),
+                event("e3", delta("LOW", -3))));
+
+        assertThat(response.getApplied()).isEqualTo(3);
+        assertThat(response.getOutOfStock()).isEqualTo(1);
+        assertThat(stock("LOW")).isZero();
+        assertThat(stock("OTHER")).isEqualTo(4);
+        assertThat(mongoTemplate.count(new Query(), ProcessedStockEvent.class))
+                .as("a skipped change still marks its event processed")
+                .isEqualTo(3);
+    }
+
+    @Test
+    void reversalGivesBackOnlyTheStockTheReversedEventTook() {
+        product("LOW", 1);
+        product("OTHER", 5);
+        StockCommitServiceImpl service = service(mongoTemplate, Duration.ZERO);
+        
+        StockEventBatchResponse placed = service.commit(List.of(
+                event("placed-1", delta("LOW", -3), delta("OTHER", -2))));
+        StockEventBatchResponse cancelled = service.commit(List.of(
+                reversal("cancel-1", "placed-1", delta("LOW", 3), delta("OTHER", 2))));
+        
+        assertThat(placed.getOutOfStock()).isEqualTo(1);
+        assertThat(cancelled.getApplied()).isEqualTo(1);
+        assertThat(cancelled.getNotRestored()).as("LOW was never taken").isEqualTo(1);
+        assertThat(stock("LOW")).isEqualTo(1);
+        assertThat(stock("OTHER")).isEqualTo(5);
+    }
+
+    @Test
+    void eventIsReversedOnceEvenWithinTheWindowThatAppliedIt() {
+        product("SKU-1", 10);
+        StockCommitServiceImpl service = service(mongoTemplate, Duration.ZERO);
+        
+        StockEventBatchResponse sameWindow = service.commit(List.of(
+                event("placed-1", delta("SKU-1", -4)),
+                reversal("cancel-1", "placed-1", delta("SKU-1", 4))));
+        StockEventBatchResponse again = service.commit(List.of(reversal("cancel-2", "placed-1", delta("SKU-1", 4))));
+        StockEventBatchResponse unknown = service.commit(List.of(reversal("cancel-3", "never-applied", delta("SKU-1", 1))));
+        
+        assertThat(sameWindow.getApplied()).isEqualTo(2);
+        assertThat(again.getNotRestored()).isEqualTo(1);
+        assertThat(unknown.getNotRestored()).isEqualTo(1);
+        assertThat(stock("SKU-1")).isEqualTo(10);
+        ProcessedStockEvent marker = mongoTemplate.findById("placed-1", ProcessedStockEvent.class);
+        assertThat(marker.getReversedBy()).isEqualTo("cancel-1");
+        assertThat(marker.getTaken()).extracting(ProcessedStockEvent.Taken::getQuantity).containsExactly(4);
+    }
+
+    @Test
+    void crashBeforeTheMarkerAppliesTheEventAgainRatherThanLosingIt() {
+        product("SKU-1", 10);
+        // Stock written, then the marker insert fails: the standalone path has no transaction to roll back
+        MongoTemplate crashing = spy(mongoTemplate);
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .when(crashing).bulkOps(BulkMode.ORDERED, ProcessedStockEvent.class);
+
+        assertThatThrownBy(() -> service(crashing, Duration.ZERO).commit(List.of(event("e1", delta("SKU-1", -2)))))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(stock("SKU-1")).isEqualTo(8);
+        assertThat(mongoTemplate.count(new Query(), ProcessedStockEvent.class)).isZero();
+
+        // The sender retries: applied again (at least once), and recorded this time
+        assertThat(service(mongoTemplate, Duration.ZERO).commit(List.of(event("e1", delta("SKU-1", -2))))
+                .getApplied()).isEqualTo(1);
+        assertThat(stock("SKU-1")).isEqualTo(6);
+        assertThat(mongoTemplate.count(new Query(), ProcessedStockEvent.class)).isEqualTo(1);
+    }
+
+    @Test
+    void callerStopsWaitingForRoomWhenTheFlusherIsStalled() throws Exception {
+        product("SKU-1", 10);
+        CountDownLatch flushStarted = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        MongoTemplate stalled = spy(mongoTemplate);
+        doAnswer(call -> {
+            flushStarted.countDown();
+            gate.await();
+            return call.callRealMethod();
+        }).when(stalled).find(any(Query.class), eq(ProcessedStockEvent.class));
+        StockCommitServiceImpl service = service(stalled, Duration.ZERO, 1, Duration.ofMillis(300));
+
+        try {
+            callers.submit(() -> service.commit(List.of(event("e1", delta("SKU-1", -1)))));
+            assertThat(flushStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            callers.submit(() -> service.commit(List.of(event("e2", delta("SKU-1", -1)))));  // fills the queue
+            Thread.sleep(100);
+
+            long started = System.nanoTime();
+            assertThatThrownBy(() -> service.commit(List.of(event("e3", delta("SKU-1", -1)))))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("queue stayed full");
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+        } finally {
+            gate.countDown();
+        }
+    }
+
+    @Test
+    void commitAfterShutdownIsRejected() throws InterruptedException {
+        StockCommitServiceImpl service = service(mongoTemplate, Duration.ZERO);
+        service.shutdown();
+
+        assertThatThrownBy(() -> service.commit(List.of(event("e1", delta("SKU-1", -1)))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shut down");
+    }
+
+    private StockCommitServiceImpl service(MongoTemplate template, Duration window) {
+        return service(template, window, 100, Duration.ofSeconds(5));
+    }
+
+    private StockCommitServiceImpl service(MongoTemplate template, Duration window, int queueCapacity,
+                                           Duration timeout) {
+        StockCommitServiceImpl service = new StockCommitServiceImpl(template,
+                new MongoTransactions(template, template.getMongoDatabaseFactory()), window, 1000, queueCapacity,
+                timeout, Duration.ofDays(7), Duration.ofDays(90));
+        services.add(service);
+        return service;
+    }
+
+    private void product(String sku, int stock) {
+        mongoTemplate.insert(Product.builder().sku(sku).name("Product " + sku).stock(stock).build());
+    }
+
+    private int stock(String sku) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("sku").is(sku)), Product.class).getStock();
+    }
+
+    private static StockEventRequest event(String eventId, StockDeltaRequest... items) {
+        return StockEventRequest.builder().eventId(eventId).items(List.of(items)).build();
+    }
+
+    private static StockEventRequest reversal(String eventId, String reverses, StockDeltaRequest... items) {
+        return StockEventRequest.builder().eventId(eventId).reverses(reverses).items(List.of(items)).build();
+    }
+
+    private static StockDeltaRequest delta(String sku, int delta) {
+        return StockDeltaRequest.builder().sku(sku).delta(delta).build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.product.support;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+/**
+ * 🧪 EMBEDDED MONGO TEST - Base class for tests that need a MongoDB
+ *
+ * Runs an in-memory MongoDB wire-protocol server (mongo-java-server) in the test
+ * JVM: nothing to download or install. It is a standalone server, so code paths
+ * that need a replica set (transactions) take their standalone fallback here.
+ * Every test starts with an empty database, reachable through the blocking
+ * and the reactive driver.
+ */
+public abstract class EmbeddedMongoTest {
+
+    private static MongoServer server;
+    private static MongoClient client;
+    private static com.mongodb.reactivestreams.client.MongoClient reactiveClient;
+
+    protected MongoTemplate mongoTemplate;
+    protected ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @BeforeAll
+    static void startMongo() {
+        server = new MongoServer(new MemoryBackend());
+        String connectionString = server.bindAndGetConnectionString();
+        client = MongoClients.create(connectionString);
+        reactiveClient = com.mongodb.reactivestreams.client.MongoClients.create(connectionString);
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        client.close();
+        reactiveClient.close();
+        server.shutdownNow();
+    }
+
+    @BeforeEach
+    void emptyDatabase() {
+        mongoTemplate = new MongoTemplate(client, "test");
+        mongoTemplate.getDb().drop();
+        reactiveMongoTemplate = new ReactiveMongoTemplate(reactiveClient, "test");
+    }
+}
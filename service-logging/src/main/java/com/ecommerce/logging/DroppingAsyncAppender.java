@@ -0,0 +1,36 @@
+package com.ecommerce.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * 📬 DROPPING ASYNC APPENDER - Logback's AsyncAppender that counts what it drops
+ *
+ * Request threads only put events on a bounded queue; one worker thread
+ * encodes and writes them. Drop policy, from AsyncAppender:
+ * - while fewer than discardingThreshold slots are free, TRACE/DEBUG/INFO
+ *   events are dropped (counted in LoggingPipelineStats)
+ * - WARN and ERROR are never dropped: with neverBlock=false the caller waits
+ *   for a free slot instead
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // Only consulted once the queue is below the discarding threshold
+        boolean discard = super.isDiscardable(event);
+        if (discard) {
+            LoggingPipelineStats.QUEUE_FULL_DROPS.increment();
+        }
+        return discard;
+    }
+
+    @Override
+    public void start() {
+        if (isNeverBlock()) {
+            addWarn("neverBlock=true would drop WARN and ERROR events when the queue is full; ignoring it");
+            setNeverBlock(false);
+        }
+        super.start();
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 📈 LOGGING PIPELINE METRICS - logging.events.dropped{reason=queue-full|rate-limit}
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistry.class)
+public class LoggingPipelineMetricsAutoConfiguration {
+
+    @Bean
+    public MeterBinder loggingPipelineMetrics() {
+        return registry -> {
+            FunctionCounter.builder("logging.events.dropped", LoggingPipelineStats.QUEUE_FULL_DROPS, adder -> adder.sum())
+                    .description("INFO and lower log events not written: async queue nearly full or rate limit reached")
+                    .tag("reason", "queue-full")
+                    .register(registry);
+            FunctionCounter.builder("logging.events.dropped", LoggingPipelineStats.RATE_LIMITED, adder -> adder.sum())
+                    .description("INFO and lower log events not written: async queue nearly full or rate limit reached")
+                    .tag("reason", "rate-limit")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📉 LOGGING PIPELINE STATS - Events the pipeline chose not to write
+ *
+ * Static because the appender and the turbo filter are created by Logback,
+ * before (and outside) the Spring context that publishes these as metrics.
+ */
+public final class LoggingPipelineStats {
+
+    static final LongAdder QUEUE_FULL_DROPS = new LongAdder();
+    static final LongAdder RATE_LIMITED = new LongAdder();
+
+    private LoggingPipelineStats() {
+    }
+
+    /**
+     * INFO and lower events dropped because the async queue was nearly full
+     */
+    public static long queueFullDrops() {
+        return QUEUE_FULL_DROPS.sum();
+    }
+
+    /**
+     * INFO and lower events suppressed by a per-logger rate limit
+     */
+    public static long rateLimited() {
+        return RATE_LIMITED.sum();
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecommerce.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🚦 RATE-LIMITING TURBO FILTER - At most N INFO/DEBUG events per second per logger
+ *
+ * limits is a comma-separated list of "logger prefix=events per second", e.g.
+ *   com.ecommerce.product.service=50,com.ecommerce.product.controller=20
+ * Each logger under a prefix gets its own budget (longest prefix wins); once
+ * it is spent, further events of that second are denied before the message
+ * is even formatted. WARN and ERROR always pass.
+ */
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private static final Window UNLIMITED = new Window(Integer.MAX_VALUE);
+
+    private String limits = "";
+    private Map<String, Integer> limitsByPrefix = Map.of();
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public void setLimits(String limits) {
+        this.limits = limits != null ? limits : "";
+    }
+
+    @Override
+    public void start() {
+        Map<String, Integer> parsed = new ConcurrentHashMap<>();
+        for (String entry : limits.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 1) {
+                addError("Ignoring rate limit '" + entry.trim() + "': expected <logger prefix>=<events per second>");
+                continue;
+            }
+            parsed.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        limitsByPrefix = parsed;
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || limitsByPrefix.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;  // disabled anyway: must not use up the budget
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), this::windowFor);
+        if (window == UNLIMITED || window.tryAcquire()) {
+            return FilterReply.NEUTRAL;
+        }
+        LoggingPipelineStats.RATE_LIMITED.increment();
+        return FilterReply.DENY;
+    }
+
+    private Window windowFor(String loggerName) {
+        String bestPrefix = null;
+        for (String prefix : limitsByPrefix.keySet()) {
+            boolean matches = loggerName.equals(prefix) || loggerName.startsWith(prefix + ".");
+            if (matches && (bestPrefix == null || prefix.length() > bestPrefix.length())) {
+                bestPrefix = prefix;
+            }
+        }
+        return bestPrefix != null ? new Window(limitsByPrefix.get(bestPrefix)) : UNLIMITED;
+    }
+
+    /**
+     * Fixed one-second window; the reset race at a boundary may let a few extra events through
+     */
+    private static final class Window {
+
+        private final int limit;
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long second;
+
+        Window(int limit) {
+            this.limit = limit;
+        }
+
+        boolean tryAcquire() {
+            long now = System.nanoTime() / 1_000_000_000L;
+            if (now != second) {
+                synchronized (this) {
+                    if (now != second) {
+                        count.set(0);
+                        second = now;
+                    }
+                }
+            }
+            return count.incrementAndGet() <= limit;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecommerce.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DroppingAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    DroppingAsyncAppenderTest() {
+        context.setMDCAdapter(new LogbackMDCAdapter());  // events copy the MDC when queued
+    }
+
+    @Test
+    void dropsInfoButKeepsWarnWhenTheQueueIsNearlyFull() throws InterruptedException {
+        StalledAppender target = new StalledAppender();
+        DroppingAsyncAppender async = async(target, 4, 2);
+        Logger logger = context.getLogger("com.ecommerce.test");
+        logger.setAdditive(false);
+        logger.addAppender(async);
+        long dropsBefore = LoggingPipelineStats.queueFullDrops();
+
+        logger.info("taken by the worker");
+        assertThat(target.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        logger.info("queued 1");
+        logger.info("queued 2");
+        logger.info("queued 3");  // 2 of 4 slots were free: not below the threshold yet
+        logger.info("dropped");   // 1 slot free
+        logger.warn("kept");
+        target.release.countDown();
+        async.stop();  // drains the queue
+
+        assertThat(target.messages).containsExactly("taken by the worker", "queued 1", "queued 2", "queued 3", "kept");
+        assertThat(LoggingPipelineStats.queueFullDrops() - dropsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void refusesNeverBlockSoWarnAndErrorAreNotDropped() {
+        DroppingAsyncAppender async = new DroppingAsyncAppender();
+        async.setNeverBlock(true);
+
+        async(async, new StalledAppender());
+
+        assertThat(async.isNeverBlock()).isFalse();
+        async.stop();
+    }
+
+    private DroppingAsyncAppender async(StalledAppender target, int queueSize, int discardingThreshold) {
+        DroppingAsyncAppender async = new DroppingAsyncAppender();
+        async.setQueueSize(queueSize);
+        async.setDiscardingThreshold(discardingThreshold);
+        return async(async, target);
+    }
+
+    private DroppingAsyncAppender async(DroppingAsyncAppender async, StalledAppender target) {
+        target.setContext(context);
+        target.start();
+        async.setContext(context);
+        async.addAppender(target);
+        async.start();
+        return async;
+    }
+
+    /**
+     * Records messages; blocks on the first one until released
+     */
+    private static final class StalledAppender extends AppenderBase<ILoggingEvent> {
+
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            messages.add(event.getFormattedMessage());
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.status.Status;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The filter on its own LoggerContext, so the test's logging is left alone
+ */
+class RateLimitingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void passesAtMostTheLimitPerSecondPerLogger() {
+        RateLimitingTurboFilter filter = filter("com.ecommerce.product=3");
+        long rateLimitedBefore = LoggingPipelineStats.rateLimited();
+
+        assertThat(passedInOneSecond(filter, logger("com.ecommerce.product.service.A"), Level.INFO, 10)).isEqualTo(3);
+        assertThat(passedInOneSecond(filter, logger("com.ecommerce.product.service.B"), Level.INFO, 10))
+                .as("every logger has its own budget").isEqualTo(3);
+        assertThat(LoggingPipelineStats.rateLimited() - rateLimitedBefore).isGreaterThanOrEqualTo(14);
+    }
+
+    @Test
+    void neverLimitsWarnAndError() {
+        RateLimitingTurboFilter filter = filter("com.ecommerce.product=1");
+        Logger logger = logger("com.ecommerce.product.service.A");
+
+        assertThat(passedInOneSecond(filter, logger, Level.WARN, 10)).isEqualTo(10);
+        assertThat(passedInOneSecond(filter, logger, Level.ERROR, 10)).isEqualTo(10);
+    }
+
+    @Test
+    void longestPrefixWinsAndOtherLoggersAreUnlimited() {
+        RateLimitingTurboFilter filter = filter("com.ecommerce.product=5, com.ecommerce.product.controller=1");
+
+        assertThat(passedInOneSecond(filter, logger("com.ecommerce.product.controller.Api"), Level.INFO, 10))
+                .isEqualTo(1);
+        assertThat(passedInOneSecond(filter, logger("com.ecommerce.productivity.Tool"), Level.INFO, 10))
+                .as("a prefix matches whole name segments only").isEqualTo(10);
+        assertThat(passedInOneSecond(filter, logger("org.mongodb.driver"), Level.INFO, 10)).isEqualTo(10);
+    }
+
+    @Test
+    void disabledEventsDoNotUseUpTheBudget() {
+        RateLimitingTurboFilter filter = filter("com.ecommerce.product=2");
+        Logger logger = logger("com.ecommerce.product.service.A");
+        logger.setLevel(Level.INFO);
+
+        long start;
+        int passed;
+        do {
+            start = second();
+            for (int i = 0; i < 10; i++) {
+                filter.decide(null, logger, Level.DEBUG, "debug {}", new Object[]{i}, null);  // below INFO
+            }
+            passed = passed(filter, logger, Level.INFO, 10);
+        } while (second() != start);
+
+        assertThat(passed).isEqualTo(2);
+    }
+
+    @Test
+    void reportsAMalformedLimitAndKeepsTheOthers() {
+        RateLimitingTurboFilter filter = filter("no-separator, com.ecommerce.product=1");
+
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+                .anySatisfy(status -> {
+                    assertThat(status.getLevel()).isEqualTo(Status.ERROR);
+                    assertThat(status.getMessage()).contains("no-separator");
+                });
+        assertThat(passedInOneSecond(filter, logger("com.ecommerce.product.A"), Level.INFO, 5)).isEqualTo(1);
+    }
+
+    private RateLimitingTurboFilter filter(String limits) {
+        RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+        filter.setContext(context);
+        filter.setLimits(limits);
+        filter.start();
+        return filter;
+    }
+
+    private Logger logger(String name) {
+        return context.getLogger(name);
+    }
+
+    /**
+     * Events let through out of a burst that fell within one clock second (retried if it straddled two)
+     */
+    private static int passedInOneSecond(RateLimitingTurboFilter filter, Logger logger, Level level, int events) {
+        while (true) {
+            long start = second();
+            int passed = passed(filter, logger, level, events);
+            if (second() == start) {
+                return passed;
+            }
+        }
+    }
+
+    private static int passed(RateLimitingTurboFilter filter, Logger logger, Level level, int events) {
+        int passed = 0;
+        for (int i = 0; i < events; i++) {
+            if (filter.decide(null, logger, level, "event {}", new Object[]{i}, null) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    private static long second() {
+        return System.nanoTime() / 1_000_000_000L;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.warmup;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import com.mongodb.event.ConnectionReadyEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🔌 MONGO POOL WARMER - Waits until the connection pools hold their minimum
+ *
+ * The pool minimum is set to warmup.mongo-connections (see
+ * WarmUpAutoConfiguration); the driver's maintenance thread then opens that
+ * many connections per server in the background, including the TCP, TLS and
+ * authentication handshakes. This listener counts the open connections so the
+ * warm-up can wait for them instead of letting the first requests pay for the
+ * handshakes one at a time.
+ */
+public class MongoPoolWarmer implements ConnectionPoolListener {
+
+    private final Map<ServerAddress, AtomicInteger> openConnections = new ConcurrentHashMap<>();
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        openConnections.putIfAbsent(event.getServerId().getAddress(), new AtomicInteger());
+    }
+
+    @Override
+    public void connectionReady(ConnectionReadyEvent event) {
+        openConnections.computeIfAbsent(event.getConnectionId().getServerId().getAddress(), address -> new AtomicInteger())
+                .incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        AtomicInteger open = openConnections.get(event.getConnectionId().getServerId().getAddress());
+        if (open != null) {
+            open.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wait until every pool known so far (at least one) has the given number of open connections
+     *
+     * @return false if the deadline (System.nanoTime) passed first
+     */
+    public boolean awaitOpen(int connections, long deadlineNanos) throws InterruptedException {
+        while (System.nanoTime() < deadlineNanos) {
+            if (!openConnections.isEmpty()
+                    && openConnections.values().stream().allMatch(open -> open.get() >= connections)) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    public int openConnections() {
+        return openConnections.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+}
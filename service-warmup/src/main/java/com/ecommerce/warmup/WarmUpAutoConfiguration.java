@@ -0,0 +1,48 @@
+package com.ecommerce.warmup;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 🔥 WARM-UP AUTO-CONFIGURATION - Active in every service that has this module
+ *
+ * Raises the MongoDB pool minimum to warmup.mongo-connections, runs the
+ * warm-up after startup and reports it as the "warmUp" health indicator.
+ *
+ * With warmup.enabled=false the indicator stays registered (the readiness
+ * group refers to it) but is UP from the start, and the pool minimum is left alone.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class WarmUpAutoConfiguration {
+
+    @Bean
+    public MongoPoolWarmer mongoPoolWarmer() {
+        return new MongoPoolWarmer();
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer warmUpConnectionPoolCustomizer(WarmUpProperties properties,
+                                                                             MongoPoolWarmer mongoPoolWarmer) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> {
+            pool.addConnectionPoolListener(mongoPoolWarmer);
+            if (properties.isEnabled() && properties.getMongoConnections() > 0) {
+                pool.minSize(properties.getMongoConnections());
+            }
+        });
+    }
+
+    @Bean
+    public WarmUpRunner warmUpRunner(WarmUpProperties properties, MongoPoolWarmer mongoPoolWarmer) {
+        return new WarmUpRunner(properties, mongoPoolWarmer);
+    }
+
+    @Bean
+    public WarmUpHealthIndicator warmUpHealthIndicator(WarmUpRunner warmUpRunner) {
+        return new WarmUpHealthIndicator(warmUpRunner);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * 🚦 WARM-UP HEALTH INDICATOR - "warmUp": OUT_OF_SERVICE until the warm-up has finished
+ *
+ * Included in the readiness group
+ * (management.endpoint.health.group.readiness.include=readinessState,warmUp),
+ * so /actuator/health/readiness answers 503 while the service warms up.
+ * Liveness is not affected: a warming service must not be restarted.
+ */
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final WarmUpRunner runner;
+
+    public WarmUpHealthIndicator(WarmUpRunner runner) {
+        this.runner = runner;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = runner.getPhase() == WarmUpRunner.Phase.DONE ? Health.up() : Health.outOfService();
+        health.withDetail("phase", runner.getPhase());
+        if (runner.getRounds() > 0) {
+            health.withDetail("rounds", runner.getRounds())
+                    .withDetail("medianLatencyMillis", runner.getLastMedianMillis())
+                    .withDetail("settled", runner.isSettled())
+                    .withDetail("errors", runner.getErrors());
+        }
+        return health.build();
+    }
+}
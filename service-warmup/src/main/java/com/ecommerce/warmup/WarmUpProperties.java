@@ -0,0 +1,61 @@
+package com.ecommerce.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ⚙️ WARM-UP PROPERTIES - warmup.*
+ */
+@Data
+@ConfigurationProperties(prefix = "warmup")
+public class WarmUpProperties {
+
+    /**
+     * Turns the warm-up off: the service reports ready as soon as it has started
+     */
+    private boolean enabled = true;
+
+    /**
+     * Longest the warm-up may take; the service reports ready afterwards even if latency has not settled
+     */
+    private Duration budget = Duration.ofSeconds(30);
+
+    /**
+     * MongoDB connections opened (per server) before the first synthetic request, and kept open as the pool minimum
+     */
+    private int mongoConnections = 10;
+
+    /**
+     * GET paths sent to the service itself, in turn. They must not change data
+     */
+    private List<String> requests = new ArrayList<>();
+
+    /**
+     * Accept headers used in turn, e.g. JSON for browsers and Smile for other services
+     */
+    private List<String> mediaTypes = new ArrayList<>(List.of("application/json"));
+
+    /**
+     * Synthetic requests in flight at once
+     */
+    private int concurrency = 4;
+
+    /**
+     * Synthetic requests per round; the median latency of each round is compared with the previous one
+     */
+    private int roundSize = 200;
+
+    /**
+     * Latency has settled when the round median moved by at most this fraction ...
+     */
+    private double settleTolerance = 0.1;
+
+    /**
+     * ... for this many rounds in a row
+     */
+    private int settleRounds = 3;
+}
@@ -0,0 +1,204 @@
+package com.ecommerce.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🔥 WARM-UP RUNNER - Brings a freshly started service up to speed before it takes traffic
+ *
+ * Starts once the application is ready, on its own thread:
+ * 1. Waits until the MongoDB pools hold warmup.mongo-connections open connections
+ * 2. Sends the configured GET requests to the service itself over HTTP, so that
+ *    Tomcat, the controllers, services, repositories, the MongoDB driver and
+ *    Jackson get interpreted, profiled and JIT-compiled on synthetic traffic.
+ *    Requests go in rounds of round-size; the warm-up ends when the round median
+ *    latency has settled (moved by at most settle-tolerance for settle-rounds
+ *    rounds in a row).
+ *
+ * Until then WarmUpHealthIndicator reports OUT_OF_SERVICE, which keeps
+ * /actuator/health/readiness down and the instance out of the load balancer.
+ * After warmup.budget the service reports ready whether or not latency settled.
+ *
+ * The synthetic requests are counted in http.server.requests like any other.
+ */
+@Slf4j
+public class WarmUpRunner implements ApplicationListener<ApplicationReadyEvent> {
+
+    public enum Phase { PENDING, MONGO_POOL, REQUESTS, DONE }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WarmUpProperties properties;
+    private final MongoPoolWarmer mongoPoolWarmer;
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile int rounds;
+    private volatile double firstMedianMillis = Double.NaN;
+    private volatile double lastMedianMillis = Double.NaN;
+    private volatile boolean settled;
+    private final AtomicLong errors = new AtomicLong();
+
+    public WarmUpRunner(WarmUpProperties properties, MongoPoolWarmer mongoPoolWarmer) {
+        this.properties = properties;
+        this.mongoPoolWarmer = mongoPoolWarmer;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!properties.isEnabled() || !(event.getApplicationContext() instanceof WebServerApplicationContext web)) {
+            phase = Phase.DONE;
+            return;
+        }
+        int port = web.getWebServer().getPort();
+        Thread thread = new Thread(() -> run(port), "warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run(int port) {
+        long start = System.nanoTime();
+        long deadline = start + properties.getBudget().toNanos();
+        log.info("Warming up for at most {} before reporting ready", properties.getBudget());
+        try {
+            if (properties.getMongoConnections() > 0) {
+                phase = Phase.MONGO_POOL;
+                if (!mongoPoolWarmer.awaitOpen(properties.getMongoConnections(), deadline)) {
+                    log.warn("Warm-up budget ran out with {} MongoDB connections open, wanted {} per server",
+                            mongoPoolWarmer.openConnections(), properties.getMongoConnections());
+                }
+            }
+            if (!properties.getRequests().isEmpty()) {
+                phase = Phase.REQUESTS;
+                sendRequests(port, deadline);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up failed, reporting ready anyway", e);
+        } finally {
+            phase = Phase.DONE;
+        }
+        log.info("Warm-up finished in {} ms: {} rounds, median latency {} ms -> {} ms, {}, {} errors",
+                (System.nanoTime() - start) / 1_000_000, rounds, String.format("%.2f", firstMedianMillis),
+                String.format("%.2f", lastMedianMillis), settled ? "settled" : "not settled", errors.get());
+    }
+
+    private void sendRequests(int port, long deadline) throws InterruptedException {
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : properties.getRequests()) {
+            for (String mediaType : properties.getMediaTypes()) {
+                requests.add(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path.trim()))
+                        .header("Accept", mediaType.trim())
+                        .timeout(REQUEST_TIMEOUT)
+                        .GET()
+                        .build());
+            }
+        }
+
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            int stableRounds = 0;
+            while (System.nanoTime() < deadline && stableRounds < properties.getSettleRounds()) {
+                double median = round(client, workers, requests, deadline);
+                if (Double.isNaN(median)) {
+                    break;
+                }
+                if (rounds == 0) {
+                    firstMedianMillis = median;
+                } else if (Math.abs(median - lastMedianMillis) <= properties.getSettleTolerance() * lastMedianMillis) {
+                    stableRounds++;
+                } else {
+                    stableRounds = 0;
+                }
+                lastMedianMillis = median;
+                rounds++;
+            }
+            settled = stableRounds >= properties.getSettleRounds();
+        }
+    }
+
+    /**
+     * One round of requests from concurrency workers
+     *
+     * @return median latency in milliseconds, NaN if the deadline passed before any request completed
+     */
+    private double round(HttpClient client, ExecutorService workers, List<HttpRequest> requests, long deadline)
+            throws InterruptedException {
+        int size = properties.getRoundSize();
+        long[] latencies = new long[size];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int worker = 0; worker < properties.getConcurrency(); worker++) {
+            tasks.add(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < size && System.nanoTime() < deadline) {
+                    long sent = System.nanoTime();
+                    if (!send(client, requests.get(i % requests.size()))) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[completed.getAndIncrement()] = System.nanoTime() - sent;
+                }
+                return null;
+            });
+        }
+        workers.invokeAll(tasks);
+
+        int count = completed.get();
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long[] done = Arrays.copyOf(latencies, count);
+        Arrays.sort(done);
+        return done[count / 2] / 1e6;
+    }
+
+    /**
+     * Anything below 500 ran the whole path: a 404 for an unknown ID still went to MongoDB and back
+     */
+    private static boolean send(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public double getLastMedianMillis() {
+        return lastMedianMillis;
+    }
+
+    public boolean isSettled() {
+        return settled;
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.warmup;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionReadyEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoPoolWarmerTest {
+
+    private static final ClusterId CLUSTER = new ClusterId();
+    private static final ServerId PRIMARY = new ServerId(CLUSTER, new ServerAddress("db1", 27017));
+    private static final ServerId SECONDARY = new ServerId(CLUSTER, new ServerAddress("db2", 27017));
+
+    private final MongoPoolWarmer warmer = new MongoPoolWarmer();
+
+    @Test
+    void waitsUntilEveryPoolHoldsTheWantedConnections() throws InterruptedException {
+        warmer.connectionPoolCreated(new ConnectionPoolCreatedEvent(PRIMARY, ConnectionPoolSettings.builder().build()));
+        warmer.connectionPoolCreated(new ConnectionPoolCreatedEvent(SECONDARY, ConnectionPoolSettings.builder().build()));
+        ready(PRIMARY);
+        ready(PRIMARY);
+        ready(SECONDARY);
+
+        assertThat(warmer.awaitOpen(2, deadlineIn(50))).as("the secondary has one").isFalse();
+
+        ready(SECONDARY);
+        assertThat(warmer.awaitOpen(2, deadlineIn(50))).isTrue();
+        assertThat(warmer.openConnections()).isEqualTo(4);
+    }
+
+    @Test
+    void closedConnectionsNoLongerCount() throws InterruptedException {
+        ready(PRIMARY);
+        ready(PRIMARY);
+
+        warmer.connectionClosed(new ConnectionClosedEvent(new ConnectionId(PRIMARY), ConnectionClosedEvent.Reason.STALE));
+
+        assertThat(warmer.openConnections()).isEqualTo(1);
+        assertThat(warmer.awaitOpen(2, deadlineIn(50))).isFalse();
+    }
+
+    @Test
+    void doesNotReportReadyBeforeAnyPoolExists() throws InterruptedException {
+        assertThat(warmer.awaitOpen(0, deadlineIn(50))).isFalse();
+    }
+
+    private void ready(ServerId server) {
+        warmer.connectionReady(new ConnectionReadyEvent(new ConnectionId(server), 0));
+    }
+
+    private static long deadlineIn(long millis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
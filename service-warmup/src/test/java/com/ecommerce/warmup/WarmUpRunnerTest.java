@@ -0,0 +1,185 @@
+package com.ecommerce.warmup;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.ConfigurableWebServerApplicationContext;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Warm-up against a stub HTTP server standing in for the service itself
+ */
+class WarmUpRunnerTest {
+
+    private final Set<String> received = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger serverErrors = new AtomicInteger();
+    private volatile long delayMillis;
+    private ExecutorService handlers;
+    private HttpServer server;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        handlers = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(handlers);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            received.add(path + " " + exchange.getRequestHeaders().getFirst("Accept"));
+            try {
+                Thread.sleep(delayMillis);
+                int status = switch (path) {
+                    case "/broken" -> 500;
+                    case "/missing" -> 404;
+                    default -> 200;
+                };
+                if (status == 500) {
+                    serverErrors.incrementAndGet();
+                }
+                exchange.sendResponseHeaders(status, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Test
+    void reportsReadyOnceLatencyHasSettled() throws InterruptedException {
+        WarmUpProperties properties = properties("/api/products", "/api/products/1");
+        properties.setMediaTypes(List.of("application/json", "application/x-jackson-smile"));
+        WarmUpRunner runner = new WarmUpRunner(properties, new MongoPoolWarmer());
+        WarmUpHealthIndicator health = new WarmUpHealthIndicator(runner);
+        assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        runner.onApplicationEvent(ready());
+        awaitDone(runner, Duration.ofSeconds(20));
+
+        Health done = health.health();
+        assertThat(done.getStatus()).isEqualTo(Status.UP);
+        assertThat(done.getDetails()).containsEntry("phase", WarmUpRunner.Phase.DONE).containsEntry("errors", 0L);
+        assertThat(runner.isSettled()).isTrue();
+        assertThat(runner.getRounds()).isGreaterThanOrEqualTo(properties.getSettleRounds() + 1);
+        assertThat(received).containsExactlyInAnyOrder(
+                "/api/products application/json", "/api/products application/x-jackson-smile",
+                "/api/products/1 application/json", "/api/products/1 application/x-jackson-smile");
+    }
+
+    @Test
+    void reportsReadyWhenTheBudgetRunsOut() throws InterruptedException {
+        delayMillis = 100;
+        WarmUpProperties properties = properties("/api/products");
+        properties.setBudget(Duration.ofMillis(500));
+        WarmUpRunner runner = new WarmUpRunner(properties, new MongoPoolWarmer());
+
+        long start = System.nanoTime();
+        runner.onApplicationEvent(ready());
+        awaitDone(runner, Duration.ofSeconds(5));
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+        assertThat(runner.isSettled()).isFalse();
+    }
+
+    @Test
+    void countsServerErrorsButNotClientErrors() throws InterruptedException {
+        WarmUpProperties properties = properties("/missing", "/broken");
+        WarmUpRunner runner = new WarmUpRunner(properties, new MongoPoolWarmer());
+
+        runner.onApplicationEvent(ready());
+        awaitDone(runner, Duration.ofSeconds(20));
+
+        assertThat(runner.getErrors()).isPositive().isEqualTo(serverErrors.get());
+    }
+
+    @Test
+    void waitsForTheMongoPoolBeforeReportingReady() throws InterruptedException {
+        WarmUpProperties properties = properties();
+        properties.setMongoConnections(1);
+        MongoPoolWarmer warmer = mock(MongoPoolWarmer.class);
+        when(warmer.awaitOpen(eq(1), anyLong()))
+                .thenAnswer(call -> {
+                    Thread.sleep(500);
+                    return true;
+                });
+        WarmUpRunner runner = new WarmUpRunner(properties, warmer);
+        WarmUpHealthIndicator health = new WarmUpHealthIndicator(runner);
+
+        runner.onApplicationEvent(ready());
+        Thread.sleep(50);
+        assertThat(runner.getPhase()).isEqualTo(WarmUpRunner.Phase.MONGO_POOL);
+        assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        awaitDone(runner, Duration.ofSeconds(5));
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(received).as("no requests configured").isEmpty();
+    }
+
+    @Test
+    void disabledWarmUpIsDoneAtOnce() {
+        WarmUpProperties properties = properties("/api/products");
+        properties.setEnabled(false);
+        WarmUpRunner runner = new WarmUpRunner(properties, new MongoPoolWarmer());
+
+        runner.onApplicationEvent(ready());
+
+        assertThat(runner.getPhase()).isEqualTo(WarmUpRunner.Phase.DONE);
+        assertThat(received).isEmpty();
+    }
+
+    private static WarmUpProperties properties(String... paths) {
+        WarmUpProperties properties = new WarmUpProperties();
+        properties.setMongoConnections(0);
+        properties.setRequests(List.of(paths));
+        properties.setRoundSize(20);
+        properties.setConcurrency(2);
+        properties.setSettleTolerance(10.0);  // a stub's latency jitters; settling itself is what is tested
+        properties.setSettleRounds(2);
+        properties.setBudget(Duration.ofSeconds(15));
+        return properties;
+    }
+
+    private ApplicationReadyEvent ready() {
+        WebServer webServer = mock(WebServer.class);
+        when(webServer.getPort()).thenReturn(server.getAddress().getPort());
+        ConfigurableWebServerApplicationContext context = mock(ConfigurableWebServerApplicationContext.class);
+        when(context.getWebServer()).thenReturn(webServer);
+        return new ApplicationReadyEvent(new SpringApplication(), new String[0], context, Duration.ZERO);
+    }
+
+    private static void awaitDone(WarmUpRunner runner, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (runner.getPhase() != WarmUpRunner.Phase.DONE && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(runner.getPhase()).isEqualTo(WarmUpRunner.Phase.DONE);
+    }
+}
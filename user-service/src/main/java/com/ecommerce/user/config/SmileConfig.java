@@ -0,0 +1,28 @@
+package com.ecommerce.user.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 🗜️ SMILE CONFIGURATION - Binary JSON for service-to-service calls
+ *
+ * Controllers answer in Smile (application/x-jackson-smile) when the caller
+ * asks for it, as order-service does; everyone else still gets JSON. Smile
+ * is JSON's data model in binary: a field name repeated across the objects
+ * of a list is written once and then referenced, and numbers need no text
+ * formatting or parsing. Request bodies are accepted in Smile as well.
+ *
+ * The mapper comes from Spring Boot's Jackson builder, so dates and every
+ * other setting match the JSON responses.
+ */
+@Configuration
+public class SmileConfig {
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -186,8 +186,9 @@ public class UserService {
      * - Keeps code DRY (Don't Repeat Yourself)
      * - Easy to maintain in one place
      * - Can add formatting/calculations here
+     * - Package-private so the JMH benchmarks can measure it directly
      */
-    private UserResponse mapToResponse(User user) {
+    UserResponse mapToResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
                 .firstName(user.getFirstName())